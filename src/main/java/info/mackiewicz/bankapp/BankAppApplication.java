@@ -1,5 +1,21 @@
 package info.mackiewicz.bankapp;
 
+import info.mackiewicz.bankapp.core.account.service.HotAccountConfig;
+import info.mackiewicz.bankapp.core.ledger.service.LedgerSnapshotConfig;
+import info.mackiewicz.bankapp.core.transaction.service.TransactionClaimConfig;
+import info.mackiewicz.bankapp.shared.config.AsyncProperties;
+import info.mackiewicz.bankapp.shared.config.PasswordHashingProperties;
+import info.mackiewicz.bankapp.shared.config.UserCacheProperties;
+import info.mackiewicz.bankapp.shared.config.UserKeyFilterProperties;
+import info.mackiewicz.bankapp.system.authentication.AccessTokenConfig;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournalConfig;
+import info.mackiewicz.bankapp.system.notification.email.outbox.EmailOutboxConfig;
+import info.mackiewicz.bankapp.system.reconciliation.ReconciliationConfig;
+import info.mackiewicz.bankapp.system.registration.bulk.BulkOnboardingConfig;
+import info.mackiewicz.bankapp.system.scheduling.ClusterJobConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceEngineConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.lanes.TransactionLanesConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.netting.TransactionNettingConfig;
 import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,7 +31,13 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
 @EnableAsync
 @EnableScheduling
-@EnableConfigurationProperties(LockingConfig.class)
+@EnableConfigurationProperties({LockingConfig.class, AsyncProperties.class, HotAccountConfig.class,
+        EmailOutboxConfig.class, PasswordHashingProperties.class,
+        UserCacheProperties.class, AccessTokenConfig.class, BulkOnboardingConfig.class,
+        UserKeyFilterProperties.class, TransactionClaimConfig.class, ClusterJobConfig.class,
+        LedgerJournalConfig.class, LedgerSnapshotConfig.class, ReconciliationConfig.class,
+        BalanceEngineConfig.class, TransactionLanesConfig.class,
+        TransactionNettingConfig.class})
 public class BankAppApplication {
 
     private static final Logger logger = LoggerFactory.getLogger(BankAppApplication.class);
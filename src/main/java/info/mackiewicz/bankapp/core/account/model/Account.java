@@ -8,8 +8,10 @@ import info.mackiewicz.bankapp.core.account.service.AccountService;
 import info.mackiewicz.bankapp.core.account.service.AccountServiceAccessManager;
 import info.mackiewicz.bankapp.core.account.util.IbanConverter;
 import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.shared.util.IbanCache;
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.iban4j.Iban;
@@ -56,6 +58,17 @@ public class Account implements AccountInfo {
     @Getter
     private BigDecimal balance;
 
+    /**
+     * Version of the balance as last read, incremented by every conditional balance update.
+     * Read-only for JPA: accounts are detached while transactions are processed, so the version is checked by
+     * conditional updates in the optimistic locking mode rather than by {@code @Version} on merge.
+     */
+    @Getter
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false, insertable = false, updatable = false)
+    private long version;
+
     /**
      * Default constructor for JPA.
      * This constructor is package-private to prevent direct instantiation.
@@ -111,7 +124,7 @@ public class Account implements AccountInfo {
      * @return The formatted IBAN string
      */
     public String getFormattedIban() {
-        return iban.toFormattedString();
+        return IbanCache.formatted(iban);
     }
 
     /**
@@ -149,7 +162,7 @@ public class Account implements AccountInfo {
      */
     @Override
     public String toString() {
-        return String.format("Account IBAN #%s [balance = %.2f]", iban.toFormattedString(), balance);
+        return String.format("Account IBAN #%s [balance = %.2f]", IbanCache.formatted(iban), balance);
     }
 
     /**
@@ -17,18 +17,29 @@ public class AccountFactory {
     /**
      * Creates a standard bank account for the specified user.
      * <p>
-     * This method generates a unique account number and IBAN,
-     * and creates a new Account instance.
+     * This method takes the next account number from the in-memory counter of the owner,
+     * generates the IBAN and creates a new Account instance. Accounts of persisted users are
+     * created with {@link #createAccount(User, int)} and a number allocated in the database.
      * </p>
      *
      * @param owner The user who will own the account
      * @return A newly created Account instance
      */
     public Account createAccount(User owner) {
-        log.debug("Starting account creation for user: {}", owner.getId());
-        Integer userAccountNumber = owner.getNextAccountNumber();
-        log.debug("Got account number: {} for user: {}", userAccountNumber, owner.getId());
-        
+        return createAccount(owner, owner.getNextAccountNumber());
+    }
+
+    /**
+     * Creates a standard bank account for the specified user with an account number
+     * allocated by the caller, see {@code UserService.allocateAccountNumber}.
+     *
+     * @param owner             The user who will own the account
+     * @param userAccountNumber The number of the account among the owner's accounts
+     * @return A newly created Account instance
+     */
+    public Account createAccount(User owner, int userAccountNumber) {
+        log.debug("Starting account creation for user: {} with account number: {}", owner.getId(), userAccountNumber);
+
         Iban iban = IbanGenerator.generateIban(owner.getId(), userAccountNumber);
         log.debug("Generated IBAN: {} for accountNumber: {}", iban, userAccountNumber);
         
@@ -0,0 +1,54 @@
+package info.mackiewicz.bankapp.core.account.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a balance change buffered for a hot account.
+ * <p>
+ * Entries are never updated except for the {@code folded} flag, which is set once
+ * the amount has been applied to {@link Account#getBalance()}.
+ *
+ * @see info.mackiewicz.bankapp.core.account.service.HotAccountJournalService
+ */
+@Getter
+@Entity
+@Table(name = "account_journal",
+        indexes = @Index(name = "idx_account_journal_unfolded", columnList = "account_id, folded, id"))
+public class AccountJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Integer accountId;
+
+    /**
+     * Signed amount: positive for credits, negative for debits.
+     */
+    @Column(nullable = false, precision = 38, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private boolean folded;
+
+    /**
+     * Default constructor for JPA.
+     */
+    protected AccountJournalEntry() {
+    }
+
+    public AccountJournalEntry(Integer accountId, BigDecimal amount) {
+        this.accountId = accountId;
+        this.amount = amount;
+        this.createdAt = LocalDateTime.now();
+        this.folded = false;
+    }
+}
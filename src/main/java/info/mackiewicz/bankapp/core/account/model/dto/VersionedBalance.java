@@ -0,0 +1,12 @@
+package info.mackiewicz.bankapp.core.account.model.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance of an account together with the version it was read at.
+ *
+ * @param balance the stored balance
+ * @param version the version of the balance, to be checked by a conditional update
+ */
+public record VersionedBalance(BigDecimal balance, long version) {
+}
@@ -0,0 +1,30 @@
+package info.mackiewicz.bankapp.core.account.repository;
+
+import info.mackiewicz.bankapp.core.account.model.AccountJournalEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AccountJournalRepository extends JpaRepository<AccountJournalEntry, Long> {
+
+    List<AccountJournalEntry> findByAccountIdAndFoldedFalseOrderByIdAsc(Integer accountId, Limit limit);
+
+    /**
+     * Marks the given entries as applied to the account balance.
+     *
+     * @param ids the IDs of the entries to mark
+     * @return the number of entries that were still unfolded and got marked
+     */
+    @Modifying
+    @Query("""
+            UPDATE AccountJournalEntry e
+                SET e.folded = true
+                WHERE e.id IN :ids
+                AND e.folded = false
+            """)
+    int markFolded(@Param("ids") List<Long> ids);
+}
@@ -1,10 +1,14 @@
 package info.mackiewicz.bankapp.core.account.repository;
 
 import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.model.dto.VersionedBalance;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.model.vo.Pesel;
+import jakarta.persistence.LockModeType;
 import org.iban4j.Iban;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -23,6 +27,34 @@ public interface AccountRepository extends JpaRepository<Account, Integer> {
 
     boolean existsByOwner_email(EmailAddress email);
 
+    /**
+     * Retrieves the ID of the owner of an account without loading the account or its owner.
+     *
+     * @param accountId the unique identifier of the account
+     *
+     * @return an Optional containing the owner ID if the account is found, or an empty Optional otherwise
+     */
+    @Query("""
+            SELECT a.owner.id
+                FROM Account a
+                WHERE a.id = :accountId
+            """)
+    Optional<Integer> findOwnerIdById(@Param("accountId") Integer accountId);
+
+    /**
+     * Retrieves the ID of the owner of the account with the given IBAN without loading the account or its owner.
+     *
+     * @param iban the IBAN of the account
+     *
+     * @return an Optional containing the owner ID if the account is found, or an empty Optional otherwise
+     */
+    @Query("""
+            SELECT a.owner.id
+                FROM Account a
+                WHERE a.iban = :iban
+            """)
+    Optional<Integer> findOwnerIdByIban(@Param("iban") Iban iban);
+
     /**
      * Retrieves the balance of an account by its unique identifier.
      *
@@ -37,4 +69,87 @@ public interface AccountRepository extends JpaRepository<Account, Integer> {
             """)
     Optional<BigDecimal> findBalanceById(@Param("accountId") Integer accountId);
 
+    /**
+     * Retrieves the balance of an account plus the amounts of its journal entries not folded yet, read in one
+     * statement so a concurrent fold is either fully included or not at all.
+     *
+     * @param accountId the unique identifier of the account
+     *
+     * @return an Optional containing the current balance if the account is found, or an empty Optional otherwise
+     */
+    @Query("""
+            SELECT a.balance + COALESCE((SELECT SUM(e.amount)
+                    FROM AccountJournalEntry e
+                    WHERE e.accountId = a.id
+                    AND e.folded = false), 0)
+                FROM Account a
+                WHERE a.id = :accountId
+            """)
+    Optional<BigDecimal> findBalanceWithUnfoldedById(@Param("accountId") Integer accountId);
+
+    /**
+     * Locks the row of an account for writing until the end of the current transaction.
+     *
+     * @param accountId the unique identifier of the account
+     *
+     * @return an Optional containing the account ID if the account is found, or an empty Optional otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT a.id
+                FROM Account a
+                WHERE a.id = :accountId
+            """)
+    Optional<Integer> lockById(@Param("accountId") Integer accountId);
+
+    /**
+     * Retrieves the balance of an account together with its version, read in one statement.
+     *
+     * @param accountId the unique identifier of the account
+     *
+     * @return an Optional containing the balance and its version if the account is found, or an empty Optional otherwise
+     */
+    @Query("""
+            SELECT new info.mackiewicz.bankapp.core.account.model.dto.VersionedBalance(a.balance, a.version)
+                FROM Account a
+                WHERE a.id = :accountId
+            """)
+    Optional<VersionedBalance> findVersionedBalanceById(@Param("accountId") Integer accountId);
+
+    /**
+     * Atomically adds the given delta to the balance of an account and increments its version.
+     *
+     * @param accountId the unique identifier of the account
+     * @param delta     signed amount to add to the balance
+     *
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("""
+            UPDATE Account a
+                SET a.balance = a.balance + :delta, a.version = a.version + 1
+                WHERE a.id = :accountId
+            """)
+    int addToBalance(@Param("accountId") Integer accountId, @Param("delta") BigDecimal delta);
+
+    /**
+     * Sets the balance of an account and increments its version, provided the version is unchanged.
+     *
+     * @param accountId the unique identifier of the account
+     * @param balance   the new balance
+     * @param version   the version the current balance was read at
+     *
+     * @return the number of updated rows, 0 if the account was changed since it was read
+     */
+    @Modifying
+    @Query("""
+            UPDATE Account a
+                SET a.balance = :balance, a.version = a.version + 1
+                WHERE a.id = :accountId
+                AND a.version = :version
+            """)
+    int updateBalanceIfUnchanged(@Param("accountId") Integer accountId,
+                                 @Param("balance") BigDecimal balance,
+                                 @Param("version") long version);
+
 }
@@ -4,7 +4,7 @@ import info.mackiewicz.bankapp.core.account.model.Account;
 import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
 import info.mackiewicz.bankapp.core.user.model.User;
 import info.mackiewicz.bankapp.core.user.service.UserService;
-import info.mackiewicz.bankapp.shared.util.RetryUtil;
+import info.mackiewicz.bankapp.shared.service.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -12,8 +12,8 @@ import org.springframework.stereotype.Service;
 /**
  * Service responsible for orchestrating the account creation process.
  * <p>
- * This service handles the retry logic and user retrieval for account creation,
- * working with AccountFactory to create accounts and AccountRepository to save them.
+ * This service validates the owner, allocates the account number and works with
+ * AccountFactory to create accounts and AccountRepository to save them.
  * </p>
  */
 @Slf4j
@@ -24,22 +24,21 @@ class AccountCreationService {
     private final UserService userService;
     private final AccountRepository accountRepository;
     private final AccountValidationService validationService;
-    
-
-    private static final int MAX_RETRIES = 3;
-    private static final long RETRY_DELAY_MS = 100;
+    private final UserPrincipalCache userPrincipalCache;
+    private final AccountOwnershipIndex ownershipIndex;
 
     /**
-     * Creates a new account for the specified user with retry logic.
+     * Creates a new account for the specified user.
      * <p>
-     * This method validates the user, retrieves the user with a pessimistic lock,
-     * creates an account using AccountFactory, and saves it to the repository.
-     * If any step fails, it will retry up to a maximum number of retries.
+     * This method validates the user, allocates the next account number of the user with an
+     * atomic database update, creates an account using AccountFactory and saves it to the
+     * repository. Concurrent calls for the same user get distinct account numbers without
+     * locking the user row up front or retrying. Must run in a transaction, so that a failed
+     * save also rolls back the allocated number.
      * </p>
      *
      * @param userId The ID of the user who will own the account
      * @return The newly created and saved account
-     * @throws RuntimeException if account creation fails after all retry attempts
      */
     Account createAccount(Integer userId) {
         log.debug("Starting account creation process for user ID: {}", userId);
@@ -47,48 +46,14 @@ class AccountCreationService {
         // Validate user before attempting to create account
         User owner = userService.getUserById(userId);
         validationService.validateNewAccountOwner(owner);
-        
-        // Execute account creation with retry logic
-        return executeWithRetry(userId);
-    }
 
-    /**
-     * Executes the account creation process with retry logic.
-     *
-     * @param userId The ID of the user who will own the account
-     * @return The newly created and saved account
-     */
-    private Account executeWithRetry(Integer userId) {
-        return RetryUtil.executeWithRetry(
-            () -> createAndSaveAccount(userId),
-            MAX_RETRIES,
-            RETRY_DELAY_MS,
-            "create account",
-            "userId: " + userId
-        );
-    }
+        int accountNumber = userService.allocateAccountNumber(userId);
+        Account account = accountRepository.save(Account.factory().createAccount(owner, accountNumber));
+        log.debug("Account created successfully with ID: {}", account.getId());
 
-    /**
-     * Creates and saves an account for the specified user.
-     * <p>
-     * This method retrieves the user with a pessimistic lock,
-     * creates an account using AccountFactory, and saves it to the repository.
-     * </p>
-     *
-     * @param userId The ID of the user who will own the account
-     * @return The newly created and saved account
-     */
-    private Account createAndSaveAccount(Integer userId) {
-        // Get user with pessimistic lock to prevent concurrent modifications
-        User user = userService.getUserByIdWithPessimisticLock(userId);
-        
-        // Create account using factory
-        Account account = Account.factory().createAccount(user);
-        
-        // Save account to repository
-        Account savedAccount = accountRepository.save(account);
-        log.debug("Account created successfully with ID: {}", savedAccount.getId());
-        
-        return savedAccount;
+        // Cached principals list the owned accounts
+        userPrincipalCache.evictUser(userId);
+        ownershipIndex.register(account);
+        return account;
     }
-}
\ No newline at end of file
+}
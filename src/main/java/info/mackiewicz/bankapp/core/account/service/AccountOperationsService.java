@@ -1,11 +1,15 @@
 package info.mackiewicz.bankapp.core.account.service;
 
+import info.mackiewicz.bankapp.core.account.exception.AccountNotFoundByIdException;
 import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.model.dto.VersionedBalance;
 import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceWritePolicy;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -17,6 +21,24 @@ import java.math.BigDecimal;
  * validation
  * and transaction management.
  * </p>
+ * <p>
+ * Operations on a hot account are appended to its journal instead of
+ * updating the account row, see {@link HotAccountJournalService}. Withdrawals
+ * lock the row while they check the funds, deposits take no lock.
+ * </p>
+ * <p>
+ * In the optimistic locking mode, see
+ * {@link AccountBalanceWritePolicy#isConditionalWrite()}, the balance is read
+ * again together with its version and written by a conditional update, which
+ * fails with an
+ * {@link ObjectOptimisticLockingFailureException} if another transaction
+ * changed the account in between.
+ * </p>
+ * <p>
+ * While the balance engine is enabled it owns the balances, and both
+ * operations are rejected, see
+ * {@link AccountBalanceWritePolicy#isBalanceOwnedExternally()}.
+ * </p>
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -25,11 +47,22 @@ class AccountOperationsService {
 
     private final AccountRepository accountRepository;
     private final AccountValidationService validationService;
+    private final HotAccountJournalService hotAccountJournalService;
+    private final AccountBalanceWritePolicy writePolicy;
 
     Account deposit(Account account,
             @NotNull @DecimalMin(value = "0.01", message = "Amount must be greater than zero") BigDecimal amount) {
         log.debug("Depositing {} to account {}", amount, account.getId());
+        rejectIfBalancesInEngine();
         validationService.validateDeposit(amount);
+        if (hotAccountJournalService.isJournaled(account)) {
+            hotAccountJournalService.record(account, amount);
+            return account;
+        }
+        if (writePolicy.isConditionalWrite()) {
+            VersionedBalance current = readVersionedBalance(account);
+            return updateIfUnchanged(account, current, current.balance().add(amount));
+        }
         account.setBalance(account.getBalance().add(amount));
         log.debug("Deposit successful. New balance: {}", account.getBalance());
         return accountRepository.save(account);
@@ -38,9 +71,41 @@ class AccountOperationsService {
     Account withdraw(Account account,
             @NotNull @DecimalMin(value = "0.01", message = "Amount must be greater than zero") BigDecimal amount) {
         log.debug("Withdrawing {} from account {}", amount, account.getId());
+        rejectIfBalancesInEngine();
+        if (hotAccountJournalService.isJournaled(account)) {
+            validationService.validateWithdrawal(hotAccountJournalService.lockForDebit(account.getId()), amount);
+            hotAccountJournalService.record(account, amount.negate());
+            return account;
+        }
+        if (writePolicy.isConditionalWrite()) {
+            VersionedBalance current = readVersionedBalance(account);
+            validationService.validateWithdrawal(current.balance(), amount);
+            return updateIfUnchanged(account, current, current.balance().subtract(amount));
+        }
         validationService.validateWithdrawal(account.getBalance(), amount);
         account.setBalance(account.getBalance().subtract(amount));
         log.debug("Withdrawal successful. New balance: {}", account.getBalance());
         return accountRepository.save(account);
     }
+
+    private VersionedBalance readVersionedBalance(Account account) {
+        return accountRepository.findVersionedBalanceById(account.getId())
+                .orElseThrow(() -> new AccountNotFoundByIdException("Account with ID " + account.getId() + " not found."));
+    }
+
+    private Account updateIfUnchanged(Account account, VersionedBalance current, BigDecimal newBalance) {
+        if (accountRepository.updateBalanceIfUnchanged(account.getId(), newBalance, current.version()) == 0) {
+            log.debug("Account {} changed since version {}", account.getId(), current.version());
+            throw new ObjectOptimisticLockingFailureException(Account.class, account.getId());
+        }
+        account.setBalance(newBalance);
+        log.debug("Conditional update successful. New balance: {}", newBalance);
+        return account;
+    }
+
+    private void rejectIfBalancesInEngine() {
+        if (writePolicy.isBalanceOwnedExternally()) {
+            throw new IllegalStateException("Balances are owned by the balance engine and cannot be changed directly");
+        }
+    }
 }
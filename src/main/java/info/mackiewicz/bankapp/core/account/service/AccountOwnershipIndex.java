@@ -0,0 +1,98 @@
+package info.mackiewicz.bankapp.core.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.iban4j.Iban;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * In-memory index of account owners, keyed by account ID and by IBAN.
+ * <p>
+ * The owner of an account never changes, so entries are loaded once with a single-column query and kept until
+ * the account is deleted or the index is full. New accounts are registered after their transaction commits;
+ * unknown accounts are not cached, so an account created on another instance is found on the first lookup.
+ */
+@Slf4j
+@Component
+public class AccountOwnershipIndex {
+
+    private static final long MAX_ENTRIES = 100_000;
+
+    private final AccountRepository accountRepository;
+    private final Cache<Integer, Integer> ownerByAccountId;
+    private final Cache<String, Integer> ownerByIban;
+
+    public AccountOwnershipIndex(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+        this.ownerByAccountId = Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+        this.ownerByIban = Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+    }
+
+    /**
+     * Finds the owner of the account with the given ID.
+     *
+     * @param accountId the account ID
+     * @return the ID of the owner, or empty if the account does not exist
+     */
+    public Optional<Integer> findOwnerId(Integer accountId) {
+        return Optional.ofNullable(ownerByAccountId.get(accountId,
+                id -> accountRepository.findOwnerIdById(id).orElse(null)));
+    }
+
+    /**
+     * Finds the owner of the account with the given IBAN.
+     *
+     * @param iban the account IBAN
+     * @return the ID of the owner, or empty if the account does not exist
+     */
+    public Optional<Integer> findOwnerId(Iban iban) {
+        return Optional.ofNullable(ownerByIban.get(iban.toString(),
+                key -> accountRepository.findOwnerIdByIban(iban).orElse(null)));
+    }
+
+    /**
+     * Adds a newly created account to the index, after commit when called inside a transaction.
+     *
+     * @param account the saved account
+     */
+    public void register(Account account) {
+        Integer accountId = account.getId();
+        String iban = account.getIban().toString();
+        Integer ownerId = account.getOwner().getId();
+        runAfterCommit(() -> {
+            ownerByAccountId.put(accountId, ownerId);
+            ownerByIban.put(iban, ownerId);
+            log.debug("Registered account {} of owner {} in ownership index", accountId, ownerId);
+        });
+    }
+
+    /**
+     * Removes a deleted account from the index.
+     *
+     * @param account the deleted account
+     */
+    public void evict(Account account) {
+        ownerByAccountId.invalidate(account.getId());
+        ownerByIban.invalidate(account.getIban().toString());
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -7,6 +7,7 @@ import info.mackiewicz.bankapp.core.account.model.Account;
 import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.model.vo.Pesel;
+import info.mackiewicz.bankapp.shared.util.IbanCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.iban4j.Iban;
@@ -34,9 +35,9 @@ class AccountQueryService {
     }
 
     Account getAccountByIban(Iban iban) {
-        log.debug("Finding account by IBAN: {}", iban.toFormattedString());
+        log.debug("Finding account by IBAN: {}", IbanCache.formatted(iban));
         return accountRepository.findByIban(iban)
-                .orElseThrow(() -> new AccountNotFoundByIbanException("Account with IBAN " + iban.toFormattedString() + " not found."));
+                .orElseThrow(() -> new AccountNotFoundByIbanException("Account with IBAN " + IbanCache.formatted(iban) + " not found."));
     }
 
     Account getAccountByOwnersEmail(EmailAddress recipientEmail) {
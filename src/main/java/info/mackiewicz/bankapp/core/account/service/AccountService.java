@@ -4,9 +4,11 @@ import info.mackiewicz.bankapp.core.account.exception.AccountDeletionException;
 import info.mackiewicz.bankapp.core.account.exception.AccountNotFoundByIdException;
 import info.mackiewicz.bankapp.core.account.model.Account;
 import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceOperations;
 import info.mackiewicz.bankapp.core.account.service.interfaces.AccountServiceInterface;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.model.vo.Pesel;
+import info.mackiewicz.bankapp.shared.util.IbanCache;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
@@ -22,24 +24,24 @@ import java.util.List;
 @Slf4j
 @RequiredArgsConstructor
 @Service
-public class AccountService implements AccountServiceInterface {
+public class AccountService implements AccountServiceInterface, AccountBalanceOperations {
 
     private final AccountRepository accountRepository;
     private final AccountOperationsService accountOperationsService;
     private final AccountQueryService accountQueryService;
     private final AccountCreationService accountCreationService;
+    private final AccountOwnershipIndex ownershipIndex;
 
     /**
      * Creates a new account for the specified user.
      * <p>
-     * This method attempts to create an account and will retry if it fails,
-     * up to a maximum number of retries with increasing delays between attempts.
+     * The account number is allocated with an atomic update of the user's account counter,
+     * so concurrent account creation for the same user needs no lock on the user or retries.
      * </p>
      *
      * @param userId The ID of the user who will own the account
      *
      * @return The newly created account
-     * @throws RuntimeException if account creation fails after all retry attempts
      */
     @Override
     @Transactional
@@ -100,7 +102,7 @@ public class AccountService implements AccountServiceInterface {
     @Deprecated(since = "0.4.6")
     @Override
     public Account getAccountByIban(String iban) {
-        return accountQueryService.getAccountByIban(Iban.valueOf(iban));
+        return accountQueryService.getAccountByIban(IbanCache.valueOf(iban));
     }
 
     @Override
@@ -136,6 +138,7 @@ public class AccountService implements AccountServiceInterface {
         Account account = getAccountById(id);
         if (account.getBalance() == null || account.getBalance().compareTo(BigDecimal.ZERO) == 0) {
             accountRepository.delete(account);
+            ownershipIndex.evict(account);
         } else {
             throw new AccountDeletionException("Account with ID " + id + " has non-zero balance and cannot be deleted.");
         }
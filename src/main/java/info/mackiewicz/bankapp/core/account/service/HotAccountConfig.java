@@ -0,0 +1,29 @@
+package info.mackiewicz.bankapp.core.account.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the hot-account mode.
+ * <p>
+ * When enabled, balance changes of the configured account (the bank account by default)
+ * are appended to the account journal instead of updating its row, and folded into the
+ * balance periodically.
+ *
+ * @param enabled       whether the hot-account mode is active
+ * @param accountId     ID of the account to journal
+ * @param foldBatchSize maximum number of journal entries folded in one database transaction
+ */
+@ConfigurationProperties(prefix = "bankapp.bank.hot-account")
+public record HotAccountConfig(boolean enabled,
+        Integer accountId,
+        int foldBatchSize) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public HotAccountConfig {
+        if (accountId == null)
+            accountId = -1;
+        if (foldBatchSize <= 0)
+            foldBatchSize = 1000;
+    }
+}
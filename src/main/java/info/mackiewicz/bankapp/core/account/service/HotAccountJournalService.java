@@ -0,0 +1,143 @@
+package info.mackiewicz.bankapp.core.account.service;
+
+import info.mackiewicz.bankapp.core.account.exception.AccountNotFoundByIdException;
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.model.AccountJournalEntry;
+import info.mackiewicz.bankapp.core.account.repository.AccountJournalRepository;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Service buffering balance changes of a hot account in an append-only journal.
+ * <p>
+ * Every welcome bonus and every fee moves money through the single bank account, so
+ * updating its row would serialize all of them on one lock and one database row.
+ * In hot-account mode each change is inserted as an {@link AccountJournalEntry} instead,
+ * and {@link #fold()} periodically applies the accumulated entries with one
+ * {@code UPDATE balance = balance + delta}.
+ * </p>
+ * <p>
+ * Credits are appended without any lock. Debits lock the account row first (see {@link #lockForDebit(Integer)}),
+ * so two of them cannot both pass the funds check against the same balance.
+ * </p>
+ *
+ * @see HotAccountConfig
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotAccountJournalService {
+
+    private final HotAccountConfig config;
+    private final AccountJournalRepository journalRepository;
+    private final AccountRepository accountRepository;
+
+    /**
+     * Checks whether balance changes of the given account are journaled.
+     *
+     * @param accountId the ID of the account
+     * @return true if hot-account mode is enabled for this account
+     */
+    public boolean isJournaled(Integer accountId) {
+        return config.enabled() && config.accountId().equals(accountId);
+    }
+
+    public boolean isJournaled(Account account) {
+        return account != null && isJournaled(account.getId());
+    }
+
+    /**
+     * Appends a balance change of a hot account to the journal.
+     *
+     * @param account the journaled account
+     * @param delta   signed amount, positive for credits and negative for debits
+     */
+    @Transactional
+    public void record(Account account, BigDecimal delta) {
+        journalRepository.save(new AccountJournalEntry(account.getId(), delta));
+        log.debug("Journaled {} for hot account {}", delta, account.getId());
+    }
+
+    /**
+     * Returns the current balance of a journaled account, including entries not folded yet.
+     *
+     * @param accountId the ID of the account
+     * @return stored balance plus the pending journal delta
+     */
+    public BigDecimal getCurrentBalance(Integer accountId) {
+        return accountRepository.findBalanceWithUnfoldedById(accountId).orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Locks the row of a journaled account until the end of the current transaction and returns its current
+     * balance. Debits hold the lock while they check the funds and append their entry; a fold waits for it as well.
+     *
+     * @param accountId the ID of the account
+     * @return stored balance plus the pending journal delta
+     * @throws AccountNotFoundByIdException if the account does not exist
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal lockForDebit(Integer accountId) {
+        accountRepository.lockById(accountId)
+                .orElseThrow(() -> new AccountNotFoundByIdException("Account with ID " + accountId + " not found."));
+        return getCurrentBalance(accountId);
+    }
+
+    /**
+     * Folds one batch of unfolded journal entries into the hot account balance.
+     * <p>
+     * The entries are marked as folded and the balance updated in the same database
+     * transaction. If another node folded any of them in the meantime the transaction
+     * is rolled back, so each entry is applied exactly once.
+     * </p>
+     *
+     * @return the number of folded entries, 0 when there was nothing to fold
+     * @throws IllegalStateException if the batch was folded concurrently
+     */
+    @Transactional
+    public int fold() {
+        if (!config.enabled()) {
+            return 0;
+        }
+        Integer accountId = config.accountId();
+        List<AccountJournalEntry> entries = journalRepository.findByAccountIdAndFoldedFalseOrderByIdAsc(
+                accountId, Limit.of(config.foldBatchSize()));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = entries.stream().map(AccountJournalEntry::getId).toList();
+        BigDecimal delta = entries.stream()
+                .map(AccountJournalEntry::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        // The account row first, the lock order of debits
+        accountRepository.addToBalance(accountId, delta);
+        int marked = journalRepository.markFolded(ids);
+        if (marked != ids.size()) {
+            throw new IllegalStateException(String.format(
+                    "Journal batch for account %d was folded concurrently (%d of %d entries)",
+                    accountId, marked, ids.size()));
+        }
+
+        log.debug("Folded {} journal entries into account {} (delta {})", entries.size(), accountId, delta);
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of entries folded by a single {@link #fold()} call.
+     *
+     * @return fold batch size
+     */
+    public int getFoldBatchSize() {
+        return config.foldBatchSize();
+    }
+}
@@ -0,0 +1,45 @@
+package info.mackiewicz.bankapp.core.account.service.interfaces;
+
+import info.mackiewicz.bankapp.core.account.exception.AccountNotFoundByIdException;
+import info.mackiewicz.bankapp.core.account.exception.AccountValidationException;
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.transaction.exception.InsufficientFundsException;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance operations used by the transaction executors.
+ * Implemented by the account service, which updates the balances in the database, and by the balance engine,
+ * which keeps them in memory.
+ */
+public interface AccountBalanceOperations {
+
+    /**
+     * Retrieves an account by its unique identifier.
+     *
+     * @param id The unique identifier of the account to retrieve
+     * @return The {@link Account} matching the specified id
+     * @throws AccountNotFoundByIdException if no account is found with the given id
+     */
+    Account getAccountById(int id);
+
+    /**
+     * Deposits funds into an account.
+     *
+     * @param account The account to deposit funds into
+     * @param amount The amount to deposit
+     * @return The updated {@link Account} after the deposit
+     * @throws AccountValidationException if the amount is not positive
+     */
+    Account deposit(Account account, BigDecimal amount);
+
+    /**
+     * Withdraws funds from an account.
+     *
+     * @param account The account to withdraw funds from
+     * @param amount The amount to withdraw
+     * @return The updated {@link Account} after the withdrawal
+     * @throws InsufficientFundsException if the balance does not cover the amount
+     */
+    Account withdraw(Account account, BigDecimal amount);
+}
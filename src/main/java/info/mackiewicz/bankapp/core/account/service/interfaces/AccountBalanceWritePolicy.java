@@ -0,0 +1,20 @@
+package info.mackiewicz.bankapp.core.account.service.interfaces;
+
+/**
+ * Decides how the account service may write balances to the database.
+ * Implemented by the transaction processing, which owns the modes that balances are changed in.
+ */
+public interface AccountBalanceWritePolicy {
+
+    /**
+     * @return true if the balances are owned outside the database, e.g. held in memory by the balance engine, and
+     *         cannot be changed directly
+     */
+    boolean isBalanceOwnedExternally();
+
+    /**
+     * @return true if balances are written by conditional updates on their version, which fail if the account was
+     *         changed since it was read, instead of under account locks
+     */
+    boolean isConditionalWrite();
+}
@@ -1,5 +1,6 @@
 package info.mackiewicz.bankapp.core.account.util;
 
+import info.mackiewicz.bankapp.shared.util.IbanCache;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import org.iban4j.Iban;
@@ -25,12 +26,13 @@ public class IbanConverter implements AttributeConverter<Iban, String> {
 
     /**
      * Converts a String representation from database to an Iban object.
+     * IBANs are validated the first time they are loaded and shared afterwards, see {@link IbanCache}.
      *
      * @param dbData the String value from database
      * @return the Iban object or null if the input is null
      */
     @Override
     public Iban convertToEntityAttribute(String dbData) {
-        return dbData != null ? Iban.valueOf(dbData) : null;
+        return dbData != null ? IbanCache.valueOf(dbData) : null;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package info.mackiewicz.bankapp.core.account.util;
 
+import info.mackiewicz.bankapp.shared.util.IbanCache;
 import lombok.experimental.UtilityClass;
 import org.iban4j.CountryCode;
 import org.iban4j.Iban;
@@ -35,7 +36,7 @@ public final class IbanGenerator {
      * @return A formatted IBAN string with proper spacing
      */
     public String formatIban(String iban) {
-        return Iban.valueOf(iban).toFormattedString();
+        return IbanCache.formatted(IbanCache.valueOf(iban));
     }
 
     /**
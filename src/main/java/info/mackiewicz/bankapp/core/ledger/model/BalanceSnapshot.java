@@ -0,0 +1,51 @@
+package info.mackiewicz.bankapp.core.ledger.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of an account including all its postings up to a point in time.
+ * <p>
+ * The balance as of any later time is the snapshot plus the postings made after it, so snapshots bound the number
+ * of postings read for a historical balance. Snapshots are never updated.
+ *
+ * @see info.mackiewicz.bankapp.core.ledger.service.LedgerService
+ */
+@Getter
+@Entity
+@Table(name = "balance_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_balance_snapshots_account_taken",
+                columnNames = {"account_id", "taken_at"}))
+public class BalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Integer accountId;
+
+    /**
+     * Postings up to and including this time are contained in the balance.
+     */
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    @Column(nullable = false, precision = 38, scale = 2)
+    private BigDecimal balance;
+
+    /**
+     * Default constructor for JPA.
+     */
+    protected BalanceSnapshot() {
+    }
+
+    public BalanceSnapshot(Integer accountId, LocalDateTime takenAt, BigDecimal balance) {
+        this.accountId = accountId;
+        this.takenAt = takenAt;
+        this.balance = balance;
+    }
+}
@@ -0,0 +1,59 @@
+package info.mackiewicz.bankapp.core.ledger.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One side of a double-entry booking of a transaction.
+ * <p>
+ * Every completed transaction is booked as postings whose amounts sum up to zero: a transfer debits the source
+ * account and credits the destination account, a deposit or withdrawal books its other side against the external
+ * counterparty, represented by a posting without an account. Postings are never updated.
+ *
+ * @see info.mackiewicz.bankapp.core.ledger.service.LedgerService
+ */
+@Getter
+@Entity
+@Table(name = "postings", indexes = {
+        @Index(name = "idx_postings_account_posted", columnList = "account_id, posted_at"),
+        @Index(name = "idx_postings_transaction", columnList = "transaction_id")})
+public class Posting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Integer transactionId;
+
+    /**
+     * The account, or null for the external counterparty of deposits and withdrawals.
+     */
+    @Column(name = "account_id")
+    private Integer accountId;
+
+    /**
+     * Signed amount: positive for credits, negative for debits.
+     */
+    @Column(nullable = false, precision = 38, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "posted_at", nullable = false)
+    private LocalDateTime postedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    protected Posting() {
+    }
+
+    public Posting(Integer transactionId, Integer accountId, BigDecimal amount, LocalDateTime postedAt) {
+        this.transactionId = transactionId;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.postedAt = postedAt;
+    }
+}
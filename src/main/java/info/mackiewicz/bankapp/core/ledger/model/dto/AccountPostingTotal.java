@@ -0,0 +1,13 @@
+package info.mackiewicz.bankapp.core.ledger.model.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum of the postings of an account that are not yet contained in a balance snapshot.
+ *
+ * @param accountId the account
+ * @param total     the sum of the posting amounts
+ * @param postings  the number of postings
+ */
+public record AccountPostingTotal(Integer accountId, BigDecimal total, long postings) {
+}
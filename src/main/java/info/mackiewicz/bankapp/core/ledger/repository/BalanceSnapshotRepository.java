@@ -0,0 +1,37 @@
+package info.mackiewicz.bankapp.core.ledger.repository;
+
+import info.mackiewicz.bankapp.core.ledger.model.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    /**
+     * Finds the latest snapshot of an account taken up to a point in time.
+     *
+     * @param accountId the ID of the account
+     * @param at        the point in time
+     * @return the snapshot, or empty if the account has none that old
+     */
+    Optional<BalanceSnapshot> findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc(Integer accountId,
+                                                                                           LocalDateTime at);
+
+    /**
+     * Finds the latest snapshot of each of the given accounts.
+     *
+     * @param accountIds the IDs of the accounts
+     * @return the latest snapshots, none for accounts without snapshots
+     */
+    @Query("""
+            SELECT s FROM BalanceSnapshot s
+                WHERE s.accountId IN :accountIds
+                AND s.takenAt = (SELECT MAX(l.takenAt) FROM BalanceSnapshot l WHERE l.accountId = s.accountId)
+            """)
+    List<BalanceSnapshot> findLatestByAccountIds(@Param("accountIds") Collection<Integer> accountIds);
+}
@@ -0,0 +1,72 @@
+package info.mackiewicz.bankapp.core.ledger.repository;
+
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Inserts postings with multi-row {@code INSERT} statements.
+ * <p>
+ * Postings use identity keys, which prevent Hibernate from batching inserts, and they are written within the
+ * commit of every transaction. A multi-row statement books all postings of a transaction in one round trip on any
+ * driver, where {@code saveAll} would cost one per posting. Identifiers are quoted with the quote string of the
+ * database, matching the schema created with globally quoted identifiers.
+ */
+@Repository
+public class PostingJdbcRepository {
+
+    private static final int COLUMNS = 4;
+    // Keeps large bulk inserts well below the placeholder limit of the drivers
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertPrefix;
+    private final String rowPlaceholders;
+
+    public PostingJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String quote = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getIdentifierQuoteString().trim());
+        this.insertPrefix = String.format("INSERT INTO %1$spostings%1$s (%1$stransaction_id%1$s, %1$saccount_id%1$s, "
+                + "%1$samount%1$s, %1$sposted_at%1$s) VALUES ", quote);
+        this.rowPlaceholders = "(?, ?, ?, ?)";
+    }
+
+    /**
+     * Inserts postings within the current transaction.
+     *
+     * @param postings the postings to insert
+     */
+    public void insert(List<Posting> postings) {
+        for (int from = 0; from < postings.size(); from += MAX_ROWS_PER_STATEMENT) {
+            insertRows(postings.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, postings.size())));
+        }
+    }
+
+    private void insertRows(List<Posting> rows) {
+        StringBuilder sql = new StringBuilder(insertPrefix.length() + rows.size() * (rowPlaceholders.length() + 2))
+                .append(insertPrefix);
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(rowPlaceholders);
+        }
+        jdbcTemplate.update(sql.toString(), ps -> {
+            int index = 1;
+            for (Posting posting : rows) {
+                ps.setInt(index, posting.getTransactionId());
+                if (posting.getAccountId() == null) {
+                    ps.setNull(index + 1, Types.INTEGER);
+                } else {
+                    ps.setInt(index + 1, posting.getAccountId());
+                }
+                ps.setBigDecimal(index + 2, posting.getAmount());
+                ps.setTimestamp(index + 3, Timestamp.valueOf(posting.getPostedAt()));
+                index += COLUMNS;
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package info.mackiewicz.bankapp.core.ledger.repository;
+
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import info.mackiewicz.bankapp.core.ledger.model.dto.AccountPostingTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PostingRepository extends JpaRepository<Posting, Long> {
+
+    List<Posting> findByTransactionId(Integer transactionId);
+
+    /**
+     * Sums the postings of an account up to a point in time.
+     *
+     * @param accountId the ID of the account
+     * @param until     postings up to and including this time are summed
+     * @return the balance change, or 0 if there are no postings
+     */
+    @Query("""
+            SELECT COALESCE(SUM(p.amount), 0)
+                FROM Posting p
+                WHERE p.accountId = :accountId
+                AND p.postedAt <= :until
+            """)
+    BigDecimal sumAmountsUntil(@Param("accountId") Integer accountId, @Param("until") LocalDateTime until);
+
+    /**
+     * Sums the postings of an account within a period.
+     *
+     * @param accountId the ID of the account
+     * @param after     postings after this time are summed
+     * @param until     postings up to and including this time are summed
+     * @return the balance change, or 0 if there are no postings
+     */
+    @Query("""
+            SELECT COALESCE(SUM(p.amount), 0)
+                FROM Posting p
+                WHERE p.accountId = :accountId
+                AND p.postedAt > :after
+                AND p.postedAt <= :until
+            """)
+    BigDecimal sumAmountsBetween(@Param("accountId") Integer accountId,
+                                 @Param("after") LocalDateTime after,
+                                 @Param("until") LocalDateTime until);
+
+    /**
+     * Sums, per account, the postings up to a point in time that are newer than the latest snapshot of the
+     * account. Accounts with fewer postings than the given minimum are left out.
+     *
+     * @param cutoff      postings up to and including this time are summed
+     * @param minPostings minimum number of postings of a returned account
+     * @return the totals of the accounts due for a new snapshot
+     */
+    @Query("""
+            SELECT new info.mackiewicz.bankapp.core.ledger.model.dto.AccountPostingTotal(
+                        p.accountId, SUM(p.amount), COUNT(p))
+                FROM Posting p
+                WHERE p.accountId IS NOT NULL
+                AND p.postedAt <= :cutoff
+                AND NOT EXISTS (SELECT s.id FROM BalanceSnapshot s
+                                    WHERE s.accountId = p.accountId
+                                    AND s.takenAt >= p.postedAt)
+                GROUP BY p.accountId
+                HAVING COUNT(p) >= :minPostings
+            """)
+    List<AccountPostingTotal> sumUnsnapshottedAmounts(@Param("cutoff") LocalDateTime cutoff,
+                                                      @Param("minPostings") long minPostings);
+}
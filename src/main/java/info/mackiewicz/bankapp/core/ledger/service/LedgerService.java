@@ -0,0 +1,123 @@
+package info.mackiewicz.bankapp.core.ledger.service;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.ledger.model.BalanceSnapshot;
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import info.mackiewicz.bankapp.core.ledger.model.dto.AccountPostingTotal;
+import info.mackiewicz.bankapp.core.ledger.repository.BalanceSnapshotRepository;
+import info.mackiewicz.bankapp.core.ledger.repository.PostingJdbcRepository;
+import info.mackiewicz.bankapp.core.ledger.repository.PostingRepository;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Double-entry ledger of the completed transactions.
+ * <p>
+ * Every transaction is booked as a debit and a credit posting within the database transaction that applies its
+ * legs, so the postings always match the balances. The balance of an account as of any time is the sum of its
+ * postings up to then. Periodic {@link BalanceSnapshot}s store that sum, so a historical balance is read as the
+ * latest snapshot before the requested time plus the postings made after it.
+ *
+ * @see LedgerSnapshotConfig
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class LedgerService {
+
+    private static final int SNAPSHOT_CHUNK_SIZE = 1000;
+
+    private final PostingJdbcRepository postingJdbcRepository;
+    private final PostingRepository postingRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final LedgerSnapshotConfig config;
+
+    /**
+     * Books a completed transaction. Must be called within the database transaction that applies its legs.
+     *
+     * @param transaction the transaction, with the accounts its legs were applied to
+     */
+    public void post(Transaction transaction) {
+        post(postingsOf(transaction, LocalDateTime.now()));
+    }
+
+    /**
+     * Stores postings within the current database transaction.
+     *
+     * @param postings the postings, summing up to zero per transaction
+     */
+    public void post(List<Posting> postings) {
+        postingJdbcRepository.insert(postings);
+    }
+
+    /**
+     * Books a transaction as a debit of its source and a credit of its destination. A missing side, as in
+     * deposits and withdrawals, is booked against the external counterparty.
+     *
+     * @param transaction the transaction
+     * @param postedAt    the time of the postings
+     * @return the debit and the credit posting
+     */
+    public static List<Posting> postingsOf(Transaction transaction, LocalDateTime postedAt) {
+        return List.of(
+                new Posting(transaction.getId(), accountId(transaction.getSourceAccount()),
+                        transaction.getAmount().negate(), postedAt),
+                new Posting(transaction.getId(), accountId(transaction.getDestinationAccount()),
+                        transaction.getAmount(), postedAt));
+    }
+
+    /**
+     * Calculates the balance of an account at a point in time from its latest snapshot and later postings.
+     *
+     * @param accountId the ID of the account
+     * @param at        the point in time
+     * @return the balance including all postings up to and including that time
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(Integer accountId, LocalDateTime at) {
+        return snapshotRepository.findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc(accountId, at)
+                .map(snapshot -> snapshot.getBalance().add(
+                        postingRepository.sumAmountsBetween(accountId, snapshot.getTakenAt(), at)))
+                .orElseGet(() -> postingRepository.sumAmountsUntil(accountId, at));
+    }
+
+    /**
+     * Takes a snapshot of every account with at least the configured number of postings since its latest
+     * snapshot. Postings younger than the settle time are left for the next run.
+     *
+     * @return the number of snapshots taken
+     */
+    @Transactional
+    public int takeSnapshots() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(config.settleTime() * 1_000_000);
+        List<AccountPostingTotal> totals = postingRepository.sumUnsnapshottedAmounts(cutoff, config.minPostings());
+        for (int from = 0; from < totals.size(); from += SNAPSHOT_CHUNK_SIZE) {
+            List<AccountPostingTotal> chunk = totals.subList(from, Math.min(from + SNAPSHOT_CHUNK_SIZE, totals.size()));
+            Map<Integer, BigDecimal> previous = snapshotRepository
+                    .findLatestByAccountIds(chunk.stream().map(AccountPostingTotal::accountId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(BalanceSnapshot::getAccountId, BalanceSnapshot::getBalance));
+            snapshotRepository.saveAll(chunk.stream()
+                    .map(total -> new BalanceSnapshot(total.accountId(), cutoff,
+                            previous.getOrDefault(total.accountId(), BigDecimal.ZERO).add(total.total())))
+                    .toList());
+        }
+        if (!totals.isEmpty()) {
+            log.info("Took balance snapshots of {} accounts as of {}", totals.size(), cutoff);
+        }
+        return totals.size();
+    }
+
+    private static Integer accountId(Account account) {
+        return account == null ? null : account.getId();
+    }
+}
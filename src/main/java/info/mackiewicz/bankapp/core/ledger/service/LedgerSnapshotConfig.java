@@ -0,0 +1,24 @@
+package info.mackiewicz.bankapp.core.ledger.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the periodic balance snapshots of the ledger.
+ *
+ * @param minPostings minimum number of new postings of an account before a new snapshot is taken
+ * @param settleTime  age in milliseconds a posting must reach before it is included in a snapshot, so
+ *                    transactions that are still committing are not skipped
+ */
+@ConfigurationProperties(prefix = "bankapp.ledger.snapshot")
+public record LedgerSnapshotConfig(int minPostings,
+        long settleTime) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public LedgerSnapshotConfig {
+        if (minPostings <= 0)
+            minPostings = 100;
+        if (settleTime <= 0)
+            settleTime = 60_000;
+    }
+}
@@ -4,6 +4,7 @@ import info.mackiewicz.bankapp.core.account.model.Account;
 import info.mackiewicz.bankapp.core.transaction.model.builder.DepositBuilder;
 import info.mackiewicz.bankapp.core.transaction.model.builder.TransferBuilder;
 import info.mackiewicz.bankapp.core.transaction.model.builder.WithdrawalBuilder;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -49,6 +50,15 @@ public class Transaction {
 
     @Column(name = "date")
     private LocalDateTime date;
+
+    // Lease of the worker processing the transaction, see TransactionClaimService
+    @JsonIgnore
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    @JsonIgnore
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
     
     @PrePersist
     void prePersist() {
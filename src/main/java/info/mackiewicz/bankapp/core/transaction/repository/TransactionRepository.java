@@ -2,12 +2,19 @@ package info.mackiewicz.bankapp.core.transaction.repository;
 
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,6 +55,87 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
                """)
        int updateTransactionStatus(@Param("id") int id, @Param("status") TransactionStatus status);
 
+       /**
+        * Marks a PENDING transaction as DONE.
+        * The status is only changed if the transaction is still PENDING, so exactly one execution of a
+        * transaction can complete it, even if it was re-queued while being executed.
+        *
+        * @param id The ID of the transaction to complete
+        * @return The number of affected rows, 0 if the transaction is not PENDING
+        */
+       @Modifying
+       @Query("""
+                UPDATE Transaction t
+                    SET t.status = 'DONE'
+                    WHERE t.id = :id
+                    AND t.status = 'PENDING'
+               """)
+       int completePendingTransaction(@Param("id") int id);
+
+       /**
+        * Marks a NEW transaction leased by a worker as PENDING and renews the lease.
+        * The status is only changed while the worker holds the lease, so a transaction re-queued and claimed by
+        * another worker is not started twice.
+        *
+        * @param id        The ID of the transaction
+        * @param claimedBy The ID of the worker
+        * @param until     The end of the renewed lease
+        * @return The number of affected rows, 0 if the transaction is not NEW or leased by another worker
+        */
+       @Modifying
+       @Query("""
+                UPDATE Transaction t
+                    SET t.status = 'PENDING', t.claimedUntil = :until
+                    WHERE t.id = :id
+                    AND t.status = 'NEW'
+                    AND t.claimedBy = :claimedBy
+               """)
+       int markLeasedPending(@Param("id") int id,
+                             @Param("claimedBy") String claimedBy,
+                             @Param("until") LocalDateTime until);
+
+       /**
+        * Renews the lease of a PENDING transaction held by a worker.
+        *
+        * @param id        The ID of the transaction
+        * @param claimedBy The ID of the worker
+        * @param until     The end of the renewed lease
+        * @return The number of affected rows, 0 if the transaction is not PENDING or leased by another worker
+        */
+       @Modifying
+       @Query("""
+                UPDATE Transaction t
+                    SET t.claimedUntil = :until
+                    WHERE t.id = :id
+                    AND t.status = 'PENDING'
+                    AND t.claimedBy = :claimedBy
+               """)
+       int renewLease(@Param("id") int id,
+                      @Param("claimedBy") String claimedBy,
+                      @Param("until") LocalDateTime until);
+
+       /**
+        * Sets the failure status of a transaction leased by a worker.
+        * The status is only changed while the transaction is still NEW or PENDING and leased by the worker, so a
+        * worker that lost its lease cannot overwrite the outcome of the execution that took over.
+        *
+        * @param id        The ID of the transaction
+        * @param status    The failure status to set
+        * @param claimedBy The ID of the worker
+        * @return The number of affected rows, 0 if the transaction is final or leased by another worker
+        */
+       @Modifying
+       @Query("""
+                UPDATE Transaction t
+                    SET t.status = :status
+                    WHERE t.id = :id
+                    AND t.status IN ('NEW', 'PENDING')
+                    AND t.claimedBy = :claimedBy
+               """)
+       int failLeasedTransaction(@Param("id") int id,
+                                 @Param("status") TransactionStatus status,
+                                 @Param("claimedBy") String claimedBy);
+
        /**
         * Calculates the total balance that is on hold for a given source account ID.
         * This includes the sum of all pending or new transactions linked to the source account.
@@ -63,4 +151,80 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
                           AND t.status IN ('NEW', 'PENDING')
                """)
        BigDecimal findBalanceOnHoldBySourceAccount_Id(@Param("accountId") Integer accountId);
+
+       /**
+        * Locks NEW transactions that are not leased by any worker, oldest first.
+        * Rows locked by another worker are skipped ({@code FOR UPDATE SKIP LOCKED}) on databases that support it,
+        * so concurrent workers never wait for each other. Must be called within a transaction.
+        *
+        * @param now   the current time, leases ending before it are expired
+        * @param limit maximum number of transactions to lock
+        * @return the locked transactions
+        */
+       @Lock(LockModeType.PESSIMISTIC_WRITE)
+       @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+       @Query("""
+               SELECT t FROM Transaction t
+                                    WHERE t.status = 'NEW'
+                                    AND (t.claimedUntil IS NULL OR t.claimedUntil < :now)
+                                    ORDER BY t.id
+               """)
+       List<Transaction> findClaimableForUpdate(@Param("now") LocalDateTime now, Limit limit);
+
+       /**
+        * Leases transactions to a worker, unless another worker holds an unexpired lease on them.
+        *
+        * @param ids       the IDs of the transactions to lease
+        * @param claimedBy the ID of the worker
+        * @param now       the current time, leases ending before it are expired
+        * @param until     the end of the new lease
+        * @return the number of leased transactions
+        */
+       @Modifying
+       @Query("""
+                UPDATE Transaction t
+                    SET t.claimedBy = :claimedBy, t.claimedUntil = :until
+                    WHERE t.id IN :ids
+                    AND (t.claimedUntil IS NULL OR t.claimedUntil < :now)
+               """)
+       int claim(@Param("ids") Collection<Integer> ids,
+                 @Param("claimedBy") String claimedBy,
+                 @Param("now") LocalDateTime now,
+                 @Param("until") LocalDateTime until);
+
+       /**
+        * Returns which of the given transactions are leased by a worker until the given time.
+        *
+        * @param ids       the IDs of the transactions to check
+        * @param claimedBy the ID of the worker
+        * @param until     the end of the lease
+        * @return the IDs of the transactions holding that lease
+        */
+       @Query("""
+               SELECT t.id FROM Transaction t
+                                    WHERE t.id IN :ids
+                                    AND t.claimedBy = :claimedBy
+                                    AND t.claimedUntil = :until
+               """)
+       List<Integer> findClaimedIds(@Param("ids") Collection<Integer> ids,
+                                    @Param("claimedBy") String claimedBy,
+                                    @Param("until") LocalDateTime until);
+
+       /**
+        * Returns PENDING transactions whose lease has expired to the NEW status and releases the lease.
+        * A PENDING transaction has no applied legs, as the legs commit together with the DONE status.
+        * Transactions without a lease are left alone, they were started before the legs and the status were
+        * committed atomically.
+        *
+        * @param now the current time, leases ending before it are expired
+        * @return the number of re-queued transactions
+        */
+       @Modifying
+       @Query("""
+                UPDATE Transaction t
+                    SET t.status = 'NEW', t.claimedBy = NULL, t.claimedUntil = NULL
+                    WHERE t.status = 'PENDING'
+                    AND t.claimedUntil < :now
+               """)
+       int requeueAbandonedPending(@Param("now") LocalDateTime now);
 }
@@ -0,0 +1,45 @@
+package info.mackiewicz.bankapp.core.transaction.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+
+/**
+ * Configuration of the claiming of NEW transactions by the instances of the application.
+ *
+ * @param batchSize maximum number of transactions claimed per scheduler run
+ * @param lease     time in milliseconds a claimed transaction stays reserved for its worker
+ * @param nodeId    identifier of this instance stored with its claims, unique within the cluster
+ */
+@ConfigurationProperties(prefix = "bankapp.transaction.claim")
+public record TransactionClaimConfig(int batchSize,
+        long lease,
+        String nodeId) {
+
+    private static final int NODE_ID_MAX_LENGTH = 64;
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public TransactionClaimConfig {
+        if (batchSize <= 0)
+            batchSize = 100;
+        if (lease <= 0)
+            lease = 300_000;
+        // pid@hostname of the JVM
+        if (nodeId == null || nodeId.isBlank())
+            nodeId = ManagementFactory.getRuntimeMXBean().getName();
+        if (nodeId.length() > NODE_ID_MAX_LENGTH)
+            nodeId = nodeId.substring(0, NODE_ID_MAX_LENGTH);
+    }
+
+    /**
+     * Calculates the end of a lease taken or renewed now.
+     *
+     * @param now the current time
+     * @return the end of the lease
+     */
+    public LocalDateTime leaseEnd(LocalDateTime now) {
+        return now.plusNanos(lease * 1_000_000);
+    }
+}
@@ -0,0 +1,97 @@
+package info.mackiewicz.bankapp.core.transaction.service;
+
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service responsible for leasing NEW transactions to the instance that processes them.
+ * Package-private to ensure access only through TransactionService facade.
+ * <p>
+ * Several instances of the application may run the transaction scheduler. Each run claims a batch of NEW
+ * transactions: the rows are selected with {@code FOR UPDATE SKIP LOCKED}, so workers claim disjoint batches
+ * without waiting for each other, and leased to this instance until the lease expires. Transactions that are still
+ * NEW when their lease expires, e.g. because the instance crashed, are claimed again by the next run of any
+ * instance. A transaction keeps its lease while PENDING, the lease being renewed when the transaction is
+ * marked PENDING and when its legs are applied: if the lease expires before the transaction is completed, the worker
+ * is presumed dead and the transaction is re-queued as NEW. A worker only changes the status of a transaction it
+ * holds the lease of, so a presumed dead worker cannot overwrite the outcome of the execution that took over.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+class TransactionClaimService {
+    private final TransactionRepository repository;
+    private final TransactionClaimConfig config;
+
+    /**
+     * Claims the oldest unclaimed NEW transactions, up to the configured batch size.
+     *
+     * @return the claimed transactions, oldest first
+     */
+    @Transactional
+    public List<Transaction> claimNewTransactions() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> candidates = repository.findClaimableForUpdate(now, Limit.of(config.batchSize()));
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime until = config.leaseEnd(now);
+        List<Integer> ids = candidates.stream().map(Transaction::getId).toList();
+        int claimed = repository.claim(ids, config.nodeId(), now, until);
+        List<Transaction> batch = candidates;
+        if (claimed < candidates.size()) {
+            // Without SKIP LOCKED support the select waits for a concurrent claim and may return rows it leased
+            Set<Integer> ours = new HashSet<>(repository.findClaimedIds(ids, config.nodeId(), until));
+            batch = candidates.stream().filter(transaction -> ours.contains(transaction.getId())).toList();
+        }
+        batch.forEach(transaction -> {
+            transaction.setClaimedBy(config.nodeId());
+            transaction.setClaimedUntil(until);
+        });
+        log.debug("Claimed {} of {} NEW transactions", batch.size(), candidates.size());
+        return batch;
+    }
+
+    /**
+     * Claims a single transaction, unless another worker holds an unexpired lease on it.
+     *
+     * @param id the ID of the transaction
+     * @return true if the transaction is now leased to this instance
+     */
+    @Transactional
+    public boolean claimTransaction(int id) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean claimed = repository.claim(List.of(id), config.nodeId(), now, config.leaseEnd(now)) > 0;
+        if (!claimed) {
+            log.debug("Transaction {} is claimed by another worker", id);
+        }
+        return claimed;
+    }
+
+    /**
+     * Returns PENDING transactions with an expired lease to the NEW status, so they are claimed again.
+     * Their legs were not applied, as the legs commit together with the DONE status. Should a presumed dead
+     * worker still complete a re-queued transaction, the other execution fails to complete it and rolls back.
+     *
+     * @return the number of re-queued transactions
+     */
+    @Transactional
+    public int requeueAbandonedTransactions() {
+        int requeued = repository.requeueAbandonedPending(LocalDateTime.now());
+        if (requeued > 0) {
+            log.warn("Re-queued {} PENDING transactions with an expired lease", requeued);
+        }
+        return requeued;
+    }
+}
@@ -16,6 +16,7 @@ import java.util.List;
  * Delegates to specialized services for specific operation types:
  * - TransactionQueryService for read operations
  * - TransactionCommandService for write operations
+ * - TransactionClaimService for leasing transactions to the instance processing them
  * - TransactionProcessingService for transaction processing
  */
 @Slf4j
@@ -24,6 +25,7 @@ import java.util.List;
 public class TransactionService {
     private final TransactionQueryService queryService;
     private final TransactionCommandService commandService;
+    private final TransactionClaimService claimService;
 
     /**
      * Validate and register a new transaction in the system.
@@ -76,6 +78,35 @@ public class TransactionService {
         return queryService.getAllNewTransactions();
     }
 
+    /**
+     * Claims a batch of NEW transactions for processing by this instance.
+     * Transactions claimed by other instances are skipped until their lease expires.
+     *
+     * @return the claimed transactions, oldest first
+     */
+    public List<Transaction> claimNewTransactions() {
+        return claimService.claimNewTransactions();
+    }
+
+    /**
+     * Claims a single transaction for processing by this instance.
+     *
+     * @param id the ID of the transaction to claim
+     * @return true if the transaction was claimed, false if another instance holds its lease
+     */
+    public boolean claimTransaction(int id) {
+        return claimService.claimTransaction(id);
+    }
+
+    /**
+     * Re-queues PENDING transactions whose worker let the lease expire, e.g. because the instance crashed.
+     *
+     * @return the number of re-queued transactions
+     */
+    public int requeueAbandonedTransactions() {
+        return claimService.requeueAbandonedTransactions();
+    }
+
     /**
      * Retrieves all transactions for a specific account.
      *
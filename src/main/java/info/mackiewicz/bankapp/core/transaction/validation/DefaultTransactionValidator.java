@@ -7,7 +7,7 @@ import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionTypeCategory;
 import info.mackiewicz.bankapp.core.user.model.User;
-import info.mackiewicz.bankapp.shared.validation.ValidationConstants;
+import info.mackiewicz.bankapp.shared.validation.ValidationPatterns;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -32,7 +32,7 @@ public class DefaultTransactionValidator implements TransactionValidator {
     }
 
     private void validateTitle(Transaction transaction) {
-        if (!transaction.getTitle().matches(ValidationConstants.TRANSFER_TITLE_PATTERN)) {
+        if (!ValidationPatterns.isTransferTitle(transaction.getTitle())) {
             throw new TransactionValidationException("Transaction title contains invalid characters");
         }
     }
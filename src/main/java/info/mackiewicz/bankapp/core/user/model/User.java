@@ -63,7 +63,8 @@ public class User extends BaseUser implements PersonalInfo, AccountOwner {
     @OneToMany(mappedBy = "owner", fetch = FetchType.EAGER, cascade = CascadeType.ALL)
     @JsonIgnore
     private Set<Account> accounts;
-    @Column(name = "account_counter")
+    // Only incremented by UserRepository.incrementAccountCounter, never written back from a possibly stale entity
+    @Column(name = "account_counter", updatable = false)
     private Integer accountCounter;
 
 
@@ -0,0 +1,117 @@
+package info.mackiewicz.bankapp.core.user.model;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.user.model.interfaces.UserDetailsWithId;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Slim, immutable projection of a {@link User} used as the authenticated principal of the API.
+ * <p>
+ * Holds only what authentication and account authorization need: identity, password hash, account flags,
+ * authorities and the IDs and IBANs of the owned accounts. Unlike the {@link User} entity it can be cached
+ * safely between requests (see {@code UserPrincipalCache}).
+ */
+@Getter
+@EqualsAndHashCode(of = "id")
+public final class UserPrincipal implements UserDetailsWithId {
+
+    private final Integer id;
+    private final String username;
+    private final String password;
+    private final boolean accountNonExpired;
+    private final boolean accountNonLocked;
+    private final boolean credentialsNonExpired;
+    private final boolean enabled;
+    private final Set<GrantedAuthority> authorities;
+    private final Set<Integer> ownedAccountIds;
+    private final Set<String> ownedIbans;
+
+    private UserPrincipal(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        this.accountNonExpired = user.isAccountNonExpired();
+        this.accountNonLocked = user.isAccountNonLocked();
+        this.credentialsNonExpired = user.isCredentialsNonExpired();
+        this.enabled = user.isEnabled();
+        this.authorities = Set.copyOf(user.getAuthorities());
+        Set<Account> accounts = user.getAccounts() == null ? Set.of() : user.getAccounts();
+        this.ownedAccountIds = accounts.stream()
+                .map(Account::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        this.ownedIbans = accounts.stream()
+                .map(account -> account.getIban().toString())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private UserPrincipal(Integer id, String username, Set<GrantedAuthority> authorities,
+                          Set<Integer> ownedAccountIds, Set<String> ownedIbans) {
+        this.id = id;
+        this.username = username;
+        this.password = null;
+        this.accountNonExpired = true;
+        this.accountNonLocked = true;
+        this.credentialsNonExpired = true;
+        this.enabled = true;
+        this.authorities = Set.copyOf(authorities);
+        this.ownedAccountIds = Set.copyOf(ownedAccountIds);
+        this.ownedIbans = Set.copyOf(ownedIbans);
+    }
+
+    /**
+     * Restores an already authenticated principal, e.g. from the claims of a verified access token.
+     * The principal carries no password and all account flags are set, since they were checked when
+     * the user authenticated.
+     *
+     * @param id              the user ID
+     * @param username        the username
+     * @param authorities     the granted authorities
+     * @param ownedAccountIds IDs of the owned accounts
+     * @param ownedIbans      IBANs of the owned accounts in electronic format
+     * @return the principal
+     */
+    public static UserPrincipal authenticated(Integer id, String username, Set<GrantedAuthority> authorities,
+                                              Set<Integer> ownedAccountIds, Set<String> ownedIbans) {
+        return new UserPrincipal(id, username, authorities, ownedAccountIds, ownedIbans);
+    }
+
+    /**
+     * Creates a principal from the user entity.
+     *
+     * @param user the user to project
+     * @return the principal
+     */
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user);
+    }
+
+    /**
+     * Checks whether the user owns the account with the given ID.
+     *
+     * @param accountId the account ID
+     * @return true if the account belongs to the user
+     */
+    public boolean ownsAccount(Integer accountId) {
+        return ownedAccountIds.contains(accountId);
+    }
+
+    /**
+     * Checks whether the user owns the account with the given IBAN.
+     *
+     * @param iban the IBAN in electronic format
+     * @return true if the account belongs to the user
+     */
+    public boolean ownsIban(String iban) {
+        return ownedIbans.contains(iban);
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[id=" + id + ", username=" + username + "]";
+    }
+}
@@ -0,0 +1,29 @@
+package info.mackiewicz.bankapp.core.user.model.dto;
+
+import info.mackiewicz.bankapp.core.user.model.User;
+
+/**
+ * Projection of the fields that must be unique across all users.
+ *
+ * @param id          the user ID, null for users that are not saved yet
+ * @param username    the username
+ * @param email       the email address value
+ * @param pesel       the PESEL value
+ * @param phoneNumber the normalized phone number value
+ */
+public record UserUniqueKeys(Integer id, String username, String email, String pesel, String phoneNumber) {
+
+    /**
+     * Extracts the unique fields of a user. Missing value objects are mapped to null.
+     *
+     * @param user the user
+     * @return the unique fields of the user
+     */
+    public static UserUniqueKeys of(User user) {
+        return new UserUniqueKeys(user.getId(),
+                user.getUsername(),
+                user.getEmail() == null ? null : user.getEmail().getValue(),
+                user.getPesel() == null ? null : user.getPesel().getValue(),
+                user.getPhoneNumber() == null ? null : user.getPhoneNumber().getValue());
+    }
+}
@@ -1,14 +1,13 @@
 package info.mackiewicz.bankapp.core.user.model.vo;
 
 import info.mackiewicz.bankapp.core.user.exception.InvalidEmailFormatException;
+import info.mackiewicz.bankapp.shared.validation.ValidationPatterns;
 import jakarta.persistence.Embeddable;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.regex.Pattern;
-
 /**
  * Value Object representing an email address.
  * Ensures proper email format validation.
@@ -18,10 +17,6 @@ import java.util.regex.Pattern;
 @EqualsAndHashCode
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // For JPA
 public class EmailAddress {
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-        "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$"
-    );
-
     private String value;
 
     public EmailAddress(String email) {
@@ -38,7 +33,7 @@ public class EmailAddress {
             throw new InvalidEmailFormatException("Email is too long (max 255 characters)");
         }
 
-        if (!EMAIL_PATTERN.matcher(email).matches()) {
+        if (!ValidationPatterns.EMAIL.matcher(email).matches()) {
             throw new InvalidEmailFormatException("Invalid email format");
         }
 
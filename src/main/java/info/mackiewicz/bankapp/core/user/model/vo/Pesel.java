@@ -1,6 +1,7 @@
 package info.mackiewicz.bankapp.core.user.model.vo;
 
 import info.mackiewicz.bankapp.core.user.exception.InvalidPeselFormatException;
+import info.mackiewicz.bankapp.shared.validation.ValidationPatterns;
 import jakarta.persistence.Embeddable;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
@@ -31,7 +32,7 @@ public class Pesel {
             throw new InvalidPeselFormatException("PESEL must be exactly 11 digits");
         }
 
-        if (!pesel.matches("\\d{11}")) {
+        if (!ValidationPatterns.isDigits(pesel)) {
             throw new InvalidPeselFormatException("PESEL must contain only digits");
         }
 
@@ -1,5 +1,6 @@
 package info.mackiewicz.bankapp.core.user.model.vo;
 
+import info.mackiewicz.bankapp.shared.validation.ValidationPatterns;
 import jakarta.persistence.Embeddable;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
@@ -36,7 +37,7 @@ public class PhoneNumber {
 
     private String normalizePhoneNumber(String phoneNumber) {
         // Remove all non-digit characters
-        String normalized = phoneNumber.replaceAll("[^0-9]", "");
+        String normalized = ValidationPatterns.digitsOnly(phoneNumber);
 
         // Handle different formats (e.g., +48, 48 prefix)
         if (normalized.startsWith("48") && normalized.length() == 11) {
@@ -1,17 +1,22 @@
 package info.mackiewicz.bankapp.core.user.repository;
 
 import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.model.vo.Pesel;
 import info.mackiewicz.bankapp.core.user.model.vo.PhoneNumber;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
@@ -20,6 +25,45 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     boolean existsByEmail(EmailAddress email);
     boolean existsByUsername(String username);
     boolean existsByPhoneNumber(PhoneNumber phoneNumber);
+
+    @Query("""
+            SELECT new info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys(
+                u.id, u.username, u.email.value, u.pesel.value, u.phoneNumber.value)
+            FROM User u
+            WHERE u.username IN :usernames
+               OR u.email.value IN :emails
+               OR u.pesel.value IN :pesels
+               OR u.phoneNumber.value IN :phoneNumbers
+            """)
+    List<UserUniqueKeys> findUniqueKeyCollisions(@Param("usernames") Collection<String> usernames,
+                                                 @Param("emails") Collection<String> emails,
+                                                 @Param("pesels") Collection<String> pesels,
+                                                 @Param("phoneNumbers") Collection<String> phoneNumbers);
+
+    @Query("""
+            SELECT new info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys(
+                u.id, u.username, u.email.value, u.pesel.value, u.phoneNumber.value)
+            FROM User u
+            WHERE u.id = :id
+               OR u.username = :username
+               OR u.email.value = :email
+               OR u.pesel.value = :pesel
+               OR u.phoneNumber.value = :phoneNumber
+            """)
+    List<UserUniqueKeys> findUniqueKeyMatches(@Param("id") Integer id,
+                                              @Param("username") String username,
+                                              @Param("email") String email,
+                                              @Param("pesel") String pesel,
+                                              @Param("phoneNumber") String phoneNumber);
+
+    @Query("""
+            SELECT new info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys(
+                u.id, u.username, u.email.value, u.pesel.value, u.phoneNumber.value)
+            FROM User u
+            WHERE u.id > :afterId
+            ORDER BY u.id
+            """)
+    List<UserUniqueKeys> findUniqueKeysAfter(@Param("afterId") Integer afterId, Pageable pageable);
         
     Optional<User> getUserById(Integer id);
 
@@ -31,6 +75,13 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     @Query("SELECT u FROM User u WHERE u.id = :id")
     Optional<User> findByIdWithPessimisticLock(Integer id);
     
+    @Modifying
+    @Query("UPDATE User u SET u.accountCounter = COALESCE(u.accountCounter, 0) + 1 WHERE u.id = :id")
+    int incrementAccountCounter(@Param("id") Integer id);
+
+    @Query("SELECT u.accountCounter FROM User u WHERE u.id = :id")
+    Optional<Integer> findAccountCounterById(@Param("id") Integer id);
+
     @Modifying
     @Transactional
     @Query("UPDATE User u SET u.password = ?2 WHERE u.email = ?1")
@@ -60,6 +60,17 @@ public class UserService {
         return userOperationsService.updateUser(user);
     }
 
+    /**
+     * Allocates the next account number of a user with an atomic database update.
+     *
+     * @param userId The ID of the user
+     * @return The allocated account number
+     * @throws UserNotFoundException if the user does not exist
+     */
+    public int allocateAccountNumber(Integer userId) {
+        return userOperationsService.allocateAccountNumber(userId);
+    }
+
     /**
      * Retrieves a user by their ID.
      *
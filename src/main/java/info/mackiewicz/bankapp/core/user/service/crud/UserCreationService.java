@@ -2,7 +2,9 @@ package info.mackiewicz.bankapp.core.user.service.crud;
 
 import info.mackiewicz.bankapp.core.user.exception.*;
 import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys;
 import info.mackiewicz.bankapp.core.user.repository.UserRepository;
+import info.mackiewicz.bankapp.core.user.service.util.UserKeyFilter;
 import info.mackiewicz.bankapp.core.user.service.util.UserValidationService;
 import info.mackiewicz.bankapp.core.user.service.util.UsernameGeneratorService;
 import info.mackiewicz.bankapp.shared.service.PasswordService;
@@ -36,6 +38,7 @@ public class UserCreationService {
     private final PasswordService passwordService;
     private final UsernameGeneratorService usernameGeneratorService;
     private final UserValidationService userValidationService;
+    private final UserKeyFilter userKeyFilter;
 
     /**
      * Creates a new user in the system. This method performs the following steps:<br>
@@ -67,6 +70,8 @@ public class UserCreationService {
         User userWithPassword = passwordService.ensurePasswordEncoded(validatedUser);
         log.debug("Password encoded");
 
+        userKeyFilter.add(UserUniqueKeys.of(userWithPassword));
+
         User savedUser = userRepository.save(userWithPassword);
         log.info("Successfully created user. ID: {}, username: {}", savedUser.getId(), savedUser.getUsername());
 
@@ -1,11 +1,15 @@
 package info.mackiewicz.bankapp.core.user.service.crud;
 
+import info.mackiewicz.bankapp.core.user.exception.DuplicatedUserException;
 import info.mackiewicz.bankapp.core.user.exception.UserNotFoundException;
 import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.repository.UserRepository;
+import info.mackiewicz.bankapp.core.user.service.util.UserKeyFilter;
 import info.mackiewicz.bankapp.core.user.service.util.UserValidationService;
 import info.mackiewicz.bankapp.shared.service.PasswordService;
+import info.mackiewicz.bankapp.shared.service.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,31 +33,58 @@ public class UserOperationsService {
     private final PasswordService passwordService;
     private final UserQueryService userQueryService;
     private final UserValidationService userValidationService;
+    private final UserKeyFilter userKeyFilter;
+    private final UserPrincipalCache userPrincipalCache;
 
     /**
      * Updates an existing user's information.
-     * Validates user existence and ensures password is properly encoded.
+     * Validates user existence and uniqueness of its fields and ensures password is properly encoded.
      *
      * @param user The user object containing updated information
      * @return The updated user entity
      * @throws UserNotFoundException if the user does not exist
+     * @throws DuplicatedUserException if a unique field is already used by another user
      * @see User
      */
     @Transactional
     public User updateUser(User user) {
         log.info("Starting user update process for ID: {}", user.getId());
-        log.debug("Validating user existence");
-        userValidationService.validateUserExists(user.getId());
+        log.debug("Validating user existence and unique fields");
+        userValidationService.validateExistingUser(user);
+        userKeyFilter.add(UserUniqueKeys.of(user));
 
         log.debug("Ensuring password is encoded for user: {}", user.getUsername());
         user = passwordService.ensurePasswordEncoded(user);
 
         log.debug("Saving updated user data");
         User saved = userRepository.save(user);
+        // Password or username may have changed
+        userPrincipalCache.evictUser(saved.getId());
         log.info("Successfully updated user. ID: {}, username: {}", saved.getId(), saved.getUsername());
         return saved;
     }
 
+    /**
+     * Allocates the next account number of a user.
+     * The counter is incremented with a single atomic update and read back in the same transaction,
+     * so concurrent allocations never return the same number. The row lock taken by the update is
+     * held until the surrounding transaction ends; no explicit lock or retry is needed.
+     *
+     * @param userId The ID of the user
+     * @return The allocated account number, starting from 1
+     * @throws UserNotFoundException if the user does not exist
+     */
+    @Transactional
+    public int allocateAccountNumber(Integer userId) {
+        if (userRepository.incrementAccountCounter(userId) == 0) {
+            throw new UserNotFoundException("User with ID " + userId + " not found");
+        }
+        int accountNumber = userRepository.findAccountCounterById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
+        log.debug("Allocated account number {} for user ID: {}", accountNumber, userId);
+        return accountNumber;
+    }
+
     /**
      * Changes a user's password by their email address.
      * The new password will be encoded before saving.
@@ -70,6 +101,7 @@ public class UserOperationsService {
 
         log.debug("Updating password in database");
         userRepository.updatePasswordByEmail(email, encodedPassword);
+        userRepository.findByEmail(email).ifPresent(user -> userPrincipalCache.evictUser(user.getId()));
         log.info("Successfully changed password for user with email: {}", email);
     }
 
@@ -104,6 +136,7 @@ public class UserOperationsService {
 
         log.debug("Performing user deletion");
         userRepository.delete(user);
+        userPrincipalCache.evictUser(id);
         log.info("Successfully deleted user. ID: {}, username: {}", id, user.getUsername());
     }
 }
\ No newline at end of file
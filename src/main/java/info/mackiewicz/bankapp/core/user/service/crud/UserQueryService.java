@@ -4,15 +4,18 @@ import info.mackiewicz.bankapp.core.user.exception.InvalidEmailFormatException;
 import info.mackiewicz.bankapp.core.user.exception.InvalidPeselFormatException;
 import info.mackiewicz.bankapp.core.user.exception.UserNotFoundException;
 import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.model.vo.Pesel;
 import info.mackiewicz.bankapp.core.user.model.vo.PhoneNumber;
 import info.mackiewicz.bankapp.core.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -144,6 +147,50 @@ public class UserQueryService {
         return userRepository.existsByUsername(username);
     }
 
+    /**
+     * Finds existing users that share a username, email, PESEL or phone number with any of the
+     * given candidates, with a single query for the whole batch.
+     *
+     * @param candidates The new users to check, with their usernames generated
+     * @return The unique fields of every conflicting existing user
+     */
+    public List<UserUniqueKeys> findUniqueKeyCollisions(Collection<User> candidates) {
+        log.debug("Checking unique fields of {} new users", candidates.size());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findUniqueKeyCollisions(
+                candidates.stream().map(User::getUsername).toList(),
+                candidates.stream().map(user -> user.getEmail().getValue()).toList(),
+                candidates.stream().map(user -> user.getPesel().getValue()).toList(),
+                candidates.stream().map(user -> user.getPhoneNumber().getValue()).toList());
+    }
+
+    /**
+     * Finds the user with the ID of the given user and every other user that shares its username,
+     * email, PESEL or phone number, with a single query. Null fields match no user.
+     *
+     * @param keys The unique fields to look up, the ID is null for a new user
+     * @return The unique fields of every matching user
+     */
+    public List<UserUniqueKeys> findUniqueKeyMatches(UserUniqueKeys keys) {
+        log.debug("Checking unique fields of user with ID: {}", keys.id());
+        return userRepository.findUniqueKeyMatches(keys.id(), keys.username(), keys.email(), keys.pesel(),
+                keys.phoneNumber());
+    }
+
+    /**
+     * Returns the unique fields of a page of users ordered by ID, for scanning all users without
+     * loading the entities.
+     *
+     * @param afterId  The last ID of the previous page, 0 for the first page
+     * @param pageSize The maximum number of users to return
+     * @return The unique fields of the next users, empty after the last page
+     */
+    public List<UserUniqueKeys> findUniqueKeysAfter(int afterId, int pageSize) {
+        return userRepository.findUniqueKeysAfter(afterId, PageRequest.ofSize(pageSize));
+    }
+
     /**
      * Checks if a user exists with the given email.
      *
@@ -0,0 +1,107 @@
+package info.mackiewicz.bankapp.core.user.service.util;
+
+import info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys;
+import info.mackiewicz.bankapp.core.user.service.crud.UserQueryService;
+import info.mackiewicz.bankapp.shared.config.UserKeyFilterProperties;
+import info.mackiewicz.bankapp.shared.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory pre-check of the unique fields of new users, backed by a {@link BloomFilter}.
+ * <p>
+ * Most registrations use fields that nobody has taken, and the filter proves that without querying the database.
+ * Only when a field may be taken does {@link UserValidationService} run its uniqueness query.
+ * <p>
+ * The filter is loaded with the fields of all users when the application is ready and reports every field as
+ * possibly taken until then. Fields of new or updated users must be added with {@link #add(UserUniqueKeys)} before
+ * they are saved. Users created by another instance are not seen, so with several instances a duplicate may pass
+ * the pre-check and is then rejected by the unique constraints of the database. Disabled by default, see
+ * {@link UserKeyFilterProperties}.
+ */
+@Slf4j
+@Component
+public class UserKeyFilter {
+
+    private static final int KEYS_PER_USER = 4;
+    private static final int WARM_UP_PAGE_SIZE = 10_000;
+
+    private final UserQueryService userQueryService;
+    private final BloomFilter filter;
+    private volatile boolean ready;
+
+    public UserKeyFilter(UserKeyFilterProperties properties, UserQueryService userQueryService) {
+        this.userQueryService = userQueryService;
+        this.filter = properties.enabled()
+                ? new BloomFilter(properties.expectedUsers() * KEYS_PER_USER, properties.falsePositiveRate())
+                : null;
+    }
+
+    /**
+     * Loads the unique fields of all existing users, page by page.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (filter == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        int loaded = 0;
+        int lastId = 0;
+        List<UserUniqueKeys> page;
+        while (!(page = userQueryService.findUniqueKeysAfter(lastId, WARM_UP_PAGE_SIZE)).isEmpty()) {
+            page.forEach(this::add);
+            loaded += page.size();
+            lastId = page.getLast().id();
+        }
+        ready = true;
+        log.info("User key filter loaded with {} users in {} ms ({} bits, {} hashes)", loaded,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), filter.bitCount(), filter.hashCount());
+    }
+
+    /**
+     * Checks whether any of the fields may already be used by a user.
+     *
+     * @param keys the fields of a new user
+     * @return false if none of the fields is used by any user, true if the database has to be checked
+     */
+    public boolean mightBeTaken(UserUniqueKeys keys) {
+        if (!ready) {
+            return true;
+        }
+        return mightContain("u:", keys.username())
+                || mightContain("e:", keys.email())
+                || mightContain("p:", keys.pesel())
+                || mightContain("t:", keys.phoneNumber());
+    }
+
+    /**
+     * Records the fields of a user that is about to be saved.
+     *
+     * @param keys the fields of the user
+     */
+    public void add(UserUniqueKeys keys) {
+        if (filter == null) {
+            return;
+        }
+        put("u:", keys.username());
+        put("e:", keys.email());
+        put("p:", keys.pesel());
+        put("t:", keys.phoneNumber());
+    }
+
+    private boolean mightContain(String prefix, String value) {
+        return value != null && filter.mightContain(prefix + value);
+    }
+
+    private void put(String prefix, String value) {
+        if (value != null) {
+            filter.put(prefix + value);
+        }
+    }
+}
@@ -2,16 +2,20 @@ package info.mackiewicz.bankapp.core.user.service.util;
 
 import info.mackiewicz.bankapp.core.user.exception.*;
 import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.model.vo.Pesel;
-import info.mackiewicz.bankapp.core.user.model.vo.PhoneNumber;
 import info.mackiewicz.bankapp.core.user.service.crud.UserQueryService;
+import info.mackiewicz.bankapp.shared.validation.ValidationPatterns;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * Service responsible for validating user data before operations like creation
@@ -19,21 +23,25 @@ import java.time.Period;
  * Ensures uniqueness of user identifiers (username, email, PESEL) and validates
  * user existence.
  * All validation methods throw appropriate exceptions when validation fails.
+ * <p>
+ * Creating or updating a user checks all unique fields and the user's existence with
+ * one query. New users whose fields are all absent from the {@link UserKeyFilter} skip
+ * the query entirely.
  *
  * @see User
  * @see UserQueryService
+ * @see UserKeyFilter
  */
 @RequiredArgsConstructor
 @Slf4j
 @Service
 public class UserValidationService {
 
-    // Only allow letters (English and Polish)
-    private static final String LETTERS_REGEX = "^[A-Za-zĄĆĘŁŃÓŚŹŻąćęłńóśźż]+$";
     // Age constraints
     private static final int MINIMUM_AGE = 18;
     private static final int MAXIMUM_AGE = 120;
     private final UserQueryService userQueryService;
+    private final UserKeyFilter userKeyFilter;
 
     /**
      * Validates the provided User object to ensure all required fields are valid
@@ -61,17 +69,55 @@ public class UserValidationService {
     public void validateNewUser(User user) {
         log.info("Starting validation for new user registration");
 
+        validateNewUserFields(user);
+        UserUniqueKeys keys = UserUniqueKeys.of(user);
+        if (userKeyFilter.mightBeTaken(keys)) {
+            throwIfDuplicated(keys, userQueryService.findUniqueKeyMatches(keys));
+        } else {
+            log.debug("Unique fields are not taken according to the key filter, skipping the query");
+        }
+
+        log.info("Successfully completed validation for new user registration");
+    }
+
+    /**
+     * Validates an existing user before it is updated: the user must exist and its
+     * username, email, PESEL and phone number must not be used by any other user.
+     * Both conditions are checked with a single query.
+     *
+     * @param user The user to validate, with its ID set
+     * @throws UserNotFoundException if no user exists with the ID of the given user
+     * @throws DuplicatedUserException if a unique field is already used by another user,
+     *                                 see {@link #validateNewUser(User)} for the subtypes
+     */
+    public void validateExistingUser(User user) {
+        log.debug("Validating existing user with ID: {}", user.getId());
+        UserUniqueKeys keys = UserUniqueKeys.of(user);
+        List<UserUniqueKeys> matches = user.getId() == null ? List.of() : userQueryService.findUniqueKeyMatches(keys);
+
+        if (matches.stream().noneMatch(match -> match.id().equals(user.getId()))) {
+            log.warn("Validation failed - user with ID {} does not exist", user.getId());
+            throw new UserNotFoundException("User with ID " + user.getId() + " does not exist");
+        }
+        throwIfDuplicated(keys, matches);
+    }
+
+    /**
+     * Validates the fields of a new user without querying the database: required fields,
+     * first and last name format and age. Bulk imports use it together with a batched
+     * uniqueness check instead of {@link #validateNewUser(User)}.
+     *
+     * @param user The User object to validate
+     * @throws UserFieldNullException if any of the required fields in the User object is null
+     * @throws UserValidationException if the name validation fails for firstname or lastname
+     * @throws InvalidAgeException if the user's age is less than 18 or greater than 120 years old
+     */
+    public void validateNewUserFields(User user) {
         checkNulls(user);
 
         validateName(user.getFirstname());
         validateName(user.getLastname());
-        validateUsernameUnique(user.getUsername());
-        validateEmailUnique(user.getEmail());
-        validatePeselUnique(user.getPesel());
-        validatePhoneNumberUnique(user.getPhoneNumber());
         validateAge(user.getDateOfBirth());
-
-        log.info("Successfully completed validation for new user registration");
     }
 
     private void checkNulls(User user) {
@@ -96,16 +142,52 @@ public class UserValidationService {
     }
 
     private boolean isValidLetters(String input) {
-        return input != null && input.matches(LETTERS_REGEX);
+        return ValidationPatterns.isName(input);
     }
 
-    private void validatePhoneNumberUnique(PhoneNumber phoneNumber) {
-        log.debug("Validating phone number uniqueness: {}", phoneNumber);
-        if (userQueryService.userExistsByPhoneNumber(phoneNumber)) {
-            log.warn("Attempt to use existing phone number: {}", phoneNumber);
-            throw new DuplicatedPhoneNumberException("Phone number already in use: " + phoneNumber);
+    /**
+     * Throws if any of the matching users other than the validated one uses one of its unique fields.
+     * The exception type follows the first colliding field in the order username, email, PESEL and
+     * phone number; its message lists every colliding field.
+     */
+    private void throwIfDuplicated(UserUniqueKeys keys, List<UserUniqueKeys> matches) {
+        List<UserUniqueKeys> others = matches.stream()
+                .filter(match -> !match.id().equals(keys.id()))
+                .toList();
+        if (others.isEmpty()) {
+            return;
+        }
+
+        List<String> collisions = new ArrayList<>(4);
+        Function<String, DuplicatedUserException> exception = null;
+        if (collides(others, keys.username(), UserUniqueKeys::username)) {
+            collisions.add("Username already in use: " + keys.username());
+            exception = DuplicatedUsernameException::new;
+        }
+        if (collides(others, keys.email(), UserUniqueKeys::email)) {
+            collisions.add("Email already in use: " + keys.email());
+            exception = exception == null ? DuplicatedEmailException::new : exception;
+        }
+        if (collides(others, keys.pesel(), UserUniqueKeys::pesel)) {
+            collisions.add("PESEL already in use: " + keys.pesel());
+            exception = exception == null ? DuplicatedPeselException::new : exception;
+        }
+        if (collides(others, keys.phoneNumber(), UserUniqueKeys::phoneNumber)) {
+            collisions.add("Phone number already in use: " + keys.phoneNumber());
+            exception = exception == null ? DuplicatedPhoneNumberException::new : exception;
         }
-        log.debug("Phone number {} is unique", phoneNumber);
+        if (exception == null) {
+            return;
+        }
+
+        String message = String.join("; ", collisions);
+        log.warn("Attempt to use existing unique fields: {}", message);
+        throw exception.apply(message);
+    }
+
+    private static boolean collides(List<UserUniqueKeys> others, String value,
+                                    Function<UserUniqueKeys, String> field) {
+        return value != null && others.stream().anyMatch(other -> value.equals(field.apply(other)));
     }
 
     /**
@@ -21,6 +21,12 @@ import org.springframework.stereotype.Service;
 @Service
 public class UsernameGeneratorService {
 
+    private static final String POLISH_LETTERS = "ąćęłńóśźżĄĆĘŁŃÓŚŹŻ";
+    private static final String POLISH_LETTERS_ASCII = "acelnoszzACELNOSZZ";
+
+    // Creating an ICU transliterator is an expensive registry lookup, and instances are not thread-safe
+    private static final ThreadLocal<Transliterator> TRANSLITERATOR =
+            ThreadLocal.withInitial(() -> Transliterator.getInstance("Any-Latin; Latin-ASCII"));
 
     /**
      * Generates a username from the provided personal information.
@@ -73,24 +79,66 @@ public class UsernameGeneratorService {
      * Also handles special characters and spaces:
      * - Removes apostrophes and other special characters
      * - Replaces spaces with hyphens
+     * <p>
+     * ASCII and Polish letters are mapped with a lookup table; any other text goes through ICU.
      *
      * @param text The text to process
      * @return Text with diacritical marks and special characters removed
      */
     private String removeDiacritics(String text) {
-        log.trace("Removing diacritics from: {}", text);
         if (text == null) {
             return "";
         }
 
         log.trace("Removing diacritics from: {}", text);
-        Transliterator transliterator = Transliterator.getInstance("Any-Latin; Latin-ASCII");
-        String transformedText = transliterator.transform(text);
-        transformedText = transformedText.replaceAll("[^a-zA-Z0-9]", "");
+        String transformedText = transliterateFast(text);
+        if (transformedText == null) {
+            transformedText = keepAsciiAlphanumerics(TRANSLITERATOR.get().transform(text));
+        }
         log.trace("Diacritics removed: {}", transformedText);
         return transformedText;
     }
 
+    /**
+     * Transliterates text consisting only of ASCII and Polish characters.
+     *
+     * @param text The text to process
+     * @return The ASCII letters and digits of the text, or null if it contains any other non-ASCII character
+     */
+    private static String transliterateFast(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 128) {
+                if (isAsciiAlphanumeric(c)) {
+                    result.append(c);
+                }
+                continue;
+            }
+            int index = POLISH_LETTERS.indexOf(c);
+            if (index < 0) {
+                return null;
+            }
+            result.append(POLISH_LETTERS_ASCII.charAt(index));
+        }
+        return result.toString();
+    }
+
+    private static String keepAsciiAlphanumerics(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isAsciiAlphanumeric(c)) {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
     /**
      * Generates a unique identifier based on email hash.
      * Returns exactly 6 digits, using modulo to ensure consistent length.
@@ -101,7 +149,9 @@ public class UsernameGeneratorService {
     private String generateUniqueID(String email) {
         log.trace("Generating unique ID for email: {}", email);
         int hash = Math.abs(email.hashCode());
-        String sHash = String.format("%06d", hash % 1000000);
+        // Math.abs(Integer.MIN_VALUE) stays negative, so the remainder is made positive as well
+        String digits = Integer.toString(Math.abs(hash % 1000000));
+        String sHash = "000000".substring(digits.length()) + digits;
         log.trace("Generated unique ID: {} (from hash: {})", sHash, hash);
         return sHash;
     }
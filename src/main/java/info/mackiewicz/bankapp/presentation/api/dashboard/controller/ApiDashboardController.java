@@ -1,6 +1,6 @@
 package info.mackiewicz.bankapp.presentation.api.dashboard.controller;
 
-import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.interfaces.UserDetailsWithId;
 import info.mackiewicz.bankapp.presentation.api.dashboard.controller.dto.WorkingBalanceResponse;
 import info.mackiewicz.bankapp.presentation.api.dashboard.service.ApiDashboardService;
 import info.mackiewicz.bankapp.system.shared.IdAccountAuthorizationService;
@@ -31,7 +31,7 @@ public class ApiDashboardController implements ApiDashboardControllerInterface {
     @Override
     public ResponseEntity<WorkingBalanceResponse> getWorkingBalance(
             @Min(1) @NotNull @PathVariable Integer accountId,
-            @NotNull @AuthenticationPrincipal User owner
+            @NotNull @AuthenticationPrincipal UserDetailsWithId owner
     ) {
         MDC.put("AccountID", accountId.toString());
         MDC.put("UserID", owner.getId().toString());
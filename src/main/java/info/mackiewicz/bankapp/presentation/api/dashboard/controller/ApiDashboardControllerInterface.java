@@ -1,6 +1,6 @@
 package info.mackiewicz.bankapp.presentation.api.dashboard.controller;
 
-import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.interfaces.UserDetailsWithId;
 import info.mackiewicz.bankapp.presentation.api.dashboard.controller.dto.WorkingBalanceResponse;
 import info.mackiewicz.bankapp.system.error.handling.dto.BaseApiError;
 import io.swagger.v3.oas.annotations.Operation;
@@ -84,5 +84,5 @@ public interface ApiDashboardControllerInterface {
                     required = true,
                     example = "12345"
             )
-            @Min(1) @NotNull @PathVariable Integer accountId, @NotNull @AuthenticationPrincipal User owner);
+            @Min(1) @NotNull @PathVariable Integer accountId, @NotNull @AuthenticationPrincipal UserDetailsWithId owner);
 }
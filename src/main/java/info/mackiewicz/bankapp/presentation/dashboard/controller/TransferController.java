@@ -1,7 +1,6 @@
 package info.mackiewicz.bankapp.presentation.dashboard.controller;
 
-import info.mackiewicz.bankapp.core.account.model.Account;
-import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.account.exception.AccountOwnershipException;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
 import info.mackiewicz.bankapp.core.transaction.service.TransactionService;
@@ -10,10 +9,13 @@ import info.mackiewicz.bankapp.presentation.dashboard.dto.InternalTransferReques
 import info.mackiewicz.bankapp.presentation.dashboard.dto.OwnTransferRequest;
 import info.mackiewicz.bankapp.presentation.dashboard.dto.WebTransferRequest;
 import info.mackiewicz.bankapp.presentation.dashboard.service.transfer.assembler.TransactionAssembler;
+import info.mackiewicz.bankapp.system.shared.IbanAccountAuthorizationService;
+import info.mackiewicz.bankapp.system.shared.IdAccountAuthorizationService;
 import info.mackiewicz.bankapp.system.transaction.processing.TransactionProcessingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.iban4j.Iban;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
@@ -31,7 +33,8 @@ public class TransferController {
     private final TransactionService transactionService;
     private final TransactionProcessingService transactionProcessingService;
     private final TransactionAssembler transactionAssembler;
-    private final AccountService accountService;
+    private final IdAccountAuthorizationService idAuthorizationService;
+    private final IbanAccountAuthorizationService ibanAuthorizationService;
 
     @PostMapping("/own")
     public String handleOwnTransfer(
@@ -146,14 +149,9 @@ public class TransferController {
 
     private void validateAccountOwnership(User user, Integer accountId) {
         log.debug("Validating account ownership by ID for user: {} and account: {}", user.getId(), accountId);
-        
-        boolean hasAccess = accountService.getAccountById(accountId)
-        .getOwner()
-        .getId()
-        .equals(user.getId());
-                
-        if (!hasAccess) {
-            log.warn("Access denied - user: {} does not own account: {}", user.getId(), accountId);
+        try {
+            idAuthorizationService.validateAccountOwnership(accountId, user);
+        } catch (AccountOwnershipException e) {
             throw new IllegalArgumentException("You don't have permission to this account");
         }
         log.debug("Account ownership validation successful for account ID: {}", accountId);
@@ -161,23 +159,12 @@ public class TransferController {
 
     private void validateAccountOwnership(User user, String accountIban) {
         log.debug("Validating account ownership by IBAN for user: {} and IBAN: {}", user.getId(), accountIban);
-        
         try {
-            // Convert String to Iban object for proper comparison
-            final String ibanString = accountIban;
-            boolean hasAccess = accountService.getAccountsByOwnersId(user.getId()).stream()
-                    .map(Account::getIban)
-                    .anyMatch(iban -> iban != null && iban.toString().equals(ibanString));
-                    
-            if (!hasAccess) {
-                log.warn("Access denied - user: {} does not own account with IBAN: {}", user.getId(), accountIban);
-                throw new IllegalArgumentException("You don't have permission to this account");
-            }
-            log.debug("Account ownership validation successful for IBAN: {}", accountIban);
+            ibanAuthorizationService.validateAccountOwnership(Iban.valueOf(accountIban), user);
         } catch (Exception e) {
-            log.error("Error validating account ownership - user: {}, IBAN: {} - Error: {}",
-                    user.getId(), accountIban, e.getMessage(), e);
+            log.warn("Access denied - user: {}, IBAN: {} - {}", user.getId(), accountIban, e.getMessage());
             throw new IllegalArgumentException("Invalid IBAN format or you don't have permission to this account");
         }
+        log.debug("Account ownership validation successful for IBAN: {}", accountIban);
     }
-}
\ No newline at end of file
+}
@@ -28,9 +28,13 @@ public class PasswordValidationService {
      */
     public void validatePasswordChange(String currentPassword, String newPassword, 
                                String confirmPassword, String encodedCurrentPassword) {
-        validateCurrentPassword(currentPassword, encodedCurrentPassword);
+        // Cheap check first, so mismatched confirmations never reach the password encoder
         validatePasswordMatch(newPassword, confirmPassword);
-        validatePasswordDifferentiation(newPassword, encodedCurrentPassword);
+        validateCurrentPassword(currentPassword, encodedCurrentPassword);
+        // The current password is verified, so comparing the plain passwords is enough and saves a second hash
+        if (newPassword.equals(currentPassword)) {
+            throw new PasswordSameException("New password is the same as the old one");
+        }
         
         log.info("All password validations passed successfully");
     }
@@ -0,0 +1,39 @@
+package info.mackiewicz.bankapp.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing of the {@code taskExecutor} used by {@code @Async} methods.
+ * <p>
+ * Note that {@link java.util.concurrent.ThreadPoolExecutor} only grows past
+ * {@code corePoolSize} once the queue is full, so with the default unbounded queue
+ * the effective concurrency equals {@code corePoolSize}.
+ */
+@ConfigurationProperties(prefix = "app.async")
+public record AsyncProperties(int corePoolSize,
+        int maxPoolSize,
+        int queueCapacity) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public AsyncProperties {
+        if (corePoolSize <= 0)
+            corePoolSize = 4;
+        if (maxPoolSize <= 0)
+            maxPoolSize = 12;
+        // Ensure maxPoolSize is at least equal to corePoolSize
+        if (maxPoolSize < corePoolSize)
+            maxPoolSize = corePoolSize;
+        if (queueCapacity <= 0)
+            queueCapacity = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the number of tasks that can actually run in parallel.
+     *
+     * @return core pool size for an unbounded queue, max pool size otherwise
+     */
+    public int effectiveConcurrency() {
+        return queueCapacity == Integer.MAX_VALUE ? corePoolSize : maxPoolSize;
+    }
+}
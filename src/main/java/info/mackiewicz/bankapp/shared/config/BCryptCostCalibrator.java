@@ -0,0 +1,43 @@
+package info.mackiewicz.bankapp.shared.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Chooses the BCrypt cost factor for the current hardware.
+ * <p>
+ * Times one hash at the minimum cost and raises the cost while the estimated hash time,
+ * which doubles with every step, stays within the target.
+ */
+@Slf4j
+final class BCryptCostCalibrator {
+
+    private static final String PROBE_PASSWORD = "calibration-probe";
+
+    private BCryptCostCalibrator() {
+    }
+
+    static int calibrate(long targetMillis, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        // First hash warms up the JIT and is not measured
+        probe.encode(PROBE_PASSWORD);
+        long start = System.nanoTime();
+        probe.encode(PROBE_PASSWORD);
+        double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        int cost = chooseCost(elapsedMillis, targetMillis, minCost, maxCost);
+        log.info("BCrypt cost calibrated to {} (cost {} took {} ms, target {} ms)",
+                cost, minCost, String.format("%.1f", elapsedMillis), targetMillis);
+        return cost;
+    }
+
+    static int chooseCost(double millisAtMinCost, long targetMillis, int minCost, int maxCost) {
+        int cost = minCost;
+        double estimate = millisAtMinCost;
+        while (cost < maxCost && estimate * 2 <= targetMillis) {
+            estimate *= 2;
+            cost++;
+        }
+        return cost;
+    }
+}
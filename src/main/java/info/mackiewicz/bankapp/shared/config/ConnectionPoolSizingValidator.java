@@ -0,0 +1,90 @@
+package info.mackiewicz.bankapp.shared.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Verifies at startup that the JDBC connection pool is large enough for the configured
+ * thread pools.
+ * <p>
+ * Every {@code @Async} transaction holds a connection while it runs, so an executor that
+ * can run more tasks in parallel than the pool has connections makes the surplus threads
+ * wait for up to {@code connection-timeout}. Pool usage itself is exported by Spring Boot
+ * as {@code hikaricp.connections.*} meters.
+ *
+ * @see AsyncProperties
+ */
+@Slf4j
+@Component
+public class ConnectionPoolSizingValidator {
+
+    private final DataSource dataSource;
+    private final AsyncProperties asyncProperties;
+    private final int requestThreads;
+
+    public ConnectionPoolSizingValidator(DataSource dataSource,
+                                         AsyncProperties asyncProperties,
+                                         @Value("${server.tomcat.threads.max:200}") int requestThreads) {
+        this.dataSource = dataSource;
+        this.asyncProperties = asyncProperties;
+        this.requestThreads = requestThreads;
+    }
+
+    /**
+     * Logs the pool sizing summary and warns when the async executor can outnumber
+     * the available connections.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void validatePoolSizing() {
+        int poolSize = getMaximumPoolSize();
+        if (poolSize <= 0) {
+            log.debug("DataSource is not a HikariDataSource, skipping pool sizing check");
+            return;
+        }
+
+        int executorConcurrency = asyncProperties.effectiveConcurrency();
+        log.info("Connection pool sizing: pool={}, async executor concurrency={}, request threads={}",
+                poolSize, executorConcurrency, requestThreads);
+
+        if (exceedsPool(executorConcurrency, poolSize)) {
+            log.warn("Async executor concurrency ({}) exceeds JDBC pool size ({}). " +
+                            "Async tasks will queue for connections; raise spring.datasource.hikari.maximum-pool-size " +
+                            "or lower app.async.core-pool-size",
+                    executorConcurrency, poolSize);
+        }
+    }
+
+    /**
+     * Checks whether the given number of concurrent workers can exhaust the pool.
+     *
+     * @param concurrency number of threads that may hold a connection at the same time
+     * @param poolSize    maximum number of pooled connections
+     * @return true if the workers outnumber the connections
+     */
+    public boolean exceedsPool(int concurrency, int poolSize) {
+        return concurrency > poolSize;
+    }
+
+    /**
+     * Returns the configured maximum pool size.
+     *
+     * @return maximum pool size, or -1 if the DataSource is not backed by Hikari
+     */
+    public int getMaximumPoolSize() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not unwrap DataSource: {}", e.getMessage());
+        }
+        return -1;
+    }
+}
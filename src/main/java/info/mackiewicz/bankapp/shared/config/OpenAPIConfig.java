@@ -22,6 +22,7 @@ public class OpenAPIConfig {
     @Bean
     public OpenAPI customOpenAPI() {
         final String securitySchemeName = "basicAuth";
+        final String bearerSchemeName = "bearerAuth";
 
         return new OpenAPI()
                 .info(new Info()
@@ -36,11 +37,18 @@ public class OpenAPIConfig {
                 )
                 .addSecurityItem(new SecurityRequirement()
                         .addList(securitySchemeName))
+                .addSecurityItem(new SecurityRequirement()
+                        .addList(bearerSchemeName))
                 .components(new Components()
                         .addSecuritySchemes(securitySchemeName, new SecurityScheme()
                                 .name(securitySchemeName)
                                 .type(SecurityScheme.Type.HTTP)
-                                .scheme("basic")));
+                                .scheme("basic"))
+                        .addSecuritySchemes(bearerSchemeName, new SecurityScheme()
+                                .name(bearerSchemeName)
+                                .type(SecurityScheme.Type.HTTP)
+                                .scheme("bearer")
+                                .bearerFormat("JWT")));
     }
 
     //Add default 401 response to all entries in swagger, when 401 is not implemented.
@@ -1,15 +1,47 @@
 package info.mackiewicz.bankapp.shared.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
+/**
+ * Password encoder configuration.
+ * <p>
+ * New hashes are prefixed with the ID of their encoder (e.g. {@code {bcrypt}}), so the encoder can be switched
+ * to Argon2 with {@code app.security.password.encoder}. Legacy hashes without a prefix are verified with BCrypt.
+ * Hashes that use another encoder or a lower BCrypt cost are rehashed on the next successful login
+ * (see {@code CustomUserDetailsService#updatePassword}).
+ */
+@Slf4j
 @Configuration
 public class PasswordConfig {
 
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2";
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int cost = properties.calibrateBcryptCost()
+                ? BCryptCostCalibrator.calibrate(properties.targetHashTime(), properties.minBcryptCost(),
+                        properties.maxBcryptCost())
+                : properties.bcryptCost();
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(properties.encoder(), Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        log.info("Password encoder: {} (BCrypt cost {}), {} hashing threads, queue capacity {}",
+                properties.encoder(), cost, properties.threads(), properties.queueCapacity());
+        return new OffloadingPasswordEncoder(delegating, properties.threads(), properties.queueCapacity(),
+                meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package info.mackiewicz.bankapp.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of password hashing.
+ *
+ * @param encoder        ID of the encoder used for new hashes ({@code bcrypt} or {@code argon2})
+ * @param bcryptCost     fixed BCrypt cost factor, calibrated at startup when not set
+ * @param targetHashTime target duration in milliseconds of a single BCrypt hash used for calibration
+ * @param minBcryptCost  lowest cost factor calibration may choose
+ * @param maxBcryptCost  highest cost factor calibration may choose
+ * @param threads        number of threads hashing passwords, defaults to the number of CPUs
+ * @param queueCapacity  number of hashing requests that may wait for a thread before new ones are rejected
+ */
+@ConfigurationProperties(prefix = "app.security.password")
+public record PasswordHashingProperties(String encoder,
+        int bcryptCost,
+        long targetHashTime,
+        int minBcryptCost,
+        int maxBcryptCost,
+        int threads,
+        int queueCapacity) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public PasswordHashingProperties {
+        if (encoder == null || encoder.isBlank())
+            encoder = "bcrypt";
+        if (targetHashTime <= 0)
+            targetHashTime = 250;
+        if (minBcryptCost <= 0)
+            minBcryptCost = 10;
+        if (maxBcryptCost <= 0)
+            maxBcryptCost = 14;
+        // Ensure maxBcryptCost is at least equal to minBcryptCost
+        if (maxBcryptCost < minBcryptCost)
+            maxBcryptCost = minBcryptCost;
+        if (threads <= 0)
+            threads = Runtime.getRuntime().availableProcessors();
+        if (queueCapacity <= 0)
+            queueCapacity = 100;
+    }
+
+    /**
+     * Checks whether the BCrypt cost should be calibrated at startup.
+     *
+     * @return true if no fixed cost is configured
+     */
+    public boolean calibrateBcryptCost() {
+        return bcryptCost <= 0;
+    }
+}
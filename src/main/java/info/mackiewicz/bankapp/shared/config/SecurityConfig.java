@@ -1,11 +1,16 @@
 package info.mackiewicz.bankapp.shared.config;
 
 import info.mackiewicz.bankapp.shared.service.CustomUserDetailsService;
+import info.mackiewicz.bankapp.shared.service.UserPrincipalCache;
+import info.mackiewicz.bankapp.shared.service.UserPrincipalDetailsService;
+import info.mackiewicz.bankapp.system.authentication.AccessTokenAuthenticationFilter;
+import info.mackiewicz.bankapp.system.authentication.AccessTokenService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,9 +18,12 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.session.SessionRegistryImpl;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.session.HttpSessionEventPublisher;
 
 @Configuration
@@ -25,9 +33,16 @@ import org.springframework.security.web.session.HttpSessionEventPublisher;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final PasswordEncoder passwordEncoder;
+    private final AccessTokenService accessTokenService;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, UserPrincipalCache userPrincipalCache,
+            PasswordEncoder passwordEncoder, AccessTokenService accessTokenService) {
         this.userDetailsService = userDetailsService;
+        this.userPrincipalCache = userPrincipalCache;
+        this.passwordEncoder = passwordEncoder;
+        this.accessTokenService = accessTokenService;
         log.info("Initializing SecurityConfig...");
     }
 
@@ -65,31 +80,53 @@ public class SecurityConfig {
     }
 
     // Security chain for admin API endpoints (średni priorytet)
+    // Stateless: clients authenticate with a bearer access token (or HTTP Basic), no session is created
     @Bean
     @Order(2)
     public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
         http
                 .securityMatcher("/api/**")
-                .userDetailsService(userDetailsService)
+                .authenticationProvider(cachedPrincipalAuthenticationProvider())
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/api/public/**").permitAll()
                         .anyRequest().authenticated())
+                .addFilterBefore(new AccessTokenAuthenticationFilter(accessTokenService, jsonAuthenticationEntryPoint()),
+                        BasicAuthenticationFilter.class)
                 .httpBasic(basic -> basic
                         .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .exceptionHandling(e -> e
-                        .authenticationEntryPoint((request, response, authException) -> {
-                            response.setStatus(HttpStatus.UNAUTHORIZED.value());
-                            response.setContentType("application/json");
-                            response.getWriter().write("{\"error\": \"Unauthorized\", \"message\": \"" +
-                                    authException.getMessage() + "\"}");
-                        }));
+                        .authenticationEntryPoint(jsonAuthenticationEntryPoint()));
 
         return http.build();
     }
 
+    private static AuthenticationEntryPoint jsonAuthenticationEntryPoint() {
+        return (request, response, authException) -> {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Unauthorized\", \"message\": \"" +
+                    authException.getMessage() + "\"}");
+        };
+    }
+
+    /**
+     * Authenticates HTTP Basic API requests against cached {@code UserPrincipal} projections,
+     * so the user entity is not loaded on every request.
+     * On a password mismatch the provider reloads the principal once, so a changed password works immediately.
+     */
+    private DaoAuthenticationProvider cachedPrincipalAuthenticationProvider() {
+        UserPrincipalDetailsService principalDetailsService =
+                new UserPrincipalDetailsService(userDetailsService, userPrincipalCache);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(principalDetailsService);
+        provider.setUserDetailsPasswordService(principalDetailsService);
+        provider.setUserCache(userPrincipalCache);
+        return provider;
+    }
+
     // Security chain for web endpoints (najniższy priorytet)
     @Bean
     @Order(3)
@@ -103,6 +140,9 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/v3/api-docs.yaml")
                         .permitAll()
+                        // Metrics and scheduled jobs expose pool and cluster internals, only health is public
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/dashboard/**").authenticated()
                         .anyRequest().authenticated())
                 .formLogin(form -> form
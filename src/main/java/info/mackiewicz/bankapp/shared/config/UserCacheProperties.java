@@ -0,0 +1,22 @@
+package info.mackiewicz.bankapp.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the authenticated principal cache used by the API.
+ *
+ * @param ttl     time in milliseconds a cached principal is used before it is loaded again
+ * @param maxSize maximum number of cached principals
+ */
+@ConfigurationProperties(prefix = "app.security.user-cache")
+public record UserCacheProperties(long ttl, long maxSize) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public UserCacheProperties {
+        if (ttl <= 0)
+            ttl = 60_000;
+        if (maxSize <= 0)
+            maxSize = 10_000;
+    }
+}
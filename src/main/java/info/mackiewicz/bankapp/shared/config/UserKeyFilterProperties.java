@@ -0,0 +1,23 @@
+package info.mackiewicz.bankapp.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the in-memory pre-check of unique user fields.
+ *
+ * @param enabled           whether registrations consult the filter before querying the database
+ * @param expectedUsers     number of users the filter is sized for
+ * @param falsePositiveRate false positive rate of a single field at the expected number of users
+ */
+@ConfigurationProperties(prefix = "app.user.key-filter")
+public record UserKeyFilterProperties(boolean enabled, long expectedUsers, double falsePositiveRate) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public UserKeyFilterProperties {
+        if (expectedUsers <= 0)
+            expectedUsers = 1_000_000;
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1)
+            falsePositiveRate = 0.01;
+    }
+}
@@ -1,18 +1,22 @@
 package info.mackiewicz.bankapp.shared.service;
 
+import info.mackiewicz.bankapp.core.user.model.User;
 import info.mackiewicz.bankapp.core.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @Primary
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserService userService;
 
@@ -21,4 +25,22 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userService.getUserByUsername(username);
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores a rehashed password after a successful login.
+     * Called by Spring Security when the stored hash uses an outdated encoder or cost factor.
+     *
+     * @param user        the authenticated user or its principal projection
+     * @param newPassword the new password hash
+     * @return the user entity with the updated password
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User bankUser = user instanceof User entity ? entity : userService.getUserByUsername(user.getUsername());
+        userService.changeUsersPassword(bankUser.getEmail(), newPassword);
+        bankUser.setPassword(newPassword);
+        log.debug("Password hash upgraded for user with ID: {}", bankUser.getId());
+        return bankUser;
+    }
+}
@@ -49,12 +49,14 @@ public class PasswordService {
 
     /**
      * Checks if the password is already encoded.
+     * Recognizes legacy BCrypt hashes and hashes prefixed with the ID of their encoder.
      *
      * @param password the password to check
      * @return true if the password is already encoded, false otherwise
      */
     private boolean isPasswordEncoded(String password) {
-        return password.startsWith("$2a$") || password.startsWith("$2b$") || password.startsWith("$2y$");
+        return password.startsWith("$2a$") || password.startsWith("$2b$") || password.startsWith("$2y$")
+                || password.startsWith("{bcrypt}$2") || password.startsWith("{argon2}$argon2");
     }
 
 
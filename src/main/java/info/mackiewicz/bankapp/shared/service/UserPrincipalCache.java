@@ -0,0 +1,105 @@
+package info.mackiewicz.bankapp.shared.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import info.mackiewicz.bankapp.shared.config.UserCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL-based cache of {@link UserPrincipal}s keyed by username.
+ * <p>
+ * Used by the API authentication provider so HTTP Basic requests do not load the user entity on every call.
+ * Entries are evicted when a user's password, username or accounts change, and expire after the configured TTL
+ * to bound staleness of changes made on other instances. An index of the cached username of every user lets
+ * {@link #evictUser(Integer)} find the entry without scanning the cache.
+ */
+@Slf4j
+@Component
+public class UserPrincipalCache implements UserCache {
+
+    private final Cache<String, UserPrincipal> cache;
+    private final Map<Integer, String> usernames = new ConcurrentHashMap<>();
+
+    public UserPrincipalCache(UserCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(properties.ttl()))
+                .maximumSize(properties.maxSize())
+                .executor(Runnable::run)
+                .removalListener((String username, UserPrincipal principal, RemovalCause cause) -> {
+                    // A replaced entry is indexed again by the put that replaced it
+                    if (principal != null && cause != RemovalCause.REPLACED) {
+                        usernames.remove(principal.getId(), username);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (user instanceof UserPrincipal principal) {
+            cache.put(principal.getUsername(), principal);
+            String previous = usernames.put(principal.getId(), principal.getUsername());
+            if (previous != null && !previous.equals(principal.getUsername())) {
+                // Cached before the username changed
+                cache.invalidate(previous);
+            }
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Evicts the principal of the given user, whatever username it was cached under.
+     * When called inside a transaction the principal is evicted again after commit,
+     * so a concurrent request cannot re-cache the data from before the change.
+     *
+     * @param userId the ID of the user
+     */
+    public void evictUser(Integer userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(Integer userId) {
+        String username = usernames.remove(userId);
+        if (username != null) {
+            cache.invalidate(username);
+            log.debug("Evicted cached principal of user with ID: {}", userId);
+        }
+    }
+
+    /**
+     * Gets the number of cached principals.
+     *
+     * @return approximate number of entries
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,35 @@
+package info.mackiewicz.bankapp.shared.service;
+
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * {@link UserDetailsService} decorator that returns {@link UserPrincipal} projections instead of user entities.
+ * <p>
+ * Used together with {@link UserPrincipalCache} by the API authentication provider. Not a Spring bean,
+ * so {@link CustomUserDetailsService} stays the only {@code UserDetailsService} in the context.
+ */
+@RequiredArgsConstructor
+public class UserPrincipalDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private final CustomUserDetailsService delegate;
+    private final UserPrincipalCache cache;
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return UserPrincipal.from((User) delegate.loadUserByUsername(username));
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal updated = UserPrincipal.from((User) delegate.updatePassword(user, newPassword));
+        // The provider cached the principal with the old hash before upgrading it
+        cache.putUserInCache(updated);
+        return updated;
+    }
+}
@@ -0,0 +1,84 @@
+package info.mackiewicz.bankapp.shared.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.experimental.UtilityClass;
+import org.iban4j.Iban;
+
+/**
+ * Process-wide cache of parsed IBANs and their display forms.
+ * <p>
+ * {@link Iban#valueOf(String)} runs the full iban4j validation (country structure, check digits) and
+ * {@link Iban#toFormattedString()} builds a new string on every call. Accounts are loaded, formatted and masked
+ * many times, so each IBAN is validated once and afterwards shares one {@link Iban} instance, its formatted and
+ * masked strings and its {@link IbanRoutingKey}. The cache is bounded; an evicted IBAN is simply parsed again.
+ */
+@UtilityClass
+public class IbanCache {
+
+    private static final long MAX_ENTRIES = 100_000;
+
+    private static final Cache<String, Entry> ENTRIES = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .build();
+
+    /**
+     * Parses an IBAN in electronic format, validating it only the first time it is seen.
+     *
+     * @param iban the IBAN in electronic format
+     * @return the shared Iban instance
+     * @throws org.iban4j.Iban4jException if the IBAN is invalid
+     */
+    public Iban valueOf(String iban) {
+        return ENTRIES.get(iban, key -> new Entry(Iban.valueOf(key))).iban;
+    }
+
+    /**
+     * Returns the formatted form of an IBAN, e.g. {@code PL61 1090 1014 0000 0712 1981 2874}.
+     *
+     * @param iban the IBAN
+     * @return the memoized formatted IBAN
+     */
+    public String formatted(Iban iban) {
+        return entry(iban).formatted;
+    }
+
+    /**
+     * Returns the masked form of an IBAN, see {@link IbanMasker#maskIban(String)}.
+     *
+     * @param iban the IBAN
+     * @return the memoized masked IBAN
+     */
+    public String masked(Iban iban) {
+        return entry(iban).masked;
+    }
+
+    /**
+     * Returns the routing key of an IBAN, used to resolve the transfer type between two accounts.
+     *
+     * @param iban the IBAN
+     * @return the memoized routing key
+     */
+    public IbanRoutingKey routingKey(Iban iban) {
+        return entry(iban).routingKey;
+    }
+
+    private Entry entry(Iban iban) {
+        // An Iban instance is valid by construction, so no validation is needed here
+        return ENTRIES.get(iban.toString(), key -> new Entry(iban));
+    }
+
+    private static final class Entry {
+        private final Iban iban;
+        private final String formatted;
+        private final String masked;
+        private final IbanRoutingKey routingKey;
+
+        private Entry(Iban iban) {
+            this.iban = iban;
+            this.formatted = iban.toFormattedString();
+            this.masked = IbanMasker.maskIban(iban.toString());
+            this.routingKey = new IbanRoutingKey(iban);
+        }
+    }
+}
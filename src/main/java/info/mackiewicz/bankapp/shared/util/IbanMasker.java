@@ -21,7 +21,13 @@ public class IbanMasker {
         return iban.substring(0, 4) + "****" + iban.substring(iban.length() - 4);
     }
 
+    /**
+     * Masks the IBAN, reusing the masked form memoized by {@link IbanCache}.
+     *
+     * @param iban The IBAN to be masked
+     * @return The masked IBAN
+     */
     public String maskIban(Iban iban) {
-        return maskIban(iban.toString());
+        return IbanCache.masked(iban);
     }
 }
@@ -0,0 +1,72 @@
+package info.mackiewicz.bankapp.shared.util;
+
+import org.iban4j.Iban;
+
+/**
+ * Precomputed routing data of an IBAN: the bank (country and bank code) and the owner segment of the account number.
+ * <p>
+ * Created once per IBAN by {@link IbanCache#routingKey(Iban)}, so comparing two accounts does not parse
+ * the IBAN structure again. For IBANs of this bank the owner segment is numeric and compared as a {@code long}.
+ */
+public final class IbanRoutingKey {
+
+    /**
+     * The owner segment is characters 4-13 of the account number; the first 4 characters are always 0's.
+     */
+    private static final int OWNER_SEGMENT_START = 4;
+    private static final int OWNER_SEGMENT_LENGTH = 10;
+    private static final long NO_SEGMENT = -1;
+
+    private final String bank;
+    private final int bankHash;
+    private final String accountNumber;
+    private final long ownerSegment;
+
+    IbanRoutingKey(Iban iban) {
+        this.bank = iban.getCountryCode().getAlpha2() + ":" + iban.getBankCode();
+        this.bankHash = bank.hashCode();
+        this.accountNumber = iban.getAccountNumber();
+        this.ownerSegment = parseOwnerSegment(accountNumber);
+    }
+
+    private static long parseOwnerSegment(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() < OWNER_SEGMENT_START + OWNER_SEGMENT_LENGTH) {
+            return NO_SEGMENT;
+        }
+        long segment = 0;
+        for (int i = OWNER_SEGMENT_START; i < OWNER_SEGMENT_START + OWNER_SEGMENT_LENGTH; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_SEGMENT;
+            }
+            segment = segment * 10 + (c - '0');
+        }
+        return segment;
+    }
+
+    /**
+     * Checks whether both IBANs belong to the same bank (same country and bank code).
+     *
+     * @param other the routing key of the other IBAN
+     * @return true if both IBANs belong to the same bank
+     */
+    public boolean isSameBank(IbanRoutingKey other) {
+        return bankHash == other.bankHash && bank.equals(other.bank);
+    }
+
+    /**
+     * Checks whether both account numbers carry the same owner segment.
+     *
+     * @param other the routing key of the other IBAN
+     * @return true if both accounts belong to the same owner
+     */
+    public boolean isSameOwner(IbanRoutingKey other) {
+        if (ownerSegment != NO_SEGMENT || other.ownerSegment != NO_SEGMENT) {
+            return ownerSegment == other.ownerSegment;
+        }
+        // Non-numeric account numbers of other banks
+        return accountNumber != null && other.accountNumber != null
+                && accountNumber.regionMatches(OWNER_SEGMENT_START, other.accountNumber, OWNER_SEGMENT_START,
+                OWNER_SEGMENT_LENGTH);
+    }
+}
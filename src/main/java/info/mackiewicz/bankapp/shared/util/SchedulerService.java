@@ -1,18 +1,28 @@
 package info.mackiewicz.bankapp.shared.util;
 
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.ledger.service.LedgerService;
 import info.mackiewicz.bankapp.core.transaction.service.TransactionService;
+import info.mackiewicz.bankapp.system.notification.email.outbox.EmailOutboxDispatcher;
+import info.mackiewicz.bankapp.system.reconciliation.ReconciliationService;
 import info.mackiewicz.bankapp.system.recovery.password.service.PasswordResetTokenService;
+import info.mackiewicz.bankapp.system.scheduling.ClusterJob;
+import info.mackiewicz.bankapp.system.scheduling.ClusterJobRunner;
 import info.mackiewicz.bankapp.system.transaction.processing.TransactionProcessingService;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Service responsible for scheduling and executing periodic tasks in the application.
  * This service manages scheduled tasks such as transaction processing and cleanup operations.
+ * All tasks run through the {@link ClusterJobRunner}: jobs that claim their own work run on every instance,
+ * the others run once per cluster on the instance that takes the job's lock.
  * 
  * @see org.springframework.scheduling.annotation.Scheduled
  * @see TransactionService
@@ -25,28 +35,65 @@ public class SchedulerService {
 
     private final TransactionProcessingService transactionProcessingService;
     private final PasswordResetTokenService passwordResetTokenService;
+    private final HotAccountJournalService hotAccountJournalService;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
+    private final LedgerService ledgerService;
+    private final ReconciliationService reconciliationService;
+    private final BalanceEngine balanceEngine;
+    private final ClusterJobRunner jobRunner;
 
-    private final static int HOW_OFTEN_TO_PROCESS_NEW_TRANSACTIONS = 10; // in minutes
     private final static int HOW_OFTEN_TO_CLEANUP_OLD_PASSWORD_RESET_TOKENS = 1; // in days
 
+    // Job names match the scheduled methods, see ClusterJob
+    private static final ClusterJob PROCESS_NEW_TRANSACTIONS = ClusterJob.local("scheduleProcessNewTransactions");
+    private static final ClusterJob RECOVER_ABANDONED_TRANSACTIONS = ClusterJob.exclusive(
+            "scheduleRecoverAbandonedTransactions", Duration.ofMinutes(5), Duration.ZERO);
+    private static final ClusterJob CLEANUP_OLD_PASSWORD_RESET_TOKENS = ClusterJob.exclusive(
+            "scheduleCleanupOldPasswordResetTokens", Duration.ofHours(23), Duration.ofHours(23));
+    private static final ClusterJob FOLD_HOT_ACCOUNT_JOURNAL = ClusterJob.exclusive(
+            "scheduleFoldHotAccountJournal", Duration.ofMinutes(5), Duration.ZERO);
+    private static final ClusterJob TAKE_BALANCE_SNAPSHOTS = ClusterJob.exclusive(
+            "scheduleTakeBalanceSnapshots", Duration.ofMinutes(30), Duration.ZERO);
+    private static final ClusterJob RECONCILE_BALANCES = ClusterJob.exclusive(
+            "scheduleReconcileBalances", Duration.ofHours(6), Duration.ofHours(5));
+    private static final ClusterJob FLUSH_BALANCE_ENGINE = ClusterJob.local("scheduleFlushBalanceEngine");
+    private static final ClusterJob DISPATCH_OUTBOX_EMAILS = ClusterJob.local("scheduleDispatchOutboxEmails");
+
     /**
-     * Schedules periodic processing of all new transactions.
-     * Executes every 10 minutes to handle any pending transactions in the system.
-     * This method is thread-safe and runs automatically based on the configured schedule.
+     * Schedules periodic processing of new transactions.
+     * Claims batches while full ones come back and processing keeps up, so every instance takes its share of the
+     * backlog; while a backlog remains, further batches are claimed as processing completes, between the runs.
+     * Processing is asynchronous; the claimed transactions are leased to this instance meanwhile.
      * 
      * @throws RuntimeException if transaction processing fails
-     * @see TransactionProcessingService#processAllNewTransactions()
+     * @see TransactionProcessingService#processNewTransactions()
      */
-    @Scheduled(timeUnit = TimeUnit.MINUTES, fixedRate = HOW_OFTEN_TO_PROCESS_NEW_TRANSACTIONS)
-    public void scheduleProcessAllNewTransactions() {
-        log.debug("Scheduler: Processing all new transactions");
-        transactionProcessingService.processAllNewTransactions();
-        log.debug("Scheduler: All new transactions processed");
+    @Scheduled(fixedDelayString = "${bankapp.transaction.claim.interval:10000}")
+    public void scheduleProcessNewTransactions() {
+        jobRunner.run(PROCESS_NEW_TRANSACTIONS, () -> {
+            int claimed = transactionProcessingService.processNewTransactions();
+            if (claimed > 0) {
+                log.debug("Scheduler: {} new transactions claimed for processing", claimed);
+            }
+        });
+    }
+
+    /**
+     * Schedules recovery of transactions left PENDING by a crashed instance.
+     * The first run happens right after startup, so transactions interrupted by a restart are re-queued
+     * without delay. Runs on one instance at a time.
+     *
+     * @see TransactionProcessingService#recoverAbandonedTransactions()
+     */
+    @Scheduled(fixedDelayString = "${bankapp.transaction.claim.recovery-interval:60000}")
+    public void scheduleRecoverAbandonedTransactions() {
+        jobRunner.run(RECOVER_ABANDONED_TRANSACTIONS, transactionProcessingService::recoverAbandonedTransactions);
     }
 
     /**
      * Schedules daily cleanup of expired password reset tokens.
      * Executes once per day to remove old password reset tokens from the system.
+     * Runs on one instance per day; the lock is kept for 23 hours so the other instances skip their ticks.
      * This helps maintain database cleanliness and security by removing unused tokens.
      * 
      * @throws RuntimeException if token cleanup operation fails
@@ -54,8 +101,80 @@ public class SchedulerService {
      */
     @Scheduled(timeUnit = TimeUnit.DAYS, fixedRate = HOW_OFTEN_TO_CLEANUP_OLD_PASSWORD_RESET_TOKENS)
     public void scheduleCleanupOldPasswordResetTokens() {
-        log.debug("Scheduler: Cleaning up old password reset tokens");
-        passwordResetTokenService.cleanupOldTokens();
-        log.debug("Scheduler: Old password reset tokens cleaned up");
+        jobRunner.run(CLEANUP_OLD_PASSWORD_RESET_TOKENS, () -> {
+            log.debug("Scheduler: Cleaning up old password reset tokens");
+            passwordResetTokenService.cleanupOldTokens();
+            log.debug("Scheduler: Old password reset tokens cleaned up");
+        });
+    }
+
+    /**
+     * Schedules folding of the hot account journal into the account balance.
+     * Keeps folding full batches until the backlog is drained.
+     * Runs on one instance at a time, as all folds update the same account row.
+     * Does nothing when the hot-account mode is disabled.
+     *
+     * @see HotAccountJournalService#fold()
+     */
+    @Scheduled(fixedDelayString = "${bankapp.bank.hot-account.fold-interval:5000}")
+    public void scheduleFoldHotAccountJournal() {
+        jobRunner.run(FOLD_HOT_ACCOUNT_JOURNAL, () -> {
+            int batchSize = hotAccountJournalService.getFoldBatchSize();
+            int folded;
+            do {
+                folded = hotAccountJournalService.fold();
+            } while (folded > 0 && folded >= batchSize);
+        });
+    }
+
+    /**
+     * Schedules balance snapshots of the accounts with many postings since their latest snapshot.
+     * Runs on one instance at a time.
+     *
+     * @see LedgerService#takeSnapshots()
+     */
+    @Scheduled(fixedDelayString = "${bankapp.ledger.snapshot.interval:3600000}")
+    public void scheduleTakeBalanceSnapshots() {
+        jobRunner.run(TAKE_BALANCE_SNAPSHOTS, ledgerService::takeSnapshots);
+    }
+
+    /**
+     * Schedules the nightly reconciliation of account balances with the DONE transactions.
+     * Runs on one instance per night; the lock is kept for 5 hours so the other instances skip their ticks.
+     * Discrepancies are written to a report file.
+     *
+     * @see ReconciliationService#reconcile()
+     */
+    @Scheduled(cron = "${bankapp.reconciliation.cron:0 30 2 * * *}")
+    public void scheduleReconcileBalances() {
+        jobRunner.run(RECONCILE_BALANCES, reconciliationService::reconcile);
+    }
+
+    /**
+     * Schedules writing the balances and transactions of the balance engine to the database.
+     * Runs on every instance, as every engine writes its own state.
+     * Does nothing when the balance engine is disabled.
+     *
+     * @see BalanceEngine#flush()
+     */
+    @Scheduled(fixedDelayString = "${bankapp.transaction.balance-engine.flush-interval:100}")
+    public void scheduleFlushBalanceEngine() {
+        jobRunner.run(FLUSH_BALANCE_ENGINE, balanceEngine::flush);
+    }
+
+    /**
+     * Schedules delivery of emails waiting in the outbox.
+     * Sends one batch per run; failed emails are retried on later runs with backoff.
+     *
+     * @see EmailOutboxDispatcher#dispatchDueMessages()
+     */
+    @Scheduled(fixedDelayString = "${app.email.outbox.dispatch-interval:5000}")
+    public void scheduleDispatchOutboxEmails() {
+        jobRunner.run(DISPATCH_OUTBOX_EMAILS, () -> {
+            int sent = emailOutboxDispatcher.dispatchDueMessages();
+            if (sent > 0) {
+                log.debug("Scheduler: {} outbox emails sent", sent);
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,130 @@
+package info.mackiewicz.bankapp.shared.validation;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.regex.Pattern;
+
+/**
+ * Precompiled counterparts of the patterns in {@link ValidationConstants}, for use outside of annotations.
+ * <p>
+ * {@link String#matches(String)} and {@link String#replaceAll(String, String)} compile their regex on every call,
+ * which dominates the cost of validating short values such as names, PESELs or transfer titles. Simple character
+ * classes are checked with hand-written scanners; the remaining patterns are compiled once.
+ * <p>
+ * Thread-safe: compiled {@link Pattern}s are immutable and the scanners keep no state.
+ */
+@UtilityClass
+public class ValidationPatterns {
+
+    /**
+     * Compiled {@link ValidationConstants#EMAIL_PATTERN}.
+     */
+    public static final Pattern EMAIL = Pattern.compile(ValidationConstants.EMAIL_PATTERN);
+
+    /**
+     * Compiled {@link ValidationConstants#PASSWORD_PATTERN}.
+     */
+    public static final Pattern PASSWORD = Pattern.compile(ValidationConstants.PASSWORD_PATTERN);
+
+    private static final String POLISH_LETTERS = "ĄĆĘŁŃÓŚŹŻąćęłńóśźż";
+    private static final String TITLE_SPECIAL_CHARACTERS = ".,/?@!%#&()-";
+
+    /**
+     * Checks whether the input is non-empty and consists only of ASCII digits.
+     *
+     * @param input the value to check, may be null
+     * @return true if the input contains only digits 0-9
+     */
+    public boolean isDigits(CharSequence input) {
+        if (input == null || input.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            if (!isAsciiDigit(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equivalent of matching {@link ValidationConstants#NAME_PATTERN}: a non-empty string of ASCII and Polish
+     * letters.
+     *
+     * @param input the value to check, may be null
+     * @return true if the input is a valid name
+     */
+    public boolean isName(String input) {
+        if (input == null || input.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (!isAsciiLetter(c) && POLISH_LETTERS.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equivalent of matching {@link ValidationConstants#TRANSFER_TITLE_PATTERN}: a non-empty string of letters in
+     * any script, ASCII digits, whitespace and the characters {@code .,/?@!%#&()-}.
+     *
+     * @param input the value to check, may be null
+     * @return true if the input is a valid transfer title
+     */
+    public boolean isTransferTitle(String input) {
+        if (input == null || input.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < input.length(); ) {
+            int codePoint = input.codePointAt(i);
+            if (!isTitleCharacter(codePoint)) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every character that is not an ASCII digit, like {@code input.replaceAll("[^0-9]", "")}.
+     *
+     * @param input the value to strip
+     * @return the digits of the input, or the input itself if it contains only digits
+     */
+    public String digitsOnly(String input) {
+        int i = 0;
+        while (i < input.length() && isAsciiDigit(input.charAt(i))) {
+            i++;
+        }
+        if (i == input.length()) {
+            return input;
+        }
+        StringBuilder digits = new StringBuilder(input.length()).append(input, 0, i);
+        for (; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (isAsciiDigit(c)) {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private boolean isTitleCharacter(int codePoint) {
+        // Character.isLetter covers the same categories as \p{L}; whitespace is the \s class of java.util.regex
+        return Character.isLetter(codePoint)
+                || isAsciiDigit(codePoint)
+                || TITLE_SPECIAL_CHARACTERS.indexOf(codePoint) >= 0
+                || codePoint == ' ' || (codePoint >= '\t' && codePoint <= '\r');
+    }
+
+    private boolean isAsciiDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,28 @@
+package info.mackiewicz.bankapp.system.authentication;
+
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+/**
+ * Authentication of an API request established from a verified access token.
+ */
+public class AccessTokenAuthentication extends AbstractAuthenticationToken {
+
+    private final UserPrincipal principal;
+
+    public AccessTokenAuthentication(UserPrincipal principal) {
+        super(principal.getAuthorities());
+        this.principal = principal;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public UserPrincipal getPrincipal() {
+        return principal;
+    }
+}
@@ -0,0 +1,35 @@
+package info.mackiewicz.bankapp.system.authentication;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the signed access tokens used by the stateless API chain.
+ *
+ * @param secret Base64-encoded HMAC key of at least 256 bits, shared by all API instances;
+ *               a random key is generated at startup when not set
+ * @param issuer value of the {@code iss} claim issued and required by the API
+ * @param ttl    lifetime in milliseconds of an issued token
+ */
+@ConfigurationProperties(prefix = "app.security.access-token")
+public record AccessTokenConfig(String secret,
+        String issuer,
+        long ttl) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public AccessTokenConfig {
+        if (issuer == null || issuer.isBlank())
+            issuer = "bankapp";
+        if (ttl <= 0)
+            ttl = 900_000;
+    }
+
+    /**
+     * Checks whether a shared signing key is configured.
+     *
+     * @return true if a secret is set
+     */
+    public boolean hasSecret() {
+        return secret != null && !secret.isBlank();
+    }
+}
@@ -0,0 +1,124 @@
+package info.mackiewicz.bankapp.system.authentication;
+
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies the HMAC-signed access tokens of the API.
+ * <p>
+ * A token carries everything the API needs to authorize a request: the user ID, username, roles and the IDs and
+ * IBANs of the owned accounts. Verifying it is a signature check and needs neither the database nor a password hash.
+ * Tokens cannot be revoked; a changed password or role takes effect for API clients when their token expires.
+ */
+@Slf4j
+@Service
+public class AccessTokenService {
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+    static final String ACCOUNT_IDS_CLAIM = "acc";
+    static final String IBANS_CLAIM = "iban";
+
+    private final AccessTokenConfig config;
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    public AccessTokenService(AccessTokenConfig config) {
+        this.config = config;
+        this.key = signingKey(config);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .requireIssuer(config.issuer())
+                .build();
+    }
+
+    private static SecretKey signingKey(AccessTokenConfig config) {
+        if (config.hasSecret()) {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(config.secret()));
+        }
+        log.warn("No app.security.access-token.secret configured, using a random key. " +
+                "Access tokens will not survive a restart and are not accepted by other instances.");
+        return Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    }
+
+    /**
+     * Issues a token for an authenticated principal.
+     *
+     * @param principal the authenticated principal
+     * @return the issued token with its expiry
+     */
+    public AccessToken issue(UserPrincipal principal) {
+        Instant issuedAt = Instant.now();
+        Instant expiresAt = issuedAt.plusMillis(config.ttl());
+        String token = Jwts.builder()
+                .setIssuer(config.issuer())
+                .setSubject(principal.getUsername())
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(expiresAt))
+                .claim(USER_ID_CLAIM, principal.getId())
+                .claim(ROLES_CLAIM, principal.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList())
+                .claim(ACCOUNT_IDS_CLAIM, principal.getOwnedAccountIds())
+                .claim(IBANS_CLAIM, principal.getOwnedIbans())
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        log.debug("Issued access token for user with ID: {}", principal.getId());
+        return new AccessToken(token, expiresAt);
+    }
+
+    /**
+     * Verifies a token and restores the principal it was issued for.
+     *
+     * @param token the compact token
+     * @return the principal
+     * @throws JwtException if the token is malformed, expired, not signed with the configured key
+     *                      or issued by another issuer
+     */
+    public UserPrincipal verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Set<GrantedAuthority> authorities = list(claims, ROLES_CLAIM).stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toSet());
+        Set<Integer> accountIds = list(claims, ACCOUNT_IDS_CLAIM).stream()
+                .map(id -> ((Number) id).intValue())
+                .collect(Collectors.toSet());
+        Set<String> ibans = list(claims, IBANS_CLAIM).stream()
+                .map(Object::toString)
+                .collect(Collectors.toSet());
+        return UserPrincipal.authenticated(claims.get(USER_ID_CLAIM, Integer.class), claims.getSubject(),
+                authorities, accountIds, ibans);
+    }
+
+    private static Collection<?> list(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof Collection<?> collection ? collection : List.of();
+    }
+
+    /**
+     * An issued access token.
+     *
+     * @param value     the compact, signed token
+     * @param expiresAt the expiry of the token
+     */
+    public record AccessToken(String value, Instant expiresAt) {
+    }
+}
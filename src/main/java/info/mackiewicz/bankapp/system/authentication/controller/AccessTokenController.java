@@ -0,0 +1,47 @@
+package info.mackiewicz.bankapp.system.authentication.controller;
+
+import info.mackiewicz.bankapp.system.authentication.controller.dto.AccessTokenResponse;
+import info.mackiewicz.bankapp.system.error.handling.dto.BaseApiError;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+
+/**
+ * AccessTokenController defines the endpoint issuing access tokens for the API.
+ * <p>
+ * A client authenticates once with HTTP Basic and then sends the issued token as
+ * {@code Authorization: Bearer <token>}. Requests with a token are verified without a database
+ * lookup or password hash and without a server-side session.
+ */
+@Tag(name = "Authentication")
+public interface AccessTokenController {
+
+    @Operation(
+            summary = "Issue an access token",
+            description = """
+                    Issues a signed, short-lived access token for the user authenticated with HTTP Basic.
+                    
+                    Send the token in the `Authorization: Bearer <token>` header of subsequent API requests.
+                    The token carries the user's roles and owned accounts, and cannot be used to request a new token.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Token issued successfully.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccessTokenResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid credentials, or the request was authenticated with an access token.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BaseApiError.class))
+            )
+    })
+    ResponseEntity<AccessTokenResponse> issueToken(@Parameter(hidden = true) Authentication authentication);
+}
@@ -0,0 +1,43 @@
+package info.mackiewicz.bankapp.system.authentication.controller;
+
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import info.mackiewicz.bankapp.system.authentication.AccessTokenAuthentication;
+import info.mackiewicz.bankapp.system.authentication.AccessTokenService;
+import info.mackiewicz.bankapp.system.authentication.AccessTokenService.AccessToken;
+import info.mackiewicz.bankapp.system.authentication.controller.dto.AccessTokenResponse;
+import info.mackiewicz.bankapp.system.authentication.exception.AccessTokenExchangeException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/auth")
+public class DefaultAccessTokenController implements AccessTokenController {
+
+    private final AccessTokenService accessTokenService;
+
+    @PostMapping("/token")
+    public ResponseEntity<AccessTokenResponse> issueToken(Authentication authentication) {
+        if (authentication instanceof AccessTokenAuthentication) {
+            // Otherwise a token could be renewed forever without the password
+            throw new AccessTokenExchangeException("Access tokens cannot be exchanged for new tokens");
+        }
+        UserPrincipal principal = switch (authentication.getPrincipal()) {
+            case UserPrincipal userPrincipal -> userPrincipal;
+            case User user -> UserPrincipal.from(user);
+            default -> throw new AccessTokenExchangeException("Unsupported principal type");
+        };
+
+        AccessToken token = accessTokenService.issue(principal);
+        long expiresIn = Duration.between(Instant.now(), token.expiresAt()).toSeconds();
+        return ResponseEntity.ok(new AccessTokenResponse(token.value(), "Bearer", expiresIn));
+    }
+}
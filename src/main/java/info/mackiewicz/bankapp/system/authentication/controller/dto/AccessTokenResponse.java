@@ -0,0 +1,16 @@
+package info.mackiewicz.bankapp.system.authentication.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Access token issued to an API client.
+ *
+ * @param accessToken the signed token to send as {@code Authorization: Bearer <token>}
+ * @param tokenType   always {@code Bearer}
+ * @param expiresIn   lifetime of the token in seconds
+ */
+public record AccessTokenResponse(
+        @Schema(description = "Signed access token") String accessToken,
+        @Schema(example = "Bearer") String tokenType,
+        @Schema(description = "Lifetime of the token in seconds", example = "900") long expiresIn) {
+}
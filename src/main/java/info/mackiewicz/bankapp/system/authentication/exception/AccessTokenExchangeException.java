@@ -0,0 +1,14 @@
+package info.mackiewicz.bankapp.system.authentication.exception;
+
+import info.mackiewicz.bankapp.shared.exception.BankAppBaseException;
+import info.mackiewicz.bankapp.system.error.handling.core.ErrorCode;
+
+/**
+ * Thrown when a new access token is requested without authenticating with the user's credentials.
+ */
+public class AccessTokenExchangeException extends BankAppBaseException {
+
+    public AccessTokenExchangeException(String message) {
+        super(message, ErrorCode.AUTHENTICATION_ERROR);
+    }
+}
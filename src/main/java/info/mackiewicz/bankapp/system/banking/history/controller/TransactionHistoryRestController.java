@@ -1,6 +1,6 @@
 package info.mackiewicz.bankapp.system.banking.history.controller;
 
-import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.interfaces.UserDetailsWithId;
 import info.mackiewicz.bankapp.system.banking.history.controller.dto.TransactionFilterRequest;
 import info.mackiewicz.bankapp.system.banking.history.service.TransactionHistoryService;
 import info.mackiewicz.bankapp.system.banking.shared.dto.TransactionResponse;
@@ -29,7 +29,7 @@ public class TransactionHistoryRestController implements TransactionHistoryRestC
     @GetMapping
     @Override
     public ResponseEntity<Page<TransactionResponse>> getTransactions(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal UserDetailsWithId user,
             @ModelAttribute @Valid TransactionFilterRequest filter
     ) {
         log.debug("Fetching transactions for account {} (user: {})", filter.getAccountId(), user.getUsername());
@@ -40,7 +40,7 @@ public class TransactionHistoryRestController implements TransactionHistoryRestC
     @GetMapping("/export")
     @Override
     public ResponseEntity<byte[]> exportTransactions(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal UserDetailsWithId user,
             @ModelAttribute @Valid TransactionFilterRequest filter,
             @RequestParam(defaultValue = DEFAULT_EXPORT_FORMAT) String format
     ) {
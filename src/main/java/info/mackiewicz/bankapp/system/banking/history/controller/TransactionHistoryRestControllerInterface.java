@@ -1,6 +1,6 @@
 package info.mackiewicz.bankapp.system.banking.history.controller;
 
-import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.interfaces.UserDetailsWithId;
 import info.mackiewicz.bankapp.system.banking.history.controller.dto.TransactionFilterRequest;
 import info.mackiewicz.bankapp.system.banking.shared.dto.TransactionResponse;
 import info.mackiewicz.bankapp.system.error.handling.dto.BaseApiError;
@@ -63,7 +63,7 @@ public interface TransactionHistoryRestControllerInterface {
             @Parameter(
                     hidden = true,
                     description = "Current authenticated user (automatically injected by Spring Security)"
-            ) User user,
+            ) UserDetailsWithId user,
             @Parameter(
                     description = "Transaction filter options",
                     schema = @Schema(implementation = TransactionFilterRequest.class),
@@ -118,7 +118,7 @@ public interface TransactionHistoryRestControllerInterface {
             @Parameter(
                     hidden = true,
                     description = "Current authenticated user (automatically injected by Spring Security)"
-            ) User user,
+            ) UserDetailsWithId user,
             @Parameter(
                     description = "Transaction filter options",
                     schema = @Schema(implementation = TransactionFilterRequest.class),
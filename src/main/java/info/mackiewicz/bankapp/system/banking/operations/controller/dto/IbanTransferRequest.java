@@ -4,6 +4,7 @@ package info.mackiewicz.bankapp.system.banking.operations.controller.dto;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import info.mackiewicz.bankapp.shared.annotations.ValidIban;
+import info.mackiewicz.bankapp.shared.util.IbanCache;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Setter;
@@ -23,7 +24,7 @@ public class IbanTransferRequest extends TransactionRequest {
 
     @JsonIgnore
     public Iban getRecipientIban() {
-        return Iban.valueOf(recipientIban);
+        return IbanCache.valueOf(recipientIban);
     }
 
     @JsonIgnore
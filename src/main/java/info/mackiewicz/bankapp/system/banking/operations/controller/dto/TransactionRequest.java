@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.shared.annotations.ValidIban;
+import info.mackiewicz.bankapp.shared.util.IbanCache;
 import info.mackiewicz.bankapp.shared.validation.ValidationConstants;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
@@ -57,7 +58,7 @@ public abstract class TransactionRequest {
 
     @JsonIgnore
     public Iban getSourceIban() {
-        return Iban.valueOf(sourceIban);
+        return IbanCache.valueOf(sourceIban);
     }
 
     @JsonIgnore
@@ -2,7 +2,9 @@ package info.mackiewicz.bankapp.system.banking.operations.service.helpers;
 
 import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
 import info.mackiewicz.bankapp.shared.exception.IbanAnalysisException;
+import info.mackiewicz.bankapp.shared.util.IbanCache;
 import info.mackiewicz.bankapp.shared.util.IbanMasker;
+import info.mackiewicz.bankapp.shared.util.IbanRoutingKey;
 import lombok.extern.slf4j.Slf4j;
 import org.iban4j.Iban;
 import org.springframework.stereotype.Service;
@@ -12,6 +14,9 @@ import org.springframework.stereotype.Service;
  * Number) data.
  * Provides functionality to determine relationships between accounts based on
  * their IBAN details.
+ * <p>
+ * Comparisons use the {@link IbanRoutingKey} precomputed once per IBAN by {@link IbanCache},
+ * so resolving a transfer type does not parse the IBAN structure.
  */
 @Service
 @Slf4j
@@ -29,21 +34,20 @@ public class IbanAnalysisService {
      *         (same owner, same bank)
      */
     public static TransactionType resolveTransferType(Iban sourceIban, Iban destinationIban) {
-        log.debug("""
-                Resolving transfer type for\s
-                source IBAN: {}
-                destination IBAN: {}""", IbanMasker.maskIban(sourceIban), IbanMasker.maskIban(destinationIban));
-
         try {
-            TransactionType type = !isSameBank(sourceIban, destinationIban) ? TransactionType.TRANSFER_EXTERNAL
-                                 : !isSameOwner(sourceIban, destinationIban) ? TransactionType.TRANSFER_INTERNAL
+            IbanRoutingKey source = IbanCache.routingKey(sourceIban);
+            IbanRoutingKey destination = IbanCache.routingKey(destinationIban);
+            TransactionType type = !source.isSameBank(destination) ? TransactionType.TRANSFER_EXTERNAL
+                                 : !source.isSameOwner(destination) ? TransactionType.TRANSFER_INTERNAL
                                  : TransactionType.TRANSFER_OWN;
 
-            log.debug("""
-                    Transfer type for\s
-                    source IBAN: {}
-                    destination IBAN: {}
-                    is {}""", IbanMasker.maskIban(sourceIban), IbanMasker.maskIban(destinationIban), type);
+            if (log.isDebugEnabled()) {
+                log.debug("""
+                        Transfer type for\s
+                        source IBAN: {}
+                        destination IBAN: {}
+                        is {}""", IbanMasker.maskIban(sourceIban), IbanMasker.maskIban(destinationIban), type);
+            }
 
             return type;
         } catch (Exception e) {
@@ -61,10 +65,7 @@ public class IbanAnalysisService {
      * @return true if both accounts belong to the same owner, false otherwise
      */
     public static boolean isSameOwner(Iban sourceIban, Iban destinationIban) {
-        // first 4 characters are always 0's and should be ignored in the comparison
-        log.trace("Comparing account numbers for ownership: {} and {}", IbanMasker.maskIban(sourceIban),
-                IbanMasker.maskIban(destinationIban));
-        return sourceIban.getAccountNumber().regionMatches(4, destinationIban.getAccountNumber(), 4, 10);
+        return IbanCache.routingKey(sourceIban).isSameOwner(IbanCache.routingKey(destinationIban));
     }
 
     /**
@@ -76,8 +77,6 @@ public class IbanAnalysisService {
      * @return true if both accounts belong to the same bank, false otherwise
      */
     public static boolean isSameBank(Iban sourceIban, Iban destinationIban) {
-        log.trace("Comparing bank codes and country codes: {} and {}", IbanMasker.maskIban(sourceIban), IbanMasker.maskIban(destinationIban));
-        return sourceIban.getBankCode().equals(destinationIban.getBankCode())
-                && sourceIban.getCountryCode().equals(destinationIban.getCountryCode());
+        return IbanCache.routingKey(sourceIban).isSameBank(IbanCache.routingKey(destinationIban));
     }
-}
\ No newline at end of file
+}
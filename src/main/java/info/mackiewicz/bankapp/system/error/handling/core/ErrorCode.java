@@ -79,6 +79,9 @@ public enum ErrorCode {
     TRANSACTION_ACCOUNT_CONFLICT(HttpStatus.BAD_REQUEST, "Source and destination accounts cannot be the same."),
     INVALID_IBAN(HttpStatus.BAD_REQUEST, "Invalid IBAN. Please check your input and try again."),
     TRANSACTION_NOT_DELETABLE(HttpStatus.FORBIDDEN, "You cannot delete transaction that is already processed or in process."),
+    // Registration Errors
+    BULK_ONBOARDING_UNAVAILABLE(HttpStatus.CONFLICT, "Bulk onboarding is not available while the balance engine is enabled."),
+
     // Other errors
     UNSUPPORTED_EXPORTER(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported export format. Please choose a different one.");
 
@@ -0,0 +1,247 @@
+package info.mackiewicz.bankapp.system.ledger;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of the balance changes made by processed transactions.
+ * <p>
+ * Every leg of a completed transaction is written as a fixed-size {@link LedgerRecord} into a memory-mapped segment
+ * file. A segment is rotated when it is full; segments are never modified afterwards. The journal is written after
+ * the database transaction commits, so it only contains changes that are in the database. The database stays the
+ * source of truth: a failed write is logged and does not fail the transaction.
+ * <p>
+ * Appends are group-committed: a thread that finds its records already forced to disk by another thread returns
+ * without forcing again, so concurrent transactions share one flush.
+ * <p>
+ * The balance engine keeps a second instance in its own directory as its write-ahead log, writing records with
+ * {@link #write(List)} and forcing them with {@link #force(long)} before it acknowledges a transaction. Once its
+ * balances are in the database, it deletes the segments it no longer needs with {@link #deleteSegmentsUpTo(long)}.
+ *
+ * @see LedgerJournalReader
+ * @see LedgerJournalConfig
+ */
+@Slf4j
+@Component
+public class LedgerJournal {
+
+    private final LedgerJournalConfig config;
+    private final HotAccountJournalService hotAccountJournalService;
+    private final Path directory;
+
+    // Guarded by this
+    private final CRC32C crc = new CRC32C();
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private int position;
+    private long appended;
+    // Segments rotated since opening, oldest first
+    private final Deque<RotatedSegment> rotated = new ArrayDeque<>();
+
+    private final Object forceLock = new Object();
+    // Guarded by forceLock
+    private long forced;
+
+    public LedgerJournal(LedgerJournalConfig config, HotAccountJournalService hotAccountJournalService) {
+        this.config = config;
+        this.hotAccountJournalService = hotAccountJournalService;
+        this.directory = Path.of(config.directory());
+    }
+
+    /**
+     * Opens the last segment and continues after its last valid record.
+     */
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!config.enabled()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = LedgerJournalReader.segments(directory);
+        openSegment(segments.isEmpty() ? 0 : LedgerJournalReader.segmentIndex(segments.getLast()));
+        position = LedgerJournalReader.validLength(segment);
+        log.info("Ledger journal opened in {} at segment {}, offset {}", directory.toAbsolutePath(), segmentIndex,
+                position);
+    }
+
+    /**
+     * Appends the legs of a completed transaction: a debit of the source account and a credit of the destination
+     * account, whichever the transaction has.
+     *
+     * @param transaction the completed transaction, with the balances of its accounts after execution
+     */
+    public void append(Transaction transaction) {
+        if (!config.enabled()) {
+            return;
+        }
+        try {
+            long timestamp = System.currentTimeMillis();
+            long amount = LedgerRecord.toMinorUnits(transaction.getAmount());
+            List<LedgerRecord> records = new ArrayList<>(2);
+            if (transaction.getSourceAccount() != null) {
+                records.add(leg(transaction, transaction.getSourceAccount(), -amount, timestamp));
+            }
+            if (transaction.getDestinationAccount() != null) {
+                records.add(leg(transaction, transaction.getDestinationAccount(), amount, timestamp));
+            }
+            append(records);
+        } catch (RuntimeException e) {
+            log.error("Could not append transaction {} to the ledger journal", transaction.getId(), e);
+        }
+    }
+
+    /**
+     * Appends records and returns once they are forced to disk.
+     * Used directly by callers that know the balances after each leg, like the netting of transaction batches.
+     *
+     * @param records the records to append
+     */
+    public void append(List<LedgerRecord> records) {
+        if (!config.enabled()) {
+            return;
+        }
+        force(write(records));
+    }
+
+    /**
+     * Writes records after all records written before, without forcing them to disk.
+     *
+     * @param records the records to write
+     * @return the sequence number of the last written record, to be passed to {@link #force(long)}
+     */
+    public synchronized long write(List<LedgerRecord> records) {
+        for (LedgerRecord record : records) {
+            if (position + LedgerRecord.SIZE > segment.capacity()) {
+                rotate();
+            }
+            record.writeTo(segment, position, crc);
+            position += LedgerRecord.SIZE;
+            appended++;
+        }
+        return appended;
+    }
+
+    /**
+     * Forces written records to disk, unless another thread already did.
+     *
+     * @param sequence the sequence number returned by {@link #write(List)} for the last record to force
+     */
+    public void force(long sequence) {
+        synchronized (forceLock) {
+            if (forced >= sequence) {
+                return;
+            }
+            MappedByteBuffer current;
+            long target;
+            synchronized (this) {
+                // Earlier segments were forced when they were rotated
+                current = segment;
+                target = appended;
+            }
+            current.force();
+            forced = target;
+        }
+    }
+
+    /**
+     * @return the sequence number of the last written record
+     */
+    public synchronized long sequence() {
+        return appended;
+    }
+
+    /**
+     * Deletes the segments rotated since opening whose records all have a sequence number of at most the given one.
+     * The current segment is kept.
+     *
+     * @param sequence the sequence number up to which records are no longer needed
+     */
+    public synchronized void deleteSegmentsUpTo(long sequence) throws IOException {
+        while (!rotated.isEmpty() && rotated.peekFirst().lastSequence() <= sequence) {
+            Files.deleteIfExists(LedgerJournalReader.segmentPath(directory, rotated.peekFirst().index()));
+            rotated.removeFirst();
+        }
+    }
+
+    /**
+     * Deletes all segments and continues with an empty journal.
+     * Used by the balance engine once the database holds all changes of its journal.
+     */
+    public synchronized void truncate() throws IOException {
+        close();
+        for (Path path : LedgerJournalReader.segments(directory)) {
+            Files.delete(path);
+        }
+        rotated.clear();
+        openSegment(0);
+        position = 0;
+        log.info("Ledger journal in {} truncated", directory.toAbsolutePath());
+    }
+
+    /**
+     * @return a reader of the journal directory
+     */
+    public LedgerJournalReader reader() {
+        return new LedgerJournalReader(directory);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+    }
+
+    private LedgerRecord leg(Transaction transaction, Account account, long delta, long timestamp) {
+        // Hot account changes go to the account journal, the balance of the entity is not updated
+        long balance = hotAccountJournalService.isJournaled(account)
+                ? LedgerRecord.UNKNOWN_BALANCE
+                : LedgerRecord.toMinorUnits(account.getBalance());
+        return new LedgerRecord(transaction.getId(), account.getId(), delta, balance, timestamp);
+    }
+
+    private void rotate() {
+        segment.force();
+        rotated.addLast(new RotatedSegment(segmentIndex, appended));
+        try {
+            openSegment(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rotate ledger journal segment " + segmentIndex, e);
+        }
+        position = 0;
+        log.debug("Ledger journal rotated to segment {}", segmentIndex);
+    }
+
+    private void openSegment(long index) throws IOException {
+        Path path = LedgerJournalReader.segmentPath(directory, index);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = channel.size() > 0 ? channel.size() : config.segmentSize();
+            // The mapping stays valid after the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        segmentIndex = index;
+    }
+
+    private record RotatedSegment(long index, long lastSequence) {
+    }
+}
@@ -0,0 +1,26 @@
+package info.mackiewicz.bankapp.system.ledger;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the ledger journal.
+ *
+ * @param enabled     whether processed transactions are appended to the journal
+ * @param directory   directory of the journal segments, one per instance of the application
+ * @param segmentSize size in bytes of a segment file, rounded down to whole records
+ */
+@ConfigurationProperties(prefix = "bankapp.ledger.journal")
+public record LedgerJournalConfig(boolean enabled,
+        String directory,
+        int segmentSize) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public LedgerJournalConfig {
+        if (directory == null || directory.isBlank())
+            directory = "ledger";
+        if (segmentSize < LedgerRecord.SIZE)
+            segmentSize = 64 * 1024 * 1024;
+        segmentSize -= segmentSize % LedgerRecord.SIZE;
+    }
+}
@@ -0,0 +1,134 @@
+package info.mackiewicz.bankapp.system.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads the ledger journal for audits, recovery and rebuilding balances.
+ * <p>
+ * Segments are mapped read-only and scanned sequentially in the order they were written, so a scan runs at the
+ * speed of the disk. Each segment is read up to its first invalid record. The reader can be used while the
+ * journal is being written; records appended after a segment was mapped may or may not be visible.
+ */
+public class LedgerJournalReader {
+
+    static final String SEGMENT_PREFIX = "ledger-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+
+    public LedgerJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Passes every valid record to an action, oldest first.
+     *
+     * @param action the action to perform on each record
+     */
+    public void forEach(Consumer<LedgerRecord> action) {
+        CRC32C crc = new CRC32C();
+        for (Path segment : segments(directory)) {
+            ByteBuffer buffer = map(segment);
+            for (int offset = 0; offset + LedgerRecord.SIZE <= buffer.capacity(); offset += LedgerRecord.SIZE) {
+                LedgerRecord record = LedgerRecord.readFrom(buffer, offset, crc);
+                if (record == null) {
+                    break;
+                }
+                action.accept(record);
+            }
+        }
+    }
+
+    /**
+     * Sums the recorded balance changes per account.
+     *
+     * @return net change of each account over the whole journal
+     */
+    public Map<Integer, BigDecimal> netChanges() {
+        Map<Integer, Long> totals = new HashMap<>();
+        forEach(record -> totals.merge(record.accountId(), record.delta(), Math::addExact));
+        Map<Integer, BigDecimal> changes = new HashMap<>(totals.size());
+        totals.forEach((accountId, total) -> changes.put(accountId, BigDecimal.valueOf(total, 2)));
+        return changes;
+    }
+
+    /**
+     * Returns the last recorded balance of every account whose resulting balances are known.
+     *
+     * @return balance of each account after its last recorded change
+     */
+    public Map<Integer, BigDecimal> lastBalances() {
+        Map<Integer, BigDecimal> balances = new HashMap<>();
+        forEach(record -> {
+            if (record.balance() != LedgerRecord.UNKNOWN_BALANCE) {
+                balances.put(record.accountId(), record.balanceAmount());
+            }
+        });
+        return balances;
+    }
+
+    /**
+     * Lists the segments of a journal directory in the order they were written.
+     */
+    static List<Path> segments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // Segment indexes are zero-padded, so the names sort in write order
+            return files.filter(LedgerJournalReader::isSegment).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list ledger journal segments in " + directory, e);
+        }
+    }
+
+    static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Finds the end of the valid records of a segment.
+     *
+     * @return the offset following the last valid record
+     */
+    static int validLength(ByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        int offset = 0;
+        while (offset + LedgerRecord.SIZE <= buffer.capacity() && LedgerRecord.readFrom(buffer, offset, crc) != null) {
+            offset += LedgerRecord.SIZE;
+        }
+        return offset;
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path segment) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read ledger journal segment " + segment, e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package info.mackiewicz.bankapp.system.ledger;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * One balance change of an account, as stored in the ledger journal.
+ * <p>
+ * Records have a fixed size of {@value #SIZE} bytes: transaction ID (8), account ID (4), delta (8) and resulting
+ * balance (8) in minor units, timestamp in epoch milliseconds (8) and a CRC32C of the preceding fields (4).
+ * A record whose checksum does not match, e.g. the zero-filled tail of a segment or a write torn by a crash,
+ * marks the end of the valid records of its segment.
+ *
+ * @param transactionId ID of the transaction that changed the balance
+ * @param accountId     ID of the account
+ * @param delta         balance change in minor units, negative for debits
+ * @param balance       balance after the change in minor units, or {@link #UNKNOWN_BALANCE}
+ * @param timestamp     time of the change in epoch milliseconds
+ */
+public record LedgerRecord(long transactionId, int accountId, long delta, long balance, long timestamp) {
+
+    public static final int SIZE = 40;
+
+    /**
+     * Resulting balance of accounts whose balance is not updated in place, see the hot-account mode.
+     */
+    public static final long UNKNOWN_BALANCE = Long.MIN_VALUE;
+
+    private static final int SCALE = 2;
+    private static final int CHECKSUM_OFFSET = SIZE - Integer.BYTES;
+
+    /**
+     * Converts an amount to minor units.
+     *
+     * @param amount the amount, with at most two decimal places
+     * @return the amount in minor units
+     * @throws ArithmeticException if the amount has more than two decimal places
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * @return the balance change as an amount
+     */
+    public BigDecimal deltaAmount() {
+        return BigDecimal.valueOf(delta, SCALE);
+    }
+
+    /**
+     * @return the resulting balance as an amount, or null if it is unknown
+     */
+    public BigDecimal balanceAmount() {
+        return balance == UNKNOWN_BALANCE ? null : BigDecimal.valueOf(balance, SCALE);
+    }
+
+    void writeTo(ByteBuffer buffer, int offset, CRC32C crc) {
+        buffer.putLong(offset, transactionId);
+        buffer.putInt(offset + 8, accountId);
+        buffer.putLong(offset + 12, delta);
+        buffer.putLong(offset + 20, balance);
+        buffer.putLong(offset + 28, timestamp);
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(buffer, offset, crc));
+    }
+
+    /**
+     * Reads the record at an offset.
+     *
+     * @return the record, or null if its checksum does not match
+     */
+    static LedgerRecord readFrom(ByteBuffer buffer, int offset, CRC32C crc) {
+        if (buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(buffer, offset, crc)) {
+            return null;
+        }
+        return new LedgerRecord(
+                buffer.getLong(offset),
+                buffer.getInt(offset + 8),
+                buffer.getLong(offset + 12),
+                buffer.getLong(offset + 20),
+                buffer.getLong(offset + 28));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, CRC32C crc) {
+        crc.reset();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+}
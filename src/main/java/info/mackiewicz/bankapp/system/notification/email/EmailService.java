@@ -1,6 +1,7 @@
 package info.mackiewicz.bankapp.system.notification.email;
 
 import info.mackiewicz.bankapp.system.notification.email.exception.EmailSendingException;
+import info.mackiewicz.bankapp.system.notification.email.outbox.EmailOutbox;
 import info.mackiewicz.bankapp.system.notification.email.template.EmailTemplateProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,21 +9,22 @@ import org.springframework.stereotype.Service;
 
 /**
  * Service for sending various types of emails.
- * Uses EmailSender for delivery and EmailTemplateProvider for content generation.
+ * Uses EmailTemplateProvider for content generation and stores the emails in the EmailOutbox,
+ * which delivers them asynchronously with retries.
  */
 @Slf4j
 @Service
 public class EmailService {
 
-    private final EmailSender emailSender;
+    private final EmailOutbox emailOutbox;
     private final EmailTemplateProvider templateProvider;
     private final String baseUrl;
 
     public EmailService(
-            EmailSender emailSender,
+            EmailOutbox emailOutbox,
             EmailTemplateProvider templateProvider,
             @Value("${app.base-url:http://localhost:8080}") String baseUrl) {
-        this.emailSender = emailSender;
+        this.emailOutbox = emailOutbox;
         this.templateProvider = templateProvider;
         this.baseUrl = baseUrl;
     }
@@ -36,7 +38,7 @@ public class EmailService {
     public void sendWelcomeEmail(String email, String fullNameOfUser, String username) {
         try {
             EmailContent content = templateProvider.getWelcomeEmail(fullNameOfUser, username);
-            emailSender.send(email, content.subject(), content.htmlContent());
+            emailOutbox.enqueue(email, content.subject(), content.htmlContent());
         } catch (RuntimeException e) {
             log.error("Error sending welcome email to {}", email, e);
             throw new EmailSendingException("Error sending welcome email", e);
@@ -53,7 +55,7 @@ public class EmailService {
         try {
             String resetLink = baseUrl + "/password-reset/token/" + token;
             EmailContent content = templateProvider.getPasswordResetEmail(fullNameOfUser, resetLink);
-            emailSender.send(email, content.subject(), content.htmlContent());
+            emailOutbox.enqueue(email, content.subject(), content.htmlContent());
         } catch (RuntimeException e) {
             log.error("Error sending password reset email to {}", email, e);
             throw new EmailSendingException("Error sending password reset email to: " + email, e);
@@ -68,7 +70,7 @@ public class EmailService {
         try {
             String loginLink = baseUrl + "/login";
             EmailContent content = templateProvider.getPasswordResetConfirmationEmail(fullNameOfUser, loginLink);
-            emailSender.send(email, content.subject(), content.htmlContent());
+            emailOutbox.enqueue(email, content.subject(), content.htmlContent());
         } catch (RuntimeException e) {
             throw new EmailSendingException("Error sending password reset confirmation email to: " + email, e);
         }
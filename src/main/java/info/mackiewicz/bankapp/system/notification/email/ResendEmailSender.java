@@ -6,12 +6,16 @@ import com.resend.services.emails.model.CreateEmailOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.regex.Pattern;
+
 /**
  * Implementation of EmailSender using Resend API.
  */
 @Component
 public class ResendEmailSender implements EmailSender {
 
+    private static final Pattern RECIPIENT_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+
     private final Resend resend;
     private final String fromAddress;
 
@@ -49,7 +53,7 @@ public class ResendEmailSender implements EmailSender {
         if (to == null || to.trim().isEmpty()) {
             throw new IllegalArgumentException("Email recipient (to) cannot be null or empty");
         }
-        if (!to.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
+        if (!RECIPIENT_PATTERN.matcher(to).matches()) {
             throw new IllegalArgumentException("Invalid email format: " + to);
         }
     }
@@ -0,0 +1,38 @@
+package info.mackiewicz.bankapp.system.notification.email.outbox;
+
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxMessage;
+import info.mackiewicz.bankapp.system.notification.email.outbox.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Transactional outbox for emails.
+ * <p>
+ * Enqueuing joins the caller's database transaction, so an email is stored only if
+ * the operation that triggered it commits, and the caller never waits for the email provider.
+ * Delivery is done by {@link EmailOutboxDispatcher}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private final EmailOutboxRepository repository;
+
+    /**
+     * Stores an email for asynchronous delivery.
+     *
+     * @param to          recipient email address
+     * @param subject     email subject
+     * @param htmlContent email content in HTML format
+     * @return the stored outbox message
+     */
+    @Transactional
+    public EmailOutboxMessage enqueue(String to, String subject, String htmlContent) {
+        EmailOutboxMessage message = repository.save(new EmailOutboxMessage(to, subject, htmlContent));
+        log.debug("Enqueued email {} to {}", message.getId(), to);
+        return message;
+    }
+}
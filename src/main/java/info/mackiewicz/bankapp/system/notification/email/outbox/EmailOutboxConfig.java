@@ -0,0 +1,49 @@
+package info.mackiewicz.bankapp.system.notification.email.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the email outbox dispatcher.
+ *
+ * @param batchSize   maximum number of messages sent per dispatch run
+ * @param maxAttempts number of delivery attempts before a message is dead-lettered
+ * @param baseBackoff delay in milliseconds before the first retry, doubled on every further retry
+ * @param maxBackoff  upper bound in milliseconds for the retry delay
+ * @param lease       time in milliseconds a claimed message stays reserved for its dispatcher
+ */
+@ConfigurationProperties(prefix = "app.email.outbox")
+public record EmailOutboxConfig(int batchSize,
+        int maxAttempts,
+        long baseBackoff,
+        long maxBackoff,
+        long lease) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public EmailOutboxConfig {
+        if (batchSize <= 0)
+            batchSize = 50;
+        if (maxAttempts <= 0)
+            maxAttempts = 8;
+        if (baseBackoff <= 0)
+            baseBackoff = 30_000;
+        if (maxBackoff <= 0)
+            maxBackoff = 3_600_000;
+        // Ensure maxBackoff is at least equal to baseBackoff
+        if (maxBackoff < baseBackoff)
+            maxBackoff = baseBackoff;
+        if (lease <= 0)
+            lease = 60_000;
+    }
+
+    /**
+     * Calculates the delay before the next attempt using exponential backoff.
+     *
+     * @param failedAttempts number of attempts made so far, at least 1
+     * @return delay in milliseconds
+     */
+    public long backoffFor(int failedAttempts) {
+        int exponent = Math.min(Math.max(failedAttempts - 1, 0), 30);
+        return Math.min(maxBackoff, baseBackoff << exponent);
+    }
+}
@@ -0,0 +1,86 @@
+package info.mackiewicz.bankapp.system.notification.email.outbox;
+
+import info.mackiewicz.bankapp.system.notification.email.EmailSender;
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxMessage;
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxStatus;
+import info.mackiewicz.bankapp.system.notification.email.outbox.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delivers emails stored in the {@link EmailOutbox}.
+ * <p>
+ * Each run picks a batch of due PENDING messages, claims them with a short lease so
+ * that other nodes skip them, and sends them one by one. Failed messages are retried
+ * with exponential backoff and moved to DEAD after {@code maxAttempts} failures.
+ * No database transaction is held open while the email provider is called.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository repository;
+    private final EmailSender emailSender;
+    private final EmailOutboxConfig config;
+
+    /**
+     * Sends one batch of due messages.
+     *
+     * @return the number of messages sent successfully
+     */
+    public int dispatchDueMessages() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> due = repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                EmailOutboxStatus.PENDING, now, Limit.of(config.batchSize()));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        log.debug("Dispatching {} outbox emails", due.size());
+
+        LocalDateTime leaseUntil = now.plusNanos(config.lease() * 1_000_000);
+        int sent = 0;
+        for (EmailOutboxMessage message : due) {
+            if (repository.claim(message.getId(), message.getNextAttemptAt(), leaseUntil) == 0) {
+                log.debug("Outbox email {} claimed by another dispatcher", message.getId());
+                continue;
+            }
+            if (deliver(message)) {
+                sent++;
+            }
+        }
+        return sent;
+    }
+
+    private boolean deliver(EmailOutboxMessage message) {
+        try {
+            String providerId = emailSender.send(message.getRecipient(), message.getSubject(), message.getHtmlContent());
+            message.markSent(providerId);
+            repository.save(message);
+            log.debug("Outbox email {} sent", message.getId());
+            return true;
+        } catch (RuntimeException e) {
+            handleFailure(message, e);
+            return false;
+        }
+    }
+
+    private void handleFailure(EmailOutboxMessage message, RuntimeException e) {
+        if (message.getAttempts() + 1 >= config.maxAttempts()) {
+            message.markDead(e.getMessage());
+            log.error("Outbox email {} to {} moved to dead letter after {} attempts",
+                    message.getId(), message.getRecipient(), message.getAttempts(), e);
+        } else {
+            long backoff = config.backoffFor(message.getAttempts() + 1);
+            message.markFailed(e.getMessage(), LocalDateTime.now().plusNanos(backoff * 1_000_000));
+            log.warn("Outbox email {} failed (attempt {}), retrying in {} ms: {}",
+                    message.getId(), message.getAttempts(), backoff, e.getMessage());
+        }
+        repository.save(message);
+    }
+}
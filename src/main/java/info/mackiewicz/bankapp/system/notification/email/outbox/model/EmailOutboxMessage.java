@@ -0,0 +1,119 @@
+package info.mackiewicz.bankapp.system.notification.email.outbox.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an email waiting in the outbox.
+ * <p>
+ * Messages are written in the same database transaction as the business operation
+ * that triggers them and delivered later by {@code EmailOutboxDispatcher}.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "email_outbox",
+        indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+public class EmailOutboxMessage {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Lob
+    @Column(name = "html_content", nullable = false)
+    private String htmlContent;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "provider_id")
+    private String providerId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    /**
+     * Creates a new message that is due for delivery immediately.
+     *
+     * @param recipient   recipient email address
+     * @param subject     email subject
+     * @param htmlContent email content in HTML format
+     */
+    public EmailOutboxMessage(String recipient, String subject, String htmlContent) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.htmlContent = htmlContent;
+        this.status = EmailOutboxStatus.PENDING;
+        this.attempts = 0;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    /**
+     * Marks the message as accepted by the email provider.
+     *
+     * @param providerId message ID returned by the provider
+     */
+    public void markSent(String providerId) {
+        this.attempts++;
+        this.status = EmailOutboxStatus.SENT;
+        this.providerId = providerId;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    /**
+     * Records a failed delivery attempt and schedules the next one.
+     *
+     * @param error         the failure reason
+     * @param nextAttemptAt when the next attempt should be made
+     */
+    public void markFailed(String error, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.lastError = truncate(error);
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * Records the final failed delivery attempt, no further attempts will be made.
+     *
+     * @param error the failure reason
+     */
+    public void markDead(String error) {
+        this.attempts++;
+        this.lastError = truncate(error);
+        this.status = EmailOutboxStatus.DEAD;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,19 @@
+package info.mackiewicz.bankapp.system.notification.email.outbox.model;
+
+/**
+ * Delivery state of an email stored in the outbox.
+ */
+public enum EmailOutboxStatus {
+    /**
+     * Waiting for (another) delivery attempt.
+     */
+    PENDING,
+    /**
+     * Accepted by the email provider.
+     */
+    SENT,
+    /**
+     * Delivery failed more often than allowed, no further attempts are made.
+     */
+    DEAD
+}
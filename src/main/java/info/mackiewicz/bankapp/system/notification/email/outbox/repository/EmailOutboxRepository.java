@@ -0,0 +1,43 @@
+package info.mackiewicz.bankapp.system.notification.email.outbox.repository;
+
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxMessage;
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    List<EmailOutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            EmailOutboxStatus status, LocalDateTime now, Limit limit);
+
+    long countByStatus(EmailOutboxStatus status);
+
+    /**
+     * Claims a due message by pushing its next attempt time into the future.
+     * Only succeeds if the message was not claimed by another dispatcher in the meantime.
+     *
+     * @param id            the ID of the message
+     * @param expectedDueAt the next attempt time read by the caller
+     * @param leaseUntil    the time until which the message is reserved for the caller
+     * @return 1 if the message was claimed, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxMessage m
+                SET m.nextAttemptAt = :leaseUntil
+                WHERE m.id = :id
+                AND m.status = 'PENDING'
+                AND m.nextAttemptAt = :expectedDueAt
+            """)
+    int claim(@Param("id") Long id,
+              @Param("expectedDueAt") LocalDateTime expectedDueAt,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+}
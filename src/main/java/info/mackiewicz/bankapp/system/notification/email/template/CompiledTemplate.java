@@ -0,0 +1,104 @@
+package info.mackiewicz.bankapp.system.notification.email.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Email template precompiled into a list of static chunks and placeholders.
+ * <p>
+ * Placeholders use the {@code {{name}}} syntax and are replaced with the HTML-escaped
+ * value of the matching {@link TemplateVariables} entry, or an empty string if the variable is missing.
+ * Rendering only appends the precomputed chunks to a per-thread reusable buffer,
+ * so the template text is never parsed or formatted again.
+ */
+public final class CompiledTemplate {
+
+    private static final String PLACEHOLDER_START = "{{";
+    private static final String PLACEHOLDER_END = "}}";
+    private static final int INITIAL_BUFFER_CAPACITY = 8 * 1024;
+    // Buffers that grew past this size are not kept, so one huge email does not pin memory per thread
+    private static final int MAX_POOLED_BUFFER_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_CAPACITY));
+
+    private final String[] chunks;
+    private final String[] placeholders;
+
+    private CompiledTemplate(String[] chunks, String[] placeholders) {
+        this.chunks = chunks;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Compiles template source into static chunks and placeholders.
+     * @param source template text with {@code {{name}}} placeholders
+     * @return compiled template
+     * @throws IllegalArgumentException if a placeholder is not closed or has an empty name
+     */
+    public static CompiledTemplate compile(String source) {
+        List<String> chunks = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        int start;
+        while ((start = source.indexOf(PLACEHOLDER_START, position)) >= 0) {
+            int end = source.indexOf(PLACEHOLDER_END, start + PLACEHOLDER_START.length());
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at index " + start);
+            }
+            String name = source.substring(start + PLACEHOLDER_START.length(), end).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at index " + start);
+            }
+            chunks.add(source.substring(position, start));
+            placeholders.add(name);
+            position = end + PLACEHOLDER_END.length();
+        }
+        chunks.add(source.substring(position));
+        return new CompiledTemplate(chunks.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    /**
+     * Renders the template.
+     * @param variables values for the placeholders
+     * @return rendered text
+     */
+    public String render(TemplateVariables variables) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.append(chunks[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            appendEscaped(buffer, variables.get(placeholders[i]));
+            buffer.append(chunks[i + 1]);
+        }
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_POOLED_BUFFER_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the placeholder names in order of appearance.
+     * @return placeholder names
+     */
+    public List<String> getPlaceholders() {
+        return List.of(placeholders);
+    }
+
+    private static void appendEscaped(StringBuilder buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> buffer.append("&amp;");
+                case '<' -> buffer.append("&lt;");
+                case '>' -> buffer.append("&gt;");
+                case '"' -> buffer.append("&quot;");
+                case '\'' -> buffer.append("&#39;");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
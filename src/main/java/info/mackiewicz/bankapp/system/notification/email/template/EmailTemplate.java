@@ -3,10 +3,13 @@ package info.mackiewicz.bankapp.system.notification.email.template;
 /**
  * Base class for all email templates.
  * Provides common functionality and structure for email templates.
+ * The content is inserted into the base layout and compiled once, when the template is created.
  */
 public abstract class EmailTemplate {
-    
-    private static final String BASE_TEMPLATE = """
+
+    static final String CONTENT_PLACEHOLDER = "{{content}}";
+
+    static final String BASE_TEMPLATE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -50,12 +53,19 @@ public abstract class EmailTemplate {
             </head>
             <body>
                 <div class="container">
-                    %s
+                    {{content}}
                 </div>
             </body>
             </html>
             """;
 
+    private final CompiledTemplate compiled;
+
+    protected EmailTemplate() {
+        // getContent() returns a constant, so calling it from the constructor is safe
+        this.compiled = CompiledTemplate.compile(BASE_TEMPLATE.replace(CONTENT_PLACEHOLDER, getContent()));
+    }
+
     /**
      * Gets the subject of the email.
      * @return email subject
@@ -65,10 +75,10 @@ public abstract class EmailTemplate {
     /**
      * Gets the content of the email.
      * Implement this method to provide the specific content for each template.
-     * @param variables template variables to be replaced in the content
-     * @return formatted email content
+     * Use {@code {{name}}} placeholders for template variables, their values are HTML-escaped.
+     * @return email content with placeholders
      */
-    protected abstract String getContent(TemplateVariables variables);
+    protected abstract String getContent();
 
     /**
      * Generates the complete HTML email.
@@ -76,7 +86,6 @@ public abstract class EmailTemplate {
      * @return complete HTML email
      */
     public final String generateEmail(TemplateVariables variables) {
-        String content = getContent(variables);
-        return String.format(BASE_TEMPLATE, content);
+        return compiled.render(variables);
     }
 }
\ No newline at end of file
@@ -1,17 +1,24 @@
 package info.mackiewicz.bankapp.system.notification.email.template;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Holds variables for email template personalization.
  * Uses builder pattern for convenient variable setting.
+ * Templates only use a handful of variables, so they are kept in small arrays
+ * and looked up linearly instead of allocating a hash map per email.
  */
 public class TemplateVariables {
-    private final Map<String, String> variables;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final String[] keys;
+    private final String[] values;
+    private final int size;
 
     private TemplateVariables(Builder builder) {
-        this.variables = builder.variables;
+        this.keys = Arrays.copyOf(builder.keys, builder.size);
+        this.values = Arrays.copyOf(builder.values, builder.size);
+        this.size = builder.size;
     }
 
     /**
@@ -20,23 +27,42 @@ public class TemplateVariables {
      * @return variable value or null if not found
      */
     public String get(String key) {
-        return variables.get(key);
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return values[i];
+            }
+        }
+        return null;
     }
 
     /**
      * Builder for TemplateVariables.
      */
     public static class Builder {
-        private final Map<String, String> variables = new HashMap<>();
+        private String[] keys = new String[INITIAL_CAPACITY];
+        private String[] values = new String[INITIAL_CAPACITY];
+        private int size;
 
         /**
-         * Adds a variable.
+         * Adds a variable, replacing any previous value with the same name.
          * @param key variable name
          * @param value variable value
          * @return builder instance
          */
         public Builder with(String key, String value) {
-            variables.put(key, value);
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    values[i] = value;
+                    return this;
+                }
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
             return this;
         }
 
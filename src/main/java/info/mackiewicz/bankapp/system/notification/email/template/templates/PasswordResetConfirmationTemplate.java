@@ -1,7 +1,6 @@
 package info.mackiewicz.bankapp.system.notification.email.template.templates;
 
 import info.mackiewicz.bankapp.system.notification.email.template.EmailTemplate;
-import info.mackiewicz.bankapp.system.notification.email.template.TemplateVariables;
 
 /**
  * Password reset confirmation email template.
@@ -15,16 +14,16 @@ public class PasswordResetConfirmationTemplate extends EmailTemplate {
     }
 
     @Override
-    protected String getContent(TemplateVariables variables) {
-        return String.format("""
+    protected String getContent() {
+        return """
             <h1 class="header">Password Reset Successful</h1>
             
-            <p>Dear %s,</p>
+            <p>Dear {{userName}},</p>
             
             <p>Your password has been successfully changed. You can now log in to your account with your new password.</p>
             
             <div style="margin: 30px 0; text-align: center;">
-                <a href="%s" class="cta-button">
+                <a href="{{loginLink}}" class="cta-button">
                     Log In Now
                 </a>
             </div>
@@ -43,9 +42,6 @@ public class PasswordResetConfirmationTemplate extends EmailTemplate {
             </p>
             
             <p style="margin-top: 30px;">Best regards,<br>The BankApp Team</p>
-            """,
-            variables.get("userName"),
-            variables.get("loginLink")
-        );
+            """;
     }
 }
\ No newline at end of file
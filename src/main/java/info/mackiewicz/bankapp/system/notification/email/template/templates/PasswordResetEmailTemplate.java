@@ -1,7 +1,6 @@
 package info.mackiewicz.bankapp.system.notification.email.template.templates;
 
 import info.mackiewicz.bankapp.system.notification.email.template.EmailTemplate;
-import info.mackiewicz.bankapp.system.notification.email.template.TemplateVariables;
 
 /**
  * Password reset email template.
@@ -15,16 +14,16 @@ public class PasswordResetEmailTemplate extends EmailTemplate {
     }
 
     @Override
-    protected String getContent(TemplateVariables variables) {
-        return String.format("""
+    protected String getContent() {
+        return """
             <h1 class="header">Password Reset Request</h1>
             
-            <p>Dear %s,</p>
+            <p>Dear {{userName}},</p>
             
             <p>We received a request to reset your BankApp password. If you didn't request this change, please ignore this email.</p>
             
             <div style="margin: 30px 0; text-align: center;">
-                <a href="%s" class="cta-button">
+                <a href="{{resetLink}}" class="cta-button">
                     Reset Password
                 </a>
             </div>
@@ -38,9 +37,6 @@ public class PasswordResetEmailTemplate extends EmailTemplate {
             </div>
             
             <p style="margin-top: 30px;">Best regards,<br>The BankApp Team</p>
-            """,
-            variables.get("userName"),
-            variables.get("resetLink")
-        );
+            """;
     }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package info.mackiewicz.bankapp.system.notification.email.template.templates;
 
 import info.mackiewicz.bankapp.system.notification.email.template.EmailTemplate;
-import info.mackiewicz.bankapp.system.notification.email.template.TemplateVariables;
 
 /**
  * Welcome email template sent to new users.
@@ -15,13 +14,13 @@ public class WelcomeEmailTemplate extends EmailTemplate {
     }
 
     @Override
-    protected String getContent(TemplateVariables variables) {
-        return String.format("""
+    protected String getContent() {
+        return """
             <h1 class="header">Welcome to BankApp! 🎉</h1>
             
-            <p>Dear %s,</p>
+            <p>Dear {{userName}},</p>
             
-            <p>We're excited to have you join BankApp! Your username is <strong>%s</strong>. We're here to help you manage your finances effectively.</p>
+            <p>We're excited to have you join BankApp! Your username is <strong>{{username}}</strong>. We're here to help you manage your finances effectively.</p>
             
             <h2 class="header" style="font-size: 1.5em;">What's next?</h2>
             <ul>
@@ -37,9 +36,6 @@ public class WelcomeEmailTemplate extends EmailTemplate {
             </div>
             
             <p style="margin-top: 30px;">Best regards,<br>The BankApp Team</p>
-            """,
-            variables.get("userName"),
-            variables.get("username")
-        );
+            """;
     }
 }
\ No newline at end of file
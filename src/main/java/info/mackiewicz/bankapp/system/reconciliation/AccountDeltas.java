@@ -0,0 +1,112 @@
+package info.mackiewicz.bankapp.system.reconciliation;
+
+import java.util.Arrays;
+
+/**
+ * Net balance change per account in minor units, kept in open-addressing primitive arrays.
+ * <p>
+ * A {@code Map<Integer, BigDecimal>} costs around a hundred bytes and several allocations per account, and one
+ * more allocation per added leg. Here an account costs two array slots and adding a leg allocates nothing. Keys are
+ * stored as longs so an empty slot can be marked with a value no account ID can take. Not thread-safe: every
+ * fork/join task fills its own instance and the results are merged.
+ */
+final class AccountDeltas {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    AccountDeltas() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Adds a balance change of an account.
+     *
+     * @param accountId the ID of the account
+     * @param delta     signed change in minor units
+     */
+    void add(int accountId, long delta) {
+        int mask = keys.length - 1;
+        int slot = hash(accountId) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == accountId) {
+                values[slot] += delta;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = accountId;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * @param accountId the ID of the account
+     * @return the net change of the account in minor units, zero if it has none
+     */
+    long get(int accountId) {
+        int mask = keys.length - 1;
+        int slot = hash(accountId) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == accountId) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of accounts with a change
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Merges two instances by adding the smaller one into the larger one.
+     *
+     * @param other the instance to merge with, must not be used afterwards
+     * @return the merged instance, either this or the other one
+     */
+    AccountDeltas merge(AccountDeltas other) {
+        AccountDeltas target = size >= other.size ? this : other;
+        AccountDeltas source = target == this ? other : this;
+        for (int slot = 0; slot < source.keys.length; slot++) {
+            if (source.keys[slot] != EMPTY) {
+                target.add((int) source.keys[slot], source.values[slot]);
+            }
+        }
+        return target;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                add((int) oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new long[capacity];
+        size = 0;
+    }
+
+    // Account IDs are sequential, spreading them keeps the probe sequences short
+    private static int hash(int accountId) {
+        int hash = accountId * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
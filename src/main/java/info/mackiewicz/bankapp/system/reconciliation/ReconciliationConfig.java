@@ -0,0 +1,27 @@
+package info.mackiewicz.bankapp.system.reconciliation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the balance reconciliation job.
+ *
+ * @param rangeSize       number of transaction IDs read by one query, and number of accounts per balance page
+ * @param parallelism     number of ranges read in parallel, each holding a connection of the pool while it runs
+ * @param reportDirectory directory the discrepancy reports are written to
+ */
+@ConfigurationProperties(prefix = "bankapp.reconciliation")
+public record ReconciliationConfig(int rangeSize,
+        int parallelism,
+        String reportDirectory) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public ReconciliationConfig {
+        if (rangeSize <= 0)
+            rangeSize = 50_000;
+        if (parallelism <= 0)
+            parallelism = 4;
+        if (reportDirectory == null || reportDirectory.isBlank())
+            reportDirectory = "reports";
+    }
+}
@@ -0,0 +1,166 @@
+package info.mackiewicz.bankapp.system.reconciliation;
+
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.system.ledger.LedgerRecord;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Reads transactions and balances for the reconciliation with plain JDBC.
+ * <p>
+ * Transactions are read in ID ranges and folded into {@link AccountDeltas} row by row, so no entity or row list is
+ * ever materialized and a range costs one round trip. Amounts are handled in minor units. Identifiers are quoted
+ * with the quote string of the database, matching the schema created with globally quoted identifiers.
+ */
+@Repository
+class ReconciliationJdbcRepository {
+
+    private static final String DONE = TransactionStatus.DONE.name();
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String transactionIdRangeSql;
+    private final String doneLegsSql;
+    private final String balancesSql;
+    private final String unfoldedJournalSql;
+    private final String balanceSql;
+    private final String accountUnfoldedJournalSql;
+    private final String doneCreditsSql;
+    private final String doneDebitsSql;
+
+    ReconciliationJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String quote = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getIdentifierQuoteString().trim());
+        this.transactionIdRangeSql = String.format(
+                "SELECT MIN(%1$sid%1$s), MAX(%1$sid%1$s) FROM %1$stransactions%1$s", quote);
+        this.doneLegsSql = String.format("SELECT %1$ssource_id%1$s, %1$sdestination_id%1$s, %1$samount%1$s "
+                + "FROM %1$stransactions%1$s WHERE %1$sid%1$s BETWEEN ? AND ? AND %1$sstatus%1$s = ?", quote);
+        this.balancesSql = String.format("SELECT %1$sid%1$s, %1$sbalance%1$s FROM %1$saccounts%1$s "
+                + "WHERE %1$sid%1$s > ? ORDER BY %1$sid%1$s LIMIT ?", quote);
+        this.unfoldedJournalSql = String.format("SELECT %1$saccount_id%1$s, SUM(%1$samount%1$s) "
+                + "FROM %1$saccount_journal%1$s WHERE %1$sfolded%1$s = ? GROUP BY %1$saccount_id%1$s", quote);
+        this.balanceSql = String.format(
+                "SELECT %1$sbalance%1$s FROM %1$saccounts%1$s WHERE %1$sid%1$s = ?", quote);
+        this.accountUnfoldedJournalSql = String.format("SELECT COALESCE(SUM(%1$samount%1$s), 0) "
+                + "FROM %1$saccount_journal%1$s WHERE %1$saccount_id%1$s = ? AND %1$sfolded%1$s = ?", quote);
+        this.doneCreditsSql = String.format("SELECT COALESCE(SUM(%1$samount%1$s), 0) FROM %1$stransactions%1$s "
+                + "WHERE %1$sdestination_id%1$s = ? AND %1$sstatus%1$s = ?", quote);
+        this.doneDebitsSql = String.format("SELECT COALESCE(SUM(%1$samount%1$s), 0) FROM %1$stransactions%1$s "
+                + "WHERE %1$ssource_id%1$s = ? AND %1$sstatus%1$s = ?", quote);
+    }
+
+    /**
+     * @return the lowest and the highest transaction ID, or empty if there are no transactions
+     */
+    Optional<IdRange> findTransactionIdRange() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(transactionIdRangeSql, (rs, rowNum) -> {
+            long first = rs.getLong(1);
+            return rs.wasNull() ? null : new IdRange(first, rs.getLong(2));
+        }));
+    }
+
+    /**
+     * Adds the legs of the DONE transactions in an ID range: a debit of the source and a credit of the
+     * destination, when set.
+     *
+     * @param firstId the first transaction ID of the range
+     * @param lastId  the last transaction ID of the range, inclusive
+     * @param deltas  the accumulator to add the legs to
+     * @return the number of DONE transactions in the range
+     */
+    long addDoneLegs(long firstId, long lastId, AccountDeltas deltas) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(doneLegsSql, ps -> {
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, firstId);
+            ps.setLong(2, lastId);
+            ps.setString(3, DONE);
+        }, rs -> {
+            rows[0]++;
+            BigDecimal amount = rs.getBigDecimal(3);
+            if (amount == null) {
+                return;
+            }
+            long minorUnits = LedgerRecord.toMinorUnits(amount);
+            int sourceId = rs.getInt(1);
+            if (!rs.wasNull()) {
+                deltas.add(sourceId, -minorUnits);
+            }
+            int destinationId = rs.getInt(2);
+            if (!rs.wasNull()) {
+                deltas.add(destinationId, minorUnits);
+            }
+        });
+        return rows[0];
+    }
+
+    /**
+     * Reads a page of account balances, ordered by account ID.
+     *
+     * @param afterId  the page starts after this account ID
+     * @param limit    the maximum number of accounts to read
+     * @param consumer receives the ID and the balance in minor units of every account
+     * @return the number of accounts read
+     */
+    int forEachBalanceAfter(int afterId, int limit, BalanceConsumer consumer) {
+        int[] rows = new int[1];
+        jdbcTemplate.query(balancesSql, ps -> {
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+        }, rs -> {
+            rows[0]++;
+            consumer.accept(rs.getInt(1), LedgerRecord.toMinorUnits(rs.getBigDecimal(2)));
+        });
+        return rows[0];
+    }
+
+    /**
+     * @return the hot-account journal entries not folded into the balances yet, per account
+     */
+    AccountDeltas sumUnfoldedJournal() {
+        AccountDeltas deltas = new AccountDeltas();
+        jdbcTemplate.query(unfoldedJournalSql, ps -> ps.setBoolean(1, false), rs -> {
+            deltas.add(rs.getInt(1), LedgerRecord.toMinorUnits(rs.getBigDecimal(2)));
+        });
+        return deltas;
+    }
+
+    /**
+     * @param accountId the ID of the account
+     * @return the balance of the account plus its unfolded journal entries, in minor units
+     */
+    long findStoredBalance(int accountId) {
+        BigDecimal balance = jdbcTemplate.queryForObject(balanceSql, BigDecimal.class, accountId);
+        BigDecimal unfolded = jdbcTemplate.queryForObject(accountUnfoldedJournalSql, BigDecimal.class,
+                accountId, false);
+        return LedgerRecord.toMinorUnits(balance.add(unfolded));
+    }
+
+    /**
+     * @param accountId the ID of the account
+     * @return the credits minus the debits of the DONE transactions of the account, in minor units
+     */
+    long sumDoneTransactions(int accountId) {
+        BigDecimal credits = jdbcTemplate.queryForObject(doneCreditsSql, BigDecimal.class, accountId, DONE);
+        BigDecimal debits = jdbcTemplate.queryForObject(doneDebitsSql, BigDecimal.class, accountId, DONE);
+        return LedgerRecord.toMinorUnits(credits.subtract(debits));
+    }
+
+    /**
+     * Inclusive range of transaction IDs.
+     */
+    record IdRange(long first, long last) {
+    }
+
+    @FunctionalInterface
+    interface BalanceConsumer {
+        void accept(int accountId, long balance) throws SQLException;
+    }
+}
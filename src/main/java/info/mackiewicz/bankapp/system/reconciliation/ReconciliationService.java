@@ -0,0 +1,199 @@
+package info.mackiewicz.bankapp.system.reconciliation;
+
+import info.mackiewicz.bankapp.system.reconciliation.ReconciliationJdbcRepository.IdRange;
+import info.mackiewicz.bankapp.system.reconciliation.dto.BalanceDiscrepancy;
+import info.mackiewicz.bankapp.system.reconciliation.dto.ReconciliationReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks that the stored balance of every account equals the credits minus the debits of its DONE transactions.
+ * <p>
+ * A run:
+ * <ol>
+ *     <li>splits the transaction IDs into ranges and reads them in parallel on a fork/join pool, each range adding
+ *     its legs to a primitive {@link AccountDeltas} accumulator; the results of both halves of a range are merged
+ *     when they are joined</li>
+ *     <li>reads the balances in pages ordered by account ID and compares them with the accumulated net amounts</li>
+ *     <li>checks every mismatching account again within one repeatable-read transaction, so a transaction
+ *     completed while the scan was running is not reported</li>
+ *     <li>writes the confirmed discrepancies to a CSV file in the report directory</li>
+ * </ol>
+ * Memory is bounded by the number of accounts, not transactions: a range is folded row by row and only the
+ * accumulators of the ranges being merged are held at a time. Accounts funded outside of transactions, like the
+ * initial capital of the bank account, are reported as well.
+ *
+ * @see ReconciliationConfig
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    private static final DateTimeFormatter REPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int SCALE = 2;
+
+    private final ReconciliationConfig config;
+    private final ReconciliationJdbcRepository repository;
+    private final TransactionTemplate snapshotTransaction;
+
+    public ReconciliationService(ReconciliationConfig config,
+                                 ReconciliationJdbcRepository repository,
+                                 PlatformTransactionManager transactionManager) {
+        this.config = config;
+        this.repository = repository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Reconciles the balances of all accounts with their transactions and writes a discrepancy report.
+     *
+     * @return counts, discrepancies and throughput of the run
+     * @throws UncheckedIOException if the report cannot be written
+     */
+    public ReconciliationReport reconcile() {
+        long start = System.nanoTime();
+        log.info("Starting reconciliation with ranges of {} transactions on {} threads",
+                config.rangeSize(), config.parallelism());
+
+        LongAdder scanned = new LongAdder();
+        AccountDeltas expected = repository.findTransactionIdRange()
+                .map(range -> scan(range, scanned))
+                .orElseGet(AccountDeltas::new);
+        long scanMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Reconciliation scanned {} transactions of {} accounts in {} ms ({} transactions/s)",
+                scanned.sum(), expected.size(), scanMillis, String.format("%.1f", throughput(scanned.sum(), scanMillis)));
+
+        List<Integer> mismatches = new ArrayList<>();
+        long accountsChecked = compareBalances(expected, mismatches);
+        List<BalanceDiscrepancy> discrepancies = mismatches.stream()
+                .map(this::confirmDiscrepancy)
+                .filter(Objects::nonNull)
+                .toList();
+        Path reportFile = writeReport(discrepancies);
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ReconciliationReport report = new ReconciliationReport(scanned.sum(), accountsChecked, discrepancies,
+                reportFile, durationMillis, throughput(scanned.sum(), durationMillis));
+        if (discrepancies.isEmpty()) {
+            log.info("Reconciliation finished: {} accounts match their transactions in {} ms",
+                    accountsChecked, durationMillis);
+        } else {
+            log.warn("Reconciliation finished: {} of {} accounts do not match their transactions, see {}",
+                    discrepancies.size(), accountsChecked, reportFile.toAbsolutePath());
+        }
+        return report;
+    }
+
+    private AccountDeltas scan(IdRange range, LongAdder scanned) {
+        try (ForkJoinPool pool = new ForkJoinPool(config.parallelism())) {
+            return pool.invoke(new RangeTask(range.first(), range.last(), scanned));
+        }
+    }
+
+    private long compareBalances(AccountDeltas expected, List<Integer> mismatches) {
+        AccountDeltas unfolded = repository.sumUnfoldedJournal();
+        BalancePage page = new BalancePage();
+        int read;
+        do {
+            read = repository.forEachBalanceAfter(page.lastId, config.rangeSize(), (accountId, balance) -> {
+                page.lastId = accountId;
+                if (balance + unfolded.get(accountId) != expected.get(accountId)) {
+                    mismatches.add(accountId);
+                }
+            });
+            page.accounts += read;
+        } while (read == config.rangeSize());
+        return page.accounts;
+    }
+
+    private BalanceDiscrepancy confirmDiscrepancy(Integer accountId) {
+        return snapshotTransaction.execute(status -> {
+            long stored = repository.findStoredBalance(accountId);
+            long expected = repository.sumDoneTransactions(accountId);
+            return stored == expected ? null : new BalanceDiscrepancy(accountId,
+                    BigDecimal.valueOf(stored, SCALE), BigDecimal.valueOf(expected, SCALE));
+        });
+    }
+
+    private Path writeReport(List<BalanceDiscrepancy> discrepancies) {
+        Path file = Path.of(config.reportDirectory(),
+                "reconciliation-" + LocalDateTime.now().format(REPORT_TIMESTAMP) + ".csv");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("account_id,stored_balance,expected_balance,difference");
+                writer.newLine();
+                for (BalanceDiscrepancy discrepancy : discrepancies) {
+                    writer.write(discrepancy.accountId() + "," + discrepancy.storedBalance().toPlainString() + ","
+                            + discrepancy.expectedBalance().toPlainString() + ","
+                            + discrepancy.difference().toPlainString());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reconciliation report " + file, e);
+        }
+        return file;
+    }
+
+    private static double throughput(long transactions, long durationMillis) {
+        return durationMillis == 0 ? transactions : transactions * 1000.0 / durationMillis;
+    }
+
+    private static final class BalancePage {
+        private int lastId = Integer.MIN_VALUE;
+        private long accounts;
+    }
+
+    /**
+     * Scans a range of transaction IDs, splitting it in halves until it fits into one query.
+     */
+    private final class RangeTask extends RecursiveTask<AccountDeltas> {
+
+        private final long firstId;
+        private final long lastId;
+        private final LongAdder scanned;
+
+        private RangeTask(long firstId, long lastId, LongAdder scanned) {
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.scanned = scanned;
+        }
+
+        @Override
+        protected AccountDeltas compute() {
+            if (lastId - firstId < config.rangeSize()) {
+                AccountDeltas deltas = new AccountDeltas();
+                scanned.add(repository.addDoneLegs(firstId, lastId, deltas));
+                return deltas;
+            }
+            long middle = firstId + (lastId - firstId) / 2;
+            RangeTask lower = new RangeTask(firstId, middle, scanned);
+            lower.fork();
+            AccountDeltas upper = new RangeTask(middle + 1, lastId, scanned).compute();
+            return lower.join().merge(upper);
+        }
+    }
+}
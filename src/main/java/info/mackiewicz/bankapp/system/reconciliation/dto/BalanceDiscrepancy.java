@@ -0,0 +1,22 @@
+package info.mackiewicz.bankapp.system.reconciliation.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Account whose stored balance differs from the net amount of its DONE transactions.
+ *
+ * @param accountId       the ID of the account
+ * @param storedBalance   the balance of the account, including hot-account journal entries not folded yet
+ * @param expectedBalance the credits minus the debits of its DONE transactions
+ */
+public record BalanceDiscrepancy(Integer accountId,
+        BigDecimal storedBalance,
+        BigDecimal expectedBalance) {
+
+    /**
+     * @return the stored balance minus the expected balance
+     */
+    public BigDecimal difference() {
+        return storedBalance.subtract(expectedBalance);
+    }
+}
@@ -0,0 +1,22 @@
+package info.mackiewicz.bankapp.system.reconciliation.dto;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of a reconciliation run.
+ *
+ * @param transactionsScanned    number of DONE transactions read
+ * @param accountsChecked        number of accounts whose balance was compared
+ * @param discrepancies          accounts whose balance does not match their transactions, ordered by account ID
+ * @param reportFile             the CSV file the discrepancies were written to
+ * @param durationMillis         wall-clock duration of the run
+ * @param transactionsPerSecond  scan throughput
+ */
+public record ReconciliationReport(long transactionsScanned,
+        long accountsChecked,
+        List<BalanceDiscrepancy> discrepancies,
+        Path reportFile,
+        long durationMillis,
+        double transactionsPerSecond) {
+}
@@ -0,0 +1,21 @@
+package info.mackiewicz.bankapp.system.registration.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the bulk user onboarding pipeline.
+ *
+ * @param chunkSize  number of users validated and inserted in one database transaction
+ * @param importFile CSV file imported at startup, or null to only accept imports through the API
+ */
+@ConfigurationProperties(prefix = "bankapp.registration.bulk")
+public record BulkOnboardingConfig(int chunkSize,
+        String importFile) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public BulkOnboardingConfig {
+        if (chunkSize <= 0)
+            chunkSize = 500;
+    }
+}
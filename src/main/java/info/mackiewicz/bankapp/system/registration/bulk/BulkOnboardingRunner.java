@@ -0,0 +1,48 @@
+package info.mackiewicz.bankapp.system.registration.bulk;
+
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingRejection;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point of the bulk onboarding pipeline.
+ * <p>
+ * Imports the file set in {@code bankapp.registration.bulk.import-file} at startup, e.g.
+ * {@code java -jar bankapp.jar --bankapp.registration.bulk.import-file=users.csv}. Does nothing when the
+ * property is not set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkOnboardingRunner implements ApplicationRunner {
+
+    private final BulkOnboardingConfig config;
+    private final BulkOnboardingService bulkOnboardingService;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!StringUtils.hasText(config.importFile())) {
+            return;
+        }
+
+        Path file = Path.of(config.importFile());
+        log.info("Importing users from {}", file.toAbsolutePath());
+        OnboardingReport report;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            report = bulkOnboardingService.onboard(reader);
+        }
+        for (OnboardingRejection rejection : report.rejections()) {
+            log.warn("Line {} of {} rejected: {}", rejection.line(), file.getFileName(), rejection.reason());
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package info.mackiewicz.bankapp.system.registration.bulk;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceWritePolicy;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys;
+import info.mackiewicz.bankapp.core.user.service.crud.UserQueryService;
+import info.mackiewicz.bankapp.core.user.service.util.UserKeyFilter;
+import info.mackiewicz.bankapp.core.user.service.util.UserValidationService;
+import info.mackiewicz.bankapp.core.user.service.util.UsernameGeneratorService;
+import info.mackiewicz.bankapp.shared.exception.BankAppBaseException;
+import info.mackiewicz.bankapp.shared.service.PasswordService;
+import info.mackiewicz.bankapp.shared.util.BankAccountProvider;
+import info.mackiewicz.bankapp.shared.validation.ValidationConstants;
+import info.mackiewicz.bankapp.shared.validation.ValidationPatterns;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingRecord;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingRejection;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingReport;
+import info.mackiewicz.bankapp.system.registration.exception.BulkOnboardingUnavailableException;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.AccountLockManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports users from a CSV file in chunks, as a bulk alternative to registering them one by one.
+ * <p>
+ * For each chunk the pipeline:
+ * <ol>
+ *     <li>maps the records to users, generates usernames and validates the fields without touching the database</li>
+ *     <li>rejects users that repeat a unique field of an earlier line or of an existing user, with one query for the
+ *     whole chunk</li>
+ *     <li>hashes the passwords in parallel, outside of any database transaction</li>
+ *     <li>inserts the users, accounts and welcome bonuses in one transaction, see {@link OnboardingChunkWriter}</li>
+ * </ol>
+ * A line that fails validation is reported and skipped. If a chunk fails to commit, all its users are reported as
+ * rejected and the import continues with the next chunk. Progress and throughput are logged after every chunk.
+ * <p>
+ * The welcome bonuses are withdrawn from the bank account in the database, so the import is refused while the
+ * balance engine owns the balances.
+ *
+ * @see BulkOnboardingConfig
+ */
+@Slf4j
+@Service
+public class BulkOnboardingService {
+
+    private final BulkOnboardingConfig config;
+    private final OnboardingChunkWriter chunkWriter;
+    private final UsernameGeneratorService usernameGeneratorService;
+    private final UserValidationService userValidationService;
+    private final UserQueryService userQueryService;
+    private final UserKeyFilter userKeyFilter;
+    private final PasswordService passwordService;
+    private final BankAccountProvider bankAccountProvider;
+    private final AccountLockManager accountLockManager;
+    private final AccountBalanceWritePolicy writePolicy;
+    private final BigDecimal welcomeBonusAmount;
+
+    public BulkOnboardingService(BulkOnboardingConfig config,
+                                 OnboardingChunkWriter chunkWriter,
+                                 UsernameGeneratorService usernameGeneratorService,
+                                 UserValidationService userValidationService,
+                                 UserQueryService userQueryService,
+                                 UserKeyFilter userKeyFilter,
+                                 PasswordService passwordService,
+                                 BankAccountProvider bankAccountProvider,
+                                 AccountLockManager accountLockManager,
+                                 AccountBalanceWritePolicy writePolicy,
+                                 @Value("${bankapp.registration.WelcomeBonusAmount:1000}") BigDecimal welcomeBonusAmount) {
+        this.config = config;
+        this.chunkWriter = chunkWriter;
+        this.usernameGeneratorService = usernameGeneratorService;
+        this.userValidationService = userValidationService;
+        this.userQueryService = userQueryService;
+        this.userKeyFilter = userKeyFilter;
+        this.passwordService = passwordService;
+        this.bankAccountProvider = bankAccountProvider;
+        this.accountLockManager = accountLockManager;
+        this.writePolicy = writePolicy;
+        this.welcomeBonusAmount = welcomeBonusAmount;
+    }
+
+    /**
+     * Imports all users from a CSV source.
+     *
+     * @param source the CSV content, see {@link OnboardingCsvReader} for the format
+     * @return counts, rejected lines and throughput of the import
+     * @throws BulkOnboardingUnavailableException if the balance engine owns the balances
+     */
+    public OnboardingReport onboard(Reader source) {
+        if (writePolicy.isBalanceOwnedExternally()) {
+            throw new BulkOnboardingUnavailableException(
+                    "Bulk onboarding cannot post welcome bonuses while the balance engine owns the balances");
+        }
+        long start = System.nanoTime();
+        ImportState state = new ImportState();
+        log.info("Starting bulk onboarding with chunks of {} users", config.chunkSize());
+
+        try (OnboardingCsvReader reader = new OnboardingCsvReader(source)) {
+            List<OnboardingRecord> chunk;
+            while (!(chunk = reader.nextChunk(config.chunkSize())).isEmpty()) {
+                List<OnboardingRejection> unparseable = reader.drainRejections();
+                state.rejections.addAll(unparseable);
+                state.processed += unparseable.size() + chunk.size();
+                state.imported += importChunk(chunk, state);
+                logProgress(state, start);
+            }
+            List<OnboardingRejection> trailing = reader.drainRejections();
+            state.rejections.addAll(trailing);
+            state.processed += trailing.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close onboarding file", e);
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        state.rejections.sort(Comparator.comparingInt(OnboardingRejection::line));
+        OnboardingReport report = new OnboardingReport(state.processed, state.imported,
+                List.copyOf(state.rejections), durationMillis, throughput(state.imported, durationMillis));
+        log.info("Bulk onboarding finished: {} imported, {} rejected in {} ms ({} users/s)",
+                report.imported(), report.rejections().size(), durationMillis,
+                String.format("%.1f", report.usersPerSecond()));
+        return report;
+    }
+
+    private int importChunk(List<OnboardingRecord> chunk, ImportState state) {
+        List<Candidate> candidates = new ArrayList<>(chunk.size());
+        for (OnboardingRecord record : chunk) {
+            try {
+                candidates.add(new Candidate(record.line(), toValidatedUser(record), record.password()));
+            } catch (RuntimeException e) {
+                state.reject(record.line(), e.getMessage());
+            }
+        }
+        candidates = rejectDuplicates(candidates, state);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        // BCrypt dominates the cost of a chunk; the password encoder runs the hashes on its own bounded pool
+        candidates.parallelStream().forEach(candidate ->
+                candidate.user.setPassword(passwordService.encodePassword(candidate.rawPassword)));
+
+        List<User> users = candidates.stream().map(Candidate::user).toList();
+        users.forEach(user -> userKeyFilter.add(UserUniqueKeys.of(user)));
+        Account bank = bankAccountProvider.getBankAccount();
+        accountLockManager.lockAccounts(bank, null);
+        try {
+            chunkWriter.write(users, welcomeBonusAmount);
+            return users.size();
+        } catch (DataAccessException e) {
+            rejectChunk(candidates, state, e.getMostSpecificCause().getMessage(), e);
+            return 0;
+        } catch (BankAppBaseException e) {
+            // e.g. the bank account cannot cover the bonuses of the chunk
+            rejectChunk(candidates, state, e.getMessage(), e);
+            return 0;
+        } finally {
+            accountLockManager.unlockAccounts(bank, null);
+        }
+    }
+
+    private void rejectChunk(List<Candidate> candidates, ImportState state, String reason, Exception cause) {
+        log.error("Chunk of {} users starting at line {} was rolled back", candidates.size(),
+                candidates.getFirst().line, cause);
+        candidates.forEach(candidate -> state.reject(candidate.line, "Chunk rolled back: " + reason));
+    }
+
+    private User toValidatedUser(OnboardingRecord record) {
+        if (record.password() == null || record.password().length() < ValidationConstants.PASSWORD_MIN_LENGTH
+                || !ValidationPatterns.PASSWORD.matcher(record.password()).matches()) {
+            throw new IllegalArgumentException(ValidationConstants.PASSWORD_DESCRIPTION);
+        }
+        User user = User.builder()
+                .withFirstname(record.firstname())
+                .withLastname(record.lastname())
+                .withPesel(record.pesel())
+                .withDateOfBirth(record.dateOfBirth())
+                .withEmail(record.email())
+                .withPhoneNumber(record.phoneNumber())
+                .withPassword(record.password())
+                .build();
+        user.setUsername(usernameGeneratorService.generateUsername(user.getFirstname(), user.getLastname(),
+                user.getEmail().toString()));
+        userValidationService.validateNewUserFields(user);
+        return user;
+    }
+
+    private List<Candidate> rejectDuplicates(List<Candidate> candidates, ImportState state) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        List<UserUniqueKeys> existing = userQueryService.findUniqueKeyCollisions(
+                candidates.stream().map(Candidate::user).toList());
+        existing.forEach(keys -> state.taken.add(keys.username(), keys.email(), keys.pesel(), keys.phoneNumber()));
+
+        List<Candidate> unique = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            User user = candidate.user;
+            String conflict = state.taken.conflict(user.getUsername(), user.getEmail().getValue(),
+                    user.getPesel().getValue(), user.getPhoneNumber().getValue());
+            if (conflict != null) {
+                state.reject(candidate.line, conflict + " already in use");
+                continue;
+            }
+            state.taken.add(user.getUsername(), user.getEmail().getValue(), user.getPesel().getValue(),
+                    user.getPhoneNumber().getValue());
+            unique.add(candidate);
+        }
+        return unique;
+    }
+
+    private void logProgress(ImportState state, long start) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Bulk onboarding progress: {} lines processed, {} imported, {} rejected ({} users/s)",
+                state.processed, state.imported, state.rejections.size(),
+                String.format("%.1f", throughput(state.imported, elapsedMillis)));
+    }
+
+    private static double throughput(int imported, long durationMillis) {
+        return durationMillis == 0 ? imported : imported * 1000.0 / durationMillis;
+    }
+
+    private record Candidate(int line, User user, String rawPassword) {
+    }
+
+    private static final class ImportState {
+        private final List<OnboardingRejection> rejections = new ArrayList<>();
+        private final UniqueKeys taken = new UniqueKeys();
+        private int processed;
+        private int imported;
+
+        private void reject(int line, String reason) {
+            rejections.add(new OnboardingRejection(line, reason));
+        }
+    }
+
+    /**
+     * Unique fields already taken by existing users or by earlier lines of the file.
+     */
+    private static final class UniqueKeys {
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> pesels = new HashSet<>();
+        private final Set<String> phoneNumbers = new HashSet<>();
+
+        private void add(String username, String email, String pesel, String phoneNumber) {
+            usernames.add(username);
+            emails.add(email);
+            pesels.add(pesel);
+            phoneNumbers.add(phoneNumber);
+        }
+
+        private String conflict(String username, String email, String pesel, String phoneNumber) {
+            if (emails.contains(email)) {
+                return "Email";
+            }
+            if (pesels.contains(pesel)) {
+                return "PESEL";
+            }
+            if (phoneNumbers.contains(phoneNumber)) {
+                return "Phone number";
+            }
+            if (usernames.contains(username)) {
+                return "Username";
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package info.mackiewicz.bankapp.system.registration.bulk;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.account.util.IbanGenerator;
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import info.mackiewicz.bankapp.core.ledger.service.LedgerService;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.shared.util.BankAccountProvider;
+import info.mackiewicz.bankapp.system.banking.operations.service.helpers.IbanAnalysisService;
+import info.mackiewicz.bankapp.system.notification.email.EmailService;
+import info.mackiewicz.bankapp.system.registration.service.DefaultBonusGrantingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.iban4j.Iban;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists one validated chunk of onboarded users in a single database transaction.
+ * <p>
+ * Every user gets one account that is opened with the welcome bonus as its balance, together with a completed
+ * bonus transfer from the bank account for the transaction history. The bank account is debited once with the
+ * total of the chunk instead of once per user. Every bonus transfer is booked in the ledger as well. Welcome emails are stored in the email outbox within the same
+ * transaction and delivered asynchronously.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+class OnboardingChunkWriter {
+
+    private static final int FIRST_ACCOUNT_NUMBER = 1;
+
+    private final OnboardingJdbcRepository jdbcRepository;
+    private final BankAccountProvider bankAccountProvider;
+    private final AccountService accountService;
+    private final EmailService emailService;
+    private final LedgerService ledgerService;
+
+    /**
+     * Inserts the users, their accounts and bonus transfers, debits the bank account and enqueues the welcome
+     * emails. The caller must hold the lock of the bank account.
+     *
+     * @param users        validated users with generated usernames and encoded passwords
+     * @param bonusAmount  welcome bonus of every user, may be zero
+     */
+    @Transactional
+    public void write(List<User> users, BigDecimal bonusAmount) {
+        users.forEach(user -> user.setAccountCounter(FIRST_ACCOUNT_NUMBER));
+        jdbcRepository.insertUsers(users);
+
+        List<Iban> ibans = users.stream()
+                .map(user -> IbanGenerator.generateIban(user.getId(), FIRST_ACCOUNT_NUMBER))
+                .toList();
+        List<Integer> accountIds = jdbcRepository.insertAccounts(users, ibans, bonusAmount);
+
+        if (bonusAmount.signum() > 0) {
+            postBonuses(accountIds, ibans, bonusAmount);
+        }
+
+        users.forEach(user -> emailService.sendWelcomeEmail(user.getEmail().toString(), user.getFullName(),
+                user.getUsername()));
+        log.debug("Wrote chunk of {} users", users.size());
+    }
+
+    private void postBonuses(List<Integer> accountIds, List<Iban> ibans, BigDecimal bonusAmount) {
+        Account bank = bankAccountProvider.getBankAccount();
+        BigDecimal total = bonusAmount.multiply(BigDecimal.valueOf(accountIds.size()));
+        // One aggregated posting, validated against the bank balance (or journaled in hot-account mode)
+        accountService.withdraw(bank, total);
+
+        List<TransactionType> types = ibans.stream()
+                .map(iban -> IbanAnalysisService.resolveTransferType(bank.getIban(), iban))
+                .toList();
+        List<Integer> transactionIds = jdbcRepository.insertCompletedTransfers(bank.getId(), accountIds, types,
+                bonusAmount, DefaultBonusGrantingService.DEFAULT_TITLE);
+        ledgerService.post(bonusPostings(bank.getId(), accountIds, transactionIds, bonusAmount));
+        log.debug("Posted {} welcome bonuses, {} in total", accountIds.size(), total);
+    }
+
+    private static List<Posting> bonusPostings(Integer bankAccountId, List<Integer> accountIds,
+                                               List<Integer> transactionIds, BigDecimal bonusAmount) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Posting> postings = new ArrayList<>(accountIds.size() * 2);
+        for (int i = 0; i < accountIds.size(); i++) {
+            postings.add(new Posting(transactionIds.get(i), bankAccountId, bonusAmount.negate(), now));
+            postings.add(new Posting(transactionIds.get(i), accountIds.get(i), bonusAmount, now));
+        }
+        return postings;
+    }
+}
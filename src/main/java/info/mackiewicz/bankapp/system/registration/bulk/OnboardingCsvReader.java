@@ -0,0 +1,107 @@
+package info.mackiewicz.bankapp.system.registration.bulk;
+
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingRecord;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingRejection;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Streams users from a CSV onboarding file in chunks, so files of any size are read with constant memory.
+ * <p>
+ * Expected columns: {@code firstname,lastname,dateOfBirth,pesel,email,phoneNumber,password}, with the date of birth
+ * in {@code yyyy-MM-dd} format. A header line starting with {@code firstname} and blank lines are skipped. The
+ * password is the last column and may contain commas. Lines that cannot be parsed are collected as rejections.
+ */
+class OnboardingCsvReader implements Closeable {
+
+    private static final String HEADER_PREFIX = "firstname";
+    private static final int COLUMNS = 7;
+
+    private final BufferedReader reader;
+    private final List<OnboardingRejection> rejections = new ArrayList<>();
+    private int lineNumber;
+
+    OnboardingCsvReader(Reader source) {
+        this.reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+    }
+
+    /**
+     * Reads the next chunk of parseable records.
+     *
+     * @param size maximum number of records to return
+     * @return the next records, empty when the file is exhausted
+     */
+    List<OnboardingRecord> nextChunk(int size) {
+        List<OnboardingRecord> chunk = new ArrayList<>(size);
+        String line;
+        while (chunk.size() < size && (line = readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            parse(line).ifPresent(chunk::add);
+        }
+        return chunk;
+    }
+
+    /**
+     * Returns and clears the lines rejected since the last call.
+     *
+     * @return lines that could not be parsed
+     */
+    List<OnboardingRejection> drainRejections() {
+        List<OnboardingRejection> drained = List.copyOf(rejections);
+        rejections.clear();
+        return drained;
+    }
+
+    private Optional<OnboardingRecord> parse(String line) {
+        String[] columns = line.split(",", COLUMNS);
+        if (columns.length != COLUMNS) {
+            rejections.add(new OnboardingRejection(lineNumber,
+                    "Expected " + COLUMNS + " columns but found " + columns.length));
+            return Optional.empty();
+        }
+        LocalDate dateOfBirth;
+        try {
+            dateOfBirth = LocalDate.parse(columns[2].trim());
+        } catch (DateTimeParseException e) {
+            rejections.add(new OnboardingRejection(lineNumber, "Invalid date of birth: " + columns[2].trim()));
+            return Optional.empty();
+        }
+        return Optional.of(new OnboardingRecord(lineNumber,
+                columns[0].trim(),
+                columns[1].trim(),
+                dateOfBirth,
+                columns[3].trim(),
+                columns[4].trim(),
+                columns[5].trim(),
+                columns[6]));
+    }
+
+    private static boolean isHeader(String line) {
+        return line.regionMatches(true, 0, HEADER_PREFIX, 0, HEADER_PREFIX.length());
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read onboarding file", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
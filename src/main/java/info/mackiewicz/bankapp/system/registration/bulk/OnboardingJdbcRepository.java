@@ -0,0 +1,171 @@
+package info.mackiewicz.bankapp.system.registration.bulk;
+
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.core.user.model.User;
+import org.iban4j.Iban;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inserts onboarded users, their accounts and their welcome bonus transactions with JDBC batches.
+ * <p>
+ * All entities of the users, accounts and transactions tables use identity keys, which prevent Hibernate from
+ * batching inserts, so every chunk would cost one round trip per row. Here each table gets one batch per chunk,
+ * and the generated keys of the whole batch are read back at once. Identifiers are quoted with the quote string
+ * of the database, matching the schema created with globally quoted identifiers.
+ */
+@Repository
+class OnboardingJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertUserSql;
+    private final String insertRoleSql;
+    private final String insertAccountSql;
+    private final String insertTransactionSql;
+
+    OnboardingJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String quote = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getIdentifierQuoteString().trim());
+        this.insertUserSql = insertSql(quote, "users", "credentials_expired", "enabled", "expired", "locked",
+                "password", "username", "account_counter", "date_of_birth", "email", "firstname", "lastname", "pesel",
+                "phone_number");
+        this.insertRoleSql = insertSql(quote, "user_roles", "user_id", "role");
+        this.insertAccountSql = insertSql(quote, "accounts", "balance", "creation_date", "iban",
+                "user_account_number", "owner_id");
+        this.insertTransactionSql = insertSql(quote, "transactions", "amount", "date", "status", "title", "type",
+                "destination_id", "source_id");
+    }
+
+    /**
+     * Inserts the users and sets their generated IDs.
+     *
+     * @param users new users with encoded passwords
+     */
+    void insertUsers(List<User> users) {
+        List<Integer> ids = batchInsert(insertUserSql, users.size(), (ps, i) -> {
+            User user = users.get(i);
+            ps.setBoolean(1, user.isCredentialsExpired());
+            ps.setBoolean(2, user.isEnabled());
+            ps.setBoolean(3, user.isExpired());
+            ps.setBoolean(4, user.isLocked());
+            ps.setString(5, user.getPassword());
+            ps.setString(6, user.getUsername());
+            ps.setInt(7, user.getAccountCounter());
+            ps.setDate(8, Date.valueOf(user.getDateOfBirth()));
+            ps.setString(9, user.getEmail().getValue());
+            ps.setString(10, user.getFirstname());
+            ps.setString(11, user.getLastname());
+            ps.setString(12, user.getPesel().getValue());
+            ps.setString(13, user.getPhoneNumber().getValue());
+        });
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setId(ids.get(i));
+        }
+
+        List<Map.Entry<Integer, String>> roles = users.stream()
+                .flatMap(user -> user.getRoles().stream().map(role -> Map.entry(user.getId(), role)))
+                .toList();
+        jdbcTemplate.batchUpdate(insertRoleSql, roles, roles.size(), (ps, role) -> {
+            ps.setInt(1, role.getKey());
+            ps.setString(2, role.getValue());
+        });
+    }
+
+    /**
+     * Inserts the first account of every user.
+     *
+     * @param users          the inserted users
+     * @param ibans          IBAN of each user's account, in the same order
+     * @param openingBalance initial balance of every account
+     * @return the generated account IDs, in the same order
+     */
+    List<Integer> insertAccounts(List<User> users, List<Iban> ibans, BigDecimal openingBalance) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return batchInsert(insertAccountSql, users.size(), (ps, i) -> {
+            ps.setBigDecimal(1, openingBalance);
+            ps.setTimestamp(2, now);
+            ps.setString(3, ibans.get(i).toString());
+            ps.setInt(4, users.get(i).getAccountCounter());
+            ps.setInt(5, users.get(i).getId());
+        });
+    }
+
+    /**
+     * Inserts completed transfers from the bank account, one per destination account.
+     *
+     * @param sourceAccountId      the bank account ID
+     * @param destinationAccountIds the credited accounts
+     * @param types                transfer type of each transfer, in the same order
+     * @param amount               amount of every transfer
+     * @param title                title of every transfer
+     * @return the generated transaction IDs, in the same order
+     */
+    List<Integer> insertCompletedTransfers(Integer sourceAccountId, List<Integer> destinationAccountIds,
+                                           List<TransactionType> types, BigDecimal amount, String title) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return batchInsert(insertTransactionSql, destinationAccountIds.size(), (ps, i) -> {
+            ps.setBigDecimal(1, amount);
+            ps.setTimestamp(2, now);
+            ps.setString(3, TransactionStatus.DONE.name());
+            ps.setString(4, title);
+            ps.setString(5, types.get(i).name());
+            ps.setInt(6, destinationAccountIds.get(i));
+            ps.setInt(7, sourceAccountId);
+        });
+    }
+
+    private List<Integer> batchInsert(String sql, int size, RowSetter setter) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setter.setValues(ps, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                },
+                keyHolder);
+        // Key column names differ between drivers (ID, GENERATED_KEY), each row holds only the generated key
+        List<Integer> ids = keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).intValue())
+                .toList();
+        if (ids.size() != size) {
+            throw new IllegalStateException(String.format(
+                    "Expected %d generated keys but the driver returned %d", size, ids.size()));
+        }
+        return ids;
+    }
+
+    private static String insertSql(String quote, String table, String... columns) {
+        return "INSERT INTO " + quote + table + quote
+                + Stream.of(columns).map(column -> quote + column + quote).collect(Collectors.joining(", ", " (", ")"))
+                + Stream.of(columns).map(column -> "?").collect(Collectors.joining(", ", " VALUES (", ")"));
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void setValues(PreparedStatement ps, int index) throws SQLException;
+    }
+}
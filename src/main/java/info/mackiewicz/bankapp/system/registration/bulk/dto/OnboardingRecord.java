@@ -0,0 +1,31 @@
+package info.mackiewicz.bankapp.system.registration.bulk.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One user read from a bulk onboarding file.
+ *
+ * @param line        line number in the source file, used in rejection reports
+ * @param firstname   first name
+ * @param lastname    last name
+ * @param dateOfBirth date of birth
+ * @param pesel       PESEL number
+ * @param email       email address
+ * @param phoneNumber phone number
+ * @param password    raw password
+ */
+public record OnboardingRecord(int line,
+        String firstname,
+        String lastname,
+        LocalDate dateOfBirth,
+        String pesel,
+        String email,
+        String phoneNumber,
+        String password) {
+
+    @Override
+    public String toString() {
+        // Never log the raw password
+        return "OnboardingRecord(line=" + line + ", email=" + email + ")";
+    }
+}
@@ -0,0 +1,10 @@
+package info.mackiewicz.bankapp.system.registration.bulk.dto;
+
+/**
+ * A line of a bulk onboarding file that was not imported.
+ *
+ * @param line   line number in the source file
+ * @param reason why the line was rejected
+ */
+public record OnboardingRejection(int line, String reason) {
+}
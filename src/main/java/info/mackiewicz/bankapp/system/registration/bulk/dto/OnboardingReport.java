@@ -0,0 +1,19 @@
+package info.mackiewicz.bankapp.system.registration.bulk.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk onboarding run.
+ *
+ * @param processed      number of user lines read from the file
+ * @param imported       number of users created, each with an account and a welcome bonus
+ * @param rejections     lines that were not imported, ordered by line number
+ * @param durationMillis wall-clock duration of the import
+ * @param usersPerSecond import throughput
+ */
+public record OnboardingReport(int processed,
+        int imported,
+        List<OnboardingRejection> rejections,
+        long durationMillis,
+        double usersPerSecond) {
+}
@@ -0,0 +1,59 @@
+package info.mackiewicz.bankapp.system.registration.controller;
+
+import info.mackiewicz.bankapp.system.error.handling.dto.BaseApiError;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingReport;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+/**
+ * BulkOnboardingController defines the endpoint importing many users at once from a CSV file.
+ * <p>
+ * The file is streamed and imported in chunks, see
+ * {@link info.mackiewicz.bankapp.system.registration.bulk.BulkOnboardingService}.
+ */
+@Tag(name = "Registration", description = "API for user registration")
+public interface BulkOnboardingController {
+
+    @Operation(
+            summary = "Import users from a CSV file",
+            description = """
+                    Creates a user, an account with the welcome bonus and a welcome email for every line of the
+                    request body. Requires the ADMIN role.
+                    
+                    Columns: `firstname,lastname,dateOfBirth,pesel,email,phoneNumber,password`, dates as `yyyy-MM-dd`.
+                    Invalid or duplicated lines are skipped and listed in the report.
+                    """
+    )
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            required = true,
+            description = "CSV file with one user per line and an optional header",
+            content = @Content(mediaType = "text/csv", schema = @Schema(type = "string"))
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import finished, see the report for rejected lines.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OnboardingReport.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid credentials.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BaseApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "The user is not an administrator.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BaseApiError.class))
+            )
+    })
+    ResponseEntity<OnboardingReport> importUsers(@Parameter(hidden = true) HttpServletRequest request) throws IOException;
+}
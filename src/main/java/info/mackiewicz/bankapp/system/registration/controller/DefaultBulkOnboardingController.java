@@ -0,0 +1,29 @@
+package info.mackiewicz.bankapp.system.registration.controller;
+
+import info.mackiewicz.bankapp.system.registration.bulk.BulkOnboardingService;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingReport;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/admin/onboarding")
+public class DefaultBulkOnboardingController implements BulkOnboardingController {
+
+    private final BulkOnboardingService bulkOnboardingService;
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<OnboardingReport> importUsers(HttpServletRequest request) throws IOException {
+        // Streamed from the request body, the file is never held in memory as a whole
+        return ResponseEntity.ok(bulkOnboardingService.onboard(request.getReader()));
+    }
+}
@@ -0,0 +1,13 @@
+package info.mackiewicz.bankapp.system.registration.exception;
+
+import info.mackiewicz.bankapp.shared.exception.BankAppBaseException;
+import info.mackiewicz.bankapp.system.error.handling.core.ErrorCode;
+
+public class BulkOnboardingUnavailableException extends BankAppBaseException {
+
+    private static final ErrorCode ERROR_CODE = ErrorCode.BULK_ONBOARDING_UNAVAILABLE;
+
+    public BulkOnboardingUnavailableException(String message) {
+        super(message, ERROR_CODE);
+    }
+}
@@ -0,0 +1,43 @@
+package info.mackiewicz.bankapp.system.scheduling;
+
+import java.time.Duration;
+
+/**
+ * Definition of a scheduled job run through the {@link ClusterJobRunner}.
+ * <p>
+ * The name identifies the job in metrics, in its lock row and in the {@code scheduledjobs} Actuator endpoint, and
+ * must equal the name of the {@code @Scheduled} method that runs it, so the endpoint can show its next run.
+ *
+ * @param name           the name of the job and of its scheduled method
+ * @param exclusive      whether the job runs on only one node of the cluster at a time
+ * @param lockAtMostFor  how long the lock is kept if the node dies while running the job
+ * @param lockAtLeastFor how long the lock is kept after the job finished, so other nodes skip the same tick
+ */
+public record ClusterJob(String name, boolean exclusive, Duration lockAtMostFor, Duration lockAtLeastFor) {
+
+    /**
+     * Defines a job that runs once per cluster: every tick is run by the node that takes the job's lock.
+     *
+     * @param name           the name of the job and of its scheduled method
+     * @param lockAtMostFor  upper bound of the run time, after which the lock of a dead node expires
+     * @param lockAtLeastFor minimum time the lock is held, at most the interval of the job
+     * @return the job definition
+     */
+    public static ClusterJob exclusive(String name, Duration lockAtMostFor, Duration lockAtLeastFor) {
+        if (lockAtLeastFor.compareTo(lockAtMostFor) > 0) {
+            throw new IllegalArgumentException("lockAtLeastFor must not exceed lockAtMostFor for job " + name);
+        }
+        return new ClusterJob(name, true, lockAtMostFor, lockAtLeastFor);
+    }
+
+    /**
+     * Defines a job that runs on every node, e.g. because it claims its own work items.
+     * Runs are still timed and never overlap on one node.
+     *
+     * @param name the name of the job and of its scheduled method
+     * @return the job definition
+     */
+    public static ClusterJob local(String name) {
+        return new ClusterJob(name, false, Duration.ZERO, Duration.ZERO);
+    }
+}
@@ -0,0 +1,26 @@
+package info.mackiewicz.bankapp.system.scheduling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Configuration of the cluster-wide scheduled jobs.
+ *
+ * @param nodeId identifier of this instance stored in the job locks, unique within the cluster
+ */
+@ConfigurationProperties(prefix = "bankapp.scheduling")
+public record ClusterJobConfig(String nodeId) {
+
+    private static final int NODE_ID_MAX_LENGTH = 64;
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public ClusterJobConfig {
+        // pid@hostname of the JVM
+        if (nodeId == null || nodeId.isBlank())
+            nodeId = ManagementFactory.getRuntimeMXBean().getName();
+        if (nodeId.length() > NODE_ID_MAX_LENGTH)
+            nodeId = nodeId.substring(0, NODE_ID_MAX_LENGTH);
+    }
+}
@@ -0,0 +1,187 @@
+package info.mackiewicz.bankapp.system.scheduling;
+
+import info.mackiewicz.bankapp.system.scheduling.model.JobLock;
+import info.mackiewicz.bankapp.system.scheduling.repository.JobLockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs scheduled jobs so that several instances of the application can share one schedule.
+ * <p>
+ * Every {@code @Scheduled} method of every node fires on its own. For an exclusive job the runner first takes the
+ * job's lock in the {@code scheduled_job_locks} table with a conditional update; the node that takes it runs the
+ * tick and the other nodes skip it, which elects one runner per tick without a coordinator. The lock expires after
+ * {@code lockAtMostFor} if its node dies, and is kept for {@code lockAtLeastFor} after the run so that nodes whose
+ * clocks tick slightly later do not run the same tick again.
+ * <p>
+ * A run that is still in progress on this node is never started again, whether the job is exclusive or not.
+ * Each run is timed in the {@code scheduler.job} timer and skipped runs are counted in
+ * {@code scheduler.job.skipped}; the last run of every job is available in the {@code scheduledjobs} endpoint.
+ */
+@Slf4j
+@Component
+public class ClusterJobRunner {
+
+    private final JobLockRepository lockRepository;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    public ClusterJobRunner(JobLockRepository lockRepository, MeterRegistry meterRegistry, ClusterJobConfig config) {
+        this.lockRepository = lockRepository;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = config.nodeId();
+    }
+
+    /**
+     * Runs one tick of a job unless it is running on this node or, for an exclusive job, locked by another node.
+     * Exceptions of the task are recorded and rethrown to the scheduler.
+     *
+     * @param job  the job definition
+     * @param task the work of the job
+     * @return true if the task was run, false if the tick was skipped
+     */
+    public boolean run(ClusterJob job, Runnable task) {
+        JobState state = jobs.computeIfAbsent(job.name(), name -> new JobState());
+        if (!state.running.compareAndSet(false, true)) {
+            skip(job, "running");
+            return false;
+        }
+        try {
+            LocalDateTime start = LocalDateTime.now();
+            if (job.exclusive() && !tryLock(job, start)) {
+                skip(job, "locked");
+                return false;
+            }
+            try {
+                execute(job, state, task, start);
+            } finally {
+                if (job.exclusive()) {
+                    unlock(job, start);
+                }
+            }
+            return true;
+        } finally {
+            state.running.set(false);
+        }
+    }
+
+    /**
+     * Returns the last run of every job that ran on this node.
+     *
+     * @return the last runs by job name
+     */
+    public Map<String, JobRun> getLastRuns() {
+        Map<String, JobRun> runs = new TreeMap<>();
+        jobs.forEach((name, state) -> {
+            if (state.lastRun != null) {
+                runs.put(name, state.lastRun);
+            }
+        });
+        return runs;
+    }
+
+    /**
+     * Returns the ID of this node as stored in the job locks.
+     *
+     * @return the node ID
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void execute(ClusterJob job, JobState state, Runnable task, LocalDateTime start) {
+        long startNanos = System.nanoTime();
+        JobOutcome outcome = JobOutcome.FAILURE;
+        try {
+            task.run();
+            outcome = JobOutcome.SUCCESS;
+        } finally {
+            long durationNanos = System.nanoTime() - startNanos;
+            Timer.builder("scheduler.job")
+                    .description("Duration of scheduled job runs")
+                    .tag("job", job.name())
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+            state.lastRun = new JobRun(start, Duration.ofNanos(durationNanos), outcome);
+            if (outcome == JobOutcome.FAILURE) {
+                log.error("Scheduled job {} failed after {} ms", job.name(),
+                        TimeUnit.NANOSECONDS.toMillis(durationNanos));
+            }
+        }
+    }
+
+    private void skip(ClusterJob job, String reason) {
+        log.debug("Skipping scheduled job {}: {}", job.name(), reason);
+        Counter.builder("scheduler.job.skipped")
+                .description("Scheduled job runs skipped because the job was running or locked")
+                .tag("job", job.name())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean tryLock(ClusterJob job, LocalDateTime now) {
+        LocalDateTime until = now.plus(job.lockAtMostFor());
+        if (lockRepository.tryLock(job.name(), nodeId, now, until) > 0) {
+            return true;
+        }
+        if (lockRepository.existsById(job.name())) {
+            return false;
+        }
+        try {
+            lockRepository.saveAndFlush(new JobLock(job.name(), nodeId, now, until));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lock row first
+            return false;
+        }
+    }
+
+    private void unlock(ClusterJob job, LocalDateTime start) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime earliestRelease = start.plus(job.lockAtLeastFor());
+        try {
+            lockRepository.unlock(job.name(), nodeId, earliestRelease.isAfter(now) ? earliestRelease : now);
+        } catch (RuntimeException e) {
+            // The lock expires after lockAtMostFor anyway
+            log.warn("Could not release the lock of scheduled job {}", job.name(), e);
+        }
+    }
+
+    /**
+     * Outcome of a run of a scheduled job.
+     */
+    public enum JobOutcome {
+        SUCCESS,
+        FAILURE
+    }
+
+    /**
+     * A run of a scheduled job on this node.
+     *
+     * @param startedAt when the run started
+     * @param duration  how long the task ran
+     * @param outcome   how the run ended
+     */
+    public record JobRun(LocalDateTime startedAt, Duration duration, JobOutcome outcome) {
+    }
+
+    private static final class JobState {
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile JobRun lastRun;
+    }
+}
@@ -0,0 +1,105 @@
+package info.mackiewicz.bankapp.system.scheduling;
+
+import info.mackiewicz.bankapp.system.scheduling.ClusterJobRunner.JobRun;
+import info.mackiewicz.bankapp.system.scheduling.model.JobLock;
+import info.mackiewicz.bankapp.system.scheduling.repository.JobLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint {@code /actuator/scheduledjobs} listing the scheduled jobs of this node.
+ * <p>
+ * For every {@code @Scheduled} method it shows the next run on this node, the last run on this node and the
+ * current holder of the job's cluster lock. Jobs are matched to their methods by name, see {@link ClusterJob}.
+ */
+@Component
+@Endpoint(id = "scheduledjobs")
+@RequiredArgsConstructor
+public class ScheduledJobsEndpoint {
+
+    private final ClusterJobRunner jobRunner;
+    private final JobLockRepository lockRepository;
+    private final ObjectProvider<ScheduledTaskHolder> taskHolders;
+
+    @ReadOperation
+    public ScheduledJobsDescriptor scheduledJobs() {
+        Map<String, Instant> nextRuns = new HashMap<>();
+        taskHolders.orderedStream()
+                .flatMap(holder -> holder.getScheduledTasks().stream())
+                .forEach(task -> nextRuns.put(methodName(task), task.nextExecution()));
+        Map<String, JobRun> lastRuns = jobRunner.getLastRuns();
+        Map<String, JobLock> locks = lockRepository.findAll().stream()
+                .collect(Collectors.toMap(JobLock::getName, Function.identity()));
+
+        Set<String> names = new TreeSet<>(nextRuns.keySet());
+        names.addAll(lastRuns.keySet());
+        names.addAll(locks.keySet());
+        Map<String, JobDescriptor> jobs = new LinkedHashMap<>();
+        names.forEach(name -> jobs.put(name, describe(lastRuns.get(name), nextRuns.get(name), locks.get(name))));
+        return new ScheduledJobsDescriptor(jobRunner.getNodeId(), jobs);
+    }
+
+    private static String methodName(ScheduledTask task) {
+        // The runnable is wrapped by the scheduler, its description is that of the ScheduledMethodRunnable:
+        // the fully qualified class name followed by the method name, as shown by the scheduledtasks endpoint
+        String target = task.getTask().getRunnable().toString();
+        return target.substring(target.lastIndexOf('.') + 1);
+    }
+
+    private static JobDescriptor describe(JobRun lastRun, Instant nextRun, JobLock lock) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean locked = lock != null && lock.getLockedUntil().isAfter(now);
+        return new JobDescriptor(
+                lastRun == null ? null : lastRun.startedAt(),
+                lastRun == null ? null : lastRun.duration().toMillis(),
+                lastRun == null ? null : lastRun.outcome(),
+                nextRun,
+                lock == null ? null : lock.getLockedBy(),
+                lock == null ? null : lock.getLockedAt(),
+                locked ? lock.getLockedUntil() : null);
+    }
+
+    /**
+     * Scheduled jobs of a node.
+     *
+     * @param node the ID of this node
+     * @param jobs the jobs by name
+     */
+    public record ScheduledJobsDescriptor(String node, Map<String, JobDescriptor> jobs) {
+    }
+
+    /**
+     * State of a scheduled job.
+     *
+     * @param lastRunAt      start of the last run on this node, null if it has not run here
+     * @param lastRunMillis  duration of the last run on this node
+     * @param lastOutcome    outcome of the last run on this node
+     * @param nextRunAt      next scheduled run on this node, null while the job is due or running
+     * @param lockHolder     node that took the job's lock last, null for jobs that run on every node
+     * @param lockedAt       when the lock holder took the lock
+     * @param lockedUntil    until when the lock is held, null if it is free
+     */
+    public record JobDescriptor(LocalDateTime lastRunAt,
+                                Long lastRunMillis,
+                                ClusterJobRunner.JobOutcome lastOutcome,
+                                Instant nextRunAt,
+                                String lockHolder,
+                                LocalDateTime lockedAt,
+                                LocalDateTime lockedUntil) {
+    }
+}
@@ -0,0 +1,56 @@
+package info.mackiewicz.bankapp.system.scheduling.repository;
+
+import info.mackiewicz.bankapp.system.scheduling.model.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Takes over the lock of a job if it is free.
+     * Only succeeds if no other node holds the lock at the given time.
+     *
+     * @param name     the name of the job
+     * @param lockedBy the ID of the node taking the lock
+     * @param now      the current time, locks ending at or before it are free
+     * @param until    the time until which the lock is held at most
+     * @return 1 if the lock was taken, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE JobLock l
+                SET l.lockedBy = :lockedBy, l.lockedAt = :now, l.lockedUntil = :until
+                WHERE l.name = :name
+                AND l.lockedUntil <= :now
+            """)
+    int tryLock(@Param("name") String name,
+                @Param("lockedBy") String lockedBy,
+                @Param("now") LocalDateTime now,
+                @Param("until") LocalDateTime until);
+
+    /**
+     * Shortens the lock of a job held by a node, leaving it free from the given time.
+     *
+     * @param name     the name of the job
+     * @param lockedBy the ID of the node holding the lock
+     * @param until    the time from which the lock is free
+     * @return 1 if the lock was still held by the node, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE JobLock l
+                SET l.lockedUntil = :until
+                WHERE l.name = :name
+                AND l.lockedBy = :lockedBy
+            """)
+    int unlock(@Param("name") String name,
+               @Param("lockedBy") String lockedBy,
+               @Param("until") LocalDateTime until);
+}
@@ -1,10 +1,10 @@
 package info.mackiewicz.bankapp.system.shared;
 
-import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.interfaces.UserDetailsWithId;
 import lombok.NonNull;
 
 public interface AccountAuthorizationService<T> {
-    void validateAccountOwnership(@NonNull T accountIdentifier, @NonNull User owner);
+    void validateAccountOwnership(@NonNull T accountIdentifier, @NonNull UserDetailsWithId owner);
 
     /**
      * Retrieves the name of the identifier type used for account authorization.
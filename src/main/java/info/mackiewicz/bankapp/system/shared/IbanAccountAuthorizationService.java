@@ -1,25 +1,29 @@
 package info.mackiewicz.bankapp.system.shared;
 
-import info.mackiewicz.bankapp.core.account.model.Account;
-import info.mackiewicz.bankapp.core.user.service.UserService;
+import info.mackiewicz.bankapp.core.account.service.AccountOwnershipIndex;
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.iban4j.Iban;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.util.Optional;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class IbanAccountAuthorizationService extends AbstractAccountAuthorizationService<Iban> {
 
-    public IbanAccountAuthorizationService(UserService userService) {
-        super(userService);
+    private final AccountOwnershipIndex ownershipIndex;
+
+    @Override
+    protected boolean isOwner(Iban accountIdentifier, UserPrincipal principal) {
+        return principal.ownsIban(accountIdentifier.toString());
     }
 
     @Override
-    protected boolean isOwner(Iban accountIdentifier, Set<Account> accounts) {
-        return accounts.stream()
-                .anyMatch(account -> account.getIban().equals(accountIdentifier));
+    protected Optional<Integer> findOwnerId(Iban accountIdentifier) {
+        return ownershipIndex.findOwnerId(accountIdentifier);
     }
 
     @Override
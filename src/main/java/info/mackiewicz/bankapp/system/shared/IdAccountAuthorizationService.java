@@ -1,24 +1,28 @@
 package info.mackiewicz.bankapp.system.shared;
 
-import info.mackiewicz.bankapp.core.account.model.Account;
-import info.mackiewicz.bankapp.core.user.service.UserService;
+import info.mackiewicz.bankapp.core.account.service.AccountOwnershipIndex;
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.util.Optional;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class IdAccountAuthorizationService extends AbstractAccountAuthorizationService<Integer> {
 
-    public IdAccountAuthorizationService(UserService userService) {
-        super(userService);
+    private final AccountOwnershipIndex ownershipIndex;
+
+    @Override
+    protected boolean isOwner(Integer accountIdentifier, UserPrincipal principal) {
+        return principal.ownsAccount(accountIdentifier);
     }
 
     @Override
-    protected boolean isOwner(Integer accountIdentifier, Set<Account> accounts) {
-        return accounts.stream()
-                .anyMatch(account -> account.getId().equals(accountIdentifier));
+    protected Optional<Integer> findOwnerId(Integer accountIdentifier) {
+        return ownershipIndex.findOwnerId(accountIdentifier);
     }
 
     @Override
@@ -0,0 +1,29 @@
+package info.mackiewicz.bankapp.system.transaction.processing;
+
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceWritePolicy;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceEngineConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Derives the balance write policy of the account service from the processing configuration.
+ */
+@RequiredArgsConstructor
+@Component
+public class DefaultAccountBalanceWritePolicy implements AccountBalanceWritePolicy {
+
+    private final BalanceEngineConfig balanceEngineConfig;
+    private final LockingConfig lockingConfig;
+
+    @Override
+    public boolean isBalanceOwnedExternally() {
+        return balanceEngineConfig.enabled();
+    }
+
+    @Override
+    public boolean isConditionalWrite() {
+        return lockingConfig.mode() == LockingMode.OPTIMISTIC;
+    }
+}
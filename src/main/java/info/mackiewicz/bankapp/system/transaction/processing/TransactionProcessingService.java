@@ -2,24 +2,44 @@ package info.mackiewicz.bankapp.system.transaction.processing;
 
 import info.mackiewicz.bankapp.core.transaction.exception.InsufficientFundsException;
 import info.mackiewicz.bankapp.core.transaction.exception.TransactionAccountConflictException;
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionBaseException;
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionExecutionException;
 import info.mackiewicz.bankapp.core.transaction.exception.TransactionNotFoundException;
 import info.mackiewicz.bankapp.core.transaction.exception.TransactionValidationException;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.service.TransactionClaimConfig;
 import info.mackiewicz.bankapp.core.transaction.service.TransactionService;
 import info.mackiewicz.bankapp.core.transaction.validation.TransactionValidator;
 import info.mackiewicz.bankapp.system.transaction.processing.core.TransactionProcessor;
 import info.mackiewicz.bankapp.system.transaction.processing.error.TransactionErrorHandler;
 import info.mackiewicz.bankapp.system.transaction.processing.helpers.TransactionStatusChecker;
+import info.mackiewicz.bankapp.system.transaction.processing.lanes.TransactionLanes;
+import info.mackiewicz.bankapp.system.transaction.processing.netting.TransactionNettingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service responsible for processing transactions.
  * Package-private to ensure access only through TransactionService facade.
  * Centralizes all transaction processing decisions and error handling.
+ * Validated transactions are processed asynchronously, on the async executor under account locks or, when enabled,
+ * on the {@link TransactionLanes} of their accounts. Claimed batches may be netted by the
+ * {@link TransactionNettingService} first, with one balance update per account.
+ * <p>
+ * Claiming keeps pace with processing: {@link #processNewTransactions()} claims batches as long as full ones come back
+ * and less than a batch is in flight, and when a full batch was claimed, the in-flight count falling to half a batch
+ * claims the next one right away instead of waiting for the next scheduler run. That claim runs on the async
+ * executor, so the lane thread that completed a transaction goes on with its queue.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -30,9 +50,19 @@ public class TransactionProcessingService {
     private final TransactionValidator validator;
     private final TransactionStatusChecker statusChecker;
     private final TransactionErrorHandler errorHandler;
+    private final TransactionLanes lanes;
+    private final TransactionNettingService netting;
+    private final TransactionClaimConfig claimConfig;
+    private final ThreadPoolTaskExecutor taskExecutor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean claiming = new AtomicBoolean();
+    private final AtomicBoolean refillQueued = new AtomicBoolean();
+    private volatile boolean backlog;
 
     /**
      * Processes a transaction by its ID.
+     * The transaction is skipped if another instance has claimed it and will process it.
      * 
      * @param transactionId ID of the transaction to process
      * @throws TransactionNotFoundException if transaction is not found
@@ -40,21 +70,76 @@ public class TransactionProcessingService {
     public void processTransactionById(int transactionId) {
         log.info("Processing single transaction: {}", transactionId);
         Transaction transaction = transactionService.getTransactionById(transactionId);
+        if (!transactionService.claimTransaction(transactionId)) {
+            log.info("Transaction {} is claimed by another worker, skipping", transactionId);
+            return;
+        }
+        // Loaded before the claim, status updates are conditional on the lease of this instance
+        transaction.setClaimedBy(claimConfig.nodeId());
         processSafely(transaction);
     }
 
     /**
-     * Processes all transactions with NEW status.
+     * Claims batches of NEW transactions and processes them, until a batch is not full or a batch is in flight.
+     * Does nothing if this instance is claiming already.
+     *
+     * @return the number of claimed transactions
+     */
+    public int processNewTransactions() {
+        if (!claiming.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int total = 0;
+            do {
+                int claimed = processNewTransactionBatch();
+                total += claimed;
+                backlog = claimed >= claimConfig.batchSize();
+            } while (backlog && inFlight.get() < claimConfig.batchSize());
+            return total;
+        } finally {
+            claiming.set(false);
+        }
+    }
+
+    /**
+     * Claims a batch of NEW transactions and processes them.
+     * Transactions claimed by other instances are left to them, so several instances share the backlog.
+     * When netting is enabled, the validated transactions are netted and only those it leaves are processed one by one.
      * Failed transactions will be logged but won't stop the processing of remaining transactions.
+     *
+     * @return the number of claimed transactions
      */
-    public void processAllNewTransactions() {
-        log.info("Starting batch processing of new transactions");
-        List<Transaction> transactions = transactionService.getAllNewTransactions();
-        log.debug("Found {} new transactions to process", transactions.size());
+    public int processNewTransactionBatch() {
+        List<Transaction> transactions = transactionService.claimNewTransactions();
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        log.info("Starting batch processing of {} claimed transactions", transactions.size());
         
-        transactions.forEach(this::processSafely);
+        if (netting.isEnabled()) {
+            List<Transaction> validated = new ArrayList<>(transactions.size());
+            transactions.forEach(transaction -> handleSafely(transaction, () -> {
+                validate(transaction);
+                validated.add(transaction);
+            }));
+            netting.process(validated).forEach(transaction -> handleSafely(transaction, () -> process(transaction)));
+        } else {
+            transactions.forEach(this::processSafely);
+        }
         
         log.info("Completed batch processing of {} transactions", transactions.size());
+        return transactions.size();
+    }
+
+    /**
+     * Re-queues transactions left PENDING by a worker whose lease expired, e.g. because its instance crashed.
+     * Their legs were not applied, so they are processed again by the next batch of any instance.
+     *
+     * @return the number of re-queued transactions
+     */
+    public int recoverAbandonedTransactions() {
+        return transactionService.requeueAbandonedTransactions();
     }
 
     /**
@@ -62,15 +147,88 @@ public class TransactionProcessingService {
      * Centralizes all error handling using TransactionErrorHandler.
      */
     private void processSafely(Transaction transaction) {
+        handleSafely(transaction, () -> {
+            validate(transaction);
+            process(transaction);
+        });
+    }
+
+    private void validate(Transaction transaction) {
+        // Initial validation
+        validator.validate(transaction);
+
+        // Status validation
+        statusChecker.validateForProcessing(transaction);
+    }
+
+    private void process(Transaction transaction) {
+        inFlight.incrementAndGet();
+        CompletableFuture<Void> processed;
         try {
-            // Initial validation
-            validator.validate(transaction);
+            processed = lanes.isEnabled()
+                    ? lanes.submit(transaction, () -> processor.processExclusively(transaction))
+                    : processor.processTransaction(transaction);
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        }
+        processed.whenComplete((result, error) -> completed(transaction, error));
+    }
+
+    private void completed(Transaction transaction, Throwable error) {
+        try {
+            if (error != null) {
+                failed(transaction, error instanceof CompletionException ? error.getCause() : error);
+            }
+        } finally {
+            if (inFlight.decrementAndGet() <= claimConfig.batchSize() / 2 && backlog && !claiming.get()
+                    && refillQueued.compareAndSet(false, true)) {
+                queueRefill();
+            }
+        }
+    }
 
-            // Status validation
-            statusChecker.validateForProcessing(transaction);
+    private void failed(Transaction transaction, Throwable cause) {
+        if (cause instanceof TransactionBaseException) {
+            // Already handled by the processor
+            log.debug("Transaction {} failed: {}", transaction.getId(), cause.getMessage());
+            return;
+        }
+        // Escaped the error handling of the processor, e.g. a handoff to a stopping lane, and would stay NEW or PENDING
+        log.error("Unexpected error while processing transaction {}", transaction.getId(), cause);
+        try {
+            errorHandler.handleUnexpectedError(transaction, cause instanceof Exception exception ? exception
+                    : new TransactionExecutionException("Transaction " + transaction.getId() + " failed", cause));
+        } catch (RuntimeException e) {
+            log.error("Could not mark transaction {} as failed", transaction.getId(), e);
+        }
+    }
 
-            // Process the transaction
-            processor.processTransaction(transaction);
+    private void queueRefill() {
+        try {
+            taskExecutor.execute(this::refill);
+        } catch (TaskRejectedException e) {
+            refillQueued.set(false);
+            log.warn("Could not queue the claim of new transactions, the next scheduler run claims them");
+        }
+    }
+
+    private void refill() {
+        refillQueued.set(false);
+        try {
+            int claimed = processNewTransactions();
+            if (claimed > 0) {
+                log.debug("{} new transactions claimed as processing caught up", claimed);
+            }
+        } catch (RuntimeException e) {
+            // The next scheduler run claims them
+            log.error("Could not claim new transactions", e);
+        }
+    }
+
+    private void handleSafely(Transaction transaction, Runnable step) {
+        try {
+            step.run();
         } catch (TransactionValidationException e) {
             errorHandler.handleValidationError(transaction, e);
         } catch (TransactionAccountConflictException e) {
@@ -3,15 +3,19 @@ package info.mackiewicz.bankapp.system.transaction.processing.core;
 import info.mackiewicz.bankapp.core.account.exception.AccountLockException;
 import info.mackiewicz.bankapp.core.account.exception.AccountUnlockException;
 import info.mackiewicz.bankapp.core.account.exception.AccountValidationException;
-import info.mackiewicz.bankapp.core.account.service.AccountService;
 import info.mackiewicz.bankapp.core.transaction.exception.InsufficientFundsException;
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionAlreadyProcessedException;
 import info.mackiewicz.bankapp.core.transaction.exception.TransactionBaseException;
 import info.mackiewicz.bankapp.core.transaction.exception.TransactionExecutionException;
 import info.mackiewicz.bankapp.core.transaction.exception.TransactionValidationException;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
 import info.mackiewicz.bankapp.shared.util.LoggingService;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournal;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceEngine;
 import info.mackiewicz.bankapp.system.transaction.processing.locking.AccountLockManager;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingStrategy;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutionService;
 import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutor;
 import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutorRegistry;
 import info.mackiewicz.bankapp.system.transaction.processing.error.TransactionErrorHandler;
@@ -20,20 +24,31 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service responsible for processing financial transactions with proper
  * locking and validation mechanisms.
+ * The legs of a transaction and its DONE status are committed together, see {@link TransactionExecutionService}.
+ * Completed transactions are appended to the {@link LedgerJournal}.
+ * When the {@link BalanceEngine} is enabled, transactions are executed by the engine instead, which orders the
+ * changes per account itself, so no account locks are taken. Neither are they when the caller runs transactions of
+ * the same account one at a time, see {@link #processExclusively(Transaction)}.
+ * The execution is run by the {@link LockingStrategy}, which retries it on concurrent changes in the optimistic mode.
  */
 @RequiredArgsConstructor
 @Service
 public class TransactionProcessor {
 
-    private final AccountService accountService;
+    private final TransactionExecutionService executionService;
     private final AccountLockManager accountLockManager;
     private final TransactionErrorHandler errorHandler;
     private final TransactionStatusManager statusManager;
     private final LoggingService loggingService;
     private final TransactionExecutorRegistry commandRegistry;
+    private final LedgerJournal ledgerJournal;
+    private final BalanceEngine balanceEngine;
+    private final LockingStrategy lockingStrategy;
 
     /**
      * Asynchronously processes a financial transaction with proper account locking
@@ -42,10 +57,15 @@ public class TransactionProcessor {
      * Errors are handled by the TransactionErrorHandler.
      * 
      * @param transaction transaction to process
+     * @return completed when the transaction has been processed, exceptionally if it failed
      */
     @Async
-    public void processTransaction(Transaction transaction) {
+    public CompletableFuture<Void> processTransaction(Transaction transaction) {
         loggingService.logTransactionAttempt(transaction);
+        if (balanceEngine.isEnabled()) {
+            executeWithoutLocks(transaction);
+            return CompletableFuture.completedFuture(null);
+        }
         try {
             acquireAccountLocks(transaction);
             try {
@@ -68,18 +88,51 @@ public class TransactionProcessor {
         } finally {
             releaseAccountLocks(transaction);
         }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Processes a transaction on the calling thread without account locks.
+     * The caller must guarantee that no other transaction of the same accounts runs meanwhile, as the
+     * {@link info.mackiewicz.bankapp.system.transaction.processing.lanes.TransactionLanes} do.
+     * Assumes the transaction has already passed validation.
+     * Errors are handled by the TransactionErrorHandler.
+     *
+     * @param transaction transaction to process
+     */
+    public void processExclusively(Transaction transaction) {
+        loggingService.logTransactionAttempt(transaction);
+        executeWithoutLocks(transaction);
+    }
+
+    private void executeWithoutLocks(Transaction transaction) {
+        try {
+            executeWithStatusUpdates(transaction);
+        } catch (TransactionBaseException e) {
+            throw e;
+        } catch (Exception e) {
+            errorHandler.handleUnexpectedError(transaction, e);
+            throw new TransactionExecutionException(
+                String.format("Unexpected error during transaction %d processing", transaction.getId()), e);
+        }
     }
 
     private void executeWithStatusUpdates(Transaction transaction) {
         updateTransactionStatus(transaction, TransactionStatus.PENDING);
         executeTransaction(transaction);
-        updateTransactionStatus(transaction, TransactionStatus.DONE);
+        if (!balanceEngine.isEnabled()) {
+            // Still holding the account locks or lanes, so the journal keeps the order of changes per account
+            ledgerJournal.append(transaction);
+        }
         loggingService.logSuccessfulTransaction(transaction);
     }
 
     private void updateTransactionStatus(Transaction transaction, TransactionStatus status) {
         try {
             statusManager.setTransactionStatus(transaction, status);
+        } catch (TransactionAlreadyProcessedException e) {
+            // The lease expired and the transaction was re-queued, it is left to the worker that claimed it
+            throw e;
         } catch (Exception e) {
             errorHandler.handleTransactionStatusChangeError(transaction, e);
             throw new TransactionExecutionException("Error while changing transaction status", e);
@@ -91,14 +144,28 @@ public class TransactionProcessor {
             // Get command based on transaction type
             TransactionExecutor command = commandRegistry.getCommand(transaction.getType());
 
-            // Execute the transaction using the appropriate command
-            command.execute(transaction, accountService);
+            if (balanceEngine.isEnabled()) {
+                // Acknowledged once journaled by the engine, completed in the database by its next flush, which
+                // the renewed lease must outlast so the transaction is not re-queued meanwhile
+                statusManager.renewLease(transaction);
+                balanceEngine.execute(transaction, command);
+            } else {
+                // Execute the transaction using the appropriate command and complete it atomically
+                lockingStrategy.execute(() -> executionService.executeAndComplete(transaction, command));
+            }
+        } catch (TransactionAlreadyProcessedException e) {
+            // Re-queued while executing and completed by another worker; the legs of this execution were rolled back
+            throw e;
         } catch (AccountValidationException e) {
             errorHandler.handleValidationError(transaction, e);
             throw new TransactionValidationException("Validation error for transaction " + transaction.getId(), e);
         } catch (InsufficientFundsException e) {
             errorHandler.handleInsufficientFundsError(transaction, e);
             throw e;
+        } catch (AccountLockException e) {
+            // Optimistic mode: the accounts kept being changed concurrently
+            errorHandler.handleLockError(transaction, e);
+            throw new TransactionExecutionException("Concurrent account changes for transaction " + transaction.getId(), e);
         } catch (Exception e) {
             errorHandler.handleUnexpectedError(transaction, e);
             throw new TransactionExecutionException("Unexpected error during transaction processing", e);
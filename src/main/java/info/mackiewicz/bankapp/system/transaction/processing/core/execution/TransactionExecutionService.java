@@ -0,0 +1,42 @@
+package info.mackiewicz.bankapp.system.transaction.processing.core.execution;
+
+import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.ledger.service.LedgerService;
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionAlreadyProcessedException;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.system.transaction.processing.helpers.TransactionStatusManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies the legs of a transaction, books its postings and marks it as DONE in one database transaction.
+ * <p>
+ * Either all legs are committed together with the postings and the DONE status, or none of them is. A transaction that stays
+ * PENDING, e.g. because the instance crashed during execution, therefore has no applied legs and can safely be
+ * executed again, see {@code TransactionClaimService#requeueAbandonedTransactions()}.
+ */
+@RequiredArgsConstructor
+@Service
+public class TransactionExecutionService {
+
+    private final AccountService accountService;
+    private final TransactionStatusManager statusManager;
+    private final LedgerService ledgerService;
+
+    /**
+     * Executes a PENDING transaction, books it in the ledger and completes it.
+     *
+     * @param transaction the transaction to execute, must be PENDING
+     * @param executor    the command for the type of the transaction
+     * @throws TransactionAlreadyProcessedException if the transaction was completed by another execution,
+     *                                              the legs of this execution are rolled back
+     */
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public void executeAndComplete(Transaction transaction, TransactionExecutor executor) {
+        executor.execute(transaction, accountService);
+        ledgerService.post(transaction);
+        statusManager.completeTransaction(transaction);
+    }
+}
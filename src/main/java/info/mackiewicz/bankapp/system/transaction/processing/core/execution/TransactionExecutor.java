@@ -1,6 +1,6 @@
 package info.mackiewicz.bankapp.system.transaction.processing.core.execution;
 
-import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceOperations;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
 
@@ -13,9 +13,9 @@ public interface TransactionExecutor {
      * Executes a financial transaction.
      *
      * @param transaction transaction to execute
-     * @param accountService service for account operations
+     * @param accountService balance operations, backed by the database or by the balance engine
      */
-    void execute(Transaction transaction, AccountService accountService);
+    void execute(Transaction transaction, AccountBalanceOperations accountService);
     
     /**
      * Returns the transaction type supported by this command.
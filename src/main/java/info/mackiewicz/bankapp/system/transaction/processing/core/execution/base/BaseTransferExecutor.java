@@ -1,6 +1,6 @@
 package info.mackiewicz.bankapp.system.transaction.processing.core.execution.base;
 
-import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceOperations;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutor;
 
@@ -10,7 +10,7 @@ import info.mackiewicz.bankapp.system.transaction.processing.core.execution.Tran
  */
 public abstract class BaseTransferExecutor implements TransactionExecutor {
     @Override
-    public void execute(Transaction transaction, AccountService accountService) {
+    public void execute(Transaction transaction, AccountBalanceOperations accountService) {
         accountService.withdraw(transaction.getSourceAccount(), transaction.getAmount());
         accountService.deposit(transaction.getDestinationAccount(), transaction.getAmount());
     }
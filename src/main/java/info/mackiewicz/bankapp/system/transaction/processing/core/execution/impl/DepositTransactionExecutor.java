@@ -1,6 +1,6 @@
 package info.mackiewicz.bankapp.system.transaction.processing.core.execution.impl;
 
-import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceOperations;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
 import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutor;
@@ -13,7 +13,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class DepositTransactionExecutor implements TransactionExecutor {
     @Override
-    public void execute(Transaction transaction, AccountService accountService) {
+    public void execute(Transaction transaction, AccountBalanceOperations accountService) {
         accountService.deposit(transaction.getDestinationAccount(), transaction.getAmount());
     }
     
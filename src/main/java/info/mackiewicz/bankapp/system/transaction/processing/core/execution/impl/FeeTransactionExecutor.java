@@ -1,7 +1,7 @@
 package info.mackiewicz.bankapp.system.transaction.processing.core.execution.impl;
 
 import info.mackiewicz.bankapp.core.account.model.Account;
-import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceOperations;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
 import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutor;
@@ -18,7 +18,7 @@ public class FeeTransactionExecutor implements TransactionExecutor {
     private static final Integer BANK_ACCOUNT_ID = -1;
 
     @Override
-    public void execute(Transaction transaction, AccountService accountService) {
+    public void execute(Transaction transaction, AccountBalanceOperations accountService) {
         Account sourceAccount = transaction.getSourceAccount();
         BigDecimal amount = transaction.getAmount();
 
@@ -0,0 +1,389 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import info.mackiewicz.bankapp.core.account.exception.AccountValidationException;
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.account.service.HotAccountConfig;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceOperations;
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import info.mackiewicz.bankapp.core.ledger.service.LedgerService;
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionAlreadyProcessedException;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournal;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournalConfig;
+import info.mackiewicz.bankapp.system.ledger.LedgerRecord;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutor;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceShard.ShardBalances;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Executes transactions against balances held in memory and writes them to the database behind.
+ * <p>
+ * Instead of locking two account rows and committing a serializable database transaction per transfer, the legs
+ * of a transaction are applied by the single-writer {@link BalanceShards} and written to a journal of its own.
+ * A transaction is acknowledged once its records are forced to disk, the journal being the write-ahead log of the
+ * engine. {@link #flush()} periodically writes the changed balances, the DONE status and the postings of the
+ * executed transactions to the database in one transaction, so a flush costs a few batched statements however many
+ * transfers it covers. The journal segments holding only flushed records are deleted afterwards.
+ * <p>
+ * On startup the journal is replayed: the last balance of every journaled account is written to the database and
+ * the fully journaled transactions still PENDING there are completed. Partially journaled transactions were never
+ * acknowledged; their legs are reversed and they stay PENDING, to be re-queued. So are the legs of journaled
+ * transactions that failed or were re-queued since. The journal is truncated afterwards.
+ * <p>
+ * The engine owns the balances while it is enabled: it requires a single instance of the application, the
+ * hot-account mode to be disabled, and no balance changes outside of transactions. Balances and statuses read from
+ * the database lag behind by up to one flush interval.
+ *
+ * @see BalanceEngineConfig
+ */
+@Slf4j
+@Service
+public class BalanceEngine {
+
+    private final BalanceEngineConfig config;
+    private final LedgerJournalConfig journalConfig;
+    private final HotAccountConfig hotAccountConfig;
+    private final HotAccountJournalService hotAccountJournalService;
+    private final AccountService accountService;
+    private final TransactionRepository transactionRepository;
+    private final LedgerService ledgerService;
+    private final BalanceWriteBehindRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Queue<CompletedTransaction> completed = new ConcurrentLinkedQueue<>();
+    // Transactions not flushed yet, with the journal sequence number before their first record
+    private final Map<Integer, Long> executing = new ConcurrentHashMap<>();
+    private LedgerJournal journal;
+    private BalanceShards shards;
+
+    public BalanceEngine(BalanceEngineConfig config,
+                         LedgerJournalConfig journalConfig,
+                         HotAccountConfig hotAccountConfig,
+                         HotAccountJournalService hotAccountJournalService,
+                         AccountService accountService,
+                         TransactionRepository transactionRepository,
+                         LedgerService ledgerService,
+                         BalanceWriteBehindRepository repository,
+                         PlatformTransactionManager transactionManager) {
+        this.config = config;
+        this.journalConfig = journalConfig;
+        this.hotAccountConfig = hotAccountConfig;
+        this.hotAccountJournalService = hotAccountJournalService;
+        this.accountService = accountService;
+        this.transactionRepository = transactionRepository;
+        this.ledgerService = ledgerService;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return true if transactions are executed by the engine
+     */
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * Opens the journal, recovers the state it holds and starts the shards.
+     *
+     * @throws IllegalStateException if the hot-account mode is enabled as well
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!config.enabled()) {
+            return;
+        }
+        if (hotAccountConfig.enabled()) {
+            throw new IllegalStateException("The balance engine cannot be enabled together with the hot-account mode");
+        }
+        journal = new LedgerJournal(new LedgerJournalConfig(true, config.journalDirectory(),
+                journalConfig.segmentSize()), hotAccountJournalService);
+        journal.open();
+        recover();
+        shards = new BalanceShards(config.shards(), journal);
+        log.info("Balance engine started with {} shards", config.shards());
+    }
+
+    /**
+     * Executes a PENDING transaction and returns once its legs are durable in the journal. The transaction is
+     * marked as DONE in memory; the database is updated by the next flush.
+     *
+     * @param transaction the transaction to execute, must be PENDING
+     * @param executor    the command for the type of the transaction
+     * @throws TransactionAlreadyProcessedException if the transaction is already being executed by the engine
+     */
+    public void execute(Transaction transaction, TransactionExecutor executor) {
+        if (shards == null) {
+            throw new IllegalStateException("The balance engine is not running");
+        }
+        if (executing.putIfAbsent(transaction.getId(), journal.sequence()) != null) {
+            throw new TransactionAlreadyProcessedException("Transaction " + transaction.getId()
+                    + " is already executed by the balance engine");
+        }
+        try {
+            LegRecorder legs = new LegRecorder();
+            executor.execute(transaction, legs);
+            shards.applyDurably(transaction.getId(), legs.legs);
+        } catch (RuntimeException e) {
+            executing.remove(transaction.getId());
+            throw e;
+        }
+        transaction.setStatus(TransactionStatus.DONE);
+        completed.add(new CompletedTransaction(transaction, LocalDateTime.now()));
+    }
+
+    /**
+     * Writes the changed balances and the executed transactions to the database.
+     *
+     * @return the number of transactions completed in the database
+     */
+    public int flush() {
+        if (shards == null) {
+            return 0;
+        }
+        long obsolete = obsoleteSequence();
+        int flushed = 0;
+        List<CompletedTransaction> batch;
+        do {
+            // Transactions first: their legs are marked dirty before they are queued
+            batch = drainCompleted();
+            ShardBalances balances = shards.drainDirty();
+            if (batch.isEmpty() && balances.balances().isEmpty()) {
+                break;
+            }
+            try {
+                journal.force(balances.sequence());
+                flushed += writeBehind(batch, balances.balances());
+            } catch (RuntimeException e) {
+                completed.addAll(batch);
+                shards.markDirty(balances.balances().keySet());
+                throw e;
+            }
+            batch.forEach(entry -> executing.remove(entry.transaction().getId()));
+        } while (batch.size() == config.flushBatchSize());
+        if (flushed > 0) {
+            log.debug("Balance engine flushed {} transactions", flushed);
+        }
+        deleteObsoleteSegments(obsolete);
+        return flushed;
+    }
+
+    /**
+     * Writes the executed transactions to the database and stops the shards.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (shards == null) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Could not flush the balance engine on shutdown, the journal will be recovered on startup", e);
+        }
+        shards.stop();
+        shards = null;
+        journal.close();
+    }
+
+    /**
+     * Records up to the returned sequence number belong to transactions that were flushed or failed before, so
+     * their balances are in the database after the next successful flush.
+     */
+    private long obsoleteSequence() {
+        // Read before the executing transactions, which only write records after it
+        long sequence = journal.sequence();
+        for (long started : executing.values()) {
+            sequence = Math.min(sequence, started);
+        }
+        return sequence;
+    }
+
+    private void deleteObsoleteSegments(long sequence) {
+        try {
+            journal.deleteSegmentsUpTo(sequence);
+        } catch (IOException e) {
+            log.warn("Could not delete the flushed balance engine journal segments", e);
+        }
+    }
+
+    private List<CompletedTransaction> drainCompleted() {
+        List<CompletedTransaction> batch = new ArrayList<>();
+        CompletedTransaction entry;
+        while (batch.size() < config.flushBatchSize() && (entry = completed.poll()) != null) {
+            batch.add(entry);
+        }
+        return batch;
+    }
+
+    private int writeBehind(List<CompletedTransaction> batch, Map<Integer, Long> balances) {
+        Integer written = transactionTemplate.execute(status -> {
+            repository.updateBalances(balances);
+            return complete(batch.stream().map(CompletedTransaction::transaction).toList(),
+                    batch.stream().map(CompletedTransaction::completedAt).toList());
+        });
+        return written == null ? 0 : written;
+    }
+
+    private int complete(List<Transaction> transactions, List<LocalDateTime> completedAt) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        int[] updated = repository.completeTransactions(transactions.stream().map(Transaction::getId).toList());
+        List<Posting> postings = new ArrayList<>(transactions.size() * 2);
+        int completedCount = 0;
+        for (int i = 0; i < transactions.size(); i++) {
+            if (updated[i] == 0) {
+                log.error("Transaction {} executed by the balance engine is not PENDING anymore",
+                        transactions.get(i).getId());
+                continue;
+            }
+            postings.addAll(LedgerService.postingsOf(transactions.get(i), completedAt.get(i)));
+            completedCount++;
+        }
+        ledgerService.post(postings);
+        return completedCount;
+    }
+
+    private void recover() throws IOException {
+        Set<Integer> pending = repository.findPendingTransactionIds();
+        Map<Integer, Long> balances = new HashMap<>();
+        Map<Integer, List<LedgerRecord>> pendingLegs = new HashMap<>();
+        Set<Integer> settled = new HashSet<>();
+        journal.reader().forEach(record -> {
+            balances.put(record.accountId(), record.balance());
+            if (pending.contains((int) record.transactionId())) {
+                pendingLegs.computeIfAbsent((int) record.transactionId(), id -> new ArrayList<>()).add(record);
+            } else {
+                settled.add((int) record.transactionId());
+            }
+        });
+        if (balances.isEmpty()) {
+            return;
+        }
+        reverseUncompleted(settled, balances);
+
+        List<Transaction> recovered = new ArrayList<>();
+        List<LocalDateTime> completedAt = new ArrayList<>();
+        for (Transaction transaction : transactionRepository.findAllById(pendingLegs.keySet())) {
+            List<LedgerRecord> legs = pendingLegs.get(transaction.getId());
+            if (isCompensated(legs)) {
+                // Compensated after a failed leg
+                continue;
+            }
+            if (legs.size() < expectedLegs(transaction)) {
+                // Never acknowledged, the transaction is re-queued
+                legs.forEach(leg -> balances.merge(leg.accountId(), -leg.delta(), Math::addExact));
+                continue;
+            }
+            recovered.add(transaction);
+            completedAt.add(LocalDateTime.ofInstant(Instant.ofEpochMilli(legs.getLast().timestamp()),
+                    ZoneId.systemDefault()));
+        }
+
+        Integer completedCount = transactionTemplate.execute(status -> {
+            repository.updateBalances(balances);
+            return complete(recovered, completedAt);
+        });
+        journal.truncate();
+        log.info("Balance engine recovered {} account balances and completed {} transactions from its journal",
+                balances.size(), completedCount);
+    }
+
+    /**
+     * Reverses the legs of journaled transactions that are not PENDING and yet did not complete, e.g. because they
+     * failed while their compensation was not forced to disk. The last journaled balances include those legs.
+     */
+    private void reverseUncompleted(Set<Integer> journaled, Map<Integer, Long> balances) {
+        if (journaled.isEmpty()) {
+            return;
+        }
+        Set<Integer> uncompleted = repository.findUncompletedTransactionIds(Collections.min(journaled));
+        uncompleted.retainAll(journaled);
+        if (uncompleted.isEmpty()) {
+            return;
+        }
+        journal.reader().forEach(record -> {
+            if (uncompleted.contains((int) record.transactionId())) {
+                balances.merge(record.accountId(), -record.delta(), Math::addExact);
+            }
+        });
+        log.warn("Balance engine reversed the journaled legs of {} transactions that did not complete",
+                uncompleted.size());
+    }
+
+    /**
+     * A compensation reverses every applied leg on its own account, while the legs of a completed transfer only net
+     * to zero across both accounts.
+     */
+    private static boolean isCompensated(List<LedgerRecord> legs) {
+        Map<Integer, Long> deltas = new HashMap<>();
+        legs.forEach(leg -> deltas.merge(leg.accountId(), leg.delta(), Math::addExact));
+        return deltas.values().stream().allMatch(delta -> delta == 0);
+    }
+
+    private static int expectedLegs(Transaction transaction) {
+        return (transaction.getSourceAccount() == null ? 0 : 1)
+                + (transaction.getDestinationAccount() == null ? 0 : 1);
+    }
+
+    private record CompletedTransaction(Transaction transaction, LocalDateTime completedAt) {
+    }
+
+    /**
+     * Collects the legs of a transaction instead of applying them.
+     */
+    private final class LegRecorder implements AccountBalanceOperations {
+
+        private final List<BalanceLeg> legs = new ArrayList<>(2);
+
+        @Override
+        public Account getAccountById(int id) {
+            return accountService.getAccountById(id);
+        }
+
+        @Override
+        public Account deposit(Account account, BigDecimal amount) {
+            legs.add(new BalanceLeg(account, toPositiveMinorUnits(amount)));
+            return account;
+        }
+
+        @Override
+        public Account withdraw(Account account, BigDecimal amount) {
+            legs.add(new BalanceLeg(account, -toPositiveMinorUnits(amount)));
+            return account;
+        }
+
+        private static long toPositiveMinorUnits(BigDecimal amount) {
+            if (amount == null || amount.signum() <= 0) {
+                throw new AccountValidationException("Amount must be positive");
+            }
+            return LedgerRecord.toMinorUnits(amount);
+        }
+    }
+}
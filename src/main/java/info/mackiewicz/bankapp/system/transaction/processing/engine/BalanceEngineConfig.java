@@ -0,0 +1,29 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the in-memory balance engine.
+ *
+ * @param enabled          whether transactions are executed by the balance engine instead of the database
+ * @param shards           number of single-writer threads the accounts are split between
+ * @param journalDirectory directory of the write-ahead journal of the engine, one per instance of the application
+ * @param flushBatchSize   maximum number of completed transactions written to the database in one transaction
+ */
+@ConfigurationProperties(prefix = "bankapp.transaction.balance-engine")
+public record BalanceEngineConfig(boolean enabled,
+        int shards,
+        String journalDirectory,
+        int flushBatchSize) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public BalanceEngineConfig {
+        if (shards <= 0)
+            shards = Runtime.getRuntime().availableProcessors();
+        if (journalDirectory == null || journalDirectory.isBlank())
+            journalDirectory = "ledger-engine";
+        if (flushBatchSize <= 0)
+            flushBatchSize = 1000;
+    }
+}
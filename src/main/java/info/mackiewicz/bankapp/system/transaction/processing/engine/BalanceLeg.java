@@ -0,0 +1,16 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+
+/**
+ * Balance change of one account by a transaction.
+ *
+ * @param account the account, with its balance as last read from the database
+ * @param delta   signed change in minor units, negative for debits
+ */
+record BalanceLeg(Account account, long delta) {
+
+    boolean isDebit() {
+        return delta < 0;
+    }
+}
@@ -0,0 +1,167 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import info.mackiewicz.bankapp.core.transaction.exception.InsufficientFundsException;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournal;
+import info.mackiewicz.bankapp.system.ledger.LedgerRecord;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Single thread owning the balances of a subset of the accounts.
+ * <p>
+ * Operations are queued and run one after another on the shard thread, which is the only thread reading or
+ * writing the balances of the shard, so checking the funds and changing a balance needs no lock. Every change is
+ * written to the journal on the shard thread as well, which keeps the order of the changes per account. Queueing
+ * is lock-free: producers offer to a concurrent queue and unpark the thread, which parks while the queue is empty.
+ */
+final class BalanceShard implements Runnable {
+
+    private final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+    private final BalanceTable balances = new BalanceTable();
+    private final LedgerJournal journal;
+    private final Set<Integer> dirty;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Confined to the shard thread
+    private long lastSequence;
+
+    /**
+     * @param index   the index of the shard, used in the name of its thread
+     * @param journal the journal the changes are written to
+     * @param dirty   the IDs of the accounts changed since they were last written to the database
+     */
+    BalanceShard(int index, LedgerJournal journal, Set<Integer> dirty) {
+        this.journal = journal;
+        this.dirty = dirty;
+        this.thread = Thread.ofPlatform().name("balance-shard-" + index).daemon().unstarted(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Changes the balance of an account and writes the change to the journal, without forcing it to disk.
+     * An account not loaded yet starts from the balance of the given entity.
+     *
+     * @param transactionId the ID of the transaction changing the balance
+     * @param leg           the change
+     * @param checkFunds    whether a debit must be covered by the balance, compensations skip the check
+     * @return the journal sequence of the change, completed exceptionally with {@link InsufficientFundsException}
+     * if the balance does not cover the debit
+     */
+    CompletableFuture<Long> apply(long transactionId, BalanceLeg leg, boolean checkFunds) {
+        return submit(() -> {
+            int accountId = leg.account().getId();
+            long balance = balances.get(accountId);
+            if (balance == BalanceTable.MISSING) {
+                balance = LedgerRecord.toMinorUnits(leg.account().getBalance());
+            }
+            long updated = Math.addExact(balance, leg.delta());
+            if (checkFunds && leg.isDebit() && updated < 0) {
+                throw new InsufficientFundsException("Insufficient funds for withdrawal");
+            }
+            lastSequence = journal.write(List.of(new LedgerRecord(transactionId, accountId, leg.delta(), updated,
+                    System.currentTimeMillis())));
+            balances.put(accountId, updated);
+            dirty.add(accountId);
+            return lastSequence;
+        });
+    }
+
+    /**
+     * Reads the balances of loaded accounts.
+     *
+     * @param accountIds the IDs of accounts of this shard
+     * @return the balances in minor units and the journal sequence of the last change of this shard
+     */
+    CompletableFuture<ShardBalances> read(List<Integer> accountIds) {
+        return submit(() -> {
+            Map<Integer, Long> read = new HashMap<>(accountIds.size() * 2);
+            for (Integer accountId : accountIds) {
+                long balance = balances.get(accountId);
+                if (balance != BalanceTable.MISSING) {
+                    read.put(accountId, balance);
+                }
+            }
+            return new ShardBalances(read, lastSequence);
+        });
+    }
+
+    /**
+     * Stops the thread once the queued operations have run. Operations queued afterwards fail.
+     */
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+        rejectQueued();
+    }
+
+    @Override
+    public void run() {
+        while (running || !queue.isEmpty()) {
+            Task<?> task = queue.poll();
+            if (task == null) {
+                LockSupport.park(this);
+            } else {
+                task.run();
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        Task<T> task = new Task<>(operation);
+        queue.offer(task);
+        if (running) {
+            LockSupport.unpark(thread);
+        } else {
+            rejectQueued();
+        }
+        return task.result;
+    }
+
+    private void rejectQueued() {
+        Task<?> task;
+        while ((task = queue.poll()) != null) {
+            task.result.completeExceptionally(new IllegalStateException(thread.getName() + " is stopped"));
+        }
+    }
+
+    /**
+     * Balances read from a shard.
+     *
+     * @param balances balance per account ID in minor units
+     * @param sequence journal sequence covering all changes of the read balances
+     */
+    record ShardBalances(Map<Integer, Long> balances, long sequence) {
+    }
+
+    private static final class Task<T> implements Runnable {
+
+        private final Supplier<T> operation;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Task(Supplier<T> operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result.complete(operation.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import info.mackiewicz.bankapp.system.ledger.LedgerJournal;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceShard.ShardBalances;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accounts split between single-writer {@link BalanceShard}s by account ID.
+ * <p>
+ * The legs of a transaction are applied one after another, debits first, so a transaction whose source lacks
+ * funds changes nothing. A leg failing after a debit was applied, e.g. because the journal cannot be written, is
+ * compensated by reversing the legs already applied. The reversal is journaled and forced as well, so replaying the
+ * journal nets every account of the transaction to zero.
+ * So are all legs of a transaction whose records cannot be forced to disk, as it is not acknowledged.
+ */
+@Slf4j
+final class BalanceShards {
+
+    private final BalanceShard[] shards;
+    private final LedgerJournal journal;
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates and starts the shards.
+     *
+     * @param count   the number of shards
+     * @param journal the journal the changes are written to
+     */
+    BalanceShards(int count, LedgerJournal journal) {
+        this.journal = journal;
+        this.shards = new BalanceShard[count];
+        for (int index = 0; index < count; index++) {
+            shards[index] = new BalanceShard(index, journal, dirty);
+            shards[index].start();
+        }
+    }
+
+    /**
+     * Applies the legs of a transaction and writes them to the journal, without forcing them to disk.
+     *
+     * @param transactionId the ID of the transaction
+     * @param legs          the balance changes of the transaction
+     * @return the journal sequence to force before the transaction is acknowledged
+     * @throws RuntimeException the failure of the first failing leg, e.g.
+     *                          {@link info.mackiewicz.bankapp.core.transaction.exception.InsufficientFundsException};
+     *                          the legs applied before are compensated
+     */
+    long apply(long transactionId, List<BalanceLeg> legs) {
+        List<BalanceLeg> ordered = new ArrayList<>(legs);
+        ordered.sort(Comparator.comparingLong(BalanceLeg::delta));
+        List<BalanceLeg> applied = new ArrayList<>(ordered.size());
+        long sequence = 0;
+        for (BalanceLeg leg : ordered) {
+            try {
+                sequence = Math.max(sequence, shardOf(leg.account().getId()).apply(transactionId, leg, true).join());
+            } catch (CompletionException e) {
+                compensate(transactionId, applied);
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            applied.add(leg);
+        }
+        return sequence;
+    }
+
+    /**
+     * Applies the legs of a transaction and forces them to disk, so the transaction can be acknowledged.
+     *
+     * @param transactionId the ID of the transaction
+     * @param legs          the balance changes of the transaction
+     * @throws RuntimeException the failure of the first failing leg, or of forcing the journal; the applied legs are
+     *                          compensated
+     */
+    void applyDurably(long transactionId, List<BalanceLeg> legs) {
+        long sequence = apply(transactionId, legs);
+        try {
+            journal.force(sequence);
+        } catch (RuntimeException e) {
+            // Flushed to the database otherwise, though the transaction fails
+            compensate(transactionId, legs);
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the accounts changed since the last call and reads their balances.
+     *
+     * @return the balances in minor units and the journal sequence covering their changes
+     */
+    ShardBalances drainDirty() {
+        Map<BalanceShard, List<Integer>> accountsPerShard = new HashMap<>();
+        Iterator<Integer> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            Integer accountId = iterator.next();
+            iterator.remove();
+            accountsPerShard.computeIfAbsent(shardOf(accountId), shard -> new ArrayList<>()).add(accountId);
+        }
+        List<CompletableFuture<ShardBalances>> reads = accountsPerShard.entrySet().stream()
+                .map(entry -> entry.getKey().read(entry.getValue()))
+                .toList();
+        Map<Integer, Long> balances = new HashMap<>();
+        long sequence = 0;
+        for (CompletableFuture<ShardBalances> read : reads) {
+            ShardBalances shardBalances = read.join();
+            balances.putAll(shardBalances.balances());
+            sequence = Math.max(sequence, shardBalances.sequence());
+        }
+        return new ShardBalances(balances, sequence);
+    }
+
+    /**
+     * Marks accounts as changed again, e.g. after their balances could not be written to the database.
+     *
+     * @param accountIds the IDs of the accounts
+     */
+    void markDirty(Collection<Integer> accountIds) {
+        dirty.addAll(accountIds);
+    }
+
+    /**
+     * Stops all shards once their queued operations have run.
+     */
+    void stop() throws InterruptedException {
+        for (BalanceShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    private void compensate(long transactionId, List<BalanceLeg> applied) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        try {
+            long sequence = 0;
+            for (BalanceLeg leg : applied.reversed()) {
+                BalanceLeg reversal = new BalanceLeg(leg.account(), -leg.delta());
+                sequence = Math.max(sequence,
+                        shardOf(leg.account().getId()).apply(transactionId, reversal, false).join());
+            }
+            journal.force(sequence);
+        } catch (RuntimeException e) {
+            log.error("Could not compensate the applied legs of transaction {}", transactionId, e);
+        }
+    }
+
+    private BalanceShard shardOf(int accountId) {
+        return shards[Math.floorMod(accountId, shards.length)];
+    }
+}
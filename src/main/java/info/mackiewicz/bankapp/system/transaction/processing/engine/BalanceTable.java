@@ -0,0 +1,99 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import java.util.Arrays;
+
+/**
+ * Balance per account in minor units, kept in open-addressing primitive arrays.
+ * <p>
+ * Looking up and updating a balance allocates nothing, which keeps the shard threads free of garbage on the hot
+ * path. Keys are stored as longs so an empty slot can be marked with a value no account ID can take. Not
+ * thread-safe: every table is owned by the thread of its shard.
+ */
+final class BalanceTable {
+
+    /**
+     * Returned by {@link #get(int)} for accounts not loaded into the table.
+     */
+    static final long MISSING = Long.MIN_VALUE;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 1024;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    BalanceTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * @param accountId the ID of the account
+     * @return the balance of the account in minor units, or {@link #MISSING} if it is not loaded
+     */
+    long get(int accountId) {
+        int mask = keys.length - 1;
+        int slot = hash(accountId) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == accountId) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Sets the balance of an account.
+     *
+     * @param accountId the ID of the account
+     * @param balance   the balance in minor units
+     */
+    void put(int accountId, long balance) {
+        int mask = keys.length - 1;
+        int slot = hash(accountId) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == accountId) {
+                values[slot] = balance;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = accountId;
+        values[slot] = balance;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * @return the number of loaded accounts
+     */
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                put((int) oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new long[capacity];
+        size = 0;
+    }
+
+    // Account IDs are sequential, spreading them keeps the probe sequences short
+    private static int hash(int accountId) {
+        int hash = accountId * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
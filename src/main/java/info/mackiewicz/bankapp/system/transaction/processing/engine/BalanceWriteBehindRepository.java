@@ -0,0 +1,88 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the state of the balance engine to the database with batched JDBC statements.
+ * <p>
+ * A flush sets the balances of all changed accounts and completes all executed transactions in two batches,
+ * however many transactions changed the accounts. Identifiers are quoted with the quote string of the database,
+ * matching the schema created with globally quoted identifiers.
+ */
+@Repository
+class BalanceWriteBehindRepository {
+
+    private static final String PENDING = TransactionStatus.PENDING.name();
+    private static final String DONE = TransactionStatus.DONE.name();
+    private static final int SCALE = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String updateBalanceSql;
+    private final String completeTransactionSql;
+    private final String pendingTransactionsSql;
+    private final String uncompletedTransactionsSql;
+
+    BalanceWriteBehindRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String quote = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getIdentifierQuoteString().trim());
+        this.updateBalanceSql = String.format(
+                "UPDATE %1$saccounts%1$s SET %1$sbalance%1$s = ?, %1$sversion%1$s = %1$sversion%1$s + 1 "
+                + "WHERE %1$sid%1$s = ?", quote);
+        this.completeTransactionSql = String.format("UPDATE %1$stransactions%1$s SET %1$sstatus%1$s = ? "
+                + "WHERE %1$sid%1$s = ? AND %1$sstatus%1$s = ?", quote);
+        this.pendingTransactionsSql = String.format(
+                "SELECT %1$sid%1$s FROM %1$stransactions%1$s WHERE %1$sstatus%1$s = ?", quote);
+        this.uncompletedTransactionsSql = String.format("SELECT %1$sid%1$s FROM %1$stransactions%1$s "
+                + "WHERE %1$sid%1$s >= ? AND %1$sstatus%1$s NOT IN (?, ?)", quote);
+    }
+
+    /**
+     * Sets the balances of accounts and increments their versions within the current transaction.
+     *
+     * @param balances balance per account ID in minor units
+     */
+    void updateBalances(Map<Integer, Long> balances) {
+        List<Object[]> rows = new ArrayList<>(balances.size());
+        balances.forEach((accountId, balance) -> rows.add(new Object[]{BigDecimal.valueOf(balance, SCALE), accountId}));
+        jdbcTemplate.batchUpdate(updateBalanceSql, rows);
+    }
+
+    /**
+     * Marks PENDING transactions as DONE within the current transaction.
+     *
+     * @param transactionIds the IDs of the transactions
+     * @return the number of updated rows per transaction, 0 if it was not PENDING anymore
+     */
+    int[] completeTransactions(List<Integer> transactionIds) {
+        List<Object[]> rows = new ArrayList<>(transactionIds.size());
+        transactionIds.forEach(id -> rows.add(new Object[]{DONE, id, PENDING}));
+        return jdbcTemplate.batchUpdate(completeTransactionSql, rows);
+    }
+
+    /**
+     * @return the IDs of all PENDING transactions
+     */
+    Set<Integer> findPendingTransactionIds() {
+        return new HashSet<>(jdbcTemplate.queryForList(pendingTransactionsSql, Integer.class, PENDING));
+    }
+
+    /**
+     * @param fromId the lowest transaction ID of interest
+     * @return the IDs of transactions from the given ID on that are neither PENDING nor DONE
+     */
+    Set<Integer> findUncompletedTransactionIds(int fromId) {
+        return new HashSet<>(jdbcTemplate.queryForList(uncompletedTransactionsSql, Integer.class,
+                fromId, PENDING, DONE));
+    }
+}
@@ -1,17 +1,23 @@
 package info.mackiewicz.bankapp.system.transaction.processing.helpers;
 
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionAlreadyProcessedException;
 import info.mackiewicz.bankapp.core.transaction.exception.TransactionNotFoundException;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
 import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.core.transaction.service.TransactionClaimConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 /**
  * Component responsible for managing transaction statuses in the database.
  * This class centralizes status update logic according to Single Responsibility Principle.
+ * The status of a leased transaction is only changed while this instance holds its lease, and marking it PENDING
+ * renews the lease. Transactions processed without a lease are updated unconditionally.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -19,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class TransactionStatusManager {
     
     private final TransactionRepository repository;
+    private final TransactionClaimConfig claimConfig;
     
     /**
      * Checks if a status transition is allowed based on the state machine rules.
@@ -40,6 +47,7 @@ public class TransactionStatusManager {
      * @throws TransactionNotFoundException if no transaction is found with the given ID
      * @throws IllegalArgumentException if transaction or status is null
      * @throws IllegalStateException if the status transition is not allowed
+     * @throws TransactionAlreadyProcessedException if a leased transaction is marked PENDING after losing its lease
      */
     @Transactional
     public void setTransactionStatus(Transaction transaction, TransactionStatus status) {
@@ -55,7 +63,75 @@ public class TransactionStatusManager {
         }
         
         log.debug("Setting transaction {} status to {}", transaction.getId(), status);
-        updateTransactionStatus(transaction, status);
+        if (transaction.getClaimedBy() == null) {
+            updateTransactionStatus(transaction, status);
+        } else if (status == TransactionStatus.PENDING) {
+            markLeasedPending(transaction);
+        } else {
+            updateLeasedTransactionStatus(transaction, status);
+        }
+    }
+
+    /**
+     * Renews the lease of a leased PENDING transaction, so it is not re-queued while being executed.
+     * Does nothing for a transaction processed without a lease.
+     *
+     * @param transaction the transaction being executed
+     * @throws TransactionAlreadyProcessedException if this instance no longer holds the lease of the transaction
+     */
+    @Transactional
+    public void renewLease(Transaction transaction) {
+        if (transaction.getClaimedBy() == null) {
+            return;
+        }
+        int id = transaction.getId();
+        LocalDateTime until = claimConfig.leaseEnd(LocalDateTime.now());
+        if (repository.renewLease(id, transaction.getClaimedBy(), until) == 0) {
+            log.warn("Lost the lease of transaction {}", id);
+            throw new TransactionAlreadyProcessedException("Transaction " + id + " is no longer leased");
+        }
+        transaction.setClaimedUntil(until);
+    }
+
+    /**
+     * Marks a PENDING transaction as DONE.
+     * Unlike {@link #setTransactionStatus}, the update only succeeds if the transaction is still PENDING in the
+     * database, so a transaction re-queued while being executed is completed by only one execution.
+     *
+     * @param transaction the transaction to complete
+     * @throws TransactionAlreadyProcessedException if the transaction is no longer PENDING
+     */
+    @Transactional
+    public void completeTransaction(Transaction transaction) {
+        int id = transaction.getId();
+        if (repository.completePendingTransaction(id) == 0) {
+            log.warn("Transaction {} is no longer PENDING and cannot be completed", id);
+            throw new TransactionAlreadyProcessedException("Transaction " + id + " is no longer pending");
+        }
+        transaction.setStatus(TransactionStatus.DONE);
+        log.debug("Transaction {} completed", id);
+    }
+
+    private void markLeasedPending(Transaction transaction) {
+        int id = transaction.getId();
+        LocalDateTime until = claimConfig.leaseEnd(LocalDateTime.now());
+        if (repository.markLeasedPending(id, transaction.getClaimedBy(), until) == 0) {
+            log.warn("Transaction {} is no longer NEW and leased by {}", id, transaction.getClaimedBy());
+            throw new TransactionAlreadyProcessedException("Transaction " + id + " is no longer leased");
+        }
+        transaction.setStatus(TransactionStatus.PENDING);
+        transaction.setClaimedUntil(until);
+    }
+
+    private void updateLeasedTransactionStatus(Transaction transaction, TransactionStatus status) {
+        int id = transaction.getId();
+        if (repository.failLeasedTransaction(id, status, transaction.getClaimedBy()) == 0) {
+            // Another worker took over after the lease expired, its outcome stands
+            log.warn("Transaction {} is no longer leased by {}, not setting status {}",
+                    id, transaction.getClaimedBy(), status);
+            return;
+        }
+        transaction.setStatus(status);
     }
 
     /**
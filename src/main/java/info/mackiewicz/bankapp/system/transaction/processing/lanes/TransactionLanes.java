@@ -0,0 +1,129 @@
+package info.mackiewicz.bankapp.system.transaction.processing.lanes;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded lanes that transactions are routed to by account ID.
+ * <p>
+ * Every account belongs to exactly one lane, and a lane runs one transaction at a time, so two transactions of the
+ * same account never run concurrently and need no account locks. A transaction whose accounts share a lane runs on
+ * that lane. A transfer between accounts of two lanes is handed off: it is queued on the lower lane, which, when the
+ * transfer's turn comes, queues it on the higher lane and waits until it has run there. Both lanes are then
+ * reserved for the transfer. A lane only ever waits for a higher one, so the handoffs cannot deadlock.
+ * <p>
+ * Credits of hot accounts are not routed, their balance changes are journaled, see {@link HotAccountJournalService}.
+ * Debits of hot accounts check the balance first, so they all run on the lowest lane, which never waits for a
+ * lower one either.
+ *
+ * @see TransactionLanesConfig
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionLanes {
+
+    private static final int NONE = -1;
+    private static final int HOT_DEBIT_LANE = 0;
+
+    private final TransactionLanesConfig config;
+    private final HotAccountJournalService hotAccountJournalService;
+
+    private ExecutorService[] lanes;
+
+    /**
+     * @return true if transactions are processed on the lanes
+     */
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.enabled()) {
+            return;
+        }
+        lanes = new ExecutorService[config.count()];
+        for (int index = 0; index < lanes.length; index++) {
+            lanes[index] = Executors.newSingleThreadExecutor(
+                    Thread.ofPlatform().name("TransactionLane-" + index).factory());
+        }
+        log.info("Started {} transaction lanes", lanes.length);
+    }
+
+    /**
+     * Runs a task on the lanes of the accounts of a transaction.
+     *
+     * @param transaction the transaction whose accounts decide the lanes
+     * @param task        the processing of the transaction
+     * @return completed when the task has run, exceptionally if it failed
+     */
+    public CompletableFuture<Void> submit(Transaction transaction, Runnable task) {
+        if (lanes == null) {
+            throw new IllegalStateException("Transaction lanes are not running");
+        }
+        int sourceLane = debitLaneOf(transaction.getSourceAccount());
+        int destinationLane = creditLaneOf(transaction.getDestinationAccount());
+        int lower = Math.min(sourceLane, destinationLane);
+        int higher = Math.max(sourceLane, destinationLane);
+        if (lower == NONE || lower == higher) {
+            // One lane, or only a hot account credit, which any lane may run
+            return CompletableFuture.runAsync(task, lanes[higher == NONE ? 0 : higher]);
+        }
+        log.debug("Handing off transaction {} from lane {} to lane {}", transaction.getId(), lower, higher);
+        return CompletableFuture.runAsync(() -> CompletableFuture.runAsync(task, lanes[higher]).join(), lanes[lower]);
+    }
+
+    /**
+     * Returns the lane of an account.
+     *
+     * @param accountId the ID of the account
+     * @return the index of the lane
+     */
+    public int laneOf(int accountId) {
+        return Math.floorMod(accountId, lanes.length);
+    }
+
+    /**
+     * Lets the lanes finish the queued transactions and stops them.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (lanes == null) {
+            return;
+        }
+        // Lanes hand off to higher lanes only, so each lane is drained while the higher ones still accept handoffs
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+            if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Transaction lane did not finish its queued transactions in time");
+            }
+        }
+        lanes = null;
+    }
+
+    private int debitLaneOf(Account account) {
+        if (account != null && hotAccountJournalService.isJournaled(account)) {
+            return HOT_DEBIT_LANE;
+        }
+        return creditLaneOf(account);
+    }
+
+    private int creditLaneOf(Account account) {
+        if (account == null || hotAccountJournalService.isJournaled(account)) {
+            return NONE;
+        }
+        return laneOf(account.getId());
+    }
+}
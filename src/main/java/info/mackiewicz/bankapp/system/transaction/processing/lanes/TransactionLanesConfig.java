@@ -0,0 +1,21 @@
+package info.mackiewicz.bankapp.system.transaction.processing.lanes;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the account-sharded transaction lanes.
+ *
+ * @param enabled whether transactions are processed on the lanes of their accounts instead of the async executor
+ * @param count   number of single-threaded lanes, each holding a pooled connection while it runs a transaction
+ */
+@ConfigurationProperties(prefix = "bankapp.transaction.lanes")
+public record TransactionLanesConfig(boolean enabled,
+        int count) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public TransactionLanesConfig {
+        if (count <= 0)
+            count = Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -1,6 +1,7 @@
 package info.mackiewicz.bankapp.system.transaction.processing.locking;
 
 import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -11,6 +12,9 @@ import org.springframework.stereotype.Component;
  * This manager ensures that operations affecting multiple accounts are
  * performed atomically
  * by acquiring locks in a consistent order to avoid deadlocks.
+ * Hot accounts are never locked, their balance changes are journaled
+ * and applied later by {@link HotAccountJournalService}; debits of a hot
+ * account serialize on its database row instead.
  */
 @Component
 @Slf4j
@@ -18,6 +22,7 @@ import org.springframework.stereotype.Component;
 public class AccountLockManager {
 
     private final LockingStrategy lockingStrategy;
+    private final HotAccountJournalService hotAccountJournalService;
 
     /**
      * Acquires locks for the specified accounts in a deadlock-free manner.
@@ -77,11 +82,18 @@ public class AccountLockManager {
     }
 
     private void lock(Account account) {
+        if (hotAccountJournalService.isJournaled(account)) {
+            log.debug("Skipping lock for hot account ID: {}", account.getId());
+            return;
+        }
         log.debug("Acquiring lock for account ID: {}", account.getId());
         lockingStrategy.lock(account.getId());
     }
 
     private void unlock(Account account) {
+        if (hotAccountJournalService.isJournaled(account)) {
+            return;
+        }
         log.debug("Releasing lock for account ID: {}", account.getId());
         lockingStrategy.unlock(account.getId());
     }
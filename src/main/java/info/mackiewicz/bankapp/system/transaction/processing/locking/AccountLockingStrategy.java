@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.TimeUnit;
@@ -15,9 +16,11 @@ import java.util.concurrent.locks.ReentrantLock;
  * Implementation of resource locking strategy using exponential backoff.
  * Class responsible for low-level implementation of locking mechanism,
  * timeout handling and retry attempts.
+ * Used unless the optimistic {@link LockingMode} is configured.
  */
 @Slf4j
 @Component
+@ConditionalOnProperty(prefix = "app.locking", name = "mode", havingValue = "pessimistic", matchIfMissing = true)
 @RequiredArgsConstructor
 public class AccountLockingStrategy implements LockingStrategy {
 
@@ -6,7 +6,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public record LockingConfig(int maxAttempts,
         long baseDelay,
         long maxDelay,
-        long timeout) {
+        long timeout,
+        LockingMode mode) {
 
     // Default values for the properties
     // These values can be overridden in application.properties or application.yml
@@ -22,5 +23,7 @@ public record LockingConfig(int maxAttempts,
             maxDelay = baseDelay;
         if (timeout <= 0)
             timeout = 200;
+        if (mode == null)
+            mode = LockingMode.PESSIMISTIC;
     }
 }
@@ -0,0 +1,18 @@
+package info.mackiewicz.bankapp.system.transaction.processing.locking;
+
+/**
+ * Concurrency control of balance changes, selected per deployment with {@code app.locking.mode}.
+ */
+public enum LockingMode {
+
+    /**
+     * Accounts are locked in the JVM before their balances are changed, see {@link AccountLockingStrategy}.
+     */
+    PESSIMISTIC,
+
+    /**
+     * Balances are changed by conditional updates on their version and retried on conflicts,
+     * see {@link OptimisticLockingStrategy}.
+     */
+    OPTIMISTIC
+}
@@ -27,4 +27,15 @@ public interface LockingStrategy {
      */
     void unlock(Integer resourceId);
 
+    /**
+     * Runs an operation that changes the balances of the locked resources in one database transaction.
+     * Pessimistic strategies run it once; optimistic strategies run it again when it fails on a concurrent change.
+     *
+     * @param operation the operation to run
+     * @throws AccountLockException if the operation keeps failing on concurrent changes
+     */
+    default void execute(Runnable operation) {
+        operation.run();
+    }
+
 }
\ No newline at end of file
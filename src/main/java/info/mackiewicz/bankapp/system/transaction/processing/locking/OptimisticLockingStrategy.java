@@ -0,0 +1,107 @@
+package info.mackiewicz.bankapp.system.transaction.processing.locking;
+
+import info.mackiewicz.bankapp.core.account.exception.AccountLockException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of resource locking strategy using optimistic concurrency control.
+ * No locks are taken: balances are changed by conditional updates on the version of the account, and an operation
+ * that fails because another transaction changed an account first is rolled back and run again, after an exponential
+ * backoff with jitter. As the check is done by the database, it also orders changes made on different instances.
+ * The rows are updated in the order of the legs, not of the account IDs, so two opposite transfers can deadlock in
+ * the database; the losing one is retried the same way.
+ * Used when {@code app.locking.mode} is {@link LockingMode#OPTIMISTIC}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.locking", name = "mode", havingValue = "optimistic")
+@RequiredArgsConstructor
+public class OptimisticLockingStrategy implements LockingStrategy {
+
+    private final LockingConfig lockingConfig;
+
+    @Getter
+    private final AtomicInteger lockCounter = new AtomicInteger(0);
+
+    @Getter
+    private final AtomicInteger unlockCounter = new AtomicInteger(0);
+
+    @Getter
+    private final AtomicInteger conflictCounter = new AtomicInteger(0);
+
+    /**
+     * Takes no lock, conflicts are detected when the balances are written.
+     *
+     * @param resourceId ID of the resource
+     */
+    @Override
+    public void lock(Integer resourceId) {
+        lockCounter.incrementAndGet();
+    }
+
+    /**
+     * Releases nothing, see {@link #lock(Integer)}.
+     *
+     * @param resourceId ID of the resource
+     */
+    @Override
+    public void unlock(Integer resourceId) {
+        unlockCounter.incrementAndGet();
+    }
+
+    /**
+     * Runs an operation, running it again after a backoff while it fails on concurrent changes or loses a deadlock.
+     *
+     * @param operation the operation to run, rolled back when it fails
+     * @throws AccountLockException if the operation still fails after the maximum number of attempts
+     */
+    @Override
+    public void execute(Runnable operation) {
+        final long startTime = System.currentTimeMillis();
+        int attempts = 0;
+        while (true) {
+            try {
+                operation.run();
+                return;
+            } catch (ConcurrencyFailureException e) {
+                attempts++;
+                conflictCounter.incrementAndGet();
+                Integer accountId = accountIdOf(e);
+                if (attempts >= lockingConfig.maxAttempts()) {
+                    log.error("Account {} still changed concurrently after {} attempts", accountId, attempts);
+                    throw new AccountLockException("Concurrent changes persisted after maximum attempts",
+                            accountId, attempts, System.currentTimeMillis() - startTime, false);
+                }
+                log.debug("Account {} changed concurrently, retrying (attempt {})", accountId, attempts + 1);
+                handleBackoff(attempts, accountId, startTime);
+            }
+        }
+    }
+
+    private void handleBackoff(int attempts, Integer accountId, long startTime) {
+        try {
+            Thread.sleep(LockingUtils.calculateBackoffDelay(attempts, lockingConfig.maxDelay(),
+                    lockingConfig.baseDelay()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountLockException("Thread was interrupted while waiting to retry", accountId, attempts,
+                    System.currentTimeMillis() - startTime, true);
+        }
+    }
+
+    private static Integer accountIdOf(ConcurrencyFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException objectFailure
+                && objectFailure.getIdentifier() instanceof Integer accountId) {
+            return accountId;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,111 @@
+package info.mackiewicz.bankapp.system.transaction.processing.netting;
+
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.system.ledger.LedgerRecord;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nets the legs of a batch of transactions into one delta per account.
+ * <p>
+ * Transactions are added in batch order and applied to running balances. A transaction with a debit not covered by
+ * the running balance of its account is rejected and its legs are left out, exactly as if the transactions had been
+ * executed one after another. Accounts whose changes cancel out have no net delta.
+ */
+final class NettedBatch {
+
+    private final Map<Integer, Long> running;
+    private final Map<Integer, Long> deltas = new LinkedHashMap<>();
+    private final List<Transaction> accepted = new ArrayList<>();
+    private final List<Transaction> rejected = new ArrayList<>();
+    private final List<LedgerRecord> records = new ArrayList<>();
+    private final long timestamp;
+
+    /**
+     * @param balances  the stored balance per account ID in minor units, of all accounts of the batch
+     * @param timestamp the time of the ledger records, in epoch milliseconds
+     */
+    NettedBatch(Map<Integer, Long> balances, long timestamp) {
+        this.running = new HashMap<>(balances);
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Applies the legs of the next transaction of the batch to the running balances.
+     *
+     * @param transaction the transaction
+     * @param legs        its balance changes, in execution order
+     * @return true if the transaction is accepted, false if a debit is not covered
+     * @throws IllegalStateException if the balance of an account was not read
+     */
+    boolean add(Transaction transaction, List<Leg> legs) {
+        long[] balancesAfter = new long[legs.size()];
+        for (int i = 0; i < legs.size(); i++) {
+            Leg leg = legs.get(i);
+            Long balance = running.get(leg.accountId());
+            if (balance == null) {
+                throw new IllegalStateException("Balance of account " + leg.accountId() + " was not read");
+            }
+            if (leg.delta() < 0 && balance + leg.delta() < 0) {
+                for (int j = i - 1; j >= 0; j--) {
+                    running.merge(legs.get(j).accountId(), -legs.get(j).delta(), Math::addExact);
+                }
+                rejected.add(transaction);
+                return false;
+            }
+            balancesAfter[i] = Math.addExact(balance, leg.delta());
+            running.put(leg.accountId(), balancesAfter[i]);
+        }
+        for (int i = 0; i < legs.size(); i++) {
+            Leg leg = legs.get(i);
+            deltas.merge(leg.accountId(), leg.delta(), Math::addExact);
+            records.add(new LedgerRecord(transaction.getId(), leg.accountId(), leg.delta(), balancesAfter[i],
+                    timestamp));
+        }
+        accepted.add(transaction);
+        return true;
+    }
+
+    /**
+     * @return the non-zero net delta per account ID in minor units
+     */
+    Map<Integer, Long> netDeltas() {
+        Map<Integer, Long> nonZero = new LinkedHashMap<>(deltas);
+        nonZero.values().removeIf(delta -> delta == 0);
+        return nonZero;
+    }
+
+    /**
+     * @return the accepted transactions, in batch order
+     */
+    List<Transaction> accepted() {
+        return accepted;
+    }
+
+    /**
+     * @return the transactions rejected for insufficient funds, in batch order
+     */
+    List<Transaction> rejected() {
+        return rejected;
+    }
+
+    /**
+     * @return the ledger records of the accepted transactions, with the balance after each leg
+     */
+    List<LedgerRecord> records() {
+        return records;
+    }
+
+    /**
+     * Balance change of one account by a transaction.
+     *
+     * @param accountId the ID of the account
+     * @param delta     signed change in minor units, negative for debits
+     */
+    record Leg(int accountId, long delta) {
+    }
+}
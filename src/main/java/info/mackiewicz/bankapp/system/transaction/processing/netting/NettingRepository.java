@@ -0,0 +1,96 @@
+package info.mackiewicz.bankapp.system.transaction.processing.netting;
+
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.system.ledger.LedgerRecord;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and changes the balances of a netted batch with batched JDBC statements.
+ * <p>
+ * Balances are changed by their net delta rather than set, so a batch costs one statement per account with a
+ * non-zero net change, however many of its transactions touched the account. Every update is conditional on the
+ * version the balance was read at and increments it, like the optimistic locking mode does. Identifiers are quoted with the quote
+ * string of the database, matching the schema created with globally quoted identifiers.
+ */
+@Repository
+class NettingRepository {
+
+    private static final String NEW = TransactionStatus.NEW.name();
+    private static final String DONE = TransactionStatus.DONE.name();
+    private static final int SCALE = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String findBalancesSql;
+    private final String addToBalanceSql;
+    private final String completeTransactionSql;
+
+    NettingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String quote = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getIdentifierQuoteString().trim());
+        this.findBalancesSql = String.format("SELECT %1$sid%1$s, %1$sbalance%1$s, %1$sversion%1$s "
+                + "FROM %1$saccounts%1$s WHERE %1$sid%1$s IN (%%s)", quote);
+        this.addToBalanceSql = String.format("UPDATE %1$saccounts%1$s SET %1$sbalance%1$s = %1$sbalance%1$s + ?, "
+                + "%1$sversion%1$s = %1$sversion%1$s + 1 WHERE %1$sid%1$s = ? AND %1$sversion%1$s = ?", quote);
+        this.completeTransactionSql = String.format("UPDATE %1$stransactions%1$s SET %1$sstatus%1$s = ? "
+                + "WHERE %1$sid%1$s = ? AND %1$sstatus%1$s = ?", quote);
+    }
+
+    /**
+     * @param accountIds the IDs of the accounts
+     * @return the stored balances and their versions
+     */
+    StoredBalances findBalances(Collection<Integer> accountIds) {
+        StoredBalances stored = new StoredBalances(new HashMap<>(), new HashMap<>());
+        String sql = String.format(findBalancesSql, String.join(", ", Collections.nCopies(accountIds.size(), "?")));
+        jdbcTemplate.query(sql, resultSet -> {
+            stored.balances().put(resultSet.getInt(1), LedgerRecord.toMinorUnits(resultSet.getBigDecimal(2)));
+            stored.versions().put(resultSet.getInt(1), resultSet.getLong(3));
+        }, accountIds.toArray());
+        return stored;
+    }
+
+    /**
+     * Adds the net deltas to the balances of accounts within the current transaction, provided their versions are
+     * unchanged.
+     *
+     * @param deltas   net delta per account ID in minor units
+     * @param versions the version per account ID the balances were read at
+     * @return the number of updated rows per account, 0 if it was changed since it was read
+     */
+    int[] addToBalances(Map<Integer, Long> deltas, Map<Integer, Long> versions) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((accountId, delta) -> rows.add(
+                new Object[]{BigDecimal.valueOf(delta, SCALE), accountId, versions.get(accountId)}));
+        return jdbcTemplate.batchUpdate(addToBalanceSql, rows);
+    }
+
+    /**
+     * Marks NEW transactions as DONE within the current transaction.
+     *
+     * @param transactionIds the IDs of the transactions
+     * @return the number of updated rows per transaction, 0 if it was not NEW anymore
+     */
+    int[] completeTransactions(List<Integer> transactionIds) {
+        List<Object[]> rows = new ArrayList<>(transactionIds.size());
+        transactionIds.forEach(id -> rows.add(new Object[]{DONE, id, NEW}));
+        return jdbcTemplate.batchUpdate(completeTransactionSql, rows);
+    }
+
+    /**
+     * @param balances stored balance per account ID in minor units
+     * @param versions version of the balance per account ID
+     */
+    record StoredBalances(Map<Integer, Long> balances, Map<Integer, Long> versions) {
+    }
+}
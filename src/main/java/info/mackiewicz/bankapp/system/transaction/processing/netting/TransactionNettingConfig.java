@@ -0,0 +1,21 @@
+package info.mackiewicz.bankapp.system.transaction.processing.netting;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the netting of claimed transaction batches.
+ *
+ * @param enabled      whether the transactions of a claimed batch are netted into one balance update per account
+ * @param minBatchSize minimum number of nettable transactions in a batch, smaller batches are processed one by one
+ */
+@ConfigurationProperties(prefix = "bankapp.transaction.netting")
+public record TransactionNettingConfig(boolean enabled,
+        int minBatchSize) {
+
+    // Default values for the properties
+    // These values can be overridden in application.properties or application.yml
+    public TransactionNettingConfig {
+        if (minBatchSize <= 0)
+            minBatchSize = 2;
+    }
+}
@@ -0,0 +1,263 @@
+package info.mackiewicz.bankapp.system.transaction.processing.netting;
+
+import info.mackiewicz.bankapp.core.account.exception.AccountValidationException;
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceOperations;
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import info.mackiewicz.bankapp.core.ledger.service.LedgerService;
+import info.mackiewicz.bankapp.core.transaction.exception.InsufficientFundsException;
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionAlreadyProcessedException;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.shared.util.LoggingService;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournal;
+import info.mackiewicz.bankapp.system.ledger.LedgerRecord;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutorRegistry;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceEngineConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.error.TransactionErrorHandler;
+import info.mackiewicz.bankapp.system.transaction.processing.lanes.TransactionLanesConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingStrategy;
+import info.mackiewicz.bankapp.system.transaction.processing.netting.NettedBatch.Leg;
+import info.mackiewicz.bankapp.system.transaction.processing.netting.NettingRepository.StoredBalances;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Executes the transactions of a claimed batch with one balance update per account.
+ * <p>
+ * When a backlog is drained, many transfers move money back and forth between the same accounts. Instead of a
+ * withdrawal and a deposit under account locks and a commit per transaction, the legs of all transactions of the
+ * batch are netted by a {@link NettedBatch}: insufficient funds are checked in batch order against running balances,
+ * and every account with a non-zero net change is updated once. The accepted transactions are marked as DONE and
+ * booked in the ledger in the same serializable database transaction; the rejected ones fail individually with
+ * INSUFFICIENT_FUNDS afterwards.
+ * <p>
+ * The accounts of the batch are locked in ascending order for the whole database transaction, and the balance updates
+ * are conditional on the versions the balances were read at, so the optimistic locking mode is respected. Transactions of hot
+ * accounts or whose legs cannot be determined, and whole batches that cannot be locked or committed, are left to
+ * regular processing, which reports their errors. Netting cannot be combined with the balance engine or the
+ * transaction lanes, which do not take account locks.
+ *
+ * @see TransactionNettingConfig
+ */
+@Slf4j
+@Service
+public class TransactionNettingService {
+
+    private final TransactionNettingConfig config;
+    private final BalanceEngineConfig balanceEngineConfig;
+    private final TransactionLanesConfig lanesConfig;
+    private final TransactionExecutorRegistry executorRegistry;
+    private final AccountService accountService;
+    private final HotAccountJournalService hotAccountJournalService;
+    private final LockingStrategy lockingStrategy;
+    private final NettingRepository repository;
+    private final LedgerService ledgerService;
+    private final LedgerJournal ledgerJournal;
+    private final TransactionErrorHandler errorHandler;
+    private final LoggingService loggingService;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionNettingService(TransactionNettingConfig config,
+                                     BalanceEngineConfig balanceEngineConfig,
+                                     TransactionLanesConfig lanesConfig,
+                                     TransactionExecutorRegistry executorRegistry,
+                                     AccountService accountService,
+                                     HotAccountJournalService hotAccountJournalService,
+                                     LockingStrategy lockingStrategy,
+                                     NettingRepository repository,
+                                     LedgerService ledgerService,
+                                     LedgerJournal ledgerJournal,
+                                     TransactionErrorHandler errorHandler,
+                                     LoggingService loggingService,
+                                     PlatformTransactionManager transactionManager) {
+        this.config = config;
+        this.balanceEngineConfig = balanceEngineConfig;
+        this.lanesConfig = lanesConfig;
+        this.executorRegistry = executorRegistry;
+        this.accountService = accountService;
+        this.hotAccountJournalService = hotAccountJournalService;
+        this.lockingStrategy = lockingStrategy;
+        this.repository = repository;
+        this.ledgerService = ledgerService;
+        this.ledgerJournal = ledgerJournal;
+        this.errorHandler = errorHandler;
+        this.loggingService = loggingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+    }
+
+    /**
+     * @return true if claimed batches are netted
+     */
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * @throws IllegalStateException if the balance engine or the transaction lanes are enabled as well
+     */
+    @PostConstruct
+    public void checkConfiguration() {
+        if (config.enabled() && (balanceEngineConfig.enabled() || lanesConfig.enabled())) {
+            throw new IllegalStateException(
+                    "Transaction netting cannot be enabled together with the balance engine or the transaction lanes");
+        }
+    }
+
+    /**
+     * Nets and executes the transactions of a validated batch.
+     *
+     * @param transactions validated NEW transactions, in processing order
+     * @return the transactions left to regular processing, in batch order
+     */
+    public List<Transaction> process(List<Transaction> transactions) {
+        List<Nettable> nettable = new ArrayList<>(transactions.size());
+        List<Transaction> remaining = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            List<Leg> legs = legsOf(transaction);
+            if (legs == null) {
+                remaining.add(transaction);
+            } else {
+                nettable.add(new Nettable(transaction, legs));
+            }
+        }
+        if (nettable.size() < config.minBatchSize()) {
+            return transactions;
+        }
+
+        SortedSet<Integer> accountIds = new TreeSet<>();
+        nettable.forEach(entry -> entry.legs().forEach(leg -> accountIds.add(leg.accountId())));
+        List<Integer> locked = new ArrayList<>(accountIds.size());
+        NettedBatch batch;
+        try {
+            for (Integer accountId : accountIds) {
+                lockingStrategy.lock(accountId);
+                locked.add(accountId);
+            }
+            batch = transactionTemplate.execute(status -> execute(nettable, accountIds));
+            // Still holding the account locks, so the journal keeps the order of changes per account
+            appendToJournal(batch);
+        } catch (RuntimeException e) {
+            log.warn("Could not net a batch of {} transactions, processing them one by one: {}",
+                    nettable.size(), e.getMessage());
+            return transactions;
+        } finally {
+            for (int i = locked.size() - 1; i >= 0; i--) {
+                lockingStrategy.unlock(locked.get(i));
+            }
+        }
+
+        batch.accepted().forEach(transaction -> {
+            transaction.setStatus(TransactionStatus.DONE);
+            loggingService.logSuccessfulTransaction(transaction);
+        });
+        batch.rejected().forEach(transaction -> errorHandler.handleInsufficientFundsError(transaction,
+                new InsufficientFundsException("Insufficient funds for withdrawal")));
+        log.info("Netted {} transactions into {} balance updates, {} rejected for insufficient funds",
+                batch.accepted().size(), batch.netDeltas().size(), batch.rejected().size());
+        return remaining;
+    }
+
+    private NettedBatch execute(List<Nettable> nettable, SortedSet<Integer> accountIds) {
+        StoredBalances stored = repository.findBalances(accountIds);
+        NettedBatch batch = new NettedBatch(stored.balances(), System.currentTimeMillis());
+        nettable.forEach(entry -> batch.add(entry.transaction(), entry.legs()));
+        for (int updated : repository.addToBalances(batch.netDeltas(), stored.versions())) {
+            if (updated == 0) {
+                // Changed by an optimistic writer since it was read, the batch is processed one by one
+                throw new OptimisticLockingFailureException("An account of the batch was changed concurrently");
+            }
+        }
+
+        List<Transaction> accepted = batch.accepted();
+        int[] updated = repository.completeTransactions(accepted.stream().map(Transaction::getId).toList());
+        LocalDateTime postedAt = LocalDateTime.now();
+        List<Posting> postings = new ArrayList<>(accepted.size() * 2);
+        for (int i = 0; i < accepted.size(); i++) {
+            if (updated[i] == 0) {
+                // Rolls back the whole batch, its transactions are processed one by one
+                throw new TransactionAlreadyProcessedException("Transaction " + accepted.get(i).getId()
+                        + " is no longer new");
+            }
+            postings.addAll(LedgerService.postingsOf(accepted.get(i), postedAt));
+        }
+        ledgerService.post(postings);
+        return batch;
+    }
+
+    private void appendToJournal(NettedBatch batch) {
+        try {
+            ledgerJournal.append(batch.records());
+        } catch (RuntimeException e) {
+            log.error("Could not append a netted batch of {} transactions to the ledger journal",
+                    batch.accepted().size(), e);
+        }
+    }
+
+    private List<Leg> legsOf(Transaction transaction) {
+        LegRecorder recorder = new LegRecorder();
+        try {
+            executorRegistry.getCommand(transaction.getType()).execute(transaction, recorder);
+        } catch (RuntimeException e) {
+            log.debug("Transaction {} cannot be netted: {}", transaction.getId(), e.getMessage());
+            return null;
+        }
+        return recorder.hotAccount ? null : recorder.legs;
+    }
+
+    private record Nettable(Transaction transaction, List<Leg> legs) {
+    }
+
+    /**
+     * Collects the legs of a transaction instead of applying them.
+     */
+    private final class LegRecorder implements AccountBalanceOperations {
+
+        private final List<Leg> legs = new ArrayList<>(2);
+        private boolean hotAccount;
+
+        @Override
+        public Account getAccountById(int id) {
+            return accountService.getAccountById(id);
+        }
+
+        @Override
+        public Account deposit(Account account, BigDecimal amount) {
+            record(account, toPositiveMinorUnits(amount));
+            return account;
+        }
+
+        @Override
+        public Account withdraw(Account account, BigDecimal amount) {
+            record(account, -toPositiveMinorUnits(amount));
+            return account;
+        }
+
+        private void record(Account account, long delta) {
+            hotAccount |= hotAccountJournalService.isJournaled(account);
+            legs.add(new Leg(account.getId(), delta));
+        }
+
+        private static long toPositiveMinorUnits(BigDecimal amount) {
+            if (amount == null || amount.signum() <= 0) {
+                throw new AccountValidationException("Amount must be positive");
+            }
+            return LedgerRecord.toMinorUnits(amount);
+        }
+    }
+}
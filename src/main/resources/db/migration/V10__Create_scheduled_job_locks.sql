@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS `scheduled_job_locks` (
+  `name` varchar(64) NOT NULL,
+  `locked_by` varchar(64) NOT NULL,
+  `locked_at` datetime(6) NOT NULL,
+  `locked_until` datetime(6) NOT NULL,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS `postings` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `transaction_id` int NOT NULL,
+  `account_id` int DEFAULT NULL,
+  `amount` decimal(38,2) NOT NULL,
+  `posted_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_postings_account_posted` (`account_id`, `posted_at`),
+  KEY `idx_postings_transaction` (`transaction_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `balance_snapshots` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `account_id` int NOT NULL,
+  `taken_at` datetime(6) NOT NULL,
+  `balance` decimal(38,2) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_balance_snapshots_account_taken` (`account_id`, `taken_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Opening snapshots: balances before the ledger existed, including unfolded hot account journal entries
+INSERT INTO `balance_snapshots` (`account_id`, `taken_at`, `balance`)
+SELECT a.`id`, NOW(6), COALESCE(a.`balance`, 0) + COALESCE(
+    (SELECT SUM(j.`amount`) FROM `account_journal` j WHERE j.`account_id` = a.`id` AND j.`folded` = b'0'), 0)
+FROM `accounts` a;
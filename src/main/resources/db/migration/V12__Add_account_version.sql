@@ -0,0 +1,3 @@
+-- Version of the balance, checked and incremented by conditional updates in the optimistic locking mode
+ALTER TABLE `accounts`
+  ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
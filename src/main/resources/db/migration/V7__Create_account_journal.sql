@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS `account_journal` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `account_id` int NOT NULL,
+  `amount` decimal(38,2) NOT NULL,
+  `created_at` datetime(6) NOT NULL,
+  `folded` bit(1) NOT NULL DEFAULT b'0',
+  PRIMARY KEY (`id`),
+  KEY `idx_account_journal_unfolded` (`account_id`, `folded`, `id`),
+  CONSTRAINT `FK_account_journal_account` FOREIGN KEY (`account_id`) REFERENCES `accounts` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
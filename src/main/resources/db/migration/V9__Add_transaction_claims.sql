@@ -0,0 +1,4 @@
+ALTER TABLE `transactions`
+  ADD COLUMN `claimed_by` varchar(64) DEFAULT NULL,
+  ADD COLUMN `claimed_until` datetime(6) DEFAULT NULL,
+  ADD KEY `idx_transactions_claimable` (`status`, `claimed_until`);
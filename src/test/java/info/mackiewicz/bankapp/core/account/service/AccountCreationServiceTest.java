@@ -2,11 +2,13 @@ package info.mackiewicz.bankapp.core.account.service;
 
 import info.mackiewicz.bankapp.core.account.model.Account;
 import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.account.util.IbanGenerator;
 import info.mackiewicz.bankapp.core.user.model.User;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.model.vo.Pesel;
 import info.mackiewicz.bankapp.core.user.model.vo.PhoneNumber;
 import info.mackiewicz.bankapp.core.user.service.UserService;
+import info.mackiewicz.bankapp.shared.service.UserPrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +35,12 @@ class AccountCreationServiceTest {
     @Mock
     private AccountValidationService validationService;
 
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
+    @Mock
+    private AccountOwnershipIndex ownershipIndex;
+
     @InjectMocks
     private AccountCreationService accountCreationService;
 
@@ -58,7 +66,7 @@ class AccountCreationServiceTest {
     void createAccount_Success() {
         // Arrange
         when(userService.getUserById(testUser.getId())).thenReturn(testUser);
-        when(userService.getUserByIdWithPessimisticLock(testUser.getId())).thenReturn(testUser);
+        when(userService.allocateAccountNumber(testUser.getId())).thenReturn(1);
         doNothing().when(validationService).validateNewAccountOwner(testUser);
         when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
 
@@ -72,9 +80,12 @@ class AccountCreationServiceTest {
         assertThat(createdAccount.getOwner().getFullName()).isEqualTo(testUser.getFullName());
         
         verify(userService, times(1)).getUserById(testUser.getId());
-        verify(userService, times(1)).getUserByIdWithPessimisticLock(testUser.getId());
+        verify(userService, times(1)).allocateAccountNumber(testUser.getId());
+        verify(userService, never()).getUserByIdWithPessimisticLock(any());
         verify(validationService, times(1)).validateNewAccountOwner(testUser);
         verify(accountRepository, times(1)).save(any(Account.class));
+        verify(userPrincipalCache).evictUser(testUser.getId());
+        verify(ownershipIndex).register(testAccount);
     }
 
     @Test
@@ -100,22 +111,31 @@ class AccountCreationServiceTest {
     }
 
     @Test
-    void createAccount_WithRepositoryFailure_RetryAndSucceed() {
+    void createAccount_ShouldUseAllocatedAccountNumber() {
         // Arrange
         when(userService.getUserById(testUser.getId())).thenReturn(testUser);
-        when(userService.getUserByIdWithPessimisticLock(testUser.getId())).thenReturn(testUser);
-        doNothing().when(validationService).validateNewAccountOwner(testUser);
-        when(accountRepository.save(any(Account.class)))
-                .thenThrow(new RuntimeException("DB Error")) // First attempt fails
-                .thenReturn(testAccount); // Second attempt succeeds
+        when(userService.allocateAccountNumber(testUser.getId())).thenReturn(3);
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Account createdAccount = accountCreationService.createAccount(testUser.getId());
 
         // Assert
-        assertThat(createdAccount).isNotNull();
-        assertThat(createdAccount.getOwner().getId()).isEqualTo(testUser.getId());
-        assertThat(createdAccount.getOwner().getFullName()).isEqualTo(testUser.getFullName());
-        verify(accountRepository, times(2)).save(any(Account.class));
+        assertThat(createdAccount.getUserAccountNumber()).isEqualTo(3);
+        assertThat(createdAccount.getIban()).isEqualTo(IbanGenerator.generateIban(testUser.getId(), 3));
+    }
+
+    @Test
+    void createAccount_WithRepositoryFailure_ThrowsWithoutRetry() {
+        // Arrange
+        when(userService.getUserById(testUser.getId())).thenReturn(testUser);
+        when(userService.allocateAccountNumber(testUser.getId())).thenReturn(1);
+        doNothing().when(validationService).validateNewAccountOwner(testUser);
+        when(accountRepository.save(any(Account.class))).thenThrow(new RuntimeException("DB Error"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> accountCreationService.createAccount(testUser.getId()));
+        verify(accountRepository, times(1)).save(any(Account.class));
+        verify(ownershipIndex, never()).register(any());
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,9 @@ package info.mackiewicz.bankapp.core.account.service;
 
 import info.mackiewicz.bankapp.core.account.model.Account;
 import info.mackiewicz.bankapp.core.account.model.TestAccountBuilder;
+import info.mackiewicz.bankapp.core.account.model.dto.VersionedBalance;
 import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceWritePolicy;
 import info.mackiewicz.bankapp.core.user.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,8 +13,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,6 +32,12 @@ class AccountOperationsServiceTest {
     @Mock
     private AccountValidationService validationService;
 
+    @Mock
+    private HotAccountJournalService hotAccountJournalService;
+
+    @Mock
+    private AccountBalanceWritePolicy writePolicy;
+
     @InjectMocks
     private AccountOperationsService operationsService;
 
@@ -80,6 +90,18 @@ class AccountOperationsServiceTest {
         verify(accountRepository).save(account);
     }
 
+    @Test
+    void withdraw_WhenBalanceEngineEnabled_ShouldRejectOperation() {
+        // given
+        when(writePolicy.isBalanceOwnedExternally()).thenReturn(true);
+
+        // when & then
+        assertThrows(IllegalStateException.class,
+                () -> operationsService.withdraw(account, new BigDecimal("100.00")));
+        verify(accountRepository, never()).save(any());
+        assertEquals(new BigDecimal("1000.00"), account.getBalance());
+    }
+
     @Test
     void deposit_ShouldSaveAccountWithCorrectBalance() {
         // given
@@ -134,4 +156,71 @@ class AccountOperationsServiceTest {
         assertThrows(IllegalArgumentException.class, () -> operationsService.withdraw(account, withdrawalAmount));
         verify(accountRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deposit_ToHotAccount_ShouldJournalInsteadOfSaving() {
+        // given
+        BigDecimal depositAmount = new BigDecimal("500.00");
+        when(hotAccountJournalService.isJournaled(account)).thenReturn(true);
+
+        // when
+        Account result = operationsService.deposit(account, depositAmount);
+
+        // then
+        assertEquals(new BigDecimal("1000.00"), result.getBalance());
+        verify(hotAccountJournalService).record(account, depositAmount);
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void withdraw_FromHotAccount_ShouldValidateAgainstLockedJournaledBalanceAndJournalDebit() {
+        // given
+        BigDecimal withdrawalAmount = new BigDecimal("500.00");
+        BigDecimal currentBalance = new BigDecimal("700.00");
+        when(hotAccountJournalService.isJournaled(account)).thenReturn(true);
+        when(hotAccountJournalService.lockForDebit(account.getId())).thenReturn(currentBalance);
+
+        // when
+        operationsService.withdraw(account, withdrawalAmount);
+
+        // then
+        verify(validationService).validateWithdrawal(currentBalance, withdrawalAmount);
+        verify(hotAccountJournalService).record(account, new BigDecimal("-500.00"));
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void withdraw_InOptimisticMode_ShouldUpdateConditionallyOnReadVersion() {
+        // given
+        BigDecimal withdrawalAmount = new BigDecimal("300.00");
+        BigDecimal currentBalance = new BigDecimal("800.00");
+        when(writePolicy.isConditionalWrite()).thenReturn(true);
+        when(accountRepository.findVersionedBalanceById(account.getId()))
+                .thenReturn(Optional.of(new VersionedBalance(currentBalance, 7)));
+        when(accountRepository.updateBalanceIfUnchanged(account.getId(), new BigDecimal("500.00"), 7)).thenReturn(1);
+
+        // when
+        Account result = operationsService.withdraw(account, withdrawalAmount);
+
+        // then
+        assertEquals(new BigDecimal("500.00"), result.getBalance());
+        verify(validationService).validateWithdrawal(currentBalance, withdrawalAmount);
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void deposit_InOptimisticModeWhenVersionChanged_ShouldThrowOptimisticLockingFailure() {
+        // given
+        BigDecimal depositAmount = new BigDecimal("500.00");
+        when(writePolicy.isConditionalWrite()).thenReturn(true);
+        when(accountRepository.findVersionedBalanceById(account.getId()))
+                .thenReturn(Optional.of(new VersionedBalance(new BigDecimal("1000.00"), 3)));
+        when(accountRepository.updateBalanceIfUnchanged(account.getId(), new BigDecimal("1500.00"), 3)).thenReturn(0);
+
+        // when & then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> operationsService.deposit(account, depositAmount));
+        assertEquals(new BigDecimal("1000.00"), account.getBalance());
+        verify(accountRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,97 @@
+package info.mackiewicz.bankapp.core.account.service;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.model.dto.AccountOwnerDTO;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.testutils.TestIbanProvider;
+import org.iban4j.Iban;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountOwnershipIndexTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private AccountOwnershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AccountOwnershipIndex(accountRepository);
+    }
+
+    @Test
+    void findOwnerId_RepeatedLookup_QueriesRepositoryOnce() {
+        // Arrange
+        when(accountRepository.findOwnerIdById(1)).thenReturn(Optional.of(100));
+
+        // Act
+        Optional<Integer> first = index.findOwnerId(1);
+        Optional<Integer> second = index.findOwnerId(1);
+
+        // Assert
+        assertThat(first).contains(100);
+        assertThat(second).contains(100);
+        verify(accountRepository, times(1)).findOwnerIdById(1);
+    }
+
+    @Test
+    void findOwnerId_UnknownAccount_IsNotCached() {
+        // Arrange
+        when(accountRepository.findOwnerIdById(1)).thenReturn(Optional.empty(), Optional.of(100));
+
+        // Act & Assert
+        assertThat(index.findOwnerId(1)).isEmpty();
+        assertThat(index.findOwnerId(1)).contains(100);
+        verify(accountRepository, times(2)).findOwnerIdById(1);
+    }
+
+    @Test
+    void register_NewAccount_IsFoundByIdAndIbanWithoutQuery() {
+        // Arrange
+        Iban iban = TestIbanProvider.getNextIbanObject();
+        Account account = account(1, iban, 100);
+
+        // Act
+        index.register(account);
+
+        // Assert
+        assertThat(index.findOwnerId(1)).contains(100);
+        assertThat(index.findOwnerId(iban)).contains(100);
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void evict_DeletedAccount_IsLoadedAgain() {
+        // Arrange
+        Iban iban = TestIbanProvider.getNextIbanObject();
+        Account account = account(1, iban, 100);
+        index.register(account);
+        when(accountRepository.findOwnerIdById(1)).thenReturn(Optional.empty());
+
+        // Act
+        index.evict(account);
+
+        // Assert
+        assertThat(index.findOwnerId(1)).isEmpty();
+    }
+
+    private static Account account(int id, Iban iban, int ownerId) {
+        Account account = mock(Account.class);
+        AccountOwnerDTO owner = mock(AccountOwnerDTO.class);
+        when(owner.getId()).thenReturn(ownerId);
+        when(account.getId()).thenReturn(id);
+        when(account.getIban()).thenReturn(iban);
+        when(account.getOwner()).thenReturn(owner);
+        return account;
+    }
+}
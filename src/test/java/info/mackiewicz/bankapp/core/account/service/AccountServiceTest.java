@@ -38,6 +38,9 @@ class AccountServiceTest {
     @Mock
     private AccountCreationService accountCreationService;
 
+    @Mock
+    private AccountOwnershipIndex ownershipIndex;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -199,5 +202,6 @@ class AccountServiceTest {
         // Assert
         verify(accountQueryService).getAccountById(1);
         verify(accountRepository).delete(testAccount);
+        verify(ownershipIndex).evict(testAccount);
     }
 }
\ No newline at end of file
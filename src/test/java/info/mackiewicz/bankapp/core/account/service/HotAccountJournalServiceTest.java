@@ -0,0 +1,150 @@
+package info.mackiewicz.bankapp.core.account.service;
+
+import info.mackiewicz.bankapp.core.account.exception.AccountNotFoundByIdException;
+import info.mackiewicz.bankapp.core.account.model.AccountJournalEntry;
+import info.mackiewicz.bankapp.core.account.model.TestAccountBuilder;
+import info.mackiewicz.bankapp.core.account.repository.AccountJournalRepository;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountJournalServiceTest {
+
+    private static final Integer BANK_ACCOUNT_ID = -1;
+
+    @Mock
+    private AccountJournalRepository journalRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private HotAccountJournalService createService(boolean enabled) {
+        return new HotAccountJournalService(new HotAccountConfig(enabled, BANK_ACCOUNT_ID, 2),
+                journalRepository, accountRepository);
+    }
+
+    @Test
+    void isJournaled_ShouldOnlyMatchConfiguredAccountWhenEnabled() {
+        HotAccountJournalService enabled = createService(true);
+        HotAccountJournalService disabled = createService(false);
+
+        assertThat(enabled.isJournaled(BANK_ACCOUNT_ID)).isTrue();
+        assertThat(enabled.isJournaled(42)).isFalse();
+        assertThat(disabled.isJournaled(BANK_ACCOUNT_ID)).isFalse();
+    }
+
+    @Test
+    void record_ShouldAppendSignedEntry() {
+        HotAccountJournalService service = createService(true);
+        var account = TestAccountBuilder.createTestAccount();
+        TestAccountBuilder.setField(account, "id", BANK_ACCOUNT_ID);
+
+        service.record(account, new BigDecimal("-25.00"));
+
+        verify(journalRepository).save(any(AccountJournalEntry.class));
+    }
+
+    @Test
+    void getCurrentBalance_ShouldIncludeUnfoldedEntries() {
+        HotAccountJournalService service = createService(true);
+        when(accountRepository.findBalanceWithUnfoldedById(BANK_ACCOUNT_ID))
+                .thenReturn(Optional.of(new BigDecimal("850.00")));
+
+        assertThat(service.getCurrentBalance(BANK_ACCOUNT_ID)).isEqualByComparingTo("850.00");
+    }
+
+    @Test
+    void lockForDebit_ShouldLockRowBeforeReadingBalance() {
+        HotAccountJournalService service = createService(true);
+        when(accountRepository.lockById(BANK_ACCOUNT_ID)).thenReturn(Optional.of(BANK_ACCOUNT_ID));
+        when(accountRepository.findBalanceWithUnfoldedById(BANK_ACCOUNT_ID))
+                .thenReturn(Optional.of(new BigDecimal("850.00")));
+
+        assertThat(service.lockForDebit(BANK_ACCOUNT_ID)).isEqualByComparingTo("850.00");
+
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).lockById(BANK_ACCOUNT_ID);
+        inOrder.verify(accountRepository).findBalanceWithUnfoldedById(BANK_ACCOUNT_ID);
+    }
+
+    @Test
+    void lockForDebit_WhenAccountMissing_ShouldThrow() {
+        HotAccountJournalService service = createService(true);
+        when(accountRepository.lockById(BANK_ACCOUNT_ID)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundByIdException.class, () -> service.lockForDebit(BANK_ACCOUNT_ID));
+    }
+
+    @Test
+    void fold_ShouldApplySumOfBatchInSingleUpdate() {
+        HotAccountJournalService service = createService(true);
+        List<AccountJournalEntry> batch = List.of(
+                entry(1L, "-1000.00"),
+                entry(2L, "15.50"));
+        when(journalRepository.findByAccountIdAndFoldedFalseOrderByIdAsc(BANK_ACCOUNT_ID, Limit.of(2)))
+                .thenReturn(batch);
+        when(journalRepository.markFolded(List.of(1L, 2L))).thenReturn(2);
+
+        int folded = service.fold();
+
+        assertThat(folded).isEqualTo(2);
+        verify(accountRepository).addToBalance(BANK_ACCOUNT_ID, new BigDecimal("-984.50"));
+    }
+
+    @Test
+    void fold_WhenBatchFoldedConcurrently_ShouldFailToRollBackBalanceUpdate() {
+        HotAccountJournalService service = createService(true);
+        when(journalRepository.findByAccountIdAndFoldedFalseOrderByIdAsc(BANK_ACCOUNT_ID, Limit.of(2)))
+                .thenReturn(List.of(entry(1L, "10.00"), entry(2L, "10.00")));
+        when(journalRepository.markFolded(List.of(1L, 2L))).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, service::fold);
+        // The account row is updated first, like debits lock it first; the exception rolls the update back
+        InOrder inOrder = inOrder(accountRepository, journalRepository);
+        inOrder.verify(accountRepository).addToBalance(BANK_ACCOUNT_ID, new BigDecimal("20.00"));
+        inOrder.verify(journalRepository).markFolded(List.of(1L, 2L));
+    }
+
+    @Test
+    void fold_WhenDisabled_ShouldDoNothing() {
+        assertThat(createService(false).fold()).isZero();
+        verifyNoInteractions(journalRepository, accountRepository);
+    }
+
+    @Test
+    void fold_WhenJournalEmpty_ShouldNotTouchBalance() {
+        HotAccountJournalService service = createService(true);
+        when(journalRepository.findByAccountIdAndFoldedFalseOrderByIdAsc(eq(BANK_ACCOUNT_ID), any(Limit.class)))
+                .thenReturn(List.of());
+
+        assertThat(service.fold()).isZero();
+        verify(accountRepository, never()).addToBalance(anyInt(), any());
+    }
+
+    private AccountJournalEntry entry(Long id, String amount) {
+        AccountJournalEntry entry = new AccountJournalEntry(BANK_ACCOUNT_ID, new BigDecimal(amount));
+        ReflectionTestUtils.setField(entry, "id", id);
+        return entry;
+    }
+}
@@ -0,0 +1,69 @@
+package info.mackiewicz.bankapp.core.account.util;
+
+import info.mackiewicz.bankapp.shared.util.IbanCache;
+import info.mackiewicz.bankapp.shared.util.IbanMasker;
+import org.iban4j.Iban;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the IBAN part of hydrating 10k account rows: converting the column, then formatting and masking the IBAN
+ * as the views and logs do. Compares {@link IbanConverter} backed by {@link IbanCache} against parsing with
+ * {@link Iban#valueOf(String)} and formatting on every call.
+ * <p>
+ * Rows are read with fresh strings, as a JDBC driver returns them. Run with {@code mvn test-compile}
+ * and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IbanHydrationBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final char[][] columns = new char[ROWS][];
+    private final IbanConverter converter = new IbanConverter();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            columns[i] = IbanGenerator.generateIban(i + 1, 1).toString().toCharArray();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void parseEveryRow(Blackhole blackhole) {
+        for (char[] column : columns) {
+            Iban iban = Iban.valueOf(new String(column));
+            blackhole.consume(iban.toFormattedString());
+            blackhole.consume(IbanMasker.maskIban(iban.toString()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void cachedConverter(Blackhole blackhole) {
+        for (char[] column : columns) {
+            Iban iban = converter.convertToEntityAttribute(new String(column));
+            blackhole.consume(IbanCache.formatted(iban));
+            blackhole.consume(IbanMasker.maskIban(iban));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(IbanHydrationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
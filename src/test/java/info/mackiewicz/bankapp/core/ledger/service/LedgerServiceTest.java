@@ -0,0 +1,176 @@
+package info.mackiewicz.bankapp.core.ledger.service;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.ledger.model.BalanceSnapshot;
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import info.mackiewicz.bankapp.core.ledger.model.dto.AccountPostingTotal;
+import info.mackiewicz.bankapp.core.ledger.repository.BalanceSnapshotRepository;
+import info.mackiewicz.bankapp.core.ledger.repository.PostingJdbcRepository;
+import info.mackiewicz.bankapp.core.ledger.repository.PostingRepository;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Mock
+    private PostingJdbcRepository postingJdbcRepository;
+
+    @Mock
+    private PostingRepository postingRepository;
+
+    @Mock
+    private BalanceSnapshotRepository snapshotRepository;
+
+    private LedgerService ledgerService;
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = new LedgerService(postingJdbcRepository, postingRepository, snapshotRepository,
+                new LedgerSnapshotConfig(10, 60_000));
+    }
+
+    @Test
+    void postingsOf_Transfer_ShouldDebitSourceAndCreditDestination() {
+        // given
+        Transaction transfer = transaction(account(1), account(2), "40.00");
+
+        // when
+        List<Posting> postings = LedgerService.postingsOf(transfer, NOW);
+
+        // then
+        assertThat(postings).extracting(Posting::getAccountId).containsExactly(1, 2);
+        assertThat(postings).extracting(Posting::getAmount)
+                .containsExactly(new BigDecimal("-40.00"), new BigDecimal("40.00"));
+        assertThat(postings).allSatisfy(posting -> {
+            assertThat(posting.getTransactionId()).isEqualTo(7);
+            assertThat(posting.getPostedAt()).isEqualTo(NOW);
+        });
+    }
+
+    @Test
+    void postingsOf_Deposit_ShouldBookDebitAgainstExternalCounterparty() {
+        // given
+        Transaction deposit = transaction(null, account(2), "15.00");
+
+        // when
+        List<Posting> postings = LedgerService.postingsOf(deposit, NOW);
+
+        // then
+        assertThat(postings.getFirst().getAccountId()).isNull();
+        assertThat(postings.getLast().getAccountId()).isEqualTo(2);
+        assertThat(postings.stream().map(Posting::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void post_ShouldInsertBothPostings() {
+        // given
+        Transaction transfer = transaction(account(1), account(2), "40.00");
+
+        // when
+        ledgerService.post(transfer);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Posting>> postings = ArgumentCaptor.forClass(List.class);
+        verify(postingJdbcRepository).insert(postings.capture());
+        assertThat(postings.getValue()).hasSize(2);
+    }
+
+    @Test
+    void getBalanceAsOf_WithSnapshot_ShouldAddLaterPostings() {
+        // given
+        LocalDateTime takenAt = NOW.minusHours(1);
+        when(snapshotRepository.findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc(1, NOW))
+                .thenReturn(Optional.of(new BalanceSnapshot(1, takenAt, new BigDecimal("100.00"))));
+        when(postingRepository.sumAmountsBetween(1, takenAt, NOW)).thenReturn(new BigDecimal("-25.50"));
+
+        // when
+        BigDecimal balance = ledgerService.getBalanceAsOf(1, NOW);
+
+        // then
+        assertThat(balance).isEqualByComparingTo("74.50");
+        verify(postingRepository, never()).sumAmountsUntil(any(), any());
+    }
+
+    @Test
+    void getBalanceAsOf_WithoutSnapshot_ShouldSumAllPostings() {
+        // given
+        when(snapshotRepository.findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc(1, NOW))
+                .thenReturn(Optional.empty());
+        when(postingRepository.sumAmountsUntil(1, NOW)).thenReturn(new BigDecimal("12.00"));
+
+        // when & then
+        assertThat(ledgerService.getBalanceAsOf(1, NOW)).isEqualByComparingTo("12.00");
+    }
+
+    @Test
+    void takeSnapshots_ShouldAddNewPostingsToLatestSnapshot() {
+        // given
+        when(postingRepository.sumUnsnapshottedAmounts(any(), eq(10L))).thenReturn(List.of(
+                new AccountPostingTotal(1, new BigDecimal("30.00"), 12),
+                new AccountPostingTotal(2, new BigDecimal("-5.00"), 10)));
+        when(snapshotRepository.findLatestByAccountIds(List.of(1, 2)))
+                .thenReturn(List.of(new BalanceSnapshot(1, NOW.minusDays(1), new BigDecimal("100.00"))));
+
+        // when
+        int taken = ledgerService.takeSnapshots();
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BalanceSnapshot>> snapshots = ArgumentCaptor.forClass(List.class);
+        verify(snapshotRepository).saveAll(snapshots.capture());
+        assertThat(taken).isEqualTo(2);
+        assertThat(snapshots.getValue()).extracting(BalanceSnapshot::getBalance)
+                .containsExactly(new BigDecimal("130.00"), new BigDecimal("-5.00"));
+        assertThat(snapshots.getValue()).allSatisfy(snapshot ->
+                assertThat(snapshot.getTakenAt()).isBefore(LocalDateTime.now().minusSeconds(59)));
+    }
+
+    @Test
+    void takeSnapshots_WhenNoAccountIsDue_ShouldSaveNothing() {
+        // given
+        when(postingRepository.sumUnsnapshottedAmounts(any(), anyLong())).thenReturn(List.of());
+
+        // when & then
+        assertThat(ledgerService.takeSnapshots()).isZero();
+        verify(snapshotRepository, never()).saveAll(any());
+    }
+
+    private static Transaction transaction(Account source, Account destination, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setId(7);
+        transaction.setSourceAccount(source);
+        transaction.setDestinationAccount(destination);
+        transaction.setAmount(new BigDecimal(amount));
+        return transaction;
+    }
+
+    private static Account account(int id) {
+        Account account = mock(Account.class);
+        when(account.getId()).thenReturn(id);
+        return account;
+    }
+}
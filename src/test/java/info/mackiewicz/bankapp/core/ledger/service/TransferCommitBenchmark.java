@@ -0,0 +1,153 @@
+package info.mackiewicz.bankapp.core.ledger.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the commit of a transfer with and without its ledger postings, on an in-memory H2 database.
+ * <p>
+ * Each invocation runs the statements of {@code TransactionExecutionService#executeAndComplete}: reading and
+ * updating both accounts, completing the transaction and, in the ledger variants, inserting the debit and credit
+ * postings, then commits. {@code multiRowPostings} is what {@code PostingJdbcRepository} does; {@code
+ * rowByRowPostings} is the cost of saving the identity-keyed postings one by one. An in-memory database has no
+ * network round trips or disk flushes, so it shows the largest relative overhead the postings can add.
+ * Run with {@code mvn test-compile} and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferCommitBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private Connection connection;
+    private PreparedStatement selectBalance;
+    private PreparedStatement updateBalance;
+    private PreparedStatement completeTransaction;
+    private PreparedStatement insertPosting;
+    private PreparedStatement insertPostings;
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:transfer-commit;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE accounts (id int PRIMARY KEY, balance decimal(38,2) NOT NULL)");
+            statement.execute("CREATE TABLE transactions (id int PRIMARY KEY, status varchar(16) NOT NULL)");
+            statement.execute("CREATE TABLE postings (id bigint AUTO_INCREMENT PRIMARY KEY, transaction_id int "
+                    + "NOT NULL, account_id int, amount decimal(38,2) NOT NULL, posted_at timestamp(6) NOT NULL)");
+            statement.execute("CREATE INDEX idx_postings_account_posted ON postings (account_id, posted_at)");
+            statement.execute("CREATE INDEX idx_postings_transaction ON postings (transaction_id)");
+            statement.execute("INSERT INTO accounts SELECT x, 1000000 FROM SYSTEM_RANGE(1, " + ACCOUNTS + ")");
+            statement.execute("INSERT INTO transactions SELECT x, 'PENDING' FROM SYSTEM_RANGE(1, " + ACCOUNTS + ")");
+        }
+        connection.setAutoCommit(false);
+        selectBalance = connection.prepareStatement("SELECT balance FROM accounts WHERE id = ?");
+        updateBalance = connection.prepareStatement("UPDATE accounts SET balance = ? WHERE id = ?");
+        completeTransaction = connection.prepareStatement(
+                "UPDATE transactions SET status = 'DONE' WHERE id = ? AND status <> 'FAILED'");
+        insertPosting = connection.prepareStatement(
+                "INSERT INTO postings (transaction_id, account_id, amount, posted_at) VALUES (?, ?, ?, ?)");
+        insertPostings = connection.prepareStatement(
+                "INSERT INTO postings (transaction_id, account_id, amount, posted_at) VALUES (?, ?, ?, ?), (?, ?, ?, ?)");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void withoutPostings() throws SQLException {
+        int id = nextId();
+        applyLegs(id);
+        connection.commit();
+    }
+
+    @Benchmark
+    public void multiRowPostings() throws SQLException {
+        int id = nextId();
+        applyLegs(id);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        setPosting(insertPostings, 1, id, id, AMOUNT.negate(), now);
+        setPosting(insertPostings, 5, id, destination(id), AMOUNT, now);
+        insertPostings.executeUpdate();
+        connection.commit();
+    }
+
+    @Benchmark
+    public void rowByRowPostings() throws SQLException {
+        int id = nextId();
+        applyLegs(id);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        setPosting(insertPosting, 1, id, id, AMOUNT.negate(), now);
+        insertPosting.executeUpdate();
+        setPosting(insertPosting, 1, id, destination(id), AMOUNT, now);
+        insertPosting.executeUpdate();
+        connection.commit();
+    }
+
+    private void applyLegs(int id) throws SQLException {
+        changeBalance(id, AMOUNT.negate());
+        changeBalance(destination(id), AMOUNT);
+        completeTransaction.setInt(1, id);
+        completeTransaction.executeUpdate();
+    }
+
+    private void changeBalance(int accountId, BigDecimal delta) throws SQLException {
+        selectBalance.setInt(1, accountId);
+        BigDecimal balance;
+        try (ResultSet resultSet = selectBalance.executeQuery()) {
+            resultSet.next();
+            balance = resultSet.getBigDecimal(1);
+        }
+        updateBalance.setBigDecimal(1, balance.add(delta));
+        updateBalance.setInt(2, accountId);
+        updateBalance.executeUpdate();
+    }
+
+    private static void setPosting(PreparedStatement statement, int index, int transactionId, int accountId,
+                                   BigDecimal amount, Timestamp postedAt) throws SQLException {
+        statement.setInt(index, transactionId);
+        statement.setInt(index + 1, accountId);
+        statement.setBigDecimal(index + 2, amount);
+        statement.setTimestamp(index + 3, postedAt);
+    }
+
+    private int nextId() {
+        next = next % ACCOUNTS + 1;
+        return next;
+    }
+
+    private static int destination(int id) {
+        return id % ACCOUNTS + 1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TransferCommitBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
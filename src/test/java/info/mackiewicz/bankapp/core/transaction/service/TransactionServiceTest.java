@@ -27,6 +27,9 @@ class TransactionServiceTest {
     @Mock
     private TransactionCommandService commandService;
 
+    @Mock
+    private TransactionClaimService claimService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -104,6 +107,20 @@ class TransactionServiceTest {
         assertEquals(transactions, result);
     }
 
+    @Test
+    void claimNewTransactions_ShouldDelegateToClaimService() {
+        // given
+        List<Transaction> transactions = List.of(new Transaction());
+        when(claimService.claimNewTransactions()).thenReturn(transactions);
+
+        // when
+        List<Transaction> result = transactionService.claimNewTransactions();
+
+        // then
+        verify(claimService).claimNewTransactions();
+        assertEquals(transactions, result);
+    }
+
     @Test
     void getTransactionsByAccountId_ShouldDelegateToQueryService() {
         // given
@@ -3,6 +3,7 @@ package info.mackiewicz.bankapp.core.user.service.crud;
 import info.mackiewicz.bankapp.core.user.model.User;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.repository.UserRepository;
+import info.mackiewicz.bankapp.core.user.service.util.UserKeyFilter;
 import info.mackiewicz.bankapp.core.user.service.util.UserValidationService;
 import info.mackiewicz.bankapp.core.user.service.util.UsernameGeneratorService;
 import info.mackiewicz.bankapp.shared.service.PasswordService;
@@ -30,6 +31,9 @@ class UserCreationServiceTest {
     @Mock
     private UserValidationService userValidationService;
 
+    @Mock
+    private UserKeyFilter userKeyFilter;
+
     @InjectMocks
     private UserCreationService userCreationService;
 
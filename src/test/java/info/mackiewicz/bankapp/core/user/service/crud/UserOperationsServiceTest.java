@@ -1,18 +1,25 @@
 package info.mackiewicz.bankapp.core.user.service.crud;
 
+import info.mackiewicz.bankapp.core.user.exception.UserNotFoundException;
 import info.mackiewicz.bankapp.core.user.model.User;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.repository.UserRepository;
+import info.mackiewicz.bankapp.core.user.service.util.UserKeyFilter;
 import info.mackiewicz.bankapp.core.user.service.util.UserValidationService;
 import info.mackiewicz.bankapp.shared.service.PasswordService;
+import info.mackiewicz.bankapp.shared.service.UserPrincipalCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +38,12 @@ class UserOperationsServiceTest {
     @Mock
     private UserValidationService userValidationService;
 
+    @Mock
+    private UserKeyFilter userKeyFilter;
+
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
     @InjectMocks
     private UserOperationsService userOperationsService;
 
@@ -52,7 +65,7 @@ class UserOperationsServiceTest {
         savedUser.setUsername("testUser");
         savedUser.setPassword("encodedPassword");
 
-        doNothing().when(userValidationService).validateUserExists(1);
+        doNothing().when(userValidationService).validateExistingUser(user);
         when(passwordService.ensurePasswordEncoded(user)).thenReturn(encodedUser);
         when(userRepository.save(encodedUser)).thenReturn(savedUser);
 
@@ -65,9 +78,11 @@ class UserOperationsServiceTest {
         assertEquals("testUser", result.getUsername());
         assertEquals("encodedPassword", result.getPassword());
         
-        verify(userValidationService).validateUserExists(1);
+        verify(userValidationService).validateExistingUser(user);
+        verify(userKeyFilter).add(argThat(keys -> "testUser".equals(keys.username())));
         verify(passwordService).ensurePasswordEncoded(user);
         verify(userRepository).save(encodedUser);
+        verify(userPrincipalCache).evictUser(1);
     }
 
     @Test
@@ -128,4 +143,28 @@ class UserOperationsServiceTest {
         inOrder(userQueryService, userRepository).verify(userQueryService).getUserById(userId);
         inOrder(userQueryService, userRepository).verify(userRepository).delete(user);
     }
-}
\ No newline at end of file
+
+    @Test
+    void allocateAccountNumber_shouldIncrementAndReturnCounter() {
+        // Arrange
+        when(userRepository.incrementAccountCounter(1)).thenReturn(1);
+        when(userRepository.findAccountCounterById(1)).thenReturn(Optional.of(2));
+
+        // Act
+        int accountNumber = userOperationsService.allocateAccountNumber(1);
+
+        // Assert
+        assertEquals(2, accountNumber);
+        verify(userRepository, never()).findByIdWithPessimisticLock(any());
+    }
+
+    @Test
+    void allocateAccountNumber_whenUserDoesNotExist_shouldThrowException() {
+        // Arrange
+        when(userRepository.incrementAccountCounter(999)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> userOperationsService.allocateAccountNumber(999));
+        verify(userRepository, never()).findAccountCounterById(any());
+    }
+}
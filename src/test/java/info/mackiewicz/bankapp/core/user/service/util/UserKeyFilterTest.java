@@ -0,0 +1,77 @@
+package info.mackiewicz.bankapp.core.user.service.util;
+
+import info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys;
+import info.mackiewicz.bankapp.core.user.service.crud.UserQueryService;
+import info.mackiewicz.bankapp.shared.config.UserKeyFilterProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserKeyFilterTest {
+
+    private static final UserUniqueKeys EXISTING =
+            new UserUniqueKeys(1, "jan.kowalski", "jan@example.com", "90011512345", "123456789");
+    private static final UserUniqueKeys NEW =
+            new UserUniqueKeys(null, "anna.nowak", "anna@example.com", "85060112345", "987654321");
+
+    @Mock
+    private UserQueryService userQueryService;
+
+    @Test
+    @DisplayName("Should report every field as possibly taken before warm-up")
+    void mightBeTaken_BeforeWarmUp_ReturnsTrue() {
+        UserKeyFilter filter = new UserKeyFilter(new UserKeyFilterProperties(true, 1000, 0.01), userQueryService);
+
+        assertThat(filter.mightBeTaken(NEW)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should rule out new fields and keep existing ones after warm-up")
+    void mightBeTaken_AfterWarmUp_DetectsExistingFields() {
+        UserKeyFilter filter = new UserKeyFilter(new UserKeyFilterProperties(true, 1000, 0.01), userQueryService);
+        when(userQueryService.findUniqueKeysAfter(eq(0), anyInt())).thenReturn(List.of(EXISTING));
+        when(userQueryService.findUniqueKeysAfter(eq(1), anyInt())).thenReturn(List.of());
+
+        filter.warmUp();
+
+        assertThat(filter.mightBeTaken(NEW)).isFalse();
+        assertThat(filter.mightBeTaken(EXISTING)).isTrue();
+        assertThat(filter.mightBeTaken(new UserUniqueKeys(null, NEW.username(), NEW.email(), EXISTING.pesel(),
+                NEW.phoneNumber()))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should detect fields added after warm-up")
+    void mightBeTaken_AddedAfterWarmUp_ReturnsTrue() {
+        UserKeyFilter filter = new UserKeyFilter(new UserKeyFilterProperties(true, 1000, 0.01), userQueryService);
+        when(userQueryService.findUniqueKeysAfter(eq(0), anyInt())).thenReturn(List.of());
+        filter.warmUp();
+
+        filter.add(NEW);
+
+        assertThat(filter.mightBeTaken(NEW)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not load users and always require the query when disabled")
+    void warmUp_Disabled_SkipsLoading() {
+        UserKeyFilter filter = new UserKeyFilter(new UserKeyFilterProperties(false, 0, 0), userQueryService);
+
+        filter.warmUp();
+        filter.add(NEW);
+
+        assertThat(filter.mightBeTaken(NEW)).isTrue();
+        verifyNoInteractions(userQueryService);
+    }
+}
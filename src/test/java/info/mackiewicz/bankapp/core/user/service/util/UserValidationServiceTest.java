@@ -1,10 +1,13 @@
 package info.mackiewicz.bankapp.core.user.service.util;
 
+import info.mackiewicz.bankapp.core.user.exception.DuplicatedEmailException;
+import info.mackiewicz.bankapp.core.user.exception.DuplicatedPhoneNumberException;
 import info.mackiewicz.bankapp.core.user.exception.DuplicatedUserException;
 import info.mackiewicz.bankapp.core.user.exception.InvalidAgeException;
 import info.mackiewicz.bankapp.core.user.exception.UserNotFoundException;
 import info.mackiewicz.bankapp.core.user.exception.UserValidationException;
 import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.dto.UserUniqueKeys;
 import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.model.vo.Pesel;
 import info.mackiewicz.bankapp.core.user.model.vo.PhoneNumber;
@@ -20,10 +23,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +38,9 @@ class UserValidationServiceTest {
     @Mock
     private UserQueryService userQueryService;
 
+    @Mock
+    private UserKeyFilter userKeyFilter;
+
     @InjectMocks
     private UserValidationService userValidationService;
 
@@ -159,7 +168,8 @@ class UserValidationServiceTest {
         @DisplayName("Should pass for unique phone number")
         void shouldPassForUniquePhoneNumber() {
             PhoneNumber phoneNumber = new PhoneNumber("123456789");
-            when(userQueryService.userExistsByPhoneNumber(phoneNumber)).thenReturn(false);
+            when(userKeyFilter.mightBeTaken(any())).thenReturn(true);
+            when(userQueryService.findUniqueKeyMatches(any())).thenReturn(List.of());
 
             User user = User.builder()
                     .withFirstname("John")
@@ -179,7 +189,9 @@ class UserValidationServiceTest {
         @DisplayName("Should throw exception for duplicate phone number")
         void shouldThrowExceptionForDuplicatePhoneNumber() {
             PhoneNumber phoneNumber = new PhoneNumber("123456789");
-            when(userQueryService.userExistsByPhoneNumber(phoneNumber)).thenReturn(true);
+            when(userKeyFilter.mightBeTaken(any())).thenReturn(true);
+            when(userQueryService.findUniqueKeyMatches(any())).thenReturn(List.of(
+                    new UserUniqueKeys(7, "other", "other@example.com", "98765432109", "123456789")));
 
             User user = User.builder()
                     .withFirstname("John")
@@ -197,6 +209,87 @@ class UserValidationServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Unique Fields Query Tests")
+    class UniqueFieldsQueryTests {
+
+        @Test
+        @DisplayName("Should skip the query when the key filter rules out every field")
+        void shouldSkipQueryWhenKeyFilterRulesOutFields() {
+            when(userKeyFilter.mightBeTaken(any())).thenReturn(false);
+
+            assertThatCode(() -> userValidationService.validateNewUser(newUser()))
+                    .doesNotThrowAnyException();
+            verify(userQueryService, never()).findUniqueKeyMatches(any());
+        }
+
+        @Test
+        @DisplayName("Should report every colliding field with the exception of the first one")
+        void shouldReportAllCollidingFields() {
+            when(userKeyFilter.mightBeTaken(any())).thenReturn(true);
+            when(userQueryService.findUniqueKeyMatches(any())).thenReturn(List.of(
+                    new UserUniqueKeys(2, "other", "test@example.com", "98765432109", "987654321"),
+                    new UserUniqueKeys(3, "another", "another@example.com", "12345678901", "111222333")));
+
+            assertThatThrownBy(() -> userValidationService.validateNewUser(newUser()))
+                    .isInstanceOf(DuplicatedEmailException.class)
+                    .hasMessageContaining("Email already in use: test@example.com")
+                    .hasMessageContaining("PESEL already in use: 12345678901")
+                    .hasMessageNotContaining("Phone number");
+        }
+
+        @Test
+        @DisplayName("Should ignore the user's own fields when validating an update")
+        void shouldPassForExistingUserWithOwnFields() {
+            User user = newUser();
+            user.setId(1);
+            when(userQueryService.findUniqueKeyMatches(any())).thenReturn(List.of(UserUniqueKeys.of(user)));
+
+            assertThatCode(() -> userValidationService.validateExistingUser(user))
+                    .doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should throw exception when an update takes another user's phone number")
+        void shouldThrowExceptionForUpdateWithOtherUsersPhoneNumber() {
+            User user = newUser();
+            user.setId(1);
+            when(userQueryService.findUniqueKeyMatches(any())).thenReturn(List.of(
+                    UserUniqueKeys.of(user),
+                    new UserUniqueKeys(2, "other", "other@example.com", "98765432109", "123456789")));
+
+            assertThatThrownBy(() -> userValidationService.validateExistingUser(user))
+                    .isInstanceOf(DuplicatedPhoneNumberException.class)
+                    .hasMessage("Phone number already in use: 123456789");
+        }
+
+        @Test
+        @DisplayName("Should throw exception when the updated user does not exist")
+        void shouldThrowExceptionForUpdateOfNonExistingUser() {
+            User user = newUser();
+            user.setId(999);
+            when(userQueryService.findUniqueKeyMatches(any())).thenReturn(List.of());
+
+            assertThatThrownBy(() -> userValidationService.validateExistingUser(user))
+                    .isInstanceOf(UserNotFoundException.class)
+                    .hasMessageContaining("User with ID 999 does not exist");
+        }
+
+        private User newUser() {
+            User user = User.builder()
+                    .withFirstname("John")
+                    .withLastname("Doe")
+                    .withPesel("12345678901")
+                    .withDateOfBirth(LocalDate.now().minusYears(30))
+                    .withEmail("test@example.com")
+                    .withPhoneNumber("123456789")
+                    .withPassword("password")
+                    .build();
+            user.setUsername("john.doe");
+            return user;
+        }
+    }
+
     @Nested
     @DisplayName("User Existence Validation Tests")
     class UserExistenceValidationTests {
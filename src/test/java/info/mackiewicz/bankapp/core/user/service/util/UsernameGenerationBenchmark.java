@@ -0,0 +1,86 @@
+package info.mackiewicz.bankapp.core.user.service.util;
+
+import ch.qos.logback.classic.Level;
+import com.ibm.icu.text.Transliterator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link UsernameGeneratorService#generateUsername(String, String, String)} with the previous
+ * implementation, which looked up a new ICU transliterator for both names and stripped them with a regex.
+ * The names are mostly Polish, with every tenth one needing the ICU fallback.
+ * <p>
+ * Run with {@code mvn test-compile} and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UsernameGenerationBenchmark {
+
+    private static final int USERS = 100;
+
+    private static final String[] FIRSTNAMES = {"Jan", "Łukasz", "Małgorzata", "Żaneta", "Grzegorz"};
+    private static final String[] LASTNAMES = {"Kowalski", "Wiśniewska", "Dąbrowski", "Nowak", "Szczęsny"};
+
+    private final UsernameGeneratorService generatorService = new UsernameGeneratorService();
+
+    private final String[] firstnames = new String[USERS];
+    private final String[] lastnames = new String[USERS];
+    private final String[] emails = new String[USERS];
+
+    @Setup
+    public void setUp() {
+        // Trace off, as in production (plain Logback defaults to DEBUG)
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        for (int i = 0; i < USERS; i++) {
+            firstnames[i] = i % 10 == 0 ? "María" : FIRSTNAMES[i % FIRSTNAMES.length];
+            lastnames[i] = LASTNAMES[(i / FIRSTNAMES.length) % LASTNAMES.length];
+            emails[i] = "user" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void legacyGenerate(Blackhole blackhole) {
+        for (int i = 0; i < USERS; i++) {
+            blackhole.consume(legacyGenerateUsername(firstnames[i], lastnames[i], emails[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void cachedGenerate(Blackhole blackhole) {
+        for (int i = 0; i < USERS; i++) {
+            blackhole.consume(generatorService.generateUsername(firstnames[i], lastnames[i], emails[i]));
+        }
+    }
+
+    private static String legacyGenerateUsername(String firstname, String lastname, String email) {
+        String baseUsername = legacyRemoveDiacritics(firstname.toLowerCase()) + "."
+                + legacyRemoveDiacritics(lastname.toLowerCase());
+        return baseUsername + String.format("%06d", Math.abs(email.hashCode()) % 1000000);
+    }
+
+    private static String legacyRemoveDiacritics(String text) {
+        Transliterator transliterator = Transliterator.getInstance("Any-Latin; Latin-ASCII");
+        return transliterator.transform(text).replaceAll("[^a-zA-Z0-9]", "");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(UsernameGenerationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
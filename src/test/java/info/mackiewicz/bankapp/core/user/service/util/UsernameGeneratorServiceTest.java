@@ -144,7 +144,8 @@ class UsernameGeneratorServiceTest {
             Arguments.of("John-Paul", "Smith", "johnpaul.smith"),
             Arguments.of("O'Connor", "Smith", "oconnor.smith"),
             Arguments.of("van der", "Berg", "vander.berg"),
-            Arguments.of("María", "García", "maria.garcia")
+            Arguments.of("María", "García", "maria.garcia"),
+            Arguments.of("Влад", "Żak", "vlad.zak")
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package info.mackiewicz.bankapp.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@AutoConfigureMockMvc
+@DisplayName("Access Token Integration Tests")
+class AccessTokenIntegrationTest {
+
+    private static final String PASSWORD = "Password123!";
+    private static final String TOKEN_PATH = "/api/auth/token";
+    private static final String BALANCE_PATH = "/api/dashboard/account/{accountId}/balance/working";
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        user = testUserService.createRandomTestUser();
+        account = testAccountService.createTestAccountWithBalance(user.getId(), new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("Should issue a token for HTTP Basic credentials and accept it without a session")
+    void shouldIssueTokenAndAuthenticateStatelessly() throws Exception {
+        String token = issueToken();
+
+        MvcResult result = mockMvc.perform(get(BALANCE_PATH, account.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountId").value(account.getId()))
+                .andReturn();
+
+        assertThat(result.getRequest().getSession(false)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject access to another user's account with a valid token")
+    void shouldRejectForeignAccount() throws Exception {
+        User otherUser = testUserService.createRandomTestUser();
+        Account otherAccount = testAccountService.createTestAccountWithBalance(otherUser.getId(), BigDecimal.TEN);
+        String token = issueToken();
+
+        mockMvc.perform(get(BALANCE_PATH, otherAccount.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid token")
+    void shouldRejectInvalidToken() throws Exception {
+        mockMvc.perform(get(BALANCE_PATH, account.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should reject wrong credentials on the token endpoint")
+    void shouldRejectWrongCredentials() throws Exception {
+        mockMvc.perform(post(TOKEN_PATH).with(httpBasic(user.getUsername(), "WrongPassword1!")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should not exchange a token for a new one")
+    void shouldNotExchangeToken() throws Exception {
+        String token = issueToken();
+
+        mockMvc.perform(post(TOKEN_PATH).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String issueToken() throws Exception {
+        MvcResult result = mockMvc.perform(post(TOKEN_PATH).with(httpBasic(user.getUsername(), PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andReturn();
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        return body.get("accessToken").asText();
+    }
+}
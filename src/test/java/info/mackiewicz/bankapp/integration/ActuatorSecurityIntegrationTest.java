@@ -0,0 +1,55 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@AutoConfigureMockMvc
+@DisplayName("Actuator Security Integration Tests")
+class ActuatorSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should expose health without authentication")
+    void shouldExposeHealthAnonymously() throws Exception {
+        // Reports DOWN (503) when a test dependency like the mail server is missing, but is never redirected to login
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(jsonPath("$.status").exists());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("Should forbid metrics and scheduled jobs to customers")
+    void shouldForbidInternalEndpointsToCustomers() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/scheduledjobs"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should expose metrics and scheduled jobs to admins")
+    void shouldExposeInternalEndpointsToAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/scheduledjobs"))
+                .andExpect(status().isOk());
+    }
+}
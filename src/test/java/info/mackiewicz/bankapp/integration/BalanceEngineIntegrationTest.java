@@ -0,0 +1,141 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import info.mackiewicz.bankapp.core.ledger.repository.PostingRepository;
+import info.mackiewicz.bankapp.core.transaction.exception.InsufficientFundsException;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutorRegistry;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@TestPropertySource(properties = {
+        "bankapp.transaction.balance-engine.enabled=true",
+        "bankapp.transaction.balance-engine.shards=2",
+        // Tests flush explicitly
+        "bankapp.transaction.balance-engine.flush-interval=3600000",
+        "bankapp.transaction.balance-engine.journal-directory=target/balance-engine"
+})
+@DisplayName("Balance Engine Integration Tests")
+class BalanceEngineIntegrationTest {
+
+    @Autowired
+    private BalanceEngine balanceEngine;
+
+    @Autowired
+    private TransactionExecutorRegistry executorRegistry;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PostingRepository postingRepository;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    private Account sourceAccount;
+    private Account destinationAccount;
+
+    @BeforeEach
+    void setUp() {
+        User user = testUserService.createRandomTestUser();
+        sourceAccount = testAccountService.createTestAccount(user.getId());
+        destinationAccount = testAccountService.createTestAccount(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should write executed transactions to the database on flush")
+    void shouldWriteExecutedTransactionsOnFlush() {
+        // given
+        Transaction deposit = execute(null, sourceAccount, TransactionType.DEPOSIT, "100.00");
+        Transaction transfer = execute(sourceAccount, destinationAccount, TransactionType.TRANSFER_OWN, "40.00");
+        assertThat(statusOf(transfer)).isEqualTo(TransactionStatus.PENDING);
+
+        // when
+        balanceEngine.flush();
+
+        // then
+        // The first scheduled flush runs at startup and may have written the deposit already
+        assertThat(balanceEngine.flush()).isZero();
+        assertThat(statusOf(deposit)).isEqualTo(TransactionStatus.DONE);
+        assertThat(statusOf(transfer)).isEqualTo(TransactionStatus.DONE);
+        assertThat(balanceOf(sourceAccount)).isEqualByComparingTo("60.00");
+        assertThat(balanceOf(destinationAccount)).isEqualByComparingTo("40.00");
+        List<Posting> postings = postingRepository.findByTransactionId(transfer.getId());
+        assertThat(postings).extracting(Posting::getAccountId)
+                .containsExactlyInAnyOrder(sourceAccount.getId(), destinationAccount.getId());
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer not covered by the in-memory balance")
+    void shouldRejectTransferNotCoveredByBalance() {
+        // given
+        execute(null, sourceAccount, TransactionType.DEPOSIT, "30.00");
+        Transaction transfer = pending(sourceAccount, destinationAccount, TransactionType.TRANSFER_OWN, "40.00");
+
+        // when & then
+        assertThatThrownBy(() -> balanceEngine.execute(transfer,
+                executorRegistry.getCommand(TransactionType.TRANSFER_OWN)))
+                .isInstanceOf(InsufficientFundsException.class);
+        balanceEngine.flush();
+        assertThat(statusOf(transfer)).isEqualTo(TransactionStatus.PENDING);
+        assertThat(balanceOf(sourceAccount)).isEqualByComparingTo("30.00");
+        assertThat(balanceOf(destinationAccount)).isEqualByComparingTo("0.00");
+    }
+
+    private Transaction execute(Account source, Account destination, TransactionType type, String amount) {
+        Transaction transaction = pending(source, destination, type, amount);
+        balanceEngine.execute(transaction, executorRegistry.getCommand(type));
+        return transaction;
+    }
+
+    private Transaction pending(Account source, Account destination, TransactionType type, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setSourceAccount(source);
+        transaction.setDestinationAccount(destination);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTitle("Balance engine test");
+        transaction.setStatus(TransactionStatus.PENDING);
+        return transactionRepository.save(transaction);
+    }
+
+    private TransactionStatus statusOf(Transaction transaction) {
+        return transactionRepository.findById(transaction.getId()).orElseThrow().getStatus();
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,87 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.repository.UserRepository;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Concurrent Account Creation Integration Tests")
+class ConcurrentAccountCreationIntegrationTest {
+
+    // Maximum number of accounts per user
+    private static final int ACCOUNTS = 3;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should allocate distinct account numbers to accounts created concurrently for one user")
+    void shouldAllocateDistinctAccountNumbersConcurrently() throws Exception {
+        // given
+        User user = testUserService.createRandomTestUser();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Account>> futures = new ArrayList<>();
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(ACCOUNTS)) {
+            for (int i = 0; i < ACCOUNTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return accountService.createAccount(user.getId());
+                }));
+            }
+            start.countDown();
+        }
+
+        // then
+        List<Account> accounts = new ArrayList<>();
+        for (Future<Account> future : futures) {
+            accounts.add(future.get());
+        }
+        assertThat(accounts).extracting(Account::getUserAccountNumber).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(accounts).extracting(Account::getIban).doesNotHaveDuplicates();
+        assertThat(userRepository.findAccountCounterById(user.getId())).contains(ACCOUNTS);
+    }
+
+    @Test
+    @DisplayName("Should keep the account counter when a stale user is saved")
+    void shouldKeepAccountCounterWhenStaleUserIsSaved() {
+        // given
+        User user = testUserService.createRandomTestUser();
+        accountService.createAccount(user.getId());
+
+        // when
+        user.setFirstname("Changed");
+        userRepository.save(user);
+
+        // then
+        assertThat(userRepository.findAccountCounterById(user.getId())).contains(1);
+        assertThat(accountService.createAccount(user.getId()).getUserAccountNumber()).isEqualTo(2);
+    }
+}
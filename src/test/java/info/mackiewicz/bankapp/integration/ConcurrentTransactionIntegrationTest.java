@@ -98,7 +98,7 @@ class ConcurrentTransactionIntegrationTest {
             transactions.add(transaction);
         }
 
-        transactionProcessingService.processAllNewTransactions();
+        processAllNewTransactions();
 
         await()
                 .atMost(Duration.ofSeconds(60))
@@ -121,7 +121,7 @@ class ConcurrentTransactionIntegrationTest {
             createWithdrawal(sourceAccount, withdrawalAmount);
         }
 
-        transactionProcessingService.processAllNewTransactions();
+        processAllNewTransactions();
 
         await()
                 .atMost(Duration.ofSeconds(15))
@@ -157,7 +157,7 @@ class ConcurrentTransactionIntegrationTest {
             transactions.add(deposit);
         }
 
-        transactionProcessingService.processAllNewTransactions();
+        processAllNewTransactions();
 
         await()
                 .atMost(Duration.ofSeconds(15))
@@ -199,7 +199,7 @@ class ConcurrentTransactionIntegrationTest {
             transactions.add(t2);
         }
 
-        transactionProcessingService.processAllNewTransactions();
+        processAllNewTransactions();
 
         await()
                 .atMost(Duration.ofSeconds(15))
@@ -235,7 +235,7 @@ class ConcurrentTransactionIntegrationTest {
             transactions.add(t2);
         }
 
-        transactionProcessingService.processAllNewTransactions();
+        processAllNewTransactions();
 
         await()
                 .atMost(Duration.ofSeconds(30))
@@ -287,7 +287,7 @@ class ConcurrentTransactionIntegrationTest {
             transactions.add(t3);
         }
 
-        transactionProcessingService.processAllNewTransactions();
+        processAllNewTransactions();
 
         await()
                 .atMost(Duration.ofSeconds(15))
@@ -434,4 +434,11 @@ class ConcurrentTransactionIntegrationTest {
         });
     }
 
-}
\ No newline at end of file
+    private void processAllNewTransactions() {
+        // Each call claims one batch, drain the backlog like the scheduler does over several runs
+        int claimed;
+        do {
+            claimed = transactionProcessingService.processNewTransactionBatch();
+        } while (claimed > 0);
+    }
+}
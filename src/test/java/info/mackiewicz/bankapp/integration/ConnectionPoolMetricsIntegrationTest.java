@@ -0,0 +1,129 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.service.TransactionService;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import info.mackiewicz.bankapp.shared.config.AsyncProperties;
+import info.mackiewicz.bankapp.shared.config.ConnectionPoolSizingValidator;
+import info.mackiewicz.bankapp.system.transaction.processing.TransactionProcessingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Connection Pool Metrics Integration Tests")
+class ConnectionPoolMetricsIntegrationTest {
+
+    private static final String POOL_TAG = "BankAppPool";
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionProcessingService transactionProcessingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ConnectionPoolSizingValidator sizingValidator;
+
+    @Autowired
+    private AsyncProperties asyncProperties;
+
+    @Test
+    @DisplayName("Should export Hikari pool gauges through Micrometer")
+    void shouldExportPoolGauges() {
+        assertThat(meterRegistry.find("hikaricp.connections.active").tag("pool", POOL_TAG).gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.idle").tag("pool", POOL_TAG).gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").tag("pool", POOL_TAG).gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Test sizing profile should not let the async executor exceed the pool")
+    void shouldKeepExecutorWithinPool() {
+        int poolSize = sizingValidator.getMaximumPoolSize();
+
+        assertThat(poolSize).isPositive();
+        assertThat(sizingValidator.exceedsPool(asyncProperties.effectiveConcurrency(), poolSize)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record acquire and usage times under concurrent transfer load without acquire timeouts")
+    void shouldRecordAcquireAndUsageTimesUnderLoad() {
+        long acquiredBefore = timerCount("hikaricp.connections.acquire");
+        List<Account> accounts = createAccounts(6);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Account from = accounts.get(i % accounts.size());
+            Account to = accounts.get((i + 1) % accounts.size());
+            transactions.add(transactionService.registerTransaction(Transaction.buildTransfer()
+                    .from(from)
+                    .to(to)
+                    .withAmount(BigDecimal.TEN)
+                    .withTitle("Pool load transfer")
+                    .build()));
+        }
+
+        processAllNewTransactions();
+
+        await()
+                .atMost(Duration.ofSeconds(30))
+                .untilAsserted(() -> transactions.forEach(transaction ->
+                        assertThat(transactionService.getTransactionById(transaction.getId()).getStatus())
+                                .matches(TransactionStatus::isFinal)));
+
+        assertThat(timerCount("hikaricp.connections.acquire")).isGreaterThan(acquiredBefore);
+        assertThat(timerCount("hikaricp.connections.usage")).isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").tag("pool", POOL_TAG).counter().count())
+                .isZero();
+    }
+
+    private List<Account> createAccounts(int count) {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = testUserService.createRandomTestUser();
+            accounts.add(testAccountService.createTestAccountWithBalance(user.getId(), BigDecimal.valueOf(1000)));
+        }
+        return accounts;
+    }
+
+    private long timerCount(String name) {
+        Timer timer = meterRegistry.find(name).tag("pool", POOL_TAG).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private void processAllNewTransactions() {
+        // Each call claims one batch, drain the backlog like the scheduler does over several runs
+        int claimed;
+        do {
+            claimed = transactionProcessingService.processNewTransactionBatch();
+        } while (claimed > 0);
+    }
+}
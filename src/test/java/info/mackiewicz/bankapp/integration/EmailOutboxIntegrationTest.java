@@ -0,0 +1,105 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.system.notification.email.outbox.EmailOutbox;
+import info.mackiewicz.bankapp.system.notification.email.outbox.EmailOutboxDispatcher;
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxMessage;
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxStatus;
+import info.mackiewicz.bankapp.system.notification.email.outbox.repository.EmailOutboxRepository;
+import info.mackiewicz.bankapp.testutils.FakeEmailSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Email Outbox Integration Tests")
+class EmailOutboxIntegrationTest {
+
+    @Autowired
+    private EmailOutbox emailOutbox;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository repository;
+
+    @Autowired
+    private FakeEmailSender fakeEmailSender;
+
+    @AfterEach
+    void tearDown() {
+        fakeEmailSender.reset();
+    }
+
+    @Test
+    @DisplayName("Should deliver enqueued email on dispatch")
+    void shouldDeliverEnqueuedEmail() {
+        String recipient = randomRecipient();
+        EmailOutboxMessage message = emailOutbox.enqueue(recipient, "Welcome", "<p>Hello</p>");
+
+        dispatcher.dispatchDueMessages();
+
+        assertThat(fakeEmailSender.sentTo(recipient)).hasSize(1);
+        EmailOutboxMessage stored = repository.findById(message.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(stored.getProviderId()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should retry failed email and deliver it once the provider recovers")
+    void shouldRetryFailedEmail() {
+        String recipient = randomRecipient();
+        EmailOutboxMessage message = emailOutbox.enqueue(recipient, "Reset", "<p>Reset</p>");
+        fakeEmailSender.failNext(1);
+
+        await()
+                .atMost(Duration.ofSeconds(5))
+                .pollInterval(Duration.ofMillis(20))
+                .untilAsserted(() -> {
+                    dispatcher.dispatchDueMessages();
+                    assertThat(repository.findById(message.getId()).orElseThrow().getStatus())
+                            .isEqualTo(EmailOutboxStatus.SENT);
+                });
+
+        EmailOutboxMessage stored = repository.findById(message.getId()).orElseThrow();
+        assertThat(stored.getAttempts()).isEqualTo(2);
+        assertThat(fakeEmailSender.sentTo(recipient)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should move email to dead letter after max attempts")
+    void shouldDeadLetterAfterMaxAttempts() {
+        String recipient = randomRecipient();
+        EmailOutboxMessage message = emailOutbox.enqueue(recipient, "Reset", "<p>Reset</p>");
+        fakeEmailSender.failNext(Integer.MAX_VALUE);
+
+        await()
+                .atMost(Duration.ofSeconds(5))
+                .pollInterval(Duration.ofMillis(20))
+                .untilAsserted(() -> {
+                    dispatcher.dispatchDueMessages();
+                    assertThat(repository.findById(message.getId()).orElseThrow().getStatus())
+                            .isEqualTo(EmailOutboxStatus.DEAD);
+                });
+
+        assertThat(repository.findById(message.getId()).orElseThrow().getAttempts()).isEqualTo(3);
+        assertThat(fakeEmailSender.sentTo(recipient)).isEmpty();
+    }
+
+    private String randomRecipient() {
+        return UUID.randomUUID() + "@example.com";
+    }
+}
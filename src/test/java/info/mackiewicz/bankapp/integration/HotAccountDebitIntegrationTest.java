@@ -0,0 +1,108 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.repository.AccountJournalRepository;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.account.service.HotAccountConfig;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Hot Account Debit Integration Tests")
+class HotAccountDebitIntegrationTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountJournalRepository journalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    private Account hotAccount;
+    private HotAccountJournalService journalService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        User user = testUserService.createRandomTestUser();
+        hotAccount = testAccountService.createTestAccountWithBalance(user.getId(), new BigDecimal("100.00"));
+        journalService = new HotAccountJournalService(new HotAccountConfig(true, hotAccount.getId(), 100),
+                journalRepository, accountRepository);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should read the stored balance plus the unfolded entries")
+    void shouldIncludeUnfoldedEntriesInCurrentBalance() {
+        // given
+        journalService.record(hotAccount, new BigDecimal("25.00"));
+        journalService.record(hotAccount, new BigDecimal("-40.00"));
+
+        // when
+        BigDecimal balance = journalService.getCurrentBalance(hotAccount.getId());
+
+        // then
+        assertThat(balance).isEqualByComparingTo("85.00");
+    }
+
+    @Test
+    @DisplayName("Should make a second debit wait for the first and see its entry")
+    void shouldSerializeDebits() throws Exception {
+        // given
+        CountDownLatch firstLocked = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    BigDecimal balance = journalService.lockForDebit(hotAccount.getId());
+                    firstLocked.countDown();
+                    sleep(200);
+                    journalService.record(hotAccount, balance.negate());
+                }));
+        assertThat(firstLocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        BigDecimal seenBySecond = transactionTemplate.execute(
+                status -> journalService.lockForDebit(hotAccount.getId()));
+
+        // then
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(seenBySecond).isEqualByComparingTo("0.00");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.ledger.model.BalanceSnapshot;
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import info.mackiewicz.bankapp.core.ledger.repository.BalanceSnapshotRepository;
+import info.mackiewicz.bankapp.core.ledger.repository.PostingRepository;
+import info.mackiewicz.bankapp.core.ledger.service.LedgerService;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutionService;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutorRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Ledger Integration Tests")
+class LedgerIntegrationTest {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransactionExecutionService executionService;
+
+    @Autowired
+    private TransactionExecutorRegistry executorRegistry;
+
+    @Autowired
+    private PostingRepository postingRepository;
+
+    @Autowired
+    private BalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Account sourceAccount;
+    private Account destinationAccount;
+
+    @BeforeEach
+    void setUp() {
+        User user = testUserService.createRandomTestUser();
+        sourceAccount = testAccountService.createTestAccountWithBalance(user.getId(), new BigDecimal("100.00"));
+        destinationAccount = testAccountService.createTestAccount(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should book an executed transfer as balanced postings")
+    void shouldBookTransferAsBalancedPostings() {
+        // given
+        Transaction transfer = createPendingTransfer(new BigDecimal("40.00"));
+
+        // when
+        executionService.executeAndComplete(transfer, executorRegistry.getCommand(transfer.getType()));
+
+        // then
+        List<Posting> postings = postingRepository.findByTransactionId(transfer.getId());
+        assertThat(postings).extracting(Posting::getAccountId)
+                .containsExactlyInAnyOrder(sourceAccount.getId(), destinationAccount.getId());
+        assertThat(postings.stream().map(Posting::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(ledgerService.getBalanceAsOf(destinationAccount.getId(), LocalDateTime.now()))
+                .isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    @DisplayName("Should read historical balances from the latest snapshot and later postings")
+    void shouldReadHistoricalBalanceFromSnapshot() {
+        // given
+        Integer accountId = destinationAccount.getId();
+        LocalDateTime now = LocalDateTime.now();
+        post(accountId, "100.00", now.minusMinutes(30));
+        post(accountId, "-30.00", now.minusMinutes(20));
+
+        // when
+        ledgerService.takeSnapshots();
+        post(accountId, "5.00", now.minusSeconds(10));
+
+        // then
+        List<BalanceSnapshot> snapshots = snapshotRepository.findLatestByAccountIds(List.of(accountId));
+        assertThat(snapshots).singleElement()
+                .satisfies(snapshot -> assertThat(snapshot.getBalance()).isEqualByComparingTo("70.00"));
+        assertThat(ledgerService.getBalanceAsOf(accountId, now.minusMinutes(25))).isEqualByComparingTo("100.00");
+        assertThat(ledgerService.getBalanceAsOf(accountId, now.minusMinutes(15))).isEqualByComparingTo("70.00");
+        assertThat(ledgerService.getBalanceAsOf(accountId, now)).isEqualByComparingTo("75.00");
+    }
+
+    private void post(Integer accountId, String amount, LocalDateTime postedAt) {
+        transactionTemplate.executeWithoutResult(status ->
+                ledgerService.post(List.of(new Posting(0, accountId, new BigDecimal(amount), postedAt))));
+    }
+
+    private Transaction createPendingTransfer(BigDecimal amount) {
+        Transaction transaction = new Transaction();
+        transaction.setSourceAccount(sourceAccount);
+        transaction.setDestinationAccount(destinationAccount);
+        transaction.setType(TransactionType.TRANSFER_OWN);
+        transaction.setAmount(amount);
+        transaction.setTitle("Ledger test");
+        transaction.setStatus(TransactionStatus.PENDING);
+        return transactionRepository.save(transaction);
+    }
+}
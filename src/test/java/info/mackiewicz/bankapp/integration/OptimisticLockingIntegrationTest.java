@@ -0,0 +1,129 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.model.dto.VersionedBalance;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import info.mackiewicz.bankapp.system.transaction.processing.core.TransactionProcessor;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingStrategy;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.OptimisticLockingStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@TestPropertySource(properties = "app.locking.mode=optimistic")
+@DisplayName("Optimistic Locking Integration Tests")
+class OptimisticLockingIntegrationTest {
+
+    @Autowired
+    private LockingStrategy lockingStrategy;
+
+    @Autowired
+    private TransactionProcessor transactionProcessor;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    private Account sourceAccount;
+    private Account destinationAccount;
+
+    @BeforeEach
+    void setUp() {
+        User user = testUserService.createRandomTestUser();
+        sourceAccount = testAccountService.createTestAccountWithBalance(user.getId(), new BigDecimal("100.00"));
+        destinationAccount = testAccountService.createTestAccount(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should select the optimistic strategy")
+    void shouldSelectOptimisticStrategy() {
+        assertThat(lockingStrategy).isInstanceOf(OptimisticLockingStrategy.class);
+    }
+
+    @Test
+    @DisplayName("Should execute a transfer with conditional updates of both accounts")
+    void shouldExecuteTransferWithConditionalUpdates() {
+        // given
+        long sourceVersion = versionedBalanceOf(sourceAccount).version();
+        long destinationVersion = versionedBalanceOf(destinationAccount).version();
+        Transaction transfer = newTransfer("40.00");
+
+        // when
+        transactionProcessor.processExclusively(transfer);
+
+        // then
+        assertThat(transactionRepository.findById(transfer.getId()).orElseThrow().getStatus())
+                .isEqualTo(TransactionStatus.DONE);
+        assertThat(versionedBalanceOf(sourceAccount).balance()).isEqualByComparingTo("60.00");
+        assertThat(versionedBalanceOf(sourceAccount).version()).isEqualTo(sourceVersion + 1);
+        assertThat(versionedBalanceOf(destinationAccount).balance()).isEqualByComparingTo("40.00");
+        assertThat(versionedBalanceOf(destinationAccount).version()).isEqualTo(destinationVersion + 1);
+    }
+
+    @Test
+    @DisplayName("Should not update a balance changed since it was read")
+    void shouldNotUpdateBalanceChangedSinceRead() {
+        // given
+        VersionedBalance read = versionedBalanceOf(sourceAccount);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status ->
+                accountRepository.addToBalance(sourceAccount.getId(), new BigDecimal("5.00")));
+
+        // when
+        Integer updated = transaction.execute(status -> accountRepository.updateBalanceIfUnchanged(
+                sourceAccount.getId(), read.balance().subtract(new BigDecimal("10.00")), read.version()));
+
+        // then
+        assertThat(updated).isZero();
+        assertThat(versionedBalanceOf(sourceAccount).balance()).isEqualByComparingTo("105.00");
+        assertThat(versionedBalanceOf(sourceAccount).version()).isEqualTo(read.version() + 1);
+    }
+
+    private Transaction newTransfer(String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setSourceAccount(sourceAccount);
+        transaction.setDestinationAccount(destinationAccount);
+        transaction.setType(TransactionType.TRANSFER_OWN);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTitle("Optimistic locking test");
+        transaction.setStatus(TransactionStatus.NEW);
+        return transactionRepository.save(transaction);
+    }
+
+    private VersionedBalance versionedBalanceOf(Account account) {
+        return accountRepository.findVersionedBalanceById(account.getId()).orElseThrow();
+    }
+}
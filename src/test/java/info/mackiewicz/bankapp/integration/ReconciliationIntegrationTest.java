@@ -0,0 +1,114 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import info.mackiewicz.bankapp.system.reconciliation.ReconciliationService;
+import info.mackiewicz.bankapp.system.reconciliation.dto.BalanceDiscrepancy;
+import info.mackiewicz.bankapp.system.reconciliation.dto.ReconciliationReport;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutionService;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutorRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Reconciliation Integration Tests")
+class ReconciliationIntegrationTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private TransactionExecutionService executionService;
+
+    @Autowired
+    private TransactionExecutorRegistry executorRegistry;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = testUserService.createRandomTestUser();
+    }
+
+    @Test
+    @DisplayName("Should not report accounts whose balances match their DONE transactions")
+    void shouldNotReportMatchingAccounts() {
+        // given
+        Account sourceAccount = testAccountService.createTestAccount(user.getId());
+        Account destinationAccount = testAccountService.createTestAccount(user.getId());
+        execute(null, sourceAccount, TransactionType.DEPOSIT, "50.00");
+        execute(sourceAccount, destinationAccount, TransactionType.TRANSFER_OWN, "20.00");
+
+        // when
+        ReconciliationReport report = reconciliationService.reconcile();
+
+        // then
+        assertThat(report.transactionsScanned()).isGreaterThanOrEqualTo(2);
+        assertThat(report.accountsChecked()).isGreaterThanOrEqualTo(2);
+        assertThat(report.discrepancies()).extracting(BalanceDiscrepancy::accountId)
+                .doesNotContain(sourceAccount.getId(), destinationAccount.getId());
+    }
+
+    @Test
+    @DisplayName("Should report an account funded outside of transactions")
+    void shouldReportAccountFundedOutsideOfTransactions() throws IOException {
+        // given
+        Account account = testAccountService.createTestAccountWithBalance(user.getId(), new BigDecimal("100.00"));
+
+        // when
+        ReconciliationReport report = reconciliationService.reconcile();
+
+        // then
+        assertThat(report.discrepancies()).filteredOn(discrepancy -> discrepancy.accountId().equals(account.getId()))
+                .singleElement()
+                .satisfies(discrepancy -> {
+                    assertThat(discrepancy.storedBalance()).isEqualByComparingTo("100.00");
+                    assertThat(discrepancy.expectedBalance()).isEqualByComparingTo("0.00");
+                });
+        assertThat(Files.readAllLines(report.reportFile()))
+                .first().isEqualTo("account_id,stored_balance,expected_balance,difference");
+        assertThat(Files.readAllLines(report.reportFile()))
+                .contains(account.getId() + ",100.00,0.00,100.00");
+    }
+
+    private void execute(Account source, Account destination, TransactionType type, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setSourceAccount(source);
+        transaction.setDestinationAccount(destination);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTitle("Reconciliation test");
+        transaction.setStatus(TransactionStatus.PENDING);
+        Transaction saved = transactionRepository.save(transaction);
+        executionService.executeAndComplete(saved, executorRegistry.getCommand(type));
+    }
+}
@@ -0,0 +1,108 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.system.scheduling.ClusterJob;
+import info.mackiewicz.bankapp.system.scheduling.ClusterJobConfig;
+import info.mackiewicz.bankapp.system.scheduling.ClusterJobRunner;
+import info.mackiewicz.bankapp.system.scheduling.ScheduledJobsEndpoint;
+import info.mackiewicz.bankapp.system.scheduling.ScheduledJobsEndpoint.JobDescriptor;
+import info.mackiewicz.bankapp.system.scheduling.repository.JobLockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Scheduled Job Lock Integration Tests")
+class ScheduledJobLockIntegrationTest {
+
+    @Autowired
+    private JobLockRepository lockRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClusterJobRunner jobRunner;
+
+    @Autowired
+    private ScheduledJobsEndpoint endpoint;
+
+    @Test
+    @DisplayName("Should run an exclusive job on only one node per tick")
+    void shouldRunExclusiveJobOnOneNode() {
+        // given
+        ClusterJob job = ClusterJob.exclusive(uniqueName(), Duration.ofMinutes(5), Duration.ofMinutes(1));
+        ClusterJobRunner nodeA = nodeRunner("node-a");
+        ClusterJobRunner nodeB = nodeRunner("node-b");
+        AtomicBoolean skippedWhileRunning = new AtomicBoolean();
+
+        // when
+        boolean ranOnA = nodeA.run(job, () -> skippedWhileRunning.set(!nodeB.run(job, () -> { })));
+        boolean ranOnBAfterwards = nodeB.run(job, () -> { });
+
+        // then
+        assertThat(ranOnA).isTrue();
+        assertThat(skippedWhileRunning).isTrue();
+        assertThat(ranOnBAfterwards).isFalse();
+        assertThat(lockRepository.findById(job.name()).orElseThrow().getLockedBy()).isEqualTo("node-a");
+    }
+
+    @Test
+    @DisplayName("Should let another node run the job once the lock is released")
+    void shouldLetAnotherNodeRunAfterRelease() {
+        // given
+        ClusterJob job = ClusterJob.exclusive(uniqueName(), Duration.ofMinutes(5), Duration.ZERO);
+        ClusterJobRunner nodeA = nodeRunner("node-a");
+        ClusterJobRunner nodeB = nodeRunner("node-b");
+
+        // when
+        boolean ranOnA = nodeA.run(job, () -> { });
+        boolean ranOnB = nodeB.run(job, () -> { });
+
+        // then
+        assertThat(ranOnA).isTrue();
+        assertThat(ranOnB).isTrue();
+        assertThat(lockRepository.findById(job.name()).orElseThrow().getLockedBy()).isEqualTo("node-b");
+    }
+
+    @Test
+    @DisplayName("Should expose last run, next run and lock holder in the actuator endpoint")
+    void shouldExposeJobsInEndpoint() {
+        // given
+        ClusterJob job = ClusterJob.exclusive(uniqueName(), Duration.ofMinutes(5), Duration.ofMinutes(1));
+        jobRunner.run(job, () -> { });
+
+        // when
+        ScheduledJobsEndpoint.ScheduledJobsDescriptor descriptor = endpoint.scheduledJobs();
+
+        // then
+        assertThat(descriptor.node()).isEqualTo(jobRunner.getNodeId());
+        JobDescriptor ran = descriptor.jobs().get(job.name());
+        assertThat(ran.lastOutcome()).isEqualTo(ClusterJobRunner.JobOutcome.SUCCESS);
+        assertThat(ran.lockHolder()).isEqualTo(jobRunner.getNodeId());
+        assertThat(ran.lockedUntil()).isNotNull();
+        assertThat(descriptor.jobs()).containsKeys("scheduleProcessNewTransactions", "scheduleDispatchOutboxEmails",
+                "scheduleFoldHotAccountJournal", "scheduleCleanupOldPasswordResetTokens");
+        assertThat(descriptor.jobs().get("scheduleCleanupOldPasswordResetTokens").nextRunAt()).isNotNull();
+    }
+
+    private ClusterJobRunner nodeRunner(String nodeId) {
+        return new ClusterJobRunner(lockRepository, meterRegistry, new ClusterJobConfig(nodeId));
+    }
+
+    private static String uniqueName() {
+        return "test-" + UUID.randomUUID();
+    }
+}
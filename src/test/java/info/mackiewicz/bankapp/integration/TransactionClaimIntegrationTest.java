@@ -0,0 +1,222 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionAlreadyProcessedException;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.core.transaction.service.TransactionClaimConfig;
+import info.mackiewicz.bankapp.core.transaction.service.TransactionService;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import info.mackiewicz.bankapp.shared.util.SchedulerService;
+import info.mackiewicz.bankapp.system.transaction.processing.helpers.TransactionStatusManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Transaction Claim Integration Tests")
+class TransactionClaimIntegrationTest {
+
+    private static final int WORKERS = 3;
+    private static final int TRANSACTIONS = 12;
+
+    // The startup run of the scheduled claim job would race the tests for the transactions they create
+    @MockitoBean
+    private SchedulerService schedulerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionStatusManager statusManager;
+
+    @Autowired
+    private TransactionClaimConfig claimConfig;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should claim every NEW transaction exactly once across concurrent workers")
+    void shouldClaimDisjointBatchesConcurrently() throws Exception {
+        // given
+        List<Integer> created = createNewTransactions(TRANSACTIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(WORKERS)) {
+            for (int i = 0; i < WORKERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return claimUntilEmpty();
+                }));
+            }
+            start.countDown();
+        }
+
+        // then
+        List<Integer> claimed = new ArrayList<>();
+        for (Future<List<Integer>> future : futures) {
+            claimed.addAll(future.get());
+        }
+        assertThat(claimed).doesNotHaveDuplicates().containsAll(created);
+        assertThat(transactionRepository.findAllById(created))
+                .allSatisfy(transaction -> assertThat(transaction.getClaimedUntil()).isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should claim a transaction again when its lease has expired")
+    void shouldReclaimExpiredLease() {
+        // given
+        Integer id = createNewTransactions(1).getFirst();
+        LocalDateTime now = LocalDateTime.now();
+        lease(id, "crashed-node", now.minusMinutes(10), now.minusMinutes(5));
+
+        // when
+        List<Integer> claimed = claimUntilEmpty();
+
+        // then
+        assertThat(claimed).contains(id);
+        assertThat(transactionRepository.findById(id).orElseThrow().getClaimedBy()).isNotEqualTo("crashed-node");
+    }
+
+    @Test
+    @DisplayName("Should not claim a transaction leased by another worker")
+    void shouldNotClaimTransactionLeasedByAnotherWorker() {
+        // given
+        Integer id = createNewTransactions(1).getFirst();
+        LocalDateTime now = LocalDateTime.now();
+        lease(id, "other-node", now, now.plusMinutes(5));
+
+        // when
+        boolean claimed = transactionService.claimTransaction(id);
+        List<Integer> batch = claimUntilEmpty();
+
+        // then
+        assertThat(claimed).isFalse();
+        assertThat(batch).doesNotContain(id);
+        assertThat(transactionRepository.findById(id).orElseThrow().getClaimedBy()).isEqualTo("other-node");
+    }
+
+    @Test
+    @DisplayName("Should renew the lease when a claimed transaction is marked PENDING")
+    void shouldRenewLeaseWhenMarkedPending() {
+        // given
+        Integer id = createNewTransactions(1).getFirst();
+        LocalDateTime now = LocalDateTime.now();
+        lease(id, claimConfig.nodeId(), now, now.plusSeconds(1));
+        Transaction transaction = transactionRepository.findById(id).orElseThrow();
+
+        // when
+        statusManager.setTransactionStatus(transaction, TransactionStatus.PENDING);
+
+        // then
+        Transaction stored = transactionRepository.findById(id).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(TransactionStatus.PENDING);
+        assertThat(stored.getClaimedUntil()).isAfter(now.plusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should not overwrite the outcome of the worker that took over an expired lease")
+    void shouldNotOverwriteStatusAfterLosingLease() {
+        // given
+        Integer id = createNewTransactions(1).getFirst();
+        LocalDateTime now = LocalDateTime.now();
+        lease(id, claimConfig.nodeId(), now, now.plusSeconds(1));
+        Transaction transaction = transactionRepository.findById(id).orElseThrow();
+        statusManager.setTransactionStatus(transaction, TransactionStatus.PENDING);
+        // The lease expires, another worker re-claims the transaction and completes it
+        lease(id, "other-node", now.plusYears(1), now.plusYears(1).plusMinutes(5));
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.completePendingTransaction(id));
+
+        // when
+        statusManager.setTransactionStatus(transaction, TransactionStatus.SYSTEM_ERROR);
+
+        // then
+        assertThat(transactionRepository.findById(id).orElseThrow().getStatus()).isEqualTo(TransactionStatus.DONE);
+        assertThatThrownBy(() -> statusManager.renewLease(transaction))
+                .isInstanceOf(TransactionAlreadyProcessedException.class);
+    }
+
+    @Test
+    @DisplayName("Should not start a transaction leased by another worker")
+    void shouldNotMarkPendingWithoutLease() {
+        // given
+        Integer id = createNewTransactions(1).getFirst();
+        LocalDateTime now = LocalDateTime.now();
+        lease(id, "other-node", now, now.plusMinutes(5));
+        Transaction transaction = transactionRepository.findById(id).orElseThrow();
+        transaction.setClaimedBy(claimConfig.nodeId());
+
+        // when & then
+        assertThatThrownBy(() -> statusManager.setTransactionStatus(transaction, TransactionStatus.PENDING))
+                .isInstanceOf(TransactionAlreadyProcessedException.class);
+        assertThat(transactionRepository.findById(id).orElseThrow().getStatus()).isEqualTo(TransactionStatus.NEW);
+    }
+
+    private List<Integer> claimUntilEmpty() {
+        List<Integer> claimed = new ArrayList<>();
+        List<Transaction> batch;
+        while (!(batch = transactionService.claimNewTransactions()).isEmpty()) {
+            batch.forEach(transaction -> claimed.add(transaction.getId()));
+        }
+        return claimed;
+    }
+
+    private void lease(Integer id, String claimedBy, LocalDateTime now, LocalDateTime until) {
+        transactionTemplate.executeWithoutResult(status ->
+                transactionRepository.claim(List.of(id), claimedBy, now, until));
+    }
+
+    private List<Integer> createNewTransactions(int count) {
+        User user = testUserService.createRandomTestUser();
+        Account account = testAccountService.createTestAccount(user.getId());
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setDestinationAccount(account);
+            transaction.setType(TransactionType.DEPOSIT);
+            transaction.setAmount(BigDecimal.TEN);
+            transaction.setTitle("Claim test " + i);
+            transaction.setStatus(TransactionStatus.NEW);
+            ids.add(transactionRepository.save(transaction).getId());
+        }
+        return List.copyOf(ids);
+    }
+}
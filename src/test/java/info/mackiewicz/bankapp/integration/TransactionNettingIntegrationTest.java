@@ -0,0 +1,121 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.ledger.model.Posting;
+import info.mackiewicz.bankapp.core.ledger.repository.PostingRepository;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import info.mackiewicz.bankapp.system.transaction.processing.netting.TransactionNettingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Transaction Netting Integration Tests")
+class TransactionNettingIntegrationTest {
+
+    @Autowired
+    private TransactionNettingService nettingService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PostingRepository postingRepository;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    private Account firstAccount;
+    private Account secondAccount;
+
+    @BeforeEach
+    void setUp() {
+        User user = testUserService.createRandomTestUser();
+        firstAccount = testAccountService.createTestAccountWithBalance(user.getId(), new BigDecimal("100.00"));
+        secondAccount = testAccountService.createTestAccount(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should net a batch and complete every transaction individually")
+    void shouldNetBatchAndCompleteEveryTransaction() {
+        // given
+        Transaction first = newTransfer(firstAccount, secondAccount, "60.00");
+        Transaction back = newTransfer(secondAccount, firstAccount, "20.00");
+        Transaction uncovered = newTransfer(secondAccount, firstAccount, "50.00");
+        Transaction last = newTransfer(firstAccount, secondAccount, "10.00");
+
+        // when
+        List<Transaction> remaining = nettingService.process(List.of(first, back, uncovered, last));
+
+        // then
+        assertThat(remaining).isEmpty();
+        assertThat(statusOf(first)).isEqualTo(TransactionStatus.DONE);
+        assertThat(statusOf(back)).isEqualTo(TransactionStatus.DONE);
+        assertThat(statusOf(uncovered)).isEqualTo(TransactionStatus.INSUFFICIENT_FUNDS);
+        assertThat(statusOf(last)).isEqualTo(TransactionStatus.DONE);
+        assertThat(balanceOf(firstAccount)).isEqualByComparingTo("50.00");
+        assertThat(balanceOf(secondAccount)).isEqualByComparingTo("50.00");
+        assertThat(postingRepository.findByTransactionId(back.getId())).extracting(Posting::getAccountId)
+                .containsExactlyInAnyOrder(firstAccount.getId(), secondAccount.getId());
+        assertThat(postingRepository.findByTransactionId(uncovered.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should leave a batch smaller than the minimum to regular processing")
+    void shouldLeaveSmallBatchToRegularProcessing() {
+        // given
+        Transaction transfer = newTransfer(firstAccount, secondAccount, "60.00");
+
+        // when
+        List<Transaction> remaining = nettingService.process(List.of(transfer));
+
+        // then
+        assertThat(remaining).containsExactly(transfer);
+        assertThat(statusOf(transfer)).isEqualTo(TransactionStatus.NEW);
+        assertThat(balanceOf(firstAccount)).isEqualByComparingTo("100.00");
+    }
+
+    private Transaction newTransfer(Account source, Account destination, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setSourceAccount(source);
+        transaction.setDestinationAccount(destination);
+        transaction.setType(TransactionType.TRANSFER_OWN);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTitle("Netting test");
+        transaction.setStatus(TransactionStatus.NEW);
+        return transactionRepository.save(transaction);
+    }
+
+    private TransactionStatus statusOf(Transaction transaction) {
+        return transactionRepository.findById(transaction.getId()).orElseThrow().getStatus();
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
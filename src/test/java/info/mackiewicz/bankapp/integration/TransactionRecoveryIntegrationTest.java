@@ -0,0 +1,167 @@
+package info.mackiewicz.bankapp.integration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionAlreadyProcessedException;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.core.transaction.service.TransactionService;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutionService;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutorRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Transaction Recovery Integration Tests")
+class TransactionRecoveryIntegrationTest {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("40.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionExecutionService executionService;
+
+    @Autowired
+    private TransactionExecutorRegistry executorRegistry;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Account sourceAccount;
+    private Account destinationAccount;
+
+    @BeforeEach
+    void setUp() {
+        User user = testUserService.createRandomTestUser();
+        sourceAccount = testAccountService.createTestAccountWithBalance(user.getId(), INITIAL_BALANCE);
+        destinationAccount = testAccountService.createTestAccountWithBalance(user.getId(), INITIAL_BALANCE);
+    }
+
+    @Test
+    @DisplayName("Should re-queue a PENDING transaction whose lease has expired")
+    void shouldRequeueAbandonedPendingTransaction() {
+        // given
+        Transaction transaction = createTransfer();
+        LocalDateTime now = LocalDateTime.now();
+        leaseAndSetStatus(transaction.getId(), now.minusMinutes(10), now.minusMinutes(5), TransactionStatus.PENDING);
+
+        // when
+        int requeued = transactionService.requeueAbandonedTransactions();
+
+        // then
+        Transaction recovered = transactionRepository.findById(transaction.getId()).orElseThrow();
+        assertThat(requeued).isGreaterThanOrEqualTo(1);
+        assertThat(recovered.getStatus()).isEqualTo(TransactionStatus.NEW);
+        assertThat(recovered.getClaimedBy()).isNull();
+        assertThat(recovered.getClaimedUntil()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should leave a PENDING transaction alone while its lease is valid")
+    void shouldNotRequeuePendingTransactionWithValidLease() {
+        // given
+        Transaction transaction = createTransfer();
+        LocalDateTime now = LocalDateTime.now();
+        leaseAndSetStatus(transaction.getId(), now, now.plusMinutes(5), TransactionStatus.PENDING);
+
+        // when
+        transactionService.requeueAbandonedTransactions();
+
+        // then
+        Transaction pending = transactionRepository.findById(transaction.getId()).orElseThrow();
+        assertThat(pending.getStatus()).isEqualTo(TransactionStatus.PENDING);
+        assertThat(pending.getClaimedBy()).isEqualTo("worker-node");
+    }
+
+    @Test
+    @DisplayName("Should commit the legs together with the DONE status")
+    void shouldCompletePendingTransactionAtomically() {
+        // given
+        Transaction transaction = createTransfer();
+        LocalDateTime now = LocalDateTime.now();
+        leaseAndSetStatus(transaction.getId(), now, now.plusMinutes(5), TransactionStatus.PENDING);
+
+        // when
+        executionService.executeAndComplete(transaction, executorRegistry.getCommand(transaction.getType()));
+
+        // then
+        assertThat(transactionRepository.findById(transaction.getId()).orElseThrow().getStatus())
+                .isEqualTo(TransactionStatus.DONE);
+        assertThat(balanceOf(sourceAccount)).isEqualByComparingTo(INITIAL_BALANCE.subtract(AMOUNT));
+        assertThat(balanceOf(destinationAccount)).isEqualByComparingTo(INITIAL_BALANCE.add(AMOUNT));
+    }
+
+    @Test
+    @DisplayName("Should roll back the legs when another execution already completed the transaction")
+    void shouldRollBackLegsWhenTransactionIsNoLongerPending() {
+        // given
+        Transaction transaction = createTransfer();
+        LocalDateTime now = LocalDateTime.now();
+        leaseAndSetStatus(transaction.getId(), now, now.plusMinutes(5), TransactionStatus.DONE);
+
+        // when & then
+        assertThatThrownBy(() -> executionService.executeAndComplete(transaction,
+                executorRegistry.getCommand(transaction.getType())))
+                .isInstanceOf(TransactionAlreadyProcessedException.class);
+        assertThat(balanceOf(sourceAccount)).isEqualByComparingTo(INITIAL_BALANCE);
+        assertThat(balanceOf(destinationAccount)).isEqualByComparingTo(INITIAL_BALANCE);
+    }
+
+    private Transaction createTransfer() {
+        Transaction transaction = new Transaction();
+        transaction.setSourceAccount(sourceAccount);
+        transaction.setDestinationAccount(destinationAccount);
+        transaction.setType(TransactionType.TRANSFER_OWN);
+        transaction.setAmount(AMOUNT);
+        transaction.setTitle("Recovery test");
+        transaction.setStatus(TransactionStatus.NEW);
+        return transactionRepository.save(transaction);
+    }
+
+    private void leaseAndSetStatus(Integer id, LocalDateTime now, LocalDateTime until, TransactionStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            transactionRepository.claim(List.of(id), "worker-node", now, until);
+            transactionRepository.updateTransactionStatus(id, status);
+        });
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,231 @@
+package info.mackiewicz.bankapp.integration.registration;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.repository.AccountRepository;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceWritePolicy;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.core.user.exception.DuplicatedEmailException;
+import info.mackiewicz.bankapp.core.user.exception.DuplicatedPhoneNumberException;
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
+import info.mackiewicz.bankapp.core.user.model.vo.PhoneNumber;
+import info.mackiewicz.bankapp.core.user.repository.UserRepository;
+import info.mackiewicz.bankapp.core.user.service.UserService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestAccountService;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestConfig;
+import info.mackiewicz.bankapp.integration.utils.IntegrationTestUserService;
+import info.mackiewicz.bankapp.shared.util.BankAccountProvider;
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxStatus;
+import info.mackiewicz.bankapp.system.notification.email.outbox.repository.EmailOutboxRepository;
+import info.mackiewicz.bankapp.system.registration.bulk.BulkOnboardingService;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingRejection;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingReport;
+import info.mackiewicz.bankapp.system.registration.exception.BulkOnboardingUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {"bankapp.registration.bulk.chunk-size=2", "app.user.key-filter.enabled=true"})
+@ActiveProfiles("test")
+@Import(IntegrationTestConfig.class)
+@DisplayName("Bulk Onboarding Integration Tests")
+class BulkOnboardingIntegrationTest {
+
+    private static final BigDecimal BANK_BALANCE = new BigDecimal("10000");
+    private static final BigDecimal WELCOME_BONUS = new BigDecimal("1000");
+
+    @Autowired
+    private BulkOnboardingService bulkOnboardingService;
+
+    @Autowired
+    private IntegrationTestUserService testUserService;
+
+    @Autowired
+    private IntegrationTestAccountService testAccountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @MockitoBean
+    private BankAccountProvider bankAccountProvider;
+
+    @MockitoSpyBean
+    private AccountBalanceWritePolicy writePolicy;
+
+    private User existingUser;
+    private Account bankAccount;
+    private String runId;
+
+    @BeforeEach
+    void setUp() {
+        existingUser = testUserService.createRandomTestUser();
+        bankAccount = testAccountService.createTestAccountWithBalance(existingUser.getId(), BANK_BALANCE);
+        when(bankAccountProvider.getBankAccount())
+                .thenAnswer(invocation -> accountRepository.findById(bankAccount.getId()).orElseThrow());
+        runId = String.valueOf(ThreadLocalRandom.current().nextInt(100_000, 1_000_000));
+    }
+
+    @Test
+    @DisplayName("Should import valid lines with accounts, bonuses and welcome emails and report the rest")
+    void shouldImportValidLinesAndReportRejections() {
+        // given
+        String csv = String.join("\n",
+                "firstname,lastname,dateOfBirth,pesel,email,phoneNumber,password",
+                line("Jan", "Kowalski", 1),
+                line("Zofia", "Wójcik", 2),
+                "Anna,Kowalska,1990-05-15," + peselOf(3) + "," + emailOf(1) + "," + phoneOf(3) + ",Password1!",
+                "Adam,Nowak,15-05-1990," + peselOf(4) + "," + emailOf(4) + "," + phoneOf(4) + ",Password1!",
+                "Ewa,Lis,1990-05-15," + peselOf(5) + "," + emailOf(5) + "," + phoneOf(5) + ",weak",
+                line("Piotr", "Zieliński", 6),
+                "Karol,Mazur,1990-05-15," + peselOf(7) + "," + existingUser.getEmail() + "," + phoneOf(7)
+                        + ",Password1!");
+        long pendingEmailsBefore = emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING);
+
+        // when
+        OnboardingReport report = bulkOnboardingService.onboard(new StringReader(csv));
+
+        // then
+        assertThat(report.processed()).isEqualTo(7);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejections()).extracting(OnboardingRejection::line).containsExactly(4, 5, 6, 8);
+        assertThat(report.rejections()).extracting(OnboardingRejection::reason)
+                .anyMatch(reason -> reason.startsWith("Email already in use"))
+                .anyMatch(reason -> reason.startsWith("Invalid date of birth"));
+
+        for (int index : List.of(1, 2, 6)) {
+            User user = userRepository.findByEmail(new EmailAddress(emailOf(index))).orElseThrow();
+            assertThat(user.getUsername()).isNotBlank();
+            assertThat(user.getPassword()).isNotEqualTo("Password1!").contains("$2a$");
+            assertThat(user.getRoles()).contains("ROLE_USER");
+
+            Account account = accountRepository.findAccountsByOwner_id(user.getId()).orElseThrow().getFirst();
+            assertThat(account.getBalance()).isEqualByComparingTo(WELCOME_BONUS);
+            assertThat(account.getIban()).isNotNull();
+
+            List<Transaction> transactions = transactionRepository.findByAccountId(account.getId()).orElseThrow();
+            assertThat(transactions).singleElement().satisfies(transaction -> {
+                assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.DONE);
+                assertThat(transaction.getAmount()).isEqualByComparingTo(WELCOME_BONUS);
+                assertThat(transaction.getSourceAccount().getId()).isEqualTo(bankAccount.getId());
+            });
+        }
+        assertThat(userRepository.existsByEmail(new EmailAddress(emailOf(5)))).isFalse();
+        assertThat(accountRepository.findBalanceById(bankAccount.getId()).orElseThrow())
+                .isEqualByComparingTo(BANK_BALANCE.subtract(WELCOME_BONUS.multiply(BigDecimal.valueOf(3))));
+        assertThat(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING))
+                .isEqualTo(pendingEmailsBefore + 3);
+    }
+
+    @Test
+    @DisplayName("Should roll back a chunk the bank account cannot cover")
+    void shouldRollBackChunkWhenBankBalanceIsInsufficient() {
+        // given
+        String csv = String.join("\n",
+                line("Jan", "Kowalski", 1),
+                line("Zofia", "Wójcik", 2),
+                line("Piotr", "Zieliński", 3));
+        // covers the first chunk of two users only partially
+        bankAccount = testAccountService.createTestAccountWithBalance(existingUser.getId(), WELCOME_BONUS);
+
+        // when
+        OnboardingReport report = bulkOnboardingService.onboard(new StringReader(csv));
+
+        // then
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejections()).extracting(OnboardingRejection::line).containsExactly(1, 2);
+        assertThat(report.rejections()).allMatch(rejection -> rejection.reason().startsWith("Chunk rolled back"));
+        assertThat(userRepository.existsByEmail(new EmailAddress(emailOf(1)))).isFalse();
+        assertThat(userRepository.existsByEmail(new EmailAddress(emailOf(3)))).isTrue();
+        assertThat(accountRepository.findBalanceById(bankAccount.getId()).orElseThrow()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Should refuse the import while the balance engine owns the balances")
+    void shouldRefuseImportWhenBalanceEngineOwnsBalances() {
+        // given
+        doReturn(true).when(writePolicy).isBalanceOwnedExternally();
+        String csv = line("Jan", "Kowalski", 1);
+
+        // when & then
+        assertThatThrownBy(() -> bulkOnboardingService.onboard(new StringReader(csv)))
+                .isInstanceOf(BulkOnboardingUnavailableException.class);
+        assertThat(userRepository.existsByEmail(new EmailAddress(emailOf(1)))).isFalse();
+        assertThat(accountRepository.findBalanceById(bankAccount.getId()).orElseThrow())
+                .isEqualByComparingTo(BANK_BALANCE);
+    }
+
+    @Test
+    @DisplayName("Should reject users taking fields of imported users through the key filter and the single query")
+    void shouldRejectDuplicatesOfImportedUsers() {
+        // given
+        bulkOnboardingService.onboard(new StringReader(String.join("\n",
+                line("Jan", "Kowalski", 1),
+                line("Zofia", "Wójcik", 2))));
+        User newUser = User.builder()
+                .withFirstname("Anna")
+                .withLastname("Nowak")
+                .withPesel(peselOf(3))
+                .withDateOfBirth(LocalDate.of(1990, 5, 15))
+                .withEmail(emailOf(1))
+                .withPhoneNumber(phoneOf(3))
+                .withPassword("Password1!")
+                .build();
+        User imported = userRepository.findByEmail(new EmailAddress(emailOf(2))).orElseThrow();
+        imported.setPhoneNumber(new PhoneNumber(phoneOf(1)));
+
+        // when & then
+        assertThatThrownBy(() -> userService.createUser(newUser))
+                .isInstanceOf(DuplicatedEmailException.class)
+                .hasMessageContaining(emailOf(1));
+        assertThatThrownBy(() -> userService.updateUser(imported))
+                .isInstanceOf(DuplicatedPhoneNumberException.class);
+    }
+
+    private String line(String firstname, String lastname, int index) {
+        return String.join(",", firstname, lastname, "1990-05-15", peselOf(index), emailOf(index), phoneOf(index),
+                "Password1!");
+    }
+
+    private String peselOf(int index) {
+        return "900515" + runId.substring(2) + index % 10;
+    }
+
+    private String emailOf(int index) {
+        return "bulk" + runId + "." + index + "@example.com";
+    }
+
+    private String phoneOf(int index) {
+        return "+486" + runId.substring(0, 5) + "0" + index % 100 / 10 + index % 10;
+    }
+}
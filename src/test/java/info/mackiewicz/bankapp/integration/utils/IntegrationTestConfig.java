@@ -1,7 +1,9 @@
 package info.mackiewicz.bankapp.integration.utils;
 
+import info.mackiewicz.bankapp.testutils.FakeEmailSender;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 
 @TestConfiguration
 public class IntegrationTestConfig {
@@ -15,4 +17,10 @@ public class IntegrationTestConfig {
     public IntegrationTestAccountService testAccountService() {
         return new IntegrationTestAccountService();
     }
+
+    @Bean
+    @Primary
+    public FakeEmailSender fakeEmailSender() {
+        return new FakeEmailSender();
+    }
 }
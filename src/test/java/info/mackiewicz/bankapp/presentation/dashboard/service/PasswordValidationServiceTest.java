@@ -13,6 +13,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,10 +42,34 @@ class PasswordValidationServiceTest {
             String encodedCurrentPassword = "encoded_current123";
             
             when(passwordService.verifyPassword(currentPassword, encodedCurrentPassword)).thenReturn(true);
-            when(passwordService.verifyPassword(newPassword, encodedCurrentPassword)).thenReturn(false);
 
             // Act & Assert - no exception
             passwordValidationService.validatePasswordChange(currentPassword, newPassword, confirmPassword, encodedCurrentPassword);
+
+            verify(passwordService, times(1)).verifyPassword(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should fail without hashing when new password and confirmation differ")
+        void validatePasswordChange_WhenConfirmationDiffers_ThenThrowBeforeHashing() {
+            // Act & Assert
+            assertThatThrownBy(() -> passwordValidationService.validatePasswordChange(
+                    "Current123", "New123456", "Other123456", "encoded_current123"))
+                    .isInstanceOf(PasswordsMismatchException.class);
+
+            verify(passwordService, never()).verifyPassword(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should fail when new password equals the verified current password")
+        void validatePasswordChange_WhenNewPasswordSameAsCurrent_ThenThrowException() {
+            // Arrange
+            when(passwordService.verifyPassword("Current123", "encoded_current123")).thenReturn(true);
+
+            // Act & Assert
+            assertThatThrownBy(() -> passwordValidationService.validatePasswordChange(
+                    "Current123", "Current123", "Current123", "encoded_current123"))
+                    .isInstanceOf(PasswordSameException.class);
         }
     }
 
@@ -0,0 +1,74 @@
+package info.mackiewicz.bankapp.shared.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class OffloadingPasswordEncoderTest {
+
+    @Test
+    void encode_RunsOnHashingThread() {
+        // Arrange
+        PasswordEncoder threadNameEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return Thread.currentThread().getName();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+
+        try (OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(threadNameEncoder, 1, 1,
+                new SimpleMeterRegistry())) {
+            // Act & Assert
+            assertThat(encoder.encode("secret")).startsWith("PasswordHash-");
+        }
+    }
+
+    @Test
+    void encode_WhenPoolAndQueueFull_RejectsRequest() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+
+        try (OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(blockingEncoder, 1, 1,
+                new SimpleMeterRegistry())) {
+            Thread running = Thread.ofVirtual().start(() -> encoder.encode("first"));
+            Thread queued = Thread.ofVirtual().start(() -> encoder.encode("second"));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> encoder.getQueueSize() == 1);
+
+            // Act & Assert
+            assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            running.join();
+            queued.join();
+        }
+    }
+}
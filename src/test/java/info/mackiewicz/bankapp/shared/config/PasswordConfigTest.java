@@ -0,0 +1,84 @@
+package info.mackiewicz.bankapp.shared.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordConfigTest {
+
+    private final PasswordConfig passwordConfig = new PasswordConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (encoder instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Test
+    void passwordEncoder_EncodesWithBCryptPrefixAndVerifiesLegacyHashes() {
+        // Arrange
+        encoder = passwordConfig.passwordEncoder(properties("bcrypt", 4), meterRegistry);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        // Act
+        String hash = encoder.encode("secret");
+
+        // Assert
+        assertThat(hash).startsWith("{bcrypt}$2a$04$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("secret", legacyHash)).isTrue();
+        assertThat(encoder.matches("wrong", legacyHash)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void passwordEncoder_WhenArgon2Selected_UpgradesBCryptHashes() {
+        // Arrange
+        encoder = passwordConfig.passwordEncoder(properties("argon2", 4), meterRegistry);
+        String bcryptHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+
+        // Act
+        String hash = encoder.encode("secret");
+
+        // Assert
+        assertThat(hash).startsWith("{argon2}$argon2id$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("secret", bcryptHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void passwordEncoder_RecordsHashLatencyAndExecutorMetrics() {
+        // Arrange
+        encoder = passwordConfig.passwordEncoder(properties("bcrypt", 4), meterRegistry);
+
+        // Act
+        encoder.matches("secret", encoder.encode("secret"));
+
+        // Assert
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.queued").tag("name", OffloadingPasswordEncoder.EXECUTOR_NAME)
+                .gauge()).isNotNull();
+    }
+
+    @Test
+    void chooseCost_RaisesCostWhileWithinTargetAndRespectsBounds() {
+        assertThat(BCryptCostCalibrator.chooseCost(60, 250, 10, 14)).isEqualTo(12);
+        assertThat(BCryptCostCalibrator.chooseCost(300, 250, 10, 14)).isEqualTo(10);
+        assertThat(BCryptCostCalibrator.chooseCost(1, 250, 10, 14)).isEqualTo(14);
+    }
+
+    private PasswordHashingProperties properties(String encoder, int bcryptCost) {
+        return new PasswordHashingProperties(encoder, bcryptCost, 0, 0, 0, 2, 10);
+    }
+}
@@ -1,6 +1,7 @@
 package info.mackiewicz.bankapp.shared.service;
 
 import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.vo.EmailAddress;
 import info.mackiewicz.bankapp.core.user.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,4 +54,20 @@ class CustomUserDetailsServiceTest {
         assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername(username));
         verify(userService, times(1)).getUserByUsername(username);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updatePassword_StoresNewHashAndReturnsUpdatedUser() {
+        // Arrange
+        User user = new User();
+        user.setEmail(new EmailAddress("test@example.com"));
+        user.setPassword("$2a$10$oldHash");
+        String newHash = "{bcrypt}$2a$12$newHash";
+
+        // Act
+        UserDetails result = customUserDetailsService.updatePassword(user, newHash);
+
+        // Assert
+        assertEquals(newHash, result.getPassword());
+        verify(userService).changeUsersPassword(user.getEmail(), newHash);
+    }
+}
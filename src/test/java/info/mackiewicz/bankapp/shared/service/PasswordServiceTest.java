@@ -108,7 +108,9 @@ class PasswordServiceTest {
         String[] bcryptFormats = {
             "$2a$10$encoded",
             "$2b$10$encoded",
-            "$2y$10$encoded"
+            "$2y$10$encoded",
+            "{bcrypt}$2a$10$encoded",
+            "{argon2}$argon2id$v=19$m=16384,t=2,p=1$salt$hash"
         };
 
         for (String encodedPassword : bcryptFormats) {
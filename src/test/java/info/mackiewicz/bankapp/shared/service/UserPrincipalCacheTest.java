@@ -0,0 +1,108 @@
+package info.mackiewicz.bankapp.shared.service;
+
+import info.mackiewicz.bankapp.core.user.model.User;
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import info.mackiewicz.bankapp.shared.config.UserCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserPrincipalCacheTest {
+
+    private UserPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache(new UserCacheProperties(0, 0));
+    }
+
+    @Test
+    void putUserInCache_Principal_IsReturnedByUsername() {
+        // Arrange
+        UserPrincipal principal = principal(1, "john.doe1");
+
+        // Act
+        cache.putUserInCache(principal);
+
+        // Assert
+        assertSame(principal, cache.getUserFromCache("john.doe1"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void putUserInCache_UserEntity_IsNotCached() {
+        // Arrange
+        User user = mock(User.class);
+
+        // Act
+        cache.putUserInCache(user);
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictUser_CachedPrincipal_RemovesOnlyThatUser() {
+        // Arrange
+        cache.putUserInCache(principal(1, "john.doe1"));
+        cache.putUserInCache(principal(2, "jane.doe2"));
+
+        // Act
+        cache.evictUser(1);
+
+        // Assert
+        assertNull(cache.getUserFromCache("john.doe1"));
+        assertNotNull(cache.getUserFromCache("jane.doe2"));
+    }
+
+    @Test
+    void evictUser_AfterUsernameChange_RemovesBothEntries() {
+        // Arrange
+        cache.putUserInCache(principal(1, "john.doe1"));
+        cache.putUserInCache(principal(1, "john.smith1"));
+
+        // Act
+        cache.evictUser(1);
+
+        // Assert
+        assertNull(cache.getUserFromCache("john.doe1"));
+        assertNull(cache.getUserFromCache("john.smith1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictUser_AfterRemovalByUsername_DoesNotEvictNewOwnerOfUsername() {
+        // Arrange
+        cache.putUserInCache(principal(1, "john.doe1"));
+        cache.removeUserFromCache("john.doe1");
+        cache.putUserInCache(principal(2, "john.doe1"));
+
+        // Act
+        cache.evictUser(1);
+
+        // Assert
+        assertNotNull(cache.getUserFromCache("john.doe1"));
+    }
+
+    @Test
+    void removeUserFromCache_CachedPrincipal_RemovesEntry() {
+        // Arrange
+        cache.putUserInCache(principal(1, "john.doe1"));
+
+        // Act
+        cache.removeUserFromCache("john.doe1");
+
+        // Assert
+        assertNull(cache.getUserFromCache("john.doe1"));
+    }
+
+    private static UserPrincipal principal(int id, String username) {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(id);
+        when(user.getUsername()).thenReturn(username);
+        return UserPrincipal.from(user);
+    }
+}
@@ -0,0 +1,57 @@
+package info.mackiewicz.bankapp.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 100_000;
+
+    @Test
+    void mightContain_AddedValues_AlwaysReturnsTrue() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+
+        // Act
+        IntStream.range(0, INSERTIONS).forEach(i -> filter.put("user" + i + "@example.com"));
+
+        // Assert
+        assertThat(IntStream.range(0, INSERTIONS)).allMatch(i -> filter.mightContain("user" + i + "@example.com"));
+    }
+
+    @Test
+    void mightContain_OtherValues_StaysNearFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        IntStream.range(0, INSERTIONS).forEach(i -> filter.put("user" + i + "@example.com"));
+
+        // Act
+        long falsePositives = IntStream.range(0, INSERTIONS)
+                .filter(i -> filter.mightContain("other" + i + "@example.com"))
+                .count();
+
+        // Assert
+        assertThat((double) falsePositives / INSERTIONS).isLessThan(0.02);
+    }
+
+    @Test
+    void mightContain_EmptyFilter_ReturnsFalse() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10, 0.01);
+
+        // Act & Assert
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain("12345678901")).isFalse();
+    }
+
+    @Test
+    void constructor_InvalidArguments_Throws() {
+        // Act & Assert
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(10, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
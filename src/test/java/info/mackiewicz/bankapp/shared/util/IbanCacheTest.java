@@ -0,0 +1,62 @@
+package info.mackiewicz.bankapp.shared.util;
+
+import info.mackiewicz.bankapp.testutils.TestIbanProvider;
+import org.iban4j.Iban;
+import org.iban4j.Iban4jException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IbanCacheTest {
+
+    @Test
+    void valueOf_SameIban_ReturnsSharedInstance() {
+        // Arrange
+        String iban = TestIbanProvider.getNextIban();
+
+        // Act
+        Iban first = IbanCache.valueOf(iban);
+        Iban second = IbanCache.valueOf(new String(iban));
+
+        // Assert
+        assertThat(first).isEqualTo(Iban.valueOf(iban));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void valueOf_InvalidIban_ThrowsAndIsNotCached() {
+        // Arrange
+        String invalid = "PL00000000000000000000000000";
+
+        // Act & Assert
+        assertThatThrownBy(() -> IbanCache.valueOf(invalid)).isInstanceOf(Iban4jException.class);
+        assertThatThrownBy(() -> IbanCache.valueOf(invalid)).isInstanceOf(Iban4jException.class);
+    }
+
+    @Test
+    void formatted_AnyIban_MatchesIban4jFormatting() {
+        // Arrange
+        Iban iban = TestIbanProvider.getNextIbanObject();
+
+        // Act
+        String formatted = IbanCache.formatted(iban);
+
+        // Assert
+        assertThat(formatted).isEqualTo(iban.toFormattedString());
+        assertThat(IbanCache.formatted(iban)).isSameAs(formatted);
+    }
+
+    @Test
+    void masked_AnyIban_MatchesStringMasking() {
+        // Arrange
+        Iban iban = TestIbanProvider.getNextIbanObject();
+
+        // Act
+        String masked = IbanMasker.maskIban(iban);
+
+        // Assert
+        assertThat(masked).isEqualTo(IbanMasker.maskIban(iban.toString()));
+        assertThat(masked).startsWith(iban.toString().substring(0, 4)).contains("****");
+    }
+}
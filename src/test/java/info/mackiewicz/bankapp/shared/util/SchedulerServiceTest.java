@@ -1,34 +1,180 @@
 package info.mackiewicz.bankapp.shared.util;
 
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.ledger.service.LedgerService;
+import info.mackiewicz.bankapp.system.notification.email.outbox.EmailOutboxDispatcher;
+import info.mackiewicz.bankapp.system.reconciliation.ReconciliationService;
+import info.mackiewicz.bankapp.system.scheduling.ClusterJob;
+import info.mackiewicz.bankapp.system.scheduling.ClusterJobRunner;
 import info.mackiewicz.bankapp.system.transaction.processing.TransactionProcessingService;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class SchedulerServiceTest {
 
     @Mock
     private TransactionProcessingService transactionProcessingService;
 
+    @Mock
+    private HotAccountJournalService hotAccountJournalService;
+
+    @Mock
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private ReconciliationService reconciliationService;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private ClusterJobRunner jobRunner;
+
     @InjectMocks
     private SchedulerService schedulerService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(jobRunner.run(any(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
     }
 
     @Test
-    void scheduleProcessAllNewTransactions_CallsTransactionService() {
+    void scheduleProcessNewTransactions_ProcessesOneClaimedBatch() {
+        // Arrange
+        when(transactionProcessingService.processNewTransactions()).thenReturn(100);
+
+        // Act
+        schedulerService.scheduleProcessNewTransactions();
+
+        // Assert
+        verify(transactionProcessingService, times(1)).processNewTransactions();
+    }
+
+    @Test
+    void scheduleRecoverAbandonedTransactions_RunsAsExclusiveJob() {
+        // Arrange
+        ArgumentCaptor<ClusterJob> job = ArgumentCaptor.forClass(ClusterJob.class);
+
+        // Act
+        schedulerService.scheduleRecoverAbandonedTransactions();
+
+        // Assert
+        verify(transactionProcessingService, times(1)).recoverAbandonedTransactions();
+        verify(jobRunner).run(job.capture(), any());
+        assertThat(job.getValue().exclusive()).isTrue();
+        assertThat(job.getValue().name()).isEqualTo("scheduleRecoverAbandonedTransactions");
+    }
+
+    @Test
+    void scheduleTakeBalanceSnapshots_RunsAsExclusiveJob() {
+        // Arrange
+        ArgumentCaptor<ClusterJob> job = ArgumentCaptor.forClass(ClusterJob.class);
+
+        // Act
+        schedulerService.scheduleTakeBalanceSnapshots();
+
+        // Assert
+        verify(ledgerService, times(1)).takeSnapshots();
+        verify(jobRunner).run(job.capture(), any());
+        assertThat(job.getValue().exclusive()).isTrue();
+    }
+
+    @Test
+    void scheduleReconcileBalances_RunsAsExclusiveJob() {
+        // Arrange
+        ArgumentCaptor<ClusterJob> job = ArgumentCaptor.forClass(ClusterJob.class);
+
+        // Act
+        schedulerService.scheduleReconcileBalances();
+
+        // Assert
+        verify(reconciliationService, times(1)).reconcile();
+        verify(jobRunner).run(job.capture(), any());
+        assertThat(job.getValue().exclusive()).isTrue();
+        assertThat(job.getValue().lockAtLeastFor()).isEqualTo(Duration.ofHours(5));
+    }
+
+    @Test
+    void scheduleFlushBalanceEngine_RunsAsLocalJob() {
+        // Arrange
+        ArgumentCaptor<ClusterJob> job = ArgumentCaptor.forClass(ClusterJob.class);
+
+        // Act
+        schedulerService.scheduleFlushBalanceEngine();
+
+        // Assert
+        verify(balanceEngine, times(1)).flush();
+        verify(jobRunner).run(job.capture(), any());
+        assertThat(job.getValue().exclusive()).isFalse();
+    }
+
+    @Test
+    void scheduleFoldHotAccountJournal_FoldsUntilBatchIsNotFull() {
+        // Arrange
+        when(hotAccountJournalService.getFoldBatchSize()).thenReturn(100);
+        when(hotAccountJournalService.fold()).thenReturn(100, 100, 42);
+
+        // Act
+        schedulerService.scheduleFoldHotAccountJournal();
+
+        // Assert
+        verify(hotAccountJournalService, times(3)).fold();
+    }
+
+    @Test
+    void scheduleDispatchOutboxEmails_CallsDispatcher() {
+        // Act
+        schedulerService.scheduleDispatchOutboxEmails();
+
+        // Assert
+        verify(emailOutboxDispatcher, times(1)).dispatchDueMessages();
+    }
+
+    @Test
+    void scheduleFoldHotAccountJournal_RunsAsExclusiveJob() {
+        // Arrange
+        ArgumentCaptor<ClusterJob> job = ArgumentCaptor.forClass(ClusterJob.class);
+
+        // Act
+        schedulerService.scheduleFoldHotAccountJournal();
+
+        // Assert
+        verify(jobRunner).run(job.capture(), any());
+        assertThat(job.getValue().exclusive()).isTrue();
+        assertThat(job.getValue().name()).isEqualTo("scheduleFoldHotAccountJournal");
+    }
+
+    @Test
+    void scheduleDispatchOutboxEmails_WhenSkippedByRunner_DoesNotDispatch() {
+        // Arrange
+        doReturn(false).when(jobRunner).run(any(), any());
+
         // Act
-        schedulerService.scheduleProcessAllNewTransactions();
+        schedulerService.scheduleDispatchOutboxEmails();
 
         // Assert
-        verify(transactionProcessingService, times(1)).processAllNewTransactions();
+        verify(emailOutboxDispatcher, never()).dispatchDueMessages();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package info.mackiewicz.bankapp.shared.validation;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link ValidationPatterns} scanners with the {@link String#matches(String)} and
+ * {@link String#replaceAll(String, String)} calls they replaced in the transaction validator and the user value
+ * objects. Each operation validates one transfer title, one name, one PESEL and normalizes one phone number.
+ * <p>
+ * Run with {@code mvn test-compile} and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int SAMPLES = 1000;
+
+    private final String[] titles = new String[SAMPLES];
+    private final String[] names = new String[SAMPLES];
+    private final String[] pesels = new String[SAMPLES];
+    private final String[] phoneNumbers = new String[SAMPLES];
+
+    @Setup
+    public void setUp() {
+        String[] firstNames = {"Jan", "Łukasz", "Małgorzata", "Zofia", "Grzegorz"};
+        for (int i = 0; i < SAMPLES; i++) {
+            titles[i] = "Przelew za fakturę nr " + i + "/2024 (czynsz)";
+            names[i] = firstNames[i % firstNames.length];
+            pesels[i] = String.format("%011d", 90010100000L + i);
+            phoneNumbers[i] = String.format("+48 %03d %03d %03d", 500 + i % 100, i % 1000, (i * 7) % 1000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void stringMatches(Blackhole blackhole) {
+        for (int i = 0; i < SAMPLES; i++) {
+            blackhole.consume(titles[i].matches(ValidationConstants.TRANSFER_TITLE_PATTERN));
+            blackhole.consume(names[i].matches(ValidationConstants.NAME_PATTERN));
+            blackhole.consume(pesels[i].matches("\\d{11}"));
+            blackhole.consume(phoneNumbers[i].replaceAll("[^0-9]", ""));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void scanners(Blackhole blackhole) {
+        for (int i = 0; i < SAMPLES; i++) {
+            blackhole.consume(ValidationPatterns.isTransferTitle(titles[i]));
+            blackhole.consume(ValidationPatterns.isName(names[i]));
+            blackhole.consume(ValidationPatterns.isDigits(pesels[i]));
+            blackhole.consume(ValidationPatterns.digitsOnly(phoneNumbers[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ValidationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,48 @@
+package info.mackiewicz.bankapp.shared.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationPatternsTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Przelew 12/2024", "Czynsz (maj) - mieszkanie", "Zwrot #3 @Jan!", "Opłata\tza\nwodę",
+            "Λογαριασμός", "", "Rent; DROP TABLE", "Price $10", "Emoji 😀", "Tab_underscore", "١٢٣"})
+    void isTransferTitle_AnyInput_MatchesTransferTitlePattern(String title) {
+        // Act & Assert
+        assertThat(ValidationPatterns.isTransferTitle(title))
+                .isEqualTo(title.matches(ValidationConstants.TRANSFER_TITLE_PATTERN));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Jan", "Łukasz", "Źdźbło", "Zoë", "Jan-Paweł", "Anna Maria", "", "J4n", "ŻÓŁW"})
+    void isName_AnyInput_MatchesNamePattern(String name) {
+        // Act & Assert
+        assertThat(ValidationPatterns.isName(name)).isEqualTo(name.matches(ValidationConstants.NAME_PATTERN));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"90010112345", "0", "", "9001011234a", "٩٠٠١", " 123"})
+    void isDigits_AnyInput_MatchesAsciiDigitPattern(String input) {
+        // Act & Assert
+        assertThat(ValidationPatterns.isDigits(input)).isEqualTo(input.matches("[0-9]+"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"+48 123 456 789", "123-456-789", "123456789", "", "tel. (22) 555 01 02", "٣45"})
+    void digitsOnly_AnyInput_MatchesReplaceAll(String input) {
+        // Act & Assert
+        assertThat(ValidationPatterns.digitsOnly(input)).isEqualTo(input.replaceAll("[^0-9]", ""));
+    }
+
+    @Test
+    void nullInput_ReturnsFalse() {
+        // Act & Assert
+        assertThat(ValidationPatterns.isTransferTitle(null)).isFalse();
+        assertThat(ValidationPatterns.isName(null)).isFalse();
+        assertThat(ValidationPatterns.isDigits(null)).isFalse();
+    }
+}
@@ -0,0 +1,111 @@
+package info.mackiewicz.bankapp.system.authentication;
+
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessTokenServiceTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS11c2VkLW9ubHktYnktYWNjZXNzLXRva2VuLXRlc3RzIQ==";
+    private static final String OTHER_SECRET = "YW5vdGhlci1zZWNyZXQta2V5LXVzZWQtYnktYWNjZXNzLXRva2VuLXRlc3Rz";
+
+    private AccessTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AccessTokenService(new AccessTokenConfig(SECRET, null, 0));
+    }
+
+    @Test
+    void verify_IssuedToken_RestoresPrincipal() {
+        // Arrange
+        UserPrincipal principal = principal();
+
+        // Act
+        UserPrincipal verified = service.verify(service.issue(principal).value());
+
+        // Assert
+        assertThat(verified.getId()).isEqualTo(7);
+        assertThat(verified.getUsername()).isEqualTo("john.doe7");
+        assertThat(verified.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        assertThat(verified.ownsAccount(11)).isTrue();
+        assertThat(verified.ownsAccount(12)).isTrue();
+        assertThat(verified.ownsIban("PL61109010140000071219812874")).isTrue();
+        assertThat(verified.getPassword()).isNull();
+    }
+
+    @Test
+    void issue_DefaultTtl_ExpiresAfterFifteenMinutes() {
+        // Act
+        Instant expiresAt = service.issue(principal()).expiresAt();
+
+        // Assert
+        assertThat(expiresAt).isBetween(Instant.now().plusSeconds(890), Instant.now().plusSeconds(900));
+    }
+
+    @Test
+    void verify_TamperedToken_ThrowsException() {
+        // Arrange
+        String token = service.issue(principal()).value();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.verify(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_TokenSignedWithOtherKey_ThrowsException() {
+        // Arrange
+        AccessTokenService otherService = new AccessTokenService(new AccessTokenConfig(OTHER_SECRET, null, 0));
+        String token = otherService.issue(principal()).value();
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_TokenFromOtherIssuer_ThrowsException() {
+        // Arrange
+        AccessTokenService otherService = new AccessTokenService(new AccessTokenConfig(SECRET, "other", 0));
+        String token = otherService.issue(principal()).value();
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.verify(token)).isInstanceOf(IncorrectClaimException.class);
+    }
+
+    @Test
+    void verify_ExpiredToken_ThrowsException() {
+        // Arrange
+        String token = Jwts.builder()
+                .setIssuer("bankapp")
+                .setSubject("john.doe7")
+                .setExpiration(Date.from(Instant.now().minusSeconds(60)))
+                .claim(AccessTokenService.USER_ID_CLAIM, 7)
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private static UserPrincipal principal() {
+        return UserPrincipal.authenticated(7, "john.doe7", Set.of(new SimpleGrantedAuthority("ROLE_USER")),
+                Set.of(11, 12), Set.of("PL61109010140000071219812874"));
+    }
+}
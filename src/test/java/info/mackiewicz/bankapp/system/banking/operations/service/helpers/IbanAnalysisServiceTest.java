@@ -73,6 +73,37 @@ class IbanAnalysisServiceTest {
         assertEquals(TransactionType.TRANSFER_EXTERNAL, result);
     }
 
+    @Test
+    @DisplayName("resolveTransferType should return TRANSFER_EXTERNAL when bank code matches in another country")
+    void resolveTransferType_SameBankCodeDifferentCountry_ShouldReturnTransferExternal() {
+        // given
+        Iban foreignIban = new Iban.Builder()
+                .countryCode(CountryCode.DE)
+                .bankCode("48500000")
+                .accountNumber("0123456789")
+                .build();
+
+        // when
+        TransactionType result = resolveTransferType(foreignIban, sameOwnerIban1);
+
+        // then
+        assertEquals(TransactionType.TRANSFER_EXTERNAL, result);
+    }
+
+    @Test
+    @DisplayName("resolveTransferType should return TRANSFER_INTERNAL for short account numbers in the same foreign bank")
+    void resolveTransferType_ShortAccountNumbersSameForeignBank_ShouldReturnTransferInternal() {
+        // given
+        Iban foreignIban1 = Iban.valueOf("GB29NWBK60161331926819");
+        Iban foreignIban2 = Iban.valueOf("GB29NWBK60161331926819");
+
+        // when
+        TransactionType result = resolveTransferType(foreignIban1, foreignIban2);
+
+        // then
+        assertEquals(TransactionType.TRANSFER_INTERNAL, result);
+    }
+
     @Test
     @DisplayName("isSameOwner should return true when owner is the same")
     void isSameOwner_SameOwner_ShouldReturnTrue() {
@@ -0,0 +1,95 @@
+package info.mackiewicz.bankapp.system.banking.operations.service.helpers;
+
+import ch.qos.logback.classic.Level;
+import info.mackiewicz.bankapp.core.account.util.IbanGenerator;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import info.mackiewicz.bankapp.shared.util.IbanMasker;
+import org.iban4j.Iban;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link IbanAnalysisService#resolveTransferType(Iban, Iban)} using precomputed routing keys against
+ * the previous implementation, which masked both IBANs for disabled debug and trace logs and compared the
+ * bank codes and account numbers extracted from the IBANs on every call.
+ * <p>
+ * Run with {@code mvn test-compile} and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferTypeBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferTypeBenchmark.class);
+
+    private static final int PAIRS = 1000;
+
+    private final Iban[] sources = new Iban[PAIRS];
+    private final Iban[] destinations = new Iban[PAIRS];
+
+    @Setup
+    public void setUp() {
+        // Debug and trace off, as in production (plain Logback defaults to DEBUG)
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        for (int i = 0; i < PAIRS; i++) {
+            sources[i] = IbanGenerator.generateIban(i + 1, 1);
+            // Every other pair is an own transfer
+            destinations[i] = IbanGenerator.generateIban(i % 2 == 0 ? i + 1 : i + 2, 2);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void legacyResolve(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(legacyResolveTransferType(sources[i], destinations[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void routingKeys(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(IbanAnalysisService.resolveTransferType(sources[i], destinations[i]));
+        }
+    }
+
+    private static TransactionType legacyResolveTransferType(Iban sourceIban, Iban destinationIban) {
+        log.debug("Resolving transfer type for source IBAN: {} destination IBAN: {}",
+                IbanMasker.maskIban(sourceIban.toString()), IbanMasker.maskIban(destinationIban.toString()));
+        log.trace("Comparing bank codes and country codes: {} and {}",
+                IbanMasker.maskIban(sourceIban.toString()), IbanMasker.maskIban(destinationIban.toString()));
+        boolean sameBank = sourceIban.getBankCode().equals(destinationIban.getBankCode())
+                && sourceIban.getCountryCode().equals(destinationIban.getCountryCode());
+        TransactionType type;
+        if (!sameBank) {
+            type = TransactionType.TRANSFER_EXTERNAL;
+        } else {
+            log.trace("Comparing account numbers for ownership: {} and {}",
+                    IbanMasker.maskIban(sourceIban.toString()), IbanMasker.maskIban(destinationIban.toString()));
+            type = sourceIban.getAccountNumber().regionMatches(4, destinationIban.getAccountNumber(), 4, 10)
+                    ? TransactionType.TRANSFER_OWN : TransactionType.TRANSFER_INTERNAL;
+        }
+        log.debug("Transfer type for source IBAN: {} destination IBAN: {} is {}",
+                IbanMasker.maskIban(sourceIban.toString()), IbanMasker.maskIban(destinationIban.toString()), type);
+        return type;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TransferTypeBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
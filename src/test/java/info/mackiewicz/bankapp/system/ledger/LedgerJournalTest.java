@@ -0,0 +1,244 @@
+package info.mackiewicz.bankapp.system.ledger;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerJournalTest {
+
+    private static final int SOURCE_ID = 1;
+    private static final int DESTINATION_ID = 2;
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private HotAccountJournalService hotAccountJournalService;
+
+    private LedgerJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void append_WritesOneRecordPerLeg() throws IOException {
+        // Arrange
+        journal = openJournal(1024);
+        Transaction transfer = transfer(7, "40.00", "60.00", "140.00");
+
+        // Act
+        journal.append(transfer);
+
+        // Assert
+        List<LedgerRecord> records = readAll();
+        assertThat(records).hasSize(2);
+        assertThat(records.getFirst()).satisfies(record -> {
+            assertThat(record.transactionId()).isEqualTo(7);
+            assertThat(record.accountId()).isEqualTo(SOURCE_ID);
+            assertThat(record.deltaAmount()).isEqualByComparingTo("-40.00");
+            assertThat(record.balanceAmount()).isEqualByComparingTo("60.00");
+        });
+        assertThat(records.getLast()).satisfies(record -> {
+            assertThat(record.accountId()).isEqualTo(DESTINATION_ID);
+            assertThat(record.deltaAmount()).isEqualByComparingTo("40.00");
+            assertThat(record.balanceAmount()).isEqualByComparingTo("140.00");
+        });
+    }
+
+    @Test
+    void append_WhenAccountIsHot_RecordsUnknownBalance() throws IOException {
+        // Arrange
+        journal = openJournal(1024);
+        Transaction transfer = transfer(7, "40.00", "60.00", "140.00");
+        when(hotAccountJournalService.isJournaled(transfer.getDestinationAccount())).thenReturn(true);
+
+        // Act
+        journal.append(transfer);
+
+        // Assert
+        assertThat(readAll().getLast().balance()).isEqualTo(LedgerRecord.UNKNOWN_BALANCE);
+        assertThat(journal.reader().lastBalances()).containsOnlyKeys(SOURCE_ID);
+    }
+
+    @Test
+    void append_WhenSegmentIsFull_RotatesToNextSegment() throws IOException {
+        // Arrange
+        journal = openJournal(3 * LedgerRecord.SIZE);
+
+        // Act
+        LongStream.rangeClosed(1, 7).forEach(id -> journal.append(List.of(record(id))));
+
+        // Assert
+        assertThat(LedgerJournalReader.segments(directory)).hasSize(3);
+        assertThat(readAll()).extracting(LedgerRecord::transactionId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void open_ContinuesAfterLastValidRecord() throws IOException {
+        // Arrange
+        journal = openJournal(1024);
+        journal.append(List.of(record(1), record(2)));
+        journal.close();
+
+        // Act
+        journal = openJournal(1024);
+        journal.append(List.of(record(3)));
+
+        // Assert
+        assertThat(readAll()).extracting(LedgerRecord::transactionId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void reader_StopsAtRecordWithWrongChecksum() throws IOException {
+        // Arrange
+        journal = openJournal(1024);
+        journal.append(List.of(record(1), record(2), record(3)));
+        journal.close();
+        journal = null;
+        try (RandomAccessFile file = new RandomAccessFile(
+                LedgerJournalReader.segmentPath(directory, 0).toFile(), "rw")) {
+            file.seek(LedgerRecord.SIZE + 10);
+            file.write(0x7f);
+        }
+
+        // Act
+        List<LedgerRecord> records = readAll();
+
+        // Assert
+        assertThat(records).extracting(LedgerRecord::transactionId).containsExactly(1L);
+    }
+
+    @Test
+    void reader_SumsNetChangesPerAccount() throws IOException {
+        // Arrange
+        journal = openJournal(1024);
+        journal.append(transfer(1, "40.00", "60.00", "140.00"));
+        journal.append(transfer(2, "10.50", "49.50", "150.50"));
+
+        // Act & Assert
+        assertThat(journal.reader().netChanges()).satisfies(changes -> {
+            assertThat(changes.get(SOURCE_ID)).isEqualByComparingTo("-50.50");
+            assertThat(changes.get(DESTINATION_ID)).isEqualByComparingTo("50.50");
+        });
+        assertThat(journal.reader().lastBalances().get(DESTINATION_ID)).isEqualByComparingTo("150.50");
+    }
+
+    @Test
+    void truncate_DeletesSegmentsAndContinuesEmpty() throws IOException {
+        // Arrange
+        journal = openJournal(3 * LedgerRecord.SIZE);
+        LongStream.rangeClosed(1, 7).forEach(id -> journal.append(List.of(record(id))));
+
+        // Act
+        journal.truncate();
+        journal.append(List.of(record(8)));
+
+        // Assert
+        assertThat(LedgerJournalReader.segments(directory)).hasSize(1);
+        assertThat(readAll()).extracting(LedgerRecord::transactionId).containsExactly(8L);
+    }
+
+    @Test
+    void deleteSegmentsUpTo_DeletesOnlyRotatedSegmentsWithinSequence() throws IOException {
+        // Arrange
+        journal = openJournal(3 * LedgerRecord.SIZE);
+        LongStream.rangeClosed(1, 7).forEach(id -> journal.append(List.of(record(id))));
+
+        // Act
+        journal.deleteSegmentsUpTo(5);
+
+        // Assert
+        assertThat(LedgerJournalReader.segments(directory)).hasSize(2);
+        assertThat(readAll()).extracting(LedgerRecord::transactionId).containsExactly(4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void deleteSegmentsUpTo_KeepsCurrentSegment() throws IOException {
+        // Arrange
+        journal = openJournal(3 * LedgerRecord.SIZE);
+        LongStream.rangeClosed(1, 7).forEach(id -> journal.append(List.of(record(id))));
+
+        // Act
+        journal.deleteSegmentsUpTo(journal.sequence());
+        journal.append(List.of(record(8)));
+
+        // Assert
+        assertThat(LedgerJournalReader.segments(directory)).hasSize(1);
+        assertThat(readAll()).extracting(LedgerRecord::transactionId).containsExactly(7L, 8L);
+    }
+
+    @Test
+    void append_WhenDisabled_WritesNothing() throws IOException {
+        // Arrange
+        journal = new LedgerJournal(new LedgerJournalConfig(false, directory.toString(), 1024),
+                hotAccountJournalService);
+        journal.open();
+
+        // Act
+        journal.append(transfer(1, "40.00", "60.00", "140.00"));
+
+        // Assert
+        assertThat(LedgerJournalReader.segments(directory)).isEmpty();
+    }
+
+    private LedgerJournal openJournal(int segmentSize) throws IOException {
+        LedgerJournal opened = new LedgerJournal(new LedgerJournalConfig(true, directory.toString(), segmentSize),
+                hotAccountJournalService);
+        opened.open();
+        return opened;
+    }
+
+    private List<LedgerRecord> readAll() {
+        List<LedgerRecord> records = new ArrayList<>();
+        new LedgerJournalReader(directory).forEach(records::add);
+        return records;
+    }
+
+    private static LedgerRecord record(long transactionId) {
+        return new LedgerRecord(transactionId, SOURCE_ID, -100, 900, System.currentTimeMillis());
+    }
+
+    private Transaction transfer(int id, String amount, String sourceBalance, String destinationBalance) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setType(TransactionType.TRANSFER_INTERNAL);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setSourceAccount(account(SOURCE_ID, sourceBalance));
+        transaction.setDestinationAccount(account(DESTINATION_ID, destinationBalance));
+        lenient().when(hotAccountJournalService.isJournaled(any(Account.class))).thenReturn(false);
+        return transaction;
+    }
+
+    private static Account account(int id, String balance) {
+        Account account = mock(Account.class);
+        lenient().when(account.getId()).thenReturn(id);
+        lenient().when(account.getBalance()).thenReturn(new BigDecimal(balance));
+        return account;
+    }
+}
@@ -3,6 +3,7 @@ package info.mackiewicz.bankapp.system.locking;
 import info.mackiewicz.bankapp.core.account.exception.AccountLockException;
 import info.mackiewicz.bankapp.system.transaction.processing.locking.AccountLockingStrategy;
 import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingMode;
 import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -38,7 +39,8 @@ class AccountLockingStrategyTest {
     AccountLockingStrategyTest() {
         // Constructor injection for the locking strategy
         // With `-1` for default values for the LockingConfig (check LockingConfig class for details)
-        this.lockingStrategy = new AccountLockingStrategy(new LockingConfig(MAX_ATTEMPTS, BASE_DELAY, MAX_DELAY, TIMEOUT));
+        this.lockingStrategy = new AccountLockingStrategy(new LockingConfig(MAX_ATTEMPTS, BASE_DELAY, MAX_DELAY, TIMEOUT,
+                LockingMode.PESSIMISTIC));
     }
 
     @Nested
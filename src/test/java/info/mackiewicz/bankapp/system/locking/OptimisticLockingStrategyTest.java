@@ -0,0 +1,112 @@
+package info.mackiewicz.bankapp.system.locking;
+
+import info.mackiewicz.bankapp.core.account.exception.AccountLockException;
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingMode;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.OptimisticLockingStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OptimisticLockingStrategy Tests")
+class OptimisticLockingStrategyTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int BASE_DELAY = 4;
+    private static final int MAX_DELAY = 20;
+
+    private final OptimisticLockingStrategy lockingStrategy = new OptimisticLockingStrategy(
+            new LockingConfig(MAX_ATTEMPTS, BASE_DELAY, MAX_DELAY, 50, LockingMode.OPTIMISTIC));
+
+    @Test
+    @DisplayName("Should take no locks")
+    void shouldTakeNoLocks() {
+        // when
+        lockingStrategy.lock(1);
+        lockingStrategy.lock(1);
+        lockingStrategy.unlock(1);
+        lockingStrategy.unlock(1);
+
+        // then
+        assertThat(lockingStrategy.getLockCounter()).hasValue(2);
+        assertThat(lockingStrategy.getUnlockCounter()).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should run the operation again after a concurrent change")
+    void shouldRetryAfterConcurrentChange() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        lockingStrategy.execute(() -> {
+            if (runs.incrementAndGet() < MAX_ATTEMPTS) {
+                throw new ObjectOptimisticLockingFailureException(Account.class, 42);
+            }
+        });
+
+        // then
+        assertThat(runs).hasValue(MAX_ATTEMPTS);
+        assertThat(lockingStrategy.getConflictCounter()).hasValue(MAX_ATTEMPTS - 1);
+    }
+
+    @Test
+    @DisplayName("Should run the operation again after losing a deadlock")
+    void shouldRetryAfterDeadlock() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        lockingStrategy.execute(() -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new CannotAcquireLockException("Deadlock detected");
+            }
+        });
+
+        // then
+        assertThat(runs).hasValue(2);
+        assertThat(lockingStrategy.getConflictCounter()).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum number of attempts")
+    void shouldGiveUpAfterMaxAttempts() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+
+        // when & then
+        assertThatThrownBy(() -> lockingStrategy.execute(() -> {
+            runs.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Account.class, 42);
+        }))
+                .isInstanceOf(AccountLockException.class)
+                .satisfies(e -> {
+                    AccountLockException exception = (AccountLockException) e;
+                    assertThat(exception.getAccountId()).isEqualTo(42);
+                    assertThat(exception.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+                    assertThat(exception.wasInterrupted()).isFalse();
+                });
+        assertThat(runs).hasValue(MAX_ATTEMPTS);
+    }
+
+    @Test
+    @DisplayName("Should not retry other failures")
+    void shouldNotRetryOtherFailures() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+
+        // when & then
+        assertThatThrownBy(() -> lockingStrategy.execute(() -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("Not a conflict");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(runs).hasValue(1);
+    }
+}
@@ -1,5 +1,6 @@
 package info.mackiewicz.bankapp.system.notification.email;
 
+import info.mackiewicz.bankapp.system.notification.email.outbox.EmailOutbox;
 import info.mackiewicz.bankapp.system.notification.email.template.EmailTemplateProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,7 +19,7 @@ class EmailServiceTest {
     private static final String TEST_BASE_URL = "http://test.com";
     
     @Mock
-    private EmailSender emailSender;
+    private EmailOutbox emailOutbox;
     
     @Mock
     private EmailTemplateProvider templateProvider;
@@ -45,7 +46,7 @@ class EmailServiceTest {
 
         // Assert
         verify(templateProvider).getWelcomeEmail(userName, userName);
-        verify(emailSender).send(email, mockContent.subject(), mockContent.htmlContent());
+        verify(emailOutbox).enqueue(email, mockContent.subject(), mockContent.htmlContent());
     }
 
     @Test
@@ -65,7 +66,7 @@ class EmailServiceTest {
 
         // Assert
         verify(templateProvider).getPasswordResetEmail(userName, expectedResetLink);
-        verify(emailSender).send(email, mockContent.subject(), mockContent.htmlContent());
+        verify(emailOutbox).enqueue(email, mockContent.subject(), mockContent.htmlContent());
     }
 
     @Test
@@ -84,7 +85,7 @@ class EmailServiceTest {
 
         // Assert
         verify(templateProvider).getPasswordResetConfirmationEmail(userName, expectedLoginLink);
-        verify(emailSender).send(email, mockContent.subject(), mockContent.htmlContent());
+        verify(emailOutbox).enqueue(email, mockContent.subject(), mockContent.htmlContent());
     }
 
     @Test
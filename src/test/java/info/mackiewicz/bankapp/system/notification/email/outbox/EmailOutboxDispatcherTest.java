@@ -0,0 +1,121 @@
+package info.mackiewicz.bankapp.system.notification.email.outbox;
+
+import info.mackiewicz.bankapp.system.notification.email.EmailSender;
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxMessage;
+import info.mackiewicz.bankapp.system.notification.email.outbox.model.EmailOutboxStatus;
+import info.mackiewicz.bankapp.system.notification.email.outbox.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository repository;
+
+    @Mock
+    private EmailSender emailSender;
+
+    private final EmailOutboxConfig config = new EmailOutboxConfig(10, 3, 1000, 4000, 60_000);
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailOutboxDispatcher(repository, emailSender, config);
+    }
+
+    @Test
+    void dispatchDueMessages_WhenSendSucceeds_MarksMessageSent() {
+        // Arrange
+        EmailOutboxMessage message = givenDueMessage(1L);
+        when(emailSender.send("to@example.com", "Subject", "<p>Body</p>")).thenReturn("provider-id");
+
+        // Act
+        int sent = dispatcher.dispatchDueMessages();
+
+        // Assert
+        assertThat(sent).isEqualTo(1);
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(message.getProviderId()).isEqualTo("provider-id");
+        assertThat(message.getAttempts()).isEqualTo(1);
+        verify(repository).save(message);
+    }
+
+    @Test
+    void dispatchDueMessages_WhenSendFails_SchedulesRetryWithBackoff() {
+        // Arrange
+        EmailOutboxMessage message = givenDueMessage(1L);
+        when(emailSender.send(anyString(), anyString(), anyString())).thenThrow(new RuntimeException("provider down"));
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        int sent = dispatcher.dispatchDueMessages();
+
+        // Assert
+        assertThat(sent).isZero();
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getLastError()).isEqualTo("provider down");
+        assertThat(message.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(1));
+        verify(repository).save(message);
+    }
+
+    @Test
+    void dispatchDueMessages_WhenMaxAttemptsReached_MarksMessageDead() {
+        // Arrange
+        EmailOutboxMessage message = givenDueMessage(1L);
+        ReflectionTestUtils.setField(message, "attempts", 2);
+        when(emailSender.send(anyString(), anyString(), anyString())).thenThrow(new RuntimeException("rejected"));
+
+        // Act
+        dispatcher.dispatchDueMessages();
+
+        // Assert
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(message.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void dispatchDueMessages_WhenClaimedByAnotherDispatcher_SkipsMessage() {
+        // Arrange
+        givenDueMessage(1L);
+        when(repository.claim(eq(1L), any(), any())).thenReturn(0);
+
+        // Act
+        int sent = dispatcher.dispatchDueMessages();
+
+        // Assert
+        assertThat(sent).isZero();
+        verifyNoInteractions(emailSender);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void backoffFor_DoublesUpToMaximum() {
+        assertThat(config.backoffFor(1)).isEqualTo(1000);
+        assertThat(config.backoffFor(2)).isEqualTo(2000);
+        assertThat(config.backoffFor(3)).isEqualTo(4000);
+        assertThat(config.backoffFor(10)).isEqualTo(4000);
+    }
+
+    private EmailOutboxMessage givenDueMessage(Long id) {
+        EmailOutboxMessage message = new EmailOutboxMessage("to@example.com", "Subject", "<p>Body</p>");
+        ReflectionTestUtils.setField(message, "id", id);
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                eq(EmailOutboxStatus.PENDING), any(), any())).thenReturn(List.of(message));
+        lenient().when(repository.claim(eq(id), any(), any())).thenReturn(1);
+        return message;
+    }
+}
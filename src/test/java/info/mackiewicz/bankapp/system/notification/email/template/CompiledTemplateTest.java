@@ -0,0 +1,79 @@
+package info.mackiewicz.bankapp.system.notification.email.template;
+
+import info.mackiewicz.bankapp.system.notification.email.EmailContent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledTemplateTest {
+
+    @Test
+    void render_ReplacesPlaceholdersInOrder() {
+        // Arrange
+        CompiledTemplate template = CompiledTemplate.compile("Dear {{userName}}, your login is {{ username }}.");
+        TemplateVariables variables = TemplateVariables.builder()
+                .withUserName("Jan Kowalski")
+                .withUsername("jan.kowalski")
+                .build();
+
+        // Act
+        String result = template.render(variables);
+
+        // Assert
+        assertThat(template.getPlaceholders()).containsExactly("userName", "username");
+        assertThat(result).isEqualTo("Dear Jan Kowalski, your login is jan.kowalski.");
+    }
+
+    @Test
+    void render_EscapesHtmlInVariables() {
+        // Arrange
+        CompiledTemplate template = CompiledTemplate.compile("<p>{{userName}}</p><a href=\"{{loginLink}}\">");
+        TemplateVariables variables = TemplateVariables.builder()
+                .withUserName("<script>alert('x')</script>")
+                .withLoginLink("http://test.com/login?a=1&b=\"2\"")
+                .build();
+
+        // Act
+        String result = template.render(variables);
+
+        // Assert
+        assertThat(result).isEqualTo("<p>&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;</p>"
+                + "<a href=\"http://test.com/login?a=1&amp;b=&quot;2&quot;\">");
+    }
+
+    @Test
+    void render_WhenVariableMissing_RendersEmptyValue() {
+        // Arrange
+        CompiledTemplate template = CompiledTemplate.compile("[{{resetLink}}]");
+
+        // Act
+        String result = template.render(TemplateVariables.builder().build());
+
+        // Assert
+        assertThat(result).isEqualTo("[]");
+    }
+
+    @Test
+    void compile_WhenPlaceholderNotClosed_ThrowsException() {
+        assertThatThrownBy(() -> CompiledTemplate.compile("Dear {{userName"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getWelcomeEmail_RendersFullLayoutWithVariables() {
+        // Arrange
+        DefaultEmailTemplateProvider provider = new DefaultEmailTemplateProvider();
+
+        // Act
+        EmailContent content = provider.getWelcomeEmail("Jan & Anna", "jan.kowalski");
+
+        // Assert
+        assertThat(content.subject()).isEqualTo("Welcome to BankApp!");
+        assertThat(content.htmlContent())
+                .startsWith("<!DOCTYPE html>")
+                .contains("<p>Dear Jan &amp; Anna,</p>")
+                .contains("<strong>jan.kowalski</strong>")
+                .doesNotContain("{{");
+    }
+}
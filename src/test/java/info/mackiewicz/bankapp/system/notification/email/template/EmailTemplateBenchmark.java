@@ -0,0 +1,78 @@
+package info.mackiewicz.bankapp.system.notification.email.template;
+
+import info.mackiewicz.bankapp.system.notification.email.template.templates.WelcomeEmailTemplate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a batch of welcome emails with the precompiled templates
+ * against the previous approach (a HashMap of variables and two String.format calls per email).
+ * <p>
+ * Run with {@code mvn test-compile} and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final String[] names = new String[BATCH_SIZE];
+    private final String[] usernames = new String[BATCH_SIZE];
+
+    private DefaultEmailTemplateProvider provider;
+    private String legacyBaseFormat;
+    private String legacyContentFormat;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            names[i] = "User Number " + i;
+            usernames[i] = "user.number" + i;
+        }
+        provider = new DefaultEmailTemplateProvider();
+        legacyBaseFormat = EmailTemplate.BASE_TEMPLATE.replace(EmailTemplate.CONTENT_PLACEHOLDER, "%s");
+        EmailTemplate welcomeTemplate = new WelcomeEmailTemplate();
+        legacyContentFormat = welcomeTemplate.getContent()
+                .replace("{{userName}}", "%s")
+                .replace("{{username}}", "%s");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void legacyFormat(Blackhole blackhole) {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Map<String, String> variables = new HashMap<>();
+            variables.put("userName", names[i]);
+            variables.put("username", usernames[i]);
+            String content = String.format(legacyContentFormat, variables.get("userName"), variables.get("username"));
+            blackhole.consume(String.format(legacyBaseFormat, content));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void compiledTemplate(Blackhole blackhole) {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            blackhole.consume(provider.getWelcomeEmail(names[i], usernames[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
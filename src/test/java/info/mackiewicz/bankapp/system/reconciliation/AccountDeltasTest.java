@@ -0,0 +1,76 @@
+package info.mackiewicz.bankapp.system.reconciliation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountDeltasTest {
+
+    @Test
+    void add_SumsChangesPerAccount() {
+        // Arrange
+        AccountDeltas deltas = new AccountDeltas();
+
+        // Act
+        deltas.add(1, 1000);
+        deltas.add(2, 500);
+        deltas.add(1, -250);
+        deltas.add(-1, -1250);
+
+        // Assert
+        assertThat(deltas.size()).isEqualTo(3);
+        assertThat(deltas.get(1)).isEqualTo(750);
+        assertThat(deltas.get(2)).isEqualTo(500);
+        assertThat(deltas.get(-1)).isEqualTo(-1250);
+    }
+
+    @Test
+    void get_WhenAccountHasNoChanges_ReturnsZero() {
+        // Arrange
+        AccountDeltas deltas = new AccountDeltas();
+        deltas.add(1, 100);
+
+        // Act & Assert
+        assertThat(deltas.get(42)).isZero();
+    }
+
+    @Test
+    void add_WhenManyAccounts_GrowsAndKeepsAllSums() {
+        // Arrange
+        AccountDeltas deltas = new AccountDeltas();
+
+        // Act
+        for (int accountId = 0; accountId < 100_000; accountId++) {
+            deltas.add(accountId, accountId);
+            deltas.add(accountId, 1);
+        }
+
+        // Assert
+        assertThat(deltas.size()).isEqualTo(100_000);
+        for (int accountId = 0; accountId < 100_000; accountId++) {
+            assertThat(deltas.get(accountId)).isEqualTo(accountId + 1L);
+        }
+    }
+
+    @Test
+    void merge_AddsSmallerIntoLarger() {
+        // Arrange
+        AccountDeltas larger = new AccountDeltas();
+        larger.add(1, 100);
+        larger.add(2, 200);
+        larger.add(3, 300);
+        AccountDeltas smaller = new AccountDeltas();
+        smaller.add(3, -50);
+        smaller.add(4, 400);
+
+        // Act
+        AccountDeltas merged = smaller.merge(larger);
+
+        // Assert
+        assertThat(merged).isSameAs(larger);
+        assertThat(merged.size()).isEqualTo(4);
+        assertThat(merged.get(1)).isEqualTo(100);
+        assertThat(merged.get(3)).isEqualTo(250);
+        assertThat(merged.get(4)).isEqualTo(400);
+    }
+}
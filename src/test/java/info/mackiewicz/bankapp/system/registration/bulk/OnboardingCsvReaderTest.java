@@ -0,0 +1,101 @@
+package info.mackiewicz.bankapp.system.registration.bulk;
+
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingRecord;
+import info.mackiewicz.bankapp.system.registration.bulk.dto.OnboardingRejection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OnboardingCsvReaderTest {
+
+    private static final String HEADER = "firstname,lastname,dateOfBirth,pesel,email,phoneNumber,password";
+    private static final String JAN = "Jan,Kowalski,1990-01-15,90011512345,jan@example.com,+48123456789,Password1!";
+    private static final String ANNA = "Anna,Nowak,1985-06-01,85060112345,anna@example.com,987654321,Password2!";
+
+    @Test
+    @DisplayName("Should skip header and blank lines and keep line numbers")
+    void nextChunk_HeaderAndBlankLines_SkipsThem() {
+        // Arrange
+        OnboardingCsvReader reader = reader(HEADER, JAN, "", ANNA);
+
+        // Act
+        List<OnboardingRecord> chunk = reader.nextChunk(10);
+
+        // Assert
+        assertThat(chunk).extracting(OnboardingRecord::line).containsExactly(2, 4);
+        OnboardingRecord jan = chunk.getFirst();
+        assertThat(jan.firstname()).isEqualTo("Jan");
+        assertThat(jan.lastname()).isEqualTo("Kowalski");
+        assertThat(jan.dateOfBirth()).isEqualTo(LocalDate.of(1990, 1, 15));
+        assertThat(jan.pesel()).isEqualTo("90011512345");
+        assertThat(jan.email()).isEqualTo("jan@example.com");
+        assertThat(jan.phoneNumber()).isEqualTo("+48123456789");
+        assertThat(jan.password()).isEqualTo("Password1!");
+        assertThat(reader.drainRejections()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should split the file into chunks of the requested size")
+    void nextChunk_MoreRecordsThanChunkSize_ReturnsChunks() {
+        // Arrange
+        OnboardingCsvReader reader = reader(JAN, ANNA, JAN);
+
+        // Act & Assert
+        assertThat(reader.nextChunk(2)).extracting(OnboardingRecord::line).containsExactly(1, 2);
+        assertThat(reader.nextChunk(2)).extracting(OnboardingRecord::line).containsExactly(3);
+        assertThat(reader.nextChunk(2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep commas in the password column")
+    void nextChunk_PasswordWithComma_KeepsWholePassword() {
+        // Arrange
+        OnboardingCsvReader reader = reader("Jan,Kowalski,1990-01-15,90011512345,jan@example.com,123456789,Pass,word1!");
+
+        // Act
+        List<OnboardingRecord> chunk = reader.nextChunk(10);
+
+        // Assert
+        assertThat(chunk.getFirst().password()).isEqualTo("Pass,word1!");
+    }
+
+    @Test
+    @DisplayName("Should reject lines with missing columns or invalid dates")
+    void nextChunk_UnparseableLines_CollectsRejections() {
+        // Arrange
+        OnboardingCsvReader reader = reader(
+                "Jan,Kowalski,1990-01-15",
+                "Anna,Nowak,01.06.1985,85060112345,anna@example.com,987654321,Password2!",
+                JAN);
+
+        // Act
+        List<OnboardingRecord> chunk = reader.nextChunk(10);
+        List<OnboardingRejection> rejections = reader.drainRejections();
+
+        // Assert
+        assertThat(chunk).extracting(OnboardingRecord::line).containsExactly(3);
+        assertThat(rejections).extracting(OnboardingRejection::line).containsExactly(1, 2);
+        assertThat(rejections.get(0).reason()).contains("Expected 7 columns");
+        assertThat(rejections.get(1).reason()).contains("Invalid date of birth");
+        assertThat(reader.drainRejections()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not print the password")
+    void toString_Record_HidesPassword() {
+        // Arrange
+        OnboardingRecord record = reader(JAN).nextChunk(1).getFirst();
+
+        // Act & Assert
+        assertThat(record.toString()).doesNotContain("Password1!");
+    }
+
+    private static OnboardingCsvReader reader(String... lines) {
+        return new OnboardingCsvReader(new StringReader(String.join("\n", lines)));
+    }
+}
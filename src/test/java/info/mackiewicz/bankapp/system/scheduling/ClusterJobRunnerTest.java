@@ -0,0 +1,165 @@
+package info.mackiewicz.bankapp.system.scheduling;
+
+import info.mackiewicz.bankapp.system.scheduling.ClusterJobRunner.JobOutcome;
+import info.mackiewicz.bankapp.system.scheduling.model.JobLock;
+import info.mackiewicz.bankapp.system.scheduling.repository.JobLockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterJobRunnerTest {
+
+    private static final String NODE = "node-a";
+    private static final ClusterJob EXCLUSIVE_JOB =
+            ClusterJob.exclusive("exclusiveJob", Duration.ofMinutes(10), Duration.ofMinutes(1));
+    private static final ClusterJob LOCAL_JOB = ClusterJob.local("localJob");
+
+    @Mock
+    private JobLockRepository lockRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClusterJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        runner = new ClusterJobRunner(lockRepository, meterRegistry, new ClusterJobConfig(NODE));
+    }
+
+    @Test
+    void run_WithLocalJob_RunsTaskWithoutLocking() {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        boolean ran = runner.run(LOCAL_JOB, runs::incrementAndGet);
+
+        // Assert
+        assertThat(ran).isTrue();
+        assertThat(runs).hasValue(1);
+        verifyNoInteractions(lockRepository);
+        assertThat(meterRegistry.get("scheduler.job").tag("job", "localJob").tag("outcome", "success").timer()
+                .count()).isEqualTo(1);
+        assertThat(runner.getLastRuns().get("localJob").outcome()).isEqualTo(JobOutcome.SUCCESS);
+    }
+
+    @Test
+    void run_WhenLockTaken_RunsTaskAndKeepsLockForAtLeastDuration() {
+        // Arrange
+        when(lockRepository.tryLock(eq("exclusiveJob"), eq(NODE), any(), any())).thenReturn(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        runner.run(EXCLUSIVE_JOB, () -> ran.set(true));
+
+        // Assert
+        assertThat(ran).isTrue();
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(lockRepository).unlock(eq("exclusiveJob"), eq(NODE), until.capture());
+        assertThat(until.getValue()).isAfterOrEqualTo(before.plusMinutes(1));
+    }
+
+    @Test
+    void run_WhenLockedByAnotherNode_SkipsTask() {
+        // Arrange
+        when(lockRepository.tryLock(eq("exclusiveJob"), eq(NODE), any(), any())).thenReturn(0);
+        when(lockRepository.existsById("exclusiveJob")).thenReturn(true);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Act
+        boolean result = runner.run(EXCLUSIVE_JOB, () -> ran.set(true));
+
+        // Assert
+        assertThat(result).isFalse();
+        assertThat(ran).isFalse();
+        verify(lockRepository, never()).unlock(any(), any(), any());
+        assertThat(meterRegistry.get("scheduler.job.skipped").tag("reason", "locked").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void run_WhenLockRowMissing_CreatesItAndRunsTask() {
+        // Arrange
+        when(lockRepository.tryLock(eq("exclusiveJob"), eq(NODE), any(), any())).thenReturn(0);
+        when(lockRepository.existsById("exclusiveJob")).thenReturn(false);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Act
+        boolean result = runner.run(EXCLUSIVE_JOB, () -> ran.set(true));
+
+        // Assert
+        assertThat(result).isTrue();
+        assertThat(ran).isTrue();
+        ArgumentCaptor<JobLock> lock = ArgumentCaptor.forClass(JobLock.class);
+        verify(lockRepository).saveAndFlush(lock.capture());
+        assertThat(lock.getValue().getLockedBy()).isEqualTo(NODE);
+    }
+
+    @Test
+    void run_WhenAnotherNodeCreatesLockRowFirst_SkipsTask() {
+        // Arrange
+        when(lockRepository.tryLock(eq("exclusiveJob"), eq(NODE), any(), any())).thenReturn(0);
+        when(lockRepository.existsById("exclusiveJob")).thenReturn(false);
+        when(lockRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Act
+        boolean result = runner.run(EXCLUSIVE_JOB, () -> ran.set(true));
+
+        // Assert
+        assertThat(result).isFalse();
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void run_WhenTaskFails_RecordsFailureReleasesLockAndRethrows() {
+        // Arrange
+        when(lockRepository.tryLock(eq("exclusiveJob"), eq(NODE), any(), any())).thenReturn(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> runner.run(EXCLUSIVE_JOB, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        verify(lockRepository).unlock(eq("exclusiveJob"), eq(NODE), any());
+        assertThat(runner.getLastRuns().get("exclusiveJob").outcome()).isEqualTo(JobOutcome.FAILURE);
+        assertThat(meterRegistry.get("scheduler.job").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void run_WhenJobAlreadyRunningOnThisNode_SkipsOverlappingRun() {
+        // Arrange
+        AtomicBoolean nestedRan = new AtomicBoolean(true);
+
+        // Act
+        runner.run(LOCAL_JOB, () -> nestedRan.set(runner.run(LOCAL_JOB, () -> { })));
+
+        // Assert
+        assertThat(nestedRan).isFalse();
+        assertThat(meterRegistry.get("scheduler.job.skipped").tag("reason", "running").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void exclusive_WithAtLeastLongerThanAtMost_Throws() {
+        assertThatThrownBy(() -> ClusterJob.exclusive("job", Duration.ofMinutes(1), Duration.ofMinutes(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,9 +2,9 @@ package info.mackiewicz.bankapp.system.shared;
 
 import info.mackiewicz.bankapp.core.account.exception.AccountOwnershipException;
 import info.mackiewicz.bankapp.core.account.model.Account;
-import info.mackiewicz.bankapp.core.user.exception.InvalidUserDataException;
+import info.mackiewicz.bankapp.core.account.service.AccountOwnershipIndex;
 import info.mackiewicz.bankapp.core.user.model.User;
-import info.mackiewicz.bankapp.core.user.service.UserService;
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
 import info.mackiewicz.bankapp.testutils.TestIbanProvider;
 import org.iban4j.Iban;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,7 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -24,131 +24,84 @@ import static org.mockito.Mockito.*;
 public class IbanAccountAuthorizationServiceTest {
 
     @Mock
-    private UserService userService;
+    private AccountOwnershipIndex ownershipIndex;
 
     private IbanAccountAuthorizationService ibanAccountAuthorizationService;
 
     @BeforeEach
     void setUp() {
-        ibanAccountAuthorizationService = new IbanAccountAuthorizationService(userService);
+        ibanAccountAuthorizationService = new IbanAccountAuthorizationService(ownershipIndex);
     }
 
     @Test
-    void shouldValidateAccountOwnershipWhenOwnerHasAccount() {
+    void shouldValidateAccountOwnershipWhenIndexReturnsOwner() {
         // Given
         Iban iban = TestIbanProvider.getNextIbanObject();
         User mockUser = mock(User.class);
-        Set<Account> accounts = new HashSet<>();
-        Account mockAccount = mock(Account.class);
-        when(mockAccount.getIban()).thenReturn(iban);
-        accounts.add(mockAccount);
-        when(mockUser.getAccounts()).thenReturn(accounts);
+        when(mockUser.getId()).thenReturn(100);
+        when(ownershipIndex.findOwnerId(iban)).thenReturn(Optional.of(100));
 
         // When & Then
         assertDoesNotThrow(() -> ibanAccountAuthorizationService.validateAccountOwnership(iban, mockUser));
-        verify(mockUser).getAccounts();
-        verify(mockAccount).getIban();
-        verify(userService, never()).getUserById(anyInt());
+        verify(mockUser, never()).getAccounts();
     }
 
     @Test
-    void shouldThrowExceptionWhenOwnerDoesNotHaveAccount() {
+    void shouldThrowExceptionWhenAccountBelongsToAnotherUser() {
         // Given
         Iban iban = TestIbanProvider.getNextIbanObject();
         User mockUser = mock(User.class);
-        when(mockUser.getAccounts()).thenReturn(new HashSet<>());
+        when(mockUser.getId()).thenReturn(100);
+        when(ownershipIndex.findOwnerId(iban)).thenReturn(Optional.of(200));
 
         // When & Then
-        assertThrows(InvalidUserDataException.class, () ->
+        assertThrows(AccountOwnershipException.class, () ->
                 ibanAccountAuthorizationService.validateAccountOwnership(iban, mockUser));
-
-        verify(mockUser).getAccounts();
-        verify(userService, never()).getUserById(anyInt());
     }
 
     @Test
-    void shouldThrowExceptionWhenOwnerHasAccountsButNotTheRequestedOne() {
+    void shouldThrowExceptionWhenAccountDoesNotExist() {
         // Given
-        Iban requestedIban = TestIbanProvider.getNextIbanObject();
-        Iban otherIban = TestIbanProvider.getNextIbanObject();
-        int userId = 100;
+        Iban iban = TestIbanProvider.getNextIbanObject();
         User mockUser = mock(User.class);
-        when(mockUser.getId()).thenReturn(userId);
-
-        Set<Account> accounts = new HashSet<>();
-        Account mockOtherAccount = mock(Account.class);
-        when(mockOtherAccount.getIban()).thenReturn(otherIban);
-        accounts.add(mockOtherAccount);
-        when(mockUser.getAccounts()).thenReturn(accounts);
-
-        // Dla drugiego wywołania - po aktualizacji użytkownika
-        User updatedMockUser = mock(User.class);
-        when(updatedMockUser.getId()).thenReturn(userId);
-        Set<Account> updatedAccounts = new HashSet<>();
-        updatedAccounts.add(mockOtherAccount); // Bez żądanego konta
-        when(updatedMockUser.getAccounts()).thenReturn(updatedAccounts);
-
-        when(userService.getUserById(userId)).thenReturn(updatedMockUser);
+        when(mockUser.getId()).thenReturn(100);
+        when(ownershipIndex.findOwnerId(iban)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(AccountOwnershipException.class, () ->
-                ibanAccountAuthorizationService.validateAccountOwnership(requestedIban, mockUser));
-
-        verify(mockUser).getAccounts();
-        verify(mockOtherAccount, times(2)).getIban();
-        verify(userService).getUserById(userId);
-        verify(updatedMockUser).getAccounts();
+                ibanAccountAuthorizationService.validateAccountOwnership(iban, mockUser));
     }
 
     @Test
-    void shouldValidateAccountOwnershipAfterUserUpdate() {
+    void shouldValidateAccountOwnershipFromPrincipalWithoutIndexLookup() {
         // Given
-        Iban requestedIban = TestIbanProvider.getNextIbanObject();
-        Iban otherIban = TestIbanProvider.getNextIbanObject();
-        int userId = 100;
-        User mockUser = mock(User.class);
-        when(mockUser.getId()).thenReturn(userId);
-
-        // Początkowy użytkownik nie ma wymaganego konta
-        Set<Account> initialAccounts = new HashSet<>();
-        Account mockOtherAccount = mock(Account.class);
-        when(mockOtherAccount.getIban()).thenReturn(otherIban);
-        initialAccounts.add(mockOtherAccount);
-        when(mockUser.getAccounts()).thenReturn(initialAccounts);
-
-        // Zaktualizowany użytkownik ma wymagane konto
-        User updatedMockUser = mock(User.class);
-        Set<Account> updatedAccounts = new HashSet<>();
-        Account requestedAccount = mock(Account.class);
-        when(requestedAccount.getIban()).thenReturn(requestedIban);
-        updatedAccounts.add(requestedAccount);
-        when(updatedMockUser.getAccounts()).thenReturn(updatedAccounts);
-
-        when(userService.getUserById(userId)).thenReturn(updatedMockUser);
+        Iban iban = TestIbanProvider.getNextIbanObject();
+        UserPrincipal principal = principalOwning(100, iban);
 
         // When & Then
-        assertDoesNotThrow(() ->
-                ibanAccountAuthorizationService.validateAccountOwnership(requestedIban, mockUser));
-
-        verify(mockUser).getAccounts();
-        verify(mockOtherAccount).getIban();
-        verify(userService).getUserById(userId);
-        verify(updatedMockUser).getAccounts();
-        verify(requestedAccount).getIban();
+        assertDoesNotThrow(() -> ibanAccountAuthorizationService.validateAccountOwnership(iban, principal));
+        verifyNoInteractions(ownershipIndex);
     }
 
     @Test
-    void shouldThrowExceptionWhenOwnerAccountsListIsNull() {
+    void shouldThrowExceptionWhenNeitherPrincipalNorIndexOwnsAccount() {
         // Given
         Iban iban = TestIbanProvider.getNextIbanObject();
-        User mockUser = mock(User.class);
-        when(mockUser.getAccounts()).thenReturn(null);
+        UserPrincipal principal = principalOwning(100, TestIbanProvider.getNextIbanObject());
+        when(ownershipIndex.findOwnerId(iban)).thenReturn(Optional.of(200));
 
         // When & Then
-        assertThrows(InvalidUserDataException.class, () ->
-                ibanAccountAuthorizationService.validateAccountOwnership(iban, mockUser));
+        assertThrows(AccountOwnershipException.class, () ->
+                ibanAccountAuthorizationService.validateAccountOwnership(iban, principal));
+    }
 
-        verify(mockUser).getAccounts();
-        verify(userService, never()).getUserById(anyInt());
+    private static UserPrincipal principalOwning(int userId, Iban iban) {
+        User user = mock(User.class);
+        Account account = mock(Account.class);
+        when(account.getId()).thenReturn(1);
+        when(account.getIban()).thenReturn(iban);
+        when(user.getId()).thenReturn(userId);
+        when(user.getAccounts()).thenReturn(Set.of(account));
+        return UserPrincipal.from(user);
     }
 }
@@ -2,16 +2,17 @@ package info.mackiewicz.bankapp.system.shared;
 
 import info.mackiewicz.bankapp.core.account.exception.AccountOwnershipException;
 import info.mackiewicz.bankapp.core.account.model.Account;
-import info.mackiewicz.bankapp.core.user.exception.InvalidUserDataException;
+import info.mackiewicz.bankapp.core.account.service.AccountOwnershipIndex;
 import info.mackiewicz.bankapp.core.user.model.User;
-import info.mackiewicz.bankapp.core.user.service.UserService;
+import info.mackiewicz.bankapp.core.user.model.UserPrincipal;
+import info.mackiewicz.bankapp.testutils.TestIbanProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -22,115 +23,85 @@ import static org.mockito.Mockito.*;
 public class IdAccountAuthorizationServiceTest {
 
     @Mock
-    private UserService userService;
+    private AccountOwnershipIndex ownershipIndex;
 
     private IdAccountAuthorizationService idAccountAuthorizationService;
 
     @BeforeEach
     void setUp() {
-        idAccountAuthorizationService = new IdAccountAuthorizationService(userService);
+        idAccountAuthorizationService = new IdAccountAuthorizationService(ownershipIndex);
     }
 
     @Test
-    void shouldValidateAccountOwnershipWhenOwnerHasAccount() {
+    void shouldValidateAccountOwnershipWhenIndexReturnsOwner() {
         // Given
         int accountId = 1;
         User mockUser = mock(User.class);
-        Set<Account> accounts = new HashSet<>();
-        Account mockAccount = mock(Account.class);
-        when(mockAccount.getId()).thenReturn(accountId);
-        accounts.add(mockAccount);
-        when(mockUser.getAccounts()).thenReturn(accounts);
+        when(mockUser.getId()).thenReturn(100);
+        when(ownershipIndex.findOwnerId(accountId)).thenReturn(Optional.of(100));
 
         // When & Then
         assertDoesNotThrow(() -> idAccountAuthorizationService.validateAccountOwnership(accountId, mockUser));
-        verify(mockUser).getAccounts();
-        verify(mockAccount).getId();
-        verify(userService, never()).getUserById(anyInt());
+        verify(mockUser, never()).getAccounts();
     }
 
     @Test
-    void shouldThrowExceptionWhenOwnerDoesNotHaveAccount() {
+    void shouldThrowExceptionWhenAccountBelongsToAnotherUser() {
         // Given
         int accountId = 1;
         User mockUser = mock(User.class);
-        when(mockUser.getAccounts()).thenReturn(new HashSet<>());
+        when(mockUser.getId()).thenReturn(100);
+        when(ownershipIndex.findOwnerId(accountId)).thenReturn(Optional.of(200));
 
         // When & Then
-        assertThrows(InvalidUserDataException.class, () ->
+        assertThrows(AccountOwnershipException.class, () ->
                 idAccountAuthorizationService.validateAccountOwnership(accountId, mockUser));
-
-        verify(mockUser).getAccounts();
-        verify(userService, never()).getUserById(anyInt());
     }
 
     @Test
-    void shouldThrowExceptionWhenOwnerHasAccountsButNotTheRequestedOne() {
+    void shouldThrowExceptionWhenAccountDoesNotExist() {
         // Given
         int accountId = 1;
-        int otherAccountId = 2;
-        int userId = 100;
         User mockUser = mock(User.class);
-        when(mockUser.getId()).thenReturn(userId);
-
-        Set<Account> accounts = new HashSet<>();
-        Account mockOtherAccount = mock(Account.class);
-        when(mockOtherAccount.getId()).thenReturn(otherAccountId);
-        accounts.add(mockOtherAccount);
-        when(mockUser.getAccounts()).thenReturn(accounts);
-
-        // Dla drugiego wywołania - po aktualizacji użytkownika
-        User updatedMockUser = mock(User.class);
-        when(updatedMockUser.getId()).thenReturn(userId);
-        Set<Account> updatedAccounts = new HashSet<>();
-        updatedAccounts.add(mockOtherAccount); // Bez żądanego konta
-        when(updatedMockUser.getAccounts()).thenReturn(updatedAccounts);
-
-        when(userService.getUserById(userId)).thenReturn(updatedMockUser);
+        when(mockUser.getId()).thenReturn(100);
+        when(ownershipIndex.findOwnerId(accountId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(AccountOwnershipException.class, () ->
                 idAccountAuthorizationService.validateAccountOwnership(accountId, mockUser));
-
-        verify(mockUser).getAccounts();
-        verify(mockOtherAccount, times(2)).getId();
-        verify(userService).getUserById(userId);
-        verify(updatedMockUser).getAccounts();
     }
 
     @Test
-    void shouldValidateAccountOwnershipAfterUserUpdate() {
+    void shouldValidateAccountOwnershipFromPrincipalWithoutIndexLookup() {
         // Given
         int accountId = 1;
-        int userId = 100;
-        User mockUser = mock(User.class);
-        when(mockUser.getId()).thenReturn(userId);
+        UserPrincipal principal = principalOwning(100, accountId);
 
-        // The initial user does not have the required account.
-        Set<Account> initialAccounts = new HashSet<>();
-        Account mockOtherAccount = mock(Account.class);
-        when(mockOtherAccount.getId()).thenReturn(2);
-        initialAccounts.add(mockOtherAccount);
-        when(mockUser.getAccounts()).thenReturn(initialAccounts);
-
-        // The updated user has the required account.
-        User updatedMockUser = mock(User.class);
-        Set<Account> updatedAccounts = new HashSet<>();
-        Account requestedAccount = mock(Account.class);
-        when(requestedAccount.getId()).thenReturn(accountId);
-        updatedAccounts.add(requestedAccount);
-        when(updatedMockUser.getAccounts()).thenReturn(updatedAccounts);
+        // When & Then
+        assertDoesNotThrow(() -> idAccountAuthorizationService.validateAccountOwnership(accountId, principal));
+        verifyNoInteractions(ownershipIndex);
+    }
 
-        when(userService.getUserById(userId)).thenReturn(updatedMockUser);
+    @Test
+    void shouldFallBackToIndexWhenPrincipalDoesNotListAccount() {
+        // Given
+        int accountId = 1;
+        int userId = 100;
+        UserPrincipal principal = principalOwning(userId, 2);
+        when(ownershipIndex.findOwnerId(accountId)).thenReturn(Optional.of(userId));
 
         // When & Then
-        assertDoesNotThrow(() ->
-                idAccountAuthorizationService.validateAccountOwnership(accountId, mockUser));
+        assertDoesNotThrow(() -> idAccountAuthorizationService.validateAccountOwnership(accountId, principal));
+        verify(ownershipIndex).findOwnerId(accountId);
+    }
 
-        verify(mockUser).getAccounts();
-        verify(mockOtherAccount).getId();
-        verify(userService).getUserById(userId);
-        verify(updatedMockUser).getAccounts();
-        verify(requestedAccount).getId();
+    private static UserPrincipal principalOwning(int userId, int accountId) {
+        User user = mock(User.class);
+        Account account = mock(Account.class);
+        when(account.getId()).thenReturn(accountId);
+        when(account.getIban()).thenReturn(TestIbanProvider.getNextIbanObject());
+        when(user.getId()).thenReturn(userId);
+        when(user.getAccounts()).thenReturn(Set.of(account));
+        return UserPrincipal.from(user);
     }
-}
\ No newline at end of file
+}
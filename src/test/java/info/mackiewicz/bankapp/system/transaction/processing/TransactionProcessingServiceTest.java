@@ -4,20 +4,27 @@ import info.mackiewicz.bankapp.core.transaction.exception.TransactionAlreadyProc
 import info.mackiewicz.bankapp.core.transaction.exception.TransactionValidationException;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.service.TransactionClaimConfig;
 import info.mackiewicz.bankapp.core.transaction.service.TransactionService;
 import info.mackiewicz.bankapp.core.transaction.validation.TransactionValidator;
 import info.mackiewicz.bankapp.system.transaction.processing.core.TransactionProcessor;
 import info.mackiewicz.bankapp.system.transaction.processing.error.TransactionErrorHandler;
 import info.mackiewicz.bankapp.system.transaction.processing.helpers.TransactionStatusChecker;
+import info.mackiewicz.bankapp.system.transaction.processing.lanes.TransactionLanes;
+import info.mackiewicz.bankapp.system.transaction.processing.netting.TransactionNettingService;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -44,12 +51,27 @@ class TransactionProcessingServiceTest {
     @Mock
     private TransactionErrorHandler errorHandler;
 
+    @Mock
+    private TransactionLanes lanes;
+
+    @Mock
+    private TransactionNettingService netting;
+
+    @Mock
+    private TransactionClaimConfig claimConfig;
+
+    @Mock
+    private ThreadPoolTaskExecutor taskExecutor;
+
     @InjectMocks
     private TransactionProcessingService processingService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(claimConfig.batchSize()).thenReturn(2);
+        when(processor.processTransaction(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(lanes.submit(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
     }
 
     @Test
@@ -58,6 +80,7 @@ class TransactionProcessingServiceTest {
         int transactionId = 1;
         Transaction transaction = createTransaction(TransactionStatus.NEW);
         when(transactionService.getTransactionById(transactionId)).thenReturn(transaction);
+        when(transactionService.claimTransaction(transactionId)).thenReturn(true);
         
         // when
         processingService.processTransactionById(transactionId);
@@ -75,6 +98,7 @@ class TransactionProcessingServiceTest {
         Transaction transaction = createTransaction(TransactionStatus.NEW);
         TransactionValidationException exception = new TransactionValidationException("Validation failed");
         when(transactionService.getTransactionById(transactionId)).thenReturn(transaction);
+        when(transactionService.claimTransaction(transactionId)).thenReturn(true);
         doThrow(exception).when(validator).validate(transaction);
         
         // when
@@ -92,6 +116,7 @@ class TransactionProcessingServiceTest {
         Transaction transaction = createTransaction(TransactionStatus.DONE);
         TransactionAlreadyProcessedException exception = new TransactionAlreadyProcessedException("Already processed");
         when(transactionService.getTransactionById(transactionId)).thenReturn(transaction);
+        when(transactionService.claimTransaction(transactionId)).thenReturn(true);
         doThrow(exception).when(statusChecker).validateForProcessing(transaction);
         
         // when
@@ -102,29 +127,130 @@ class TransactionProcessingServiceTest {
         verify(processor, never()).processTransaction(any());
     }
 
+    @Test
+    void processTransactionById_WhenClaimedByAnotherWorker_ShouldSkip() {
+        // given
+        int transactionId = 1;
+        Transaction transaction = createTransaction(TransactionStatus.NEW);
+        when(transactionService.getTransactionById(transactionId)).thenReturn(transaction);
+        when(transactionService.claimTransaction(transactionId)).thenReturn(false);
+
+        // when
+        processingService.processTransactionById(transactionId);
+
+        // then
+        verifyNoInteractions(validator, statusChecker, processor, errorHandler);
+    }
+
     // W obecnej implementacji błędy wykonania transakcji są obsługiwane w TransactionProcessor
     // a nie w TransactionProcessingService, więc poniższe testy są niepoprawne
 
     @Test
-    void processAllNewTransactions_ShouldProcessAllTransactions() {
+    void processNewTransactionBatch_ShouldProcessAllTransactions() {
         // given
         List<Transaction> transactions = List.of(
             createTransaction(TransactionStatus.NEW),
             createTransaction(TransactionStatus.NEW)
         );
-        when(transactionService.getAllNewTransactions()).thenReturn(transactions);
+        when(transactionService.claimNewTransactions()).thenReturn(transactions);
         
         // when
-        processingService.processAllNewTransactions();
+        processingService.processNewTransactionBatch();
         
         // then
         verify(validator, times(2)).validate(any());
         verify(statusChecker, times(2)).validateForProcessing(any());
         verify(processor, times(2)).processTransaction(any());
     }
+
+    @Test
+    void processNewTransactionBatch_WhenLanesEnabled_ShouldProcessOnLanes() {
+        // given
+        Transaction transaction = createTransaction(TransactionStatus.NEW);
+        when(transactionService.claimNewTransactions()).thenReturn(List.of(transaction));
+        when(lanes.isEnabled()).thenReturn(true);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+
+        // when
+        processingService.processNewTransactionBatch();
+
+        // then
+        verify(lanes).submit(eq(transaction), task.capture());
+        verify(processor, never()).processTransaction(any());
+        task.getValue().run();
+        verify(processor).processExclusively(transaction);
+    }
+
+    @Test
+    void processNewTransactionBatch_WhenLaneTaskFailsUnexpectedly_ShouldMarkTransactionFailed() {
+        // given
+        Transaction transaction = createTransaction(TransactionStatus.NEW);
+        when(transactionService.claimNewTransactions()).thenReturn(List.of(transaction));
+        when(lanes.isEnabled()).thenReturn(true);
+        IllegalStateException exception = new IllegalStateException("Lane stopped");
+        when(lanes.submit(any(), any())).thenReturn(CompletableFuture.failedFuture(exception));
+
+        // when
+        processingService.processNewTransactionBatch();
+
+        // then
+        verify(errorHandler).handleUnexpectedError(transaction, exception);
+    }
+
+    @Test
+    void processNewTransactionBatch_WhenLaneTaskFailsWithHandledError_ShouldNotHandleAgain() {
+        // given
+        Transaction transaction = createTransaction(TransactionStatus.NEW);
+        when(transactionService.claimNewTransactions()).thenReturn(List.of(transaction));
+        when(lanes.isEnabled()).thenReturn(true);
+        when(lanes.submit(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TransactionAlreadyProcessedException()));
+
+        // when
+        processingService.processNewTransactionBatch();
+
+        // then
+        verifyNoInteractions(errorHandler);
+    }
+
+    @Test
+    void processNewTransactionBatch_WhenNettingEnabled_ShouldProcessOnlyTransactionsLeftByNetting() {
+        // given
+        Transaction netted = createTransaction(TransactionStatus.NEW);
+        Transaction invalid = createTransaction(TransactionStatus.NEW);
+        Transaction left = createTransaction(TransactionStatus.NEW);
+        invalid.setId(2);
+        left.setId(3);
+        when(transactionService.claimNewTransactions()).thenReturn(List.of(netted, invalid, left));
+        when(netting.isEnabled()).thenReturn(true);
+        doThrow(new TransactionValidationException("Invalid")).when(validator).validate(invalid);
+        when(netting.process(List.of(netted, left))).thenReturn(List.of(left));
+
+        // when
+        int claimed = processingService.processNewTransactionBatch();
+
+        // then
+        assertEquals(3, claimed);
+        verify(errorHandler).handleValidationError(eq(invalid), any(TransactionValidationException.class));
+        verify(processor).processTransaction(left);
+        verify(processor, never()).processTransaction(netted);
+    }
+
+    @Test
+    void processNewTransactionBatch_WhenNothingClaimed_ShouldReturnZero() {
+        // given
+        when(transactionService.claimNewTransactions()).thenReturn(List.of());
+
+        // when
+        int claimed = processingService.processNewTransactionBatch();
+
+        // then
+        assertEquals(0, claimed);
+        verifyNoInteractions(validator, processor);
+    }
     
     @Test
-    void processAllNewTransactions_WhenSomeTransactionsFail_ShouldContinueProcessing() {
+    void processNewTransactionBatch_WhenSomeTransactionsFail_ShouldContinueProcessing() {
         // given
         Transaction transaction1 = createTransaction(TransactionStatus.NEW);
         transaction1.setId(1);
@@ -132,11 +258,11 @@ class TransactionProcessingServiceTest {
         transaction2.setId(2);
         List<Transaction> transactions = List.of(transaction1, transaction2);
 
-        when(transactionService.getAllNewTransactions()).thenReturn(transactions);
+        when(transactionService.claimNewTransactions()).thenReturn(transactions);
         doThrow(new TransactionValidationException("Validation error")).when(validator).validate(transaction1);
         
         // when
-        processingService.processAllNewTransactions();
+        processingService.processNewTransactionBatch();
         
         // then
         verify(validator, times(2)).validate(any());
@@ -147,7 +273,7 @@ class TransactionProcessingServiceTest {
     }
 
     @Test
-    void processAllNewTransactions_WhenStatusCheckFails_ShouldContinueProcessing() {
+    void processNewTransactionBatch_WhenStatusCheckFails_ShouldContinueProcessing() {
         // given
         Transaction transaction1 = createTransaction(TransactionStatus.DONE); // Status uniemożliwia przetwarzanie
         transaction1.setId(1);
@@ -155,12 +281,12 @@ class TransactionProcessingServiceTest {
         transaction2.setId(2);
         List<Transaction> transactions = List.of(transaction1, transaction2);
 
-        when(transactionService.getAllNewTransactions()).thenReturn(transactions);
+        when(transactionService.claimNewTransactions()).thenReturn(transactions);
         doThrow(new TransactionAlreadyProcessedException("Already processed")).when(statusChecker)
             .validateForProcessing(transaction1);
         
         // when
-        processingService.processAllNewTransactions();
+        processingService.processNewTransactionBatch();
         
         // then
         verify(validator, times(2)).validate(any());
@@ -171,7 +297,7 @@ class TransactionProcessingServiceTest {
     }
 
     @Test
-    void processAllNewTransactions_WhenProcessorThrowsException_ShouldContinueProcessing() {
+    void processNewTransactionBatch_WhenProcessorThrowsException_ShouldContinueProcessing() {
         // given
         Transaction transaction1 = createTransaction(TransactionStatus.NEW);
         transaction1.setId(1);
@@ -179,11 +305,11 @@ class TransactionProcessingServiceTest {
         transaction2.setId(2);
         List<Transaction> transactions = List.of(transaction1, transaction2);
 
-        when(transactionService.getAllNewTransactions()).thenReturn(transactions);
+        when(transactionService.claimNewTransactions()).thenReturn(transactions);
         doThrow(new RuntimeException("Processor error")).when(processor).processTransaction(transaction1);
         
         // when
-        processingService.processAllNewTransactions();
+        processingService.processNewTransactionBatch();
         
         // then
         verify(validator, times(2)).validate(any());
@@ -193,6 +319,81 @@ class TransactionProcessingServiceTest {
         verify(errorHandler).handleUnexpectedError(eq(transaction1), any(Exception.class));
     }
 
+    @Test
+    void processNewTransactions_WhileFullBatchesComeBackAndProcessingKeepsUp_ShouldKeepClaiming() {
+        // given
+        when(transactionService.claimNewTransactions()).thenReturn(
+                List.of(createTransaction(1), createTransaction(2)),
+                List.of(createTransaction(3), createTransaction(4)),
+                List.of(createTransaction(5)));
+
+        // when
+        int claimed = processingService.processNewTransactions();
+
+        // then
+        assertEquals(5, claimed);
+        verify(transactionService, times(3)).claimNewTransactions();
+        verify(processor, times(5)).processTransaction(any());
+    }
+
+    @Test
+    void processNewTransactions_WhenBatchInFlight_ShouldClaimNextBatchOnceHalfIsProcessed() {
+        // given
+        Transaction transaction1 = createTransaction(1);
+        Transaction transaction2 = createTransaction(2);
+        CompletableFuture<Void> processed1 = new CompletableFuture<>();
+        when(processor.processTransaction(transaction1)).thenReturn(processed1);
+        when(processor.processTransaction(transaction2)).thenReturn(new CompletableFuture<>());
+        when(transactionService.claimNewTransactions()).thenReturn(
+                List.of(transaction1, transaction2),
+                List.of(createTransaction(3)));
+
+        // when
+        int claimed = processingService.processNewTransactions();
+
+        // then
+        assertEquals(2, claimed);
+        verify(transactionService, times(1)).claimNewTransactions();
+
+        // when
+        processed1.complete(null);
+
+        // then
+        ArgumentCaptor<Runnable> refill = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskExecutor).execute(refill.capture());
+        verify(transactionService, times(1)).claimNewTransactions();
+
+        // when
+        refill.getValue().run();
+
+        // then
+        verify(transactionService, times(2)).claimNewTransactions();
+        verify(processor, times(3)).processTransaction(any());
+    }
+
+    @Test
+    void processNewTransactions_WhenBatchNotFull_ShouldNotClaimAsProcessingCompletes() {
+        // given
+        Transaction transaction = createTransaction(1);
+        CompletableFuture<Void> processed = new CompletableFuture<>();
+        when(processor.processTransaction(transaction)).thenReturn(processed);
+        when(transactionService.claimNewTransactions()).thenReturn(List.of(transaction));
+
+        // when
+        processingService.processNewTransactions();
+        processed.complete(null);
+
+        // then
+        verify(transactionService, times(1)).claimNewTransactions();
+        verify(taskExecutor, never()).execute(any(Runnable.class));
+    }
+
+    private Transaction createTransaction(int id) {
+        Transaction transaction = createTransaction(TransactionStatus.NEW);
+        transaction.setId(id);
+        return transaction;
+    }
+
     private Transaction createTransaction(TransactionStatus status) {
         Transaction transaction = new Transaction();
         transaction.setId(1);
@@ -3,14 +3,18 @@ package info.mackiewicz.bankapp.system.transaction.processing.core;
 import info.mackiewicz.bankapp.core.account.exception.AccountLockException;
 import info.mackiewicz.bankapp.core.account.exception.AccountUnlockException;
 import info.mackiewicz.bankapp.core.account.model.Account;
-import info.mackiewicz.bankapp.core.account.service.AccountService;
 import info.mackiewicz.bankapp.core.transaction.exception.InsufficientFundsException;
+import info.mackiewicz.bankapp.core.transaction.exception.TransactionAlreadyProcessedException;
 import info.mackiewicz.bankapp.core.transaction.exception.TransactionExecutionException;
 import info.mackiewicz.bankapp.core.transaction.model.Transaction;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
 import info.mackiewicz.bankapp.core.transaction.model.TransactionType;
 import info.mackiewicz.bankapp.shared.util.LoggingService;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournal;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceEngine;
 import info.mackiewicz.bankapp.system.transaction.processing.locking.AccountLockManager;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingStrategy;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutionService;
 import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutor;
 import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutorRegistry;
 import info.mackiewicz.bankapp.system.transaction.processing.error.TransactionErrorHandler;
@@ -18,6 +22,7 @@ import info.mackiewicz.bankapp.system.transaction.processing.helpers.Transaction
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -46,11 +51,20 @@ class TransactionProcessorTest {
     private TransactionExecutor executionCommand;
 
     @Mock
-    private AccountService accountService;
+    private TransactionExecutionService executionService;
 
     @Mock
     private LoggingService loggingService;
 
+    @Mock
+    private LedgerJournal ledgerJournal;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private LockingStrategy lockingStrategy;
+
     @InjectMocks
     private TransactionProcessor processor;
 
@@ -87,18 +101,82 @@ class TransactionProcessorTest {
         verify(loggingService).logLockingAccounts(transaction);
         verify(statusManager).setTransactionStatus(transaction, TransactionStatus.PENDING);
         verify(commandRegistry).getCommand(transaction.getType());
-        verify(executionCommand).execute(transaction, accountService);
-        verify(statusManager).setTransactionStatus(transaction, TransactionStatus.DONE);
+        verify(executionService).executeAndComplete(transaction, executionCommand);
+        verify(ledgerJournal).append(transaction);
         verify(loggingService).logSuccessfulTransaction(transaction);
         verify(accountLockManager).unlockAccounts(sourceAccount, destinationAccount);
         verify(loggingService).logUnlockingAccounts(transaction);
     }
 
+    @Test
+    void processExclusively_ShouldExecuteAndJournalWithoutLocks() {
+        // when
+        processor.processExclusively(transaction);
+
+        // then
+        verify(statusManager).setTransactionStatus(transaction, TransactionStatus.PENDING);
+        verify(executionService).executeAndComplete(transaction, executionCommand);
+        verify(ledgerJournal).append(transaction);
+        verify(loggingService).logSuccessfulTransaction(transaction);
+        verifyNoInteractions(accountLockManager, errorHandler);
+    }
+
+    @Test
+    void processExclusively_WhenConcurrentChangesPersist_ShouldHandleLockError() {
+        // given
+        AccountLockException exception = new AccountLockException("Concurrent changes persisted", 1, 5, 100, false);
+        doThrow(exception).when(lockingStrategy).execute(any(Runnable.class));
+
+        // when/then
+        try {
+            processor.processExclusively(transaction);
+            fail("Expected TransactionExecutionException to be thrown");
+        } catch (TransactionExecutionException e) {
+            verify(errorHandler).handleLockError(transaction, exception);
+            verify(errorHandler, never()).handleUnexpectedError(any(), any());
+            verify(ledgerJournal, never()).append(transaction);
+        }
+    }
+
+    @Test
+    void processTransaction_WhenBalanceEngineEnabled_ShouldExecuteInEngineWithoutLocks() {
+        // given
+        when(balanceEngine.isEnabled()).thenReturn(true);
+
+        // when
+        processor.processTransaction(transaction);
+
+        // then
+        InOrder inOrder = inOrder(statusManager, balanceEngine);
+        inOrder.verify(statusManager).setTransactionStatus(transaction, TransactionStatus.PENDING);
+        inOrder.verify(statusManager).renewLease(transaction);
+        inOrder.verify(balanceEngine).execute(transaction, executionCommand);
+        verify(loggingService).logSuccessfulTransaction(transaction);
+        verifyNoInteractions(accountLockManager, executionService, ledgerJournal, errorHandler);
+    }
+
+    @Test
+    void processTransaction_WhenBalanceEngineReportsInsufficientFunds_ShouldHandleError() {
+        // given
+        when(balanceEngine.isEnabled()).thenReturn(true);
+        InsufficientFundsException exception = new InsufficientFundsException("Insufficient funds");
+        doThrow(exception).when(balanceEngine).execute(transaction, executionCommand);
+
+        // when/then
+        try {
+            processor.processTransaction(transaction);
+            fail("Expected InsufficientFundsException to be thrown");
+        } catch (InsufficientFundsException e) {
+            verify(errorHandler).handleInsufficientFundsError(transaction, exception);
+            verifyNoInteractions(accountLockManager);
+        }
+    }
+
     @Test
     void processTransaction_WhenInsufficientFunds_ShouldHandleError() {
         // given
         InsufficientFundsException exception = new InsufficientFundsException("Insufficient funds");
-        doThrow(exception).when(executionCommand).execute(transaction, accountService);
+        doThrow(exception).when(executionService).executeAndComplete(transaction, executionCommand);
 
         // when/then
         try {
@@ -111,8 +189,9 @@ class TransactionProcessorTest {
             verify(loggingService).logLockingAccounts(transaction);
             verify(statusManager).setTransactionStatus(transaction, TransactionStatus.PENDING);
             verify(commandRegistry).getCommand(transaction.getType());
-            verify(executionCommand).execute(transaction, accountService);
+            verify(executionService).executeAndComplete(transaction, executionCommand);
             verify(errorHandler).handleInsufficientFundsError(transaction, exception);
+            verify(ledgerJournal, never()).append(transaction);
             verify(statusManager, never()).setTransactionStatus(transaction, TransactionStatus.DONE);
             verify(loggingService, never()).logSuccessfulTransaction(transaction);
             verify(accountLockManager).unlockAccounts(sourceAccount, destinationAccount);
@@ -124,7 +203,7 @@ class TransactionProcessorTest {
     void processTransaction_WhenUnexpectedError_ShouldHandleError() {
         // given
         RuntimeException exception = new RuntimeException("Unexpected error");
-        doThrow(exception).when(executionCommand).execute(transaction, accountService);
+        doThrow(exception).when(executionService).executeAndComplete(transaction, executionCommand);
 
         // when/then
         try {
@@ -137,7 +216,7 @@ class TransactionProcessorTest {
             verify(loggingService).logLockingAccounts(transaction);
             verify(statusManager).setTransactionStatus(transaction, TransactionStatus.PENDING);
             verify(commandRegistry).getCommand(transaction.getType());
-            verify(executionCommand).execute(transaction, accountService);
+            verify(executionService).executeAndComplete(transaction, executionCommand);
             verify(errorHandler).handleUnexpectedError(transaction, exception);
             verify(statusManager, never()).setTransactionStatus(transaction, TransactionStatus.DONE);
             verify(accountLockManager).unlockAccounts(sourceAccount, destinationAccount);
@@ -147,28 +226,37 @@ class TransactionProcessorTest {
     }
 
     @Test
-    void processTransaction_WhenStatusUpdateToDoneThrowsException_ShouldHandleErrorCorrectly() {
+    void processTransaction_WhenCompletedByAnotherWorker_ShouldNotHandleError() {
         // given
-        RuntimeException exception = new RuntimeException("Status update failed");
-        doThrow(exception).when(statusManager).setTransactionStatus(transaction, TransactionStatus.DONE);
+        TransactionAlreadyProcessedException exception = new TransactionAlreadyProcessedException();
+        doThrow(exception).when(executionService).executeAndComplete(transaction, executionCommand);
 
         // when/then
         try {
             processor.processTransaction(transaction);
-            fail("Expected TransactionExecutionException to be thrown");
-        } catch (TransactionExecutionException e) {
-            // verify correct behavior
-            verify(loggingService).logTransactionAttempt(transaction);
-            verify(accountLockManager).lockAccounts(sourceAccount, destinationAccount);
-            verify(loggingService).logLockingAccounts(transaction);
+            fail("Expected TransactionAlreadyProcessedException to be thrown");
+        } catch (TransactionAlreadyProcessedException e) {
             verify(statusManager).setTransactionStatus(transaction, TransactionStatus.PENDING);
-            verify(commandRegistry).getCommand(transaction.getType());
-            verify(executionCommand).execute(transaction, accountService);
-            verify(statusManager).setTransactionStatus(transaction, TransactionStatus.DONE); // verify called but throws exception
-            verify(errorHandler).handleTransactionStatusChangeError(transaction, exception);
+            verify(executionService).executeAndComplete(transaction, executionCommand);
+            verifyNoInteractions(errorHandler);
             verify(loggingService, never()).logSuccessfulTransaction(transaction);
             verify(accountLockManager).unlockAccounts(sourceAccount, destinationAccount);
-            verify(loggingService).logUnlockingAccounts(transaction);
+        }
+    }
+
+    @Test
+    void processTransaction_WhenLeaseLostBeforeStart_ShouldNotHandleError() {
+        // given
+        TransactionAlreadyProcessedException exception = new TransactionAlreadyProcessedException();
+        doThrow(exception).when(statusManager).setTransactionStatus(transaction, TransactionStatus.PENDING);
+
+        // when/then
+        try {
+            processor.processTransaction(transaction);
+            fail("Expected TransactionAlreadyProcessedException to be thrown");
+        } catch (TransactionAlreadyProcessedException e) {
+            verifyNoInteractions(errorHandler, executionService);
+            verify(accountLockManager).unlockAccounts(sourceAccount, destinationAccount);
         }
     }
 
@@ -194,7 +282,7 @@ class TransactionProcessorTest {
         verify(errorHandler).handleLockError(transaction, exception);
         verify(statusManager, never()).setTransactionStatus(any(), any());
         verify(commandRegistry, never()).getCommand(any());
-        verify(executionCommand, never()).execute(transaction, accountService);
+        verify(executionService, never()).executeAndComplete(any(), any());
         verify(loggingService, never()).logLockingAccounts(transaction);
         verify(loggingService, never()).logSuccessfulTransaction(transaction);
         verify(accountLockManager).unlockAccounts(sourceAccount, destinationAccount);
@@ -220,8 +308,7 @@ class TransactionProcessorTest {
             verify(loggingService).logLockingAccounts(transaction);
             verify(statusManager).setTransactionStatus(transaction, TransactionStatus.PENDING);
             verify(commandRegistry).getCommand(transaction.getType());
-            verify(executionCommand).execute(transaction, accountService);
-            verify(statusManager).setTransactionStatus(transaction, TransactionStatus.DONE);
+            verify(executionService).executeAndComplete(transaction, executionCommand);
             verify(loggingService).logSuccessfulTransaction(transaction);
             verify(accountLockManager).unlockAccounts(sourceAccount, destinationAccount);
             verify(errorHandler).handleUnlockError(transaction, exception);
@@ -237,8 +324,7 @@ class TransactionProcessorTest {
                 loggingService,
                 statusManager,
                 commandRegistry,
-                executionCommand,
-                statusManager,
+                executionService,
                 loggingService,
                 accountLockManager,
                 loggingService);
@@ -252,8 +338,7 @@ class TransactionProcessorTest {
         orderVerifier.verify(loggingService).logLockingAccounts(transaction);
         orderVerifier.verify(statusManager).setTransactionStatus(transaction, TransactionStatus.PENDING);
         orderVerifier.verify(commandRegistry).getCommand(transaction.getType());
-        orderVerifier.verify(executionCommand).execute(transaction, accountService);
-        orderVerifier.verify(statusManager).setTransactionStatus(transaction, TransactionStatus.DONE);
+        orderVerifier.verify(executionService).executeAndComplete(transaction, executionCommand);
         orderVerifier.verify(loggingService).logSuccessfulTransaction(transaction);
         orderVerifier.verify(accountLockManager).unlockAccounts(sourceAccount, destinationAccount);
         orderVerifier.verify(loggingService).logUnlockingAccounts(transaction);
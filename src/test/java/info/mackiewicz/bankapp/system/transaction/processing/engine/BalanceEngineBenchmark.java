@@ -0,0 +1,204 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.model.TestAccountBuilder;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournal;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournalConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures transfers between random accounts from four threads: applied by the balance engine vs committed to the
+ * database under account locks, on an in-memory H2 database.
+ * <p>
+ * {@code balanceEngine} applies both legs on the shards and forces the journal, which is what a transaction waits
+ * for in engine mode; the write-behind flush is not included, it is amortized over all transfers of a flush
+ * interval. {@code balanceEngineWithoutForce} leaves the force out, showing the cost of the shards alone.
+ * {@code lockedDatabaseCommit} takes the locks of both accounts in ID order, reads and updates both
+ * balances, completes the transaction and commits in a serializable transaction, as {@code TransactionProcessor}
+ * does without the engine. An in-memory database has no network round trips or disk flushes, so the gap on a real
+ * database is larger. The journal is written to a temporary directory, whose file system decides the cost of the
+ * force. Run with {@code mvn test-compile} and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class BalanceEngineBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+    private static final long AMOUNT = 100;
+    private static final String URL = "jdbc:h2:mem:balance-engine;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+    private final AtomicLong transactionIds = new AtomicLong();
+    private Path directory;
+    private LedgerJournal journal;
+    private BalanceShards shards;
+    private Account[] accounts;
+    private ReentrantLock[] locks;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("balance-engine-benchmark");
+        journal = new LedgerJournal(new LedgerJournalConfig(true, directory.toString(), 64 * 1024 * 1024),
+                mock(HotAccountJournalService.class));
+        journal.open();
+        shards = new BalanceShards(4, journal);
+        accounts = new Account[ACCOUNTS + 1];
+        locks = new ReentrantLock[ACCOUNTS + 1];
+        for (int id = 1; id <= ACCOUNTS; id++) {
+            accounts[id] = TestAccountBuilder.createTestAccountWithBalance(new BigDecimal("1000000.00"));
+            TestAccountBuilder.setField(accounts[id], "id", id);
+            locks[id] = new ReentrantLock();
+        }
+        try (Connection connection = DriverManager.getConnection(URL);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE accounts (id int PRIMARY KEY, balance decimal(38,2) NOT NULL)");
+            statement.execute("CREATE TABLE transactions (id bigint PRIMARY KEY, status varchar(16) NOT NULL)");
+            statement.execute("INSERT INTO accounts SELECT x, 1000000 FROM SYSTEM_RANGE(1, " + ACCOUNTS + ")");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException, IOException, SQLException {
+        shards.stop();
+        journal.close();
+        FileSystemUtils.deleteRecursively(directory);
+        try (Connection connection = DriverManager.getConnection(URL);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Benchmark
+    public long balanceEngine() {
+        long sequence = applyTransfer();
+        journal.force(sequence);
+        return sequence;
+    }
+
+    @Benchmark
+    public long balanceEngineWithoutForce() {
+        return applyTransfer();
+    }
+
+    @Benchmark
+    public void lockedDatabaseCommit(DatabaseSession session) throws SQLException {
+        int source = randomAccount();
+        int destination = otherAccount(source);
+        ReentrantLock first = locks[Math.min(source, destination)];
+        ReentrantLock second = locks[Math.max(source, destination)];
+        first.lock();
+        second.lock();
+        try {
+            session.transfer(transactionIds.incrementAndGet(), source, destination);
+        } finally {
+            second.unlock();
+            first.unlock();
+        }
+    }
+
+    private long applyTransfer() {
+        int source = randomAccount();
+        int destination = otherAccount(source);
+        return shards.apply(transactionIds.incrementAndGet(), List.of(
+                new BalanceLeg(accounts[source], -AMOUNT), new BalanceLeg(accounts[destination], AMOUNT)));
+    }
+
+    private static int randomAccount() {
+        return ThreadLocalRandom.current().nextInt(1, ACCOUNTS + 1);
+    }
+
+    private static int otherAccount(int account) {
+        return account % ACCOUNTS + 1;
+    }
+
+    /**
+     * Connection and statements of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class DatabaseSession {
+
+        private static final BigDecimal DELTA = BigDecimal.valueOf(AMOUNT, 2);
+
+        private Connection connection;
+        private PreparedStatement selectBalance;
+        private PreparedStatement updateBalance;
+        private PreparedStatement insertTransaction;
+        private PreparedStatement completeTransaction;
+
+        @Setup
+        public void setUp() throws SQLException {
+            connection = DriverManager.getConnection(URL);
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            selectBalance = connection.prepareStatement("SELECT balance FROM accounts WHERE id = ?");
+            updateBalance = connection.prepareStatement("UPDATE accounts SET balance = ? WHERE id = ?");
+            insertTransaction = connection.prepareStatement(
+                    "INSERT INTO transactions (id, status) VALUES (?, 'PENDING')");
+            completeTransaction = connection.prepareStatement(
+                    "UPDATE transactions SET status = 'DONE' WHERE id = ? AND status = 'PENDING'");
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+
+        void transfer(long transactionId, int source, int destination) throws SQLException {
+            insertTransaction.setLong(1, transactionId);
+            insertTransaction.executeUpdate();
+            connection.commit();
+            changeBalance(source, DELTA.negate());
+            changeBalance(destination, DELTA);
+            completeTransaction.setLong(1, transactionId);
+            completeTransaction.executeUpdate();
+            connection.commit();
+        }
+
+        private void changeBalance(int accountId, BigDecimal delta) throws SQLException {
+            selectBalance.setInt(1, accountId);
+            BigDecimal balance;
+            try (ResultSet resultSet = selectBalance.executeQuery()) {
+                resultSet.next();
+                balance = resultSet.getBigDecimal(1);
+            }
+            updateBalance.setBigDecimal(1, balance.add(delta));
+            updateBalance.setInt(2, accountId);
+            updateBalance.executeUpdate();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BalanceEngineBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,207 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.AccountService;
+import info.mackiewicz.bankapp.core.account.service.HotAccountConfig;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.account.service.interfaces.AccountBalanceOperations;
+import info.mackiewicz.bankapp.core.ledger.service.LedgerService;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.core.transaction.model.TransactionStatus;
+import info.mackiewicz.bankapp.core.transaction.repository.TransactionRepository;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournalConfig;
+import info.mackiewicz.bankapp.system.ledger.LedgerRecord;
+import info.mackiewicz.bankapp.system.transaction.processing.core.execution.TransactionExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BalanceEngineTest {
+
+    private static final int TRANSACTION_ID = 7;
+
+    @TempDir
+    private Path directory;
+
+    private TransactionRepository transactionRepository;
+    private BalanceWriteBehindRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        repository = mock(BalanceWriteBehindRepository.class);
+        lenient().when(repository.completeTransactions(any())).thenReturn(new int[]{1});
+    }
+
+    @Test
+    void start_WhenCompletedTransferWasNotFlushed_CompletesIt() throws Exception {
+        // Arrange
+        Account source = account(1, "100.00");
+        Account destination = account(2, "0.00");
+        Transaction transfer = transfer(source, destination);
+        crashAfter(transfer);
+        BalanceEngine restarted = engine();
+
+        // Act
+        restarted.start();
+
+        // Assert
+        verify(repository).updateBalances(Map.of(1, 6000L, 2, 4000L));
+        verify(repository).completeTransactions(List.of(TRANSACTION_ID));
+        restarted.stop();
+    }
+
+    @Test
+    void start_WhenFailedTransferWasCompensated_LeavesItPending() throws Exception {
+        // Arrange
+        Account source = account(1, "100.00");
+        Account destination = account(2, String.valueOf(Long.MAX_VALUE / 100));
+        Transaction transfer = transfer(source, destination);
+        crashAfter(transfer);
+        BalanceEngine restarted = engine();
+
+        // Act
+        restarted.start();
+
+        // Assert
+        verify(repository).updateBalances(Map.of(1, 10000L));
+        verify(repository, never()).completeTransactions(List.of(TRANSACTION_ID));
+        restarted.stop();
+    }
+
+    @Test
+    void start_WhenJournaledTransferFailedSince_ReversesItsLegs() throws Exception {
+        // Arrange
+        Account source = account(1, "100.00");
+        Account destination = account(2, "0.00");
+        Transaction transfer = transfer(source, destination);
+        crashAfter(transfer);
+        when(repository.findPendingTransactionIds()).thenReturn(Set.of());
+        when(repository.findUncompletedTransactionIds(TRANSACTION_ID))
+                .thenReturn(new HashSet<>(Set.of(TRANSACTION_ID)));
+        BalanceEngine restarted = engine();
+
+        // Act
+        restarted.start();
+
+        // Assert
+        verify(repository).updateBalances(Map.of(1, 10000L, 2, 0L));
+        verify(repository, never()).completeTransactions(List.of(TRANSACTION_ID));
+        restarted.stop();
+    }
+
+    @Test
+    void flush_DeletesJournalSegmentsOfFlushedTransactions() throws Exception {
+        // Arrange
+        when(repository.completeTransactions(any())).thenReturn(new int[]{1, 1, 1});
+        BalanceEngine engine = engine(2 * LedgerRecord.SIZE);
+        engine.start();
+        Account source = account(1, "200.00");
+        Account destination = account(2, "0.00");
+        for (int id = 1; id <= 3; id++) {
+            Transaction transfer = transfer(source, destination);
+            transfer.setId(id);
+            engine.execute(transfer, transferExecutor());
+        }
+        engine.flush();
+
+        // Act
+        engine.flush();
+
+        // Assert
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertThat(segments).hasSize(1);
+        }
+        engine.stop();
+    }
+
+    /**
+     * Executes a transfer and stops the engine with the database down, so only the journal holds it.
+     */
+    private void crashAfter(Transaction transaction) throws Exception {
+        TransactionExecutor executor = transferExecutor();
+        doThrow(new DataAccessResourceFailureException("Database down"))
+                .doNothing()
+                .when(repository).updateBalances(any());
+
+        BalanceEngine crashed = engine();
+        crashed.start();
+        try {
+            crashed.execute(transaction, executor);
+        } catch (ArithmeticException e) {
+            // The deposit overflows, the withdrawal is compensated
+        }
+        crashed.stop();
+        clearInvocations(repository);
+
+        when(repository.findPendingTransactionIds()).thenReturn(Set.of(TRANSACTION_ID));
+        when(transactionRepository.findAllById(Set.of(TRANSACTION_ID))).thenReturn(List.of(transaction));
+    }
+
+    private static TransactionExecutor transferExecutor() {
+        TransactionExecutor executor = mock(TransactionExecutor.class);
+        doAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            AccountBalanceOperations operations = invocation.getArgument(1);
+            operations.withdraw(transaction.getSourceAccount(), transaction.getAmount());
+            operations.deposit(transaction.getDestinationAccount(), transaction.getAmount());
+            return null;
+        }).when(executor).execute(any(), any());
+        return executor;
+    }
+
+    private BalanceEngine engine() {
+        return engine(1024 * LedgerRecord.SIZE);
+    }
+
+    private BalanceEngine engine(int segmentSize) {
+        return new BalanceEngine(new BalanceEngineConfig(true, 2, directory.toString(), 0),
+                new LedgerJournalConfig(false, null, segmentSize),
+                new HotAccountConfig(false, null, 0),
+                mock(HotAccountJournalService.class),
+                mock(AccountService.class),
+                transactionRepository,
+                mock(LedgerService.class),
+                repository,
+                mock(PlatformTransactionManager.class));
+    }
+
+    private static Transaction transfer(Account source, Account destination) {
+        Transaction transaction = new Transaction();
+        transaction.setId(TRANSACTION_ID);
+        transaction.setSourceAccount(source);
+        transaction.setDestinationAccount(destination);
+        transaction.setAmount(new BigDecimal("40.00"));
+        transaction.setStatus(TransactionStatus.PENDING);
+        return transaction;
+    }
+
+    private static Account account(int id, String balance) {
+        Account account = mock(Account.class);
+        lenient().when(account.getId()).thenReturn(id);
+        lenient().when(account.getBalance()).thenReturn(new BigDecimal(balance));
+        return account;
+    }
+}
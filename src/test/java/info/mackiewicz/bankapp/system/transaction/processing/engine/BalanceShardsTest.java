@@ -0,0 +1,154 @@
+package info.mackiewicz.bankapp.system.transaction.processing.engine;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.transaction.exception.InsufficientFundsException;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournal;
+import info.mackiewicz.bankapp.system.ledger.LedgerJournalConfig;
+import info.mackiewicz.bankapp.system.ledger.LedgerRecord;
+import info.mackiewicz.bankapp.system.transaction.processing.engine.BalanceShard.ShardBalances;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+class BalanceShardsTest {
+
+    @TempDir
+    private Path directory;
+
+    private LedgerJournal journal;
+    private BalanceShards shards;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = spy(new LedgerJournal(new LedgerJournalConfig(true, directory.toString(), 1024 * LedgerRecord.SIZE),
+                mock(HotAccountJournalService.class)));
+        journal.open();
+        shards = new BalanceShards(2, journal);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shards.stop();
+        journal.close();
+    }
+
+    @Test
+    void apply_MovesFundsAndJournalsBothLegs() {
+        // Arrange
+        Account source = account(1, "100.00");
+        Account destination = account(2, "0.00");
+
+        // Act
+        long sequence = shards.apply(7, List.of(new BalanceLeg(destination, 4000), new BalanceLeg(source, -4000)));
+
+        // Assert
+        assertThat(sequence).isEqualTo(2);
+        assertThat(shards.drainDirty().balances()).containsEntry(1, 6000L).containsEntry(2, 4000L);
+        assertThat(readAll()).extracting(LedgerRecord::accountId).containsExactly(1, 2);
+    }
+
+    @Test
+    void apply_WhenFundsAreInsufficient_ChangesNothing() {
+        // Arrange
+        Account source = account(1, "10.00");
+        Account destination = account(2, "0.00");
+
+        // Act & Assert
+        assertThatThrownBy(() -> shards.apply(7,
+                List.of(new BalanceLeg(source, -4000), new BalanceLeg(destination, 4000))))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThat(shards.drainDirty().balances()).isEmpty();
+        assertThat(readAll()).isEmpty();
+    }
+
+    @Test
+    void apply_WhenLegFailsAfterDebit_CompensatesDebit() {
+        // Arrange
+        Account source = account(1, "100.00");
+        Account destination = account(2, String.valueOf(Long.MAX_VALUE / 100));
+
+        // Act & Assert
+        assertThatThrownBy(() -> shards.apply(7,
+                List.of(new BalanceLeg(source, -4000), new BalanceLeg(destination, 4000))))
+                .isInstanceOf(ArithmeticException.class);
+        assertThat(shards.drainDirty().balances()).containsEntry(1, 10000L);
+        assertThat(readAll()).extracting(LedgerRecord::delta).containsExactly(-4000L, 4000L);
+    }
+
+    @Test
+    void applyDurably_WhenJournalCannotBeForced_CompensatesAllLegs() {
+        // Arrange
+        Account source = account(1, "100.00");
+        Account destination = account(2, "0.00");
+        doThrow(new UncheckedIOException(new IOException("Disk full"))).when(journal).force(anyLong());
+
+        // Act & Assert
+        assertThatThrownBy(() -> shards.applyDurably(7,
+                List.of(new BalanceLeg(source, -4000), new BalanceLeg(destination, 4000))))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThat(shards.drainDirty().balances()).containsEntry(1, 10000L).containsEntry(2, 0L);
+        assertThat(readAll()).extracting(LedgerRecord::delta).containsExactly(-4000L, 4000L, -4000L, 4000L);
+    }
+
+    @Test
+    void apply_WhenTransfersRunConcurrently_KeepsTotalBalance() throws InterruptedException {
+        // Arrange
+        List<Account> accounts = IntStream.rangeClosed(1, 8).mapToObj(id -> account(id, "100.00")).toList();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 400; i++) {
+                long transactionId = i;
+                Account source = accounts.get(i % 8);
+                Account destination = accounts.get((i * 3 + 1) % 8);
+                executor.execute(() -> {
+                    try {
+                        shards.apply(transactionId,
+                                List.of(new BalanceLeg(source, -700), new BalanceLeg(destination, 700)));
+                    } catch (InsufficientFundsException e) {
+                        // Expected for some transfers
+                    }
+                });
+            }
+        }
+
+        // Assert
+        ShardBalances balances = shards.drainDirty();
+        assertThat(balances.balances().values()).allSatisfy(balance -> assertThat(balance).isNotNegative());
+        assertThat(balances.balances().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(80000L);
+        assertThat(balances.sequence()).isEqualTo(readAll().size());
+    }
+
+    private List<LedgerRecord> readAll() {
+        List<LedgerRecord> records = new ArrayList<>();
+        journal.reader().forEach(records::add);
+        return records;
+    }
+
+    private static Account account(int id, String balance) {
+        Account account = mock(Account.class);
+        lenient().when(account.getId()).thenReturn(id);
+        lenient().when(account.getBalance()).thenReturn(new BigDecimal(balance));
+        return account;
+    }
+}
@@ -0,0 +1,134 @@
+package info.mackiewicz.bankapp.system.transaction.processing.lanes;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.model.TestAccountBuilder;
+import info.mackiewicz.bankapp.core.account.service.HotAccountConfig;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.AccountLockingStrategy;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingConfig;
+import info.mackiewicz.bankapp.system.transaction.processing.locking.LockingMode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures processing a batch of 2000 transfers between 200 accounts: on the transaction lanes vs on a thread pool
+ * of the same size under {@link AccountLockingStrategy} locks.
+ * <p>
+ * The work of a transfer is simulated by burning a fixed amount of CPU while its accounts are held, so the results
+ * show the cost of coordination and how it scales with {@code workers}, not database latency. A transfer whose lock
+ * cannot be taken counts as failed, as it does in the locked processing mode.
+ * Run with {@code mvn test-compile} and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionLanesBenchmark {
+
+    private static final int ACCOUNTS = 200;
+    private static final int TRANSFERS = 2000;
+    private static final long WORK_TOKENS = 2000;
+
+    @Param({"1", "2", "4"})
+    private int workers;
+
+    private List<Transaction> transfers;
+    private TransactionLanes lanes;
+    private ExecutorService pool;
+    private AccountLockingStrategy lockingStrategy;
+
+    @Setup
+    public void setUp() {
+        Account[] accounts = new Account[ACCOUNTS];
+        for (int id = 0; id < ACCOUNTS; id++) {
+            accounts[id] = TestAccountBuilder.createTestAccountWithBalance(BigDecimal.ZERO);
+            TestAccountBuilder.setField(accounts[id], "id", id);
+        }
+        Random random = new Random(42);
+        transfers = new ArrayList<>(TRANSFERS);
+        for (int i = 0; i < TRANSFERS; i++) {
+            int source = random.nextInt(ACCOUNTS);
+            Transaction transfer = new Transaction();
+            transfer.setSourceAccount(accounts[source]);
+            transfer.setDestinationAccount(accounts[(source + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS]);
+            transfers.add(transfer);
+        }
+        // Hot-account mode disabled; a mock would record every routing call
+        HotAccountJournalService hotAccountJournalService =
+                new HotAccountJournalService(new HotAccountConfig(false, null, 0), null, null);
+        lanes = new TransactionLanes(new TransactionLanesConfig(true, workers), hotAccountJournalService);
+        lanes.start();
+        pool = Executors.newFixedThreadPool(workers);
+        lockingStrategy = new AccountLockingStrategy(new LockingConfig(5, 100, 2000, 200, LockingMode.PESSIMISTIC));
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        lanes.stop();
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void lanes() {
+        List<CompletableFuture<Void>> results = new ArrayList<>(TRANSFERS);
+        for (Transaction transfer : transfers) {
+            results.add(lanes.submit(transfer, () -> Blackhole.consumeCPU(WORK_TOKENS)));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @Benchmark
+    public long lockedPool() {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(TRANSFERS);
+        for (Transaction transfer : transfers) {
+            results.add(CompletableFuture.supplyAsync(() -> transferUnderLocks(transfer), pool));
+        }
+        return results.stream().filter(result -> !result.join()).count();
+    }
+
+    private boolean transferUnderLocks(Transaction transfer) {
+        int first = Math.min(transfer.getSourceAccount().getId(), transfer.getDestinationAccount().getId());
+        int second = Math.max(transfer.getSourceAccount().getId(), transfer.getDestinationAccount().getId());
+        try {
+            lockingStrategy.lock(first);
+        } catch (RuntimeException e) {
+            return false;
+        }
+        try {
+            lockingStrategy.lock(second);
+        } catch (RuntimeException e) {
+            lockingStrategy.unlock(first);
+            return false;
+        }
+        try {
+            Blackhole.consumeCPU(WORK_TOKENS);
+            return true;
+        } finally {
+            lockingStrategy.unlock(second);
+            lockingStrategy.unlock(first);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TransactionLanesBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
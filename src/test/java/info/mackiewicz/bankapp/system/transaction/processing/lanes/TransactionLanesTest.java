@@ -0,0 +1,166 @@
+package info.mackiewicz.bankapp.system.transaction.processing.lanes;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import info.mackiewicz.bankapp.core.account.service.HotAccountJournalService;
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionLanesTest {
+
+    private static final int LANES = 4;
+    private static final int HOT_ACCOUNT_ID = -1;
+
+    private HotAccountJournalService hotAccountJournalService;
+    private TransactionLanes lanes;
+
+    @BeforeEach
+    void setUp() {
+        hotAccountJournalService = mock(HotAccountJournalService.class);
+        lanes = new TransactionLanes(new TransactionLanesConfig(true, LANES), hotAccountJournalService);
+        lanes.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        lanes.stop();
+    }
+
+    @Test
+    void submit_WhenAccountsShareLane_RunsOnThatLane() {
+        // Arrange
+        Transaction transfer = transfer(1, 1 + LANES);
+        List<String> threads = new ArrayList<>();
+
+        // Act
+        lanes.submit(transfer, () -> threads.add(Thread.currentThread().getName())).join();
+
+        // Assert
+        assertThat(threads).containsExactly("TransactionLane-1");
+    }
+
+    @Test
+    void submit_WhenAccountsUseTwoLanes_RunsOnHigherLane() {
+        // Arrange
+        Transaction transfer = transfer(3, 2);
+        List<String> threads = new ArrayList<>();
+
+        // Act
+        lanes.submit(transfer, () -> threads.add(Thread.currentThread().getName())).join();
+
+        // Assert
+        assertThat(threads).containsExactly("TransactionLane-3");
+    }
+
+    @Test
+    void submit_WhenDestinationIsHot_RoutesBySourceOnly() {
+        // Arrange
+        Transaction fee = transfer(2, HOT_ACCOUNT_ID);
+        when(hotAccountJournalService.isJournaled(fee.getDestinationAccount())).thenReturn(true);
+        List<String> threads = new ArrayList<>();
+
+        // Act
+        lanes.submit(fee, () -> threads.add(Thread.currentThread().getName())).join();
+
+        // Assert
+        assertThat(threads).containsExactly("TransactionLane-2");
+    }
+
+    @Test
+    void submit_WhenHotAccountIsDebited_RunsOnFirstLane() {
+        // Arrange
+        Transaction withdrawal = new Transaction();
+        withdrawal.setSourceAccount(account(HOT_ACCOUNT_ID));
+        when(hotAccountJournalService.isJournaled(withdrawal.getSourceAccount())).thenReturn(true);
+        List<String> threads = new ArrayList<>();
+
+        // Act
+        lanes.submit(withdrawal, () -> threads.add(Thread.currentThread().getName())).join();
+
+        // Assert
+        assertThat(threads).containsExactly("TransactionLane-0");
+    }
+
+    @Test
+    void submit_WhenHotAccountIsDebitedConcurrently_NeverRunsTwoDebitsAtOnce() {
+        // Arrange
+        Account hotAccount = account(HOT_ACCOUNT_ID);
+        when(hotAccountJournalService.isJournaled(hotAccount)).thenReturn(true);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            Transaction payout = new Transaction();
+            payout.setSourceAccount(hotAccount);
+            payout.setDestinationAccount(account(i));
+            results.add(lanes.submit(payout, () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                Thread.onSpinWait();
+                running.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        // Assert
+        assertThat(overlaps).hasValue(0);
+    }
+
+    @Test
+    void submit_WhenTransfersOverlap_NeverRunsTwoTransactionsOfOneAccountAtOnce() {
+        // Arrange
+        int accounts = 10;
+        AtomicIntegerArray running = new AtomicIntegerArray(accounts);
+        AtomicInteger overlaps = new AtomicInteger();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 2000; i++) {
+            int source = i % accounts;
+            int destination = (i * 7 + 3) % accounts;
+            if (source == destination) {
+                continue;
+            }
+            results.add(lanes.submit(transfer(source, destination), () -> {
+                if (running.incrementAndGet(source) > 1 | running.incrementAndGet(destination) > 1) {
+                    overlaps.incrementAndGet();
+                }
+                Thread.onSpinWait();
+                running.decrementAndGet(source);
+                running.decrementAndGet(destination);
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        // Assert
+        assertThat(overlaps).hasValue(0);
+    }
+
+    private static Transaction transfer(int sourceId, int destinationId) {
+        Transaction transaction = new Transaction();
+        transaction.setSourceAccount(account(sourceId));
+        transaction.setDestinationAccount(account(destinationId));
+        return transaction;
+    }
+
+    private static Account account(int id) {
+        Account account = mock(Account.class);
+        lenient().when(account.getId()).thenReturn(id);
+        return account;
+    }
+}
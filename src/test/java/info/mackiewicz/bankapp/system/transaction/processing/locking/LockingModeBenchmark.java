@@ -0,0 +1,198 @@
+package info.mackiewicz.bankapp.system.transaction.processing.locking;
+
+import info.mackiewicz.bankapp.core.account.model.Account;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures transfers between random accounts from four threads in both locking modes, on an in-memory H2 database.
+ * <p>
+ * {@code pessimistic} takes the {@link AccountLockingStrategy} locks of both accounts in ID order, reads and updates
+ * both balances and commits. {@code optimistic} reads both balances with their versions and writes them with
+ * conditional updates under {@link OptimisticLockingStrategy#execute(Runnable)}, rolling back and retrying after a
+ * backoff when an account was changed first or the transfer lost a deadlock, as {@code AccountOperationsService}
+ * does in optimistic mode.
+ * {@code accounts} sets the contention: with 2 accounts every pair of concurrent transfers collides, with 1024 almost
+ * none do. The backoff is shortened to a few milliseconds, which still dominates a conflicting transfer on an
+ * in-memory database. Run with {@code mvn test-compile} and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LockingModeBenchmark {
+
+    private static final long AMOUNT = 1;
+    private static final String URL = "jdbc:h2:mem:locking-mode;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+    @Param({"2", "16", "1024"})
+    private int accounts;
+
+    private AccountLockingStrategy pessimisticStrategy;
+    private OptimisticLockingStrategy optimisticStrategy;
+
+    @Setup
+    public void setUp() throws SQLException {
+        pessimisticStrategy = new AccountLockingStrategy(
+                new LockingConfig(100, 4, 64, 1000, LockingMode.PESSIMISTIC));
+        optimisticStrategy = new OptimisticLockingStrategy(
+                new LockingConfig(100, 4, 64, 1000, LockingMode.OPTIMISTIC));
+        try (Connection connection = DriverManager.getConnection(URL);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE accounts (id int PRIMARY KEY, balance bigint NOT NULL, "
+                    + "version bigint NOT NULL DEFAULT 0)");
+            statement.execute("INSERT INTO accounts (id, balance) SELECT x, 1000000000 FROM SYSTEM_RANGE(1, "
+                    + accounts + ")");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Benchmark
+    public void pessimistic(DatabaseSession session) throws SQLException {
+        int source = randomAccount();
+        int destination = otherAccount(source);
+        int first = Math.min(source, destination);
+        int second = Math.max(source, destination);
+        pessimisticStrategy.lock(first);
+        try {
+            pessimisticStrategy.lock(second);
+            try {
+                session.transfer(source, destination);
+            } finally {
+                pessimisticStrategy.unlock(second);
+            }
+        } finally {
+            pessimisticStrategy.unlock(first);
+        }
+    }
+
+    @Benchmark
+    public void optimistic(DatabaseSession session) {
+        int source = randomAccount();
+        int destination = otherAccount(source);
+        optimisticStrategy.execute(() -> session.transferIfUnchanged(source, destination));
+    }
+
+    private int randomAccount() {
+        return ThreadLocalRandom.current().nextInt(1, accounts + 1);
+    }
+
+    private int otherAccount(int account) {
+        return account % accounts + 1;
+    }
+
+    /**
+     * Connection and statements of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class DatabaseSession {
+
+        private Connection connection;
+        private PreparedStatement selectBalance;
+        private PreparedStatement updateBalance;
+        private PreparedStatement updateBalanceIfUnchanged;
+
+        @Setup
+        public void setUp() throws SQLException {
+            connection = DriverManager.getConnection(URL);
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            selectBalance = connection.prepareStatement("SELECT balance, version FROM accounts WHERE id = ?");
+            updateBalance = connection.prepareStatement(
+                    "UPDATE accounts SET balance = ?, version = version + 1 WHERE id = ?");
+            updateBalanceIfUnchanged = connection.prepareStatement(
+                    "UPDATE accounts SET balance = ?, version = version + 1 WHERE id = ? AND version = ?");
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+
+        void transfer(int source, int destination) throws SQLException {
+            long[] sourceBalance = read(source);
+            long[] destinationBalance = read(destination);
+            update(updateBalance, source, sourceBalance[0] - AMOUNT);
+            update(updateBalance, destination, destinationBalance[0] + AMOUNT);
+            connection.commit();
+        }
+
+        void transferIfUnchanged(int source, int destination) {
+            try {
+                long[] sourceBalance = read(source);
+                long[] destinationBalance = read(destination);
+                updateIfUnchanged(source, sourceBalance[0] - AMOUNT, sourceBalance[1]);
+                updateIfUnchanged(destination, destinationBalance[0] + AMOUNT, destinationBalance[1]);
+                connection.commit();
+            } catch (SQLTransactionRollbackException e) {
+                // Opposite transfers update their rows in reverse order and can deadlock
+                rollback();
+                throw new CannotAcquireLockException(e.getMessage(), e);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void rollback() {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private long[] read(int accountId) throws SQLException {
+            selectBalance.setInt(1, accountId);
+            try (ResultSet resultSet = selectBalance.executeQuery()) {
+                resultSet.next();
+                return new long[]{resultSet.getLong(1), resultSet.getLong(2)};
+            }
+        }
+
+        private void updateIfUnchanged(int accountId, long balance, long version) throws SQLException {
+            updateBalanceIfUnchanged.setLong(3, version);
+            if (update(updateBalanceIfUnchanged, accountId, balance) == 0) {
+                connection.rollback();
+                throw new ObjectOptimisticLockingFailureException(Account.class, accountId);
+            }
+        }
+
+        private static int update(PreparedStatement statement, int accountId, long balance) throws SQLException {
+            statement.setLong(1, balance);
+            statement.setInt(2, accountId);
+            return statement.executeUpdate();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LockingModeBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,98 @@
+package info.mackiewicz.bankapp.system.transaction.processing.netting;
+
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.system.ledger.LedgerRecord;
+import info.mackiewicz.bankapp.system.transaction.processing.netting.NettedBatch.Leg;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NettedBatchTest {
+
+    @Test
+    void add_WhenTransfersGoBackAndForth_NetsThemPerAccount() {
+        // Arrange
+        NettedBatch batch = new NettedBatch(Map.of(1, 10000L, 2, 0L), 0);
+
+        // Act
+        batch.add(transaction(1), transfer(1, 2, 4000));
+        batch.add(transaction(2), transfer(2, 1, 3000));
+        batch.add(transaction(3), transfer(2, 1, 1000));
+
+        // Assert
+        assertThat(batch.accepted()).extracting(Transaction::getId).containsExactly(1, 2, 3);
+        assertThat(batch.rejected()).isEmpty();
+        assertThat(batch.netDeltas()).isEmpty();
+    }
+
+    @Test
+    void add_WhenDebitIsNotCoveredYet_RejectsInTransactionOrder() {
+        // Arrange
+        NettedBatch batch = new NettedBatch(Map.of(1, 5000L, 2, 0L), 0);
+
+        // Act
+        boolean early = batch.add(transaction(1), transfer(2, 1, 3000));
+        batch.add(transaction(2), transfer(1, 2, 4000));
+        boolean late = batch.add(transaction(3), transfer(2, 1, 3000));
+
+        // Assert
+        assertThat(early).isFalse();
+        assertThat(late).isTrue();
+        assertThat(batch.rejected()).extracting(Transaction::getId).containsExactly(1);
+        assertThat(batch.netDeltas()).containsExactly(Map.entry(1, -1000L), Map.entry(2, 1000L));
+    }
+
+    @Test
+    void add_WhenSecondDebitIsNotCovered_RevertsTheFirstLeg() {
+        // Arrange
+        NettedBatch batch = new NettedBatch(Map.of(1, 5000L, 2, 1000L), 0);
+
+        // Act
+        boolean accepted = batch.add(transaction(1), List.of(new Leg(1, -2000), new Leg(2, -2000)));
+
+        // Assert
+        assertThat(accepted).isFalse();
+        assertThat(batch.add(transaction(2), List.of(new Leg(1, -5000)))).isTrue();
+        assertThat(batch.netDeltas()).containsExactly(Map.entry(1, -5000L));
+    }
+
+    @Test
+    void records_ContainTheBalanceAfterEachLeg() {
+        // Arrange
+        NettedBatch batch = new NettedBatch(Map.of(1, 10000L, 2, 500L), 42);
+
+        // Act
+        batch.add(transaction(7), transfer(1, 2, 2500));
+        batch.add(transaction(8), List.of(new Leg(2, 100)));
+
+        // Assert
+        assertThat(batch.records()).containsExactly(
+                new LedgerRecord(7, 1, -2500, 7500, 42),
+                new LedgerRecord(7, 2, 2500, 3000, 42),
+                new LedgerRecord(8, 2, 100, 3100, 42));
+    }
+
+    @Test
+    void add_WhenBalanceWasNotRead_Throws() {
+        // Arrange
+        NettedBatch batch = new NettedBatch(Map.of(1, 10000L), 0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> batch.add(transaction(1), transfer(1, 3, 100)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<Leg> transfer(int from, int to, long amount) {
+        return List.of(new Leg(from, -amount), new Leg(to, amount));
+    }
+
+    private static Transaction transaction(int id) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        return transaction;
+    }
+}
@@ -0,0 +1,149 @@
+package info.mackiewicz.bankapp.system.transaction.processing.netting;
+
+import info.mackiewicz.bankapp.core.transaction.model.Transaction;
+import info.mackiewicz.bankapp.system.transaction.processing.netting.NettedBatch.Leg;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a claimed batch of transfers between a few busy accounts, on an in-memory H2 database.
+ * <p>
+ * {@code oneByOne} runs the statements of {@code TransactionExecutionService#executeAndComplete} per transfer:
+ * reading and updating both accounts, completing the transaction and committing. {@code netted} does what the
+ * {@link TransactionNettingService} does: reads the balances of all accounts once, nets the transfers with a
+ * {@link NettedBatch}, then updates every account once and completes all transactions in batches with a single
+ * commit. Postings are left out of both, they cost the same per transaction either way.
+ * Run with {@code mvn test-compile} and then the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionNettingBenchmark {
+
+    private static final int ACCOUNTS = 10;
+    private static final int BATCH_SIZE = 100;
+    private static final long AMOUNT = 100;
+
+    private Connection connection;
+    private PreparedStatement selectBalance;
+    private PreparedStatement selectBalances;
+    private PreparedStatement updateBalance;
+    private PreparedStatement addToBalance;
+    private PreparedStatement completeTransaction;
+    private final int[] sources = new int[BATCH_SIZE];
+    private final int[] destinations = new int[BATCH_SIZE];
+    private final Transaction[] transactions = new Transaction[BATCH_SIZE];
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:transaction-netting;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE accounts (id int PRIMARY KEY, balance decimal(38,2) NOT NULL)");
+            statement.execute("CREATE TABLE transactions (id int PRIMARY KEY, status varchar(16) NOT NULL)");
+            statement.execute("INSERT INTO accounts SELECT x, 1000000 FROM SYSTEM_RANGE(1, " + ACCOUNTS + ")");
+            statement.execute("INSERT INTO transactions SELECT x, 'NEW' FROM SYSTEM_RANGE(1, " + BATCH_SIZE + ")");
+        }
+        connection.setAutoCommit(false);
+        selectBalance = connection.prepareStatement("SELECT balance FROM accounts WHERE id = ?");
+        selectBalances = connection.prepareStatement("SELECT id, balance FROM accounts WHERE id BETWEEN ? AND ?");
+        updateBalance = connection.prepareStatement("UPDATE accounts SET balance = ? WHERE id = ?");
+        addToBalance = connection.prepareStatement("UPDATE accounts SET balance = balance + ? WHERE id = ?");
+        completeTransaction = connection.prepareStatement(
+                "UPDATE transactions SET status = 'DONE' WHERE id = ? AND status <> 'FAILED'");
+
+        Random random = new Random(42);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            sources[i] = random.nextInt(ACCOUNTS) + 1;
+            destinations[i] = (sources[i] + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS + 1;
+            transactions[i] = new Transaction();
+            transactions[i].setId(i + 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void oneByOne() throws SQLException {
+        BigDecimal amount = BigDecimal.valueOf(AMOUNT, 2);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            changeBalance(sources[i], amount.negate());
+            changeBalance(destinations[i], amount);
+            completeTransaction.setInt(1, i + 1);
+            completeTransaction.executeUpdate();
+            connection.commit();
+        }
+    }
+
+    @Benchmark
+    public NettedBatch netted() throws SQLException {
+        Map<Integer, Long> balances = new HashMap<>();
+        selectBalances.setInt(1, 1);
+        selectBalances.setInt(2, ACCOUNTS);
+        try (ResultSet resultSet = selectBalances.executeQuery()) {
+            while (resultSet.next()) {
+                balances.put(resultSet.getInt(1), resultSet.getBigDecimal(2).movePointRight(2).longValueExact());
+            }
+        }
+        NettedBatch batch = new NettedBatch(balances, System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(transactions[i], List.of(new Leg(sources[i], -AMOUNT), new Leg(destinations[i], AMOUNT)));
+        }
+        for (Map.Entry<Integer, Long> delta : batch.netDeltas().entrySet()) {
+            addToBalance.setBigDecimal(1, BigDecimal.valueOf(delta.getValue(), 2));
+            addToBalance.setInt(2, delta.getKey());
+            addToBalance.addBatch();
+        }
+        addToBalance.executeBatch();
+        for (Transaction transaction : batch.accepted()) {
+            completeTransaction.setInt(1, transaction.getId());
+            completeTransaction.addBatch();
+        }
+        completeTransaction.executeBatch();
+        connection.commit();
+        return batch;
+    }
+
+    private void changeBalance(int accountId, BigDecimal delta) throws SQLException {
+        selectBalance.setInt(1, accountId);
+        BigDecimal balance;
+        try (ResultSet resultSet = selectBalance.executeQuery()) {
+            resultSet.next();
+            balance = resultSet.getBigDecimal(1);
+        }
+        updateBalance.setBigDecimal(1, balance.add(delta));
+        updateBalance.setInt(2, accountId);
+        updateBalance.executeUpdate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TransactionNettingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,43 @@
+package info.mackiewicz.bankapp.testutils;
+
+import info.mackiewicz.bankapp.system.notification.email.EmailSender;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory {@link EmailSender} for tests. Records every delivered email and
+ * can be told to fail a number of upcoming sends.
+ */
+public class FakeEmailSender implements EmailSender {
+
+    public record SentEmail(String to, String subject, String htmlContent) {
+    }
+
+    private final List<SentEmail> sent = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresToSimulate = new AtomicInteger();
+
+    @Override
+    public String send(String to, String subject, String htmlContent) {
+        if (failuresToSimulate.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+            throw new IllegalStateException("Simulated email provider failure");
+        }
+        sent.add(new SentEmail(to, subject, htmlContent));
+        return UUID.randomUUID().toString();
+    }
+
+    public void failNext(int times) {
+        failuresToSimulate.set(times);
+    }
+
+    public List<SentEmail> sentTo(String to) {
+        return sent.stream().filter(email -> email.to().equals(to)).toList();
+    }
+
+    public void reset() {
+        sent.clear();
+        failuresToSimulate.set(0);
+    }
+}